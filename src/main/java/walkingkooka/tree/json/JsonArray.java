@@ -17,10 +17,7 @@
 
 package walkingkooka.tree.json;
 
-import walkingkooka.collect.list.ImmutableList;
 import walkingkooka.collect.list.Lists;
-import walkingkooka.text.CharacterConstant;
-import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.visit.Visiting;
 
 import java.util.List;
@@ -30,50 +27,49 @@ import java.util.Optional;
 /**
  * Represents an immutable json array
  */
-public final class JsonArray extends JsonParentNode<List<JsonNode>> {
+public final class JsonArray extends JsonParentNode<JsonArrayList> {
 
     private final static JsonPropertyName NAME = JsonPropertyName.fromClass(JsonArray.class);
 
     final static JsonArray EMPTY = new JsonArray(
         NAME,
         NO_INDEX,
-        Lists.empty()
+        NO_PARENT,
+        JsonArrayList.EMPTY
     );
 
-    private final static CharacterConstant BEGIN = CharacterConstant.with('[');
-    private final static CharacterConstant END = CharacterConstant.with(']');
+    /**
+     * Factory used by {@link JsonArrayBuilder} that creates a {@link JsonArray} without a parent holding the given children.
+     */
+    static JsonArray withChildren(final JsonArrayList children) {
+        return children.isEmpty() ?
+            EMPTY :
+            new JsonArray(
+                NAME,
+                NO_INDEX,
+                NO_PARENT,
+                children
+            );
+    }
 
     private JsonArray(final JsonPropertyName name,
                       final int index,
-                      final List<JsonNode> children) {
+                      final Optional<JsonNode> parent,
+                      final JsonArrayList children) {
         super(
             name,
             index,
+            parent,
             children
         );
     }
 
     /**
-     * Makes a copy of the list and sets the parent upon the children.
+     * Returns a view of the shared elements that will adopt each element with this as the parent.
      */
     @Override
-    List<JsonNode> adoptChildren(final List<JsonNode> children) {
-        final Optional<JsonNode> parent = Optional.of(this);
-
-        final List<JsonNode> copy = Lists.array();
-        int i = 0;
-        for (JsonNode child : children) {
-            copy.add(
-                child.setParent(
-                    parent,
-                    JsonPropertyName.index(i),
-                    i
-                )
-            );
-            i++;
-        }
-
-        return copy;
+    JsonArrayList adoptChildren(final JsonArrayList children) {
+        return children.setParent(this);
     }
 
     @Override
@@ -99,20 +95,16 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
     public JsonArray setChildren(final List<JsonNode> children) {
         Objects.requireNonNull(children, "children");
 
-        return this.setChildren0(children)
+        return this.setChildren0(JsonArrayList.with(children))
             .cast(JsonArray.class);
     }
 
     /**
-     * Compares the two lists, with a custom {@link java.util.function.BiPredicate} to compare child/elements.
+     * Compares the elements of both lists, ignoring their names.
      */
     @Override
-    boolean childrenEquals(final List<JsonNode> children) {
-        return Lists.equals(
-            this.children,
-            children,
-            JsonParentNodeChildPredicate.INSTANCE
-        );
+    boolean childrenEquals(final JsonArrayList children) {
+        return this.children.equalsValues(children);
     }
 
     /**
@@ -146,16 +138,23 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
 
         final List<JsonNode> children = this.copyChildren();
 
+        final JsonArrayList list;
         if (index >= children.size()) {
             while (index > children.size()) {
                 children.add(nullNode());
             }
             children.add(element);
+            list = JsonArrayList.with(children);
         } else {
             children.set(index, element);
+            list = JsonArrayList.with(children)
+                .combineChildrenHashCode(
+                    this.children,
+                    index
+                );
         }
 
-        return this.setChildren0(children)
+        return this.setChildren0(list)
             .cast(JsonArray.class);
     }
 
@@ -181,7 +180,7 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
             element
         );
 
-        return this.setChildren0(children)
+        return this.setChildren0(JsonArrayList.with(children))
             .cast(JsonArray.class);
     }
 
@@ -229,7 +228,9 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
         return this.replace0(
             this.name,
             this.index,
-            children
+            NO_PARENT,
+            JsonArrayList.with(children)
+                .appendChildrenHashCode(this.children)
         ).cast(JsonArray.class);
     }
 
@@ -267,7 +268,8 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
         return this.replace0(
             this.name,
             this.index,
-            children
+            NO_PARENT,
+            JsonArrayList.with(children)
         );
     }
 
@@ -294,7 +296,7 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
         while (length != children.size()) {
             children.remove(length);
         }
-        return this.setChildren0(children)
+        return this.setChildren0(JsonArrayList.with(children))
             .cast(JsonArray.class);
     }
 
@@ -304,7 +306,7 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
         while (length != children.size()) {
             children.add(nullNode());
         }
-        return this.setChildren0(children)
+        return this.setChildren0(JsonArrayList.with(children))
             .cast(JsonArray.class);
     }
 
@@ -316,7 +318,13 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
         final List<JsonNode> newChildren = this.copyChildren();
         newChildren.set(index, newChild);
 
-        return this.replaceChildren(newChildren)
+        final JsonArrayList list = JsonArrayList.with(newChildren)
+            .combineChildrenHashCode(
+                this.children,
+                index
+            );
+
+        return this.replaceChildren(list)
             .children()
             .get(index);
     }
@@ -355,20 +363,29 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
     @Override
     JsonArray replace0(final JsonPropertyName name,
                        final int index,
-                       final List<JsonNode> children) {
+                       final Optional<JsonNode> parent,
+                       final JsonArrayList children) {
         return new JsonArray(
             name,
             index,
+            parent,
             children
         );
     }
 
     /**
-     * Copies the current children {@link List} into a new one ready for modification.
+     * Copies the current detached children into a new {@link List} ready for modification.
      */
     private List<JsonNode> copyChildren() {
+        final JsonArrayList children = this.children;
+        final int count = children.size();
+
         final List<JsonNode> copy = Lists.array();
-        copy.addAll(this.children);
+        for (int i = 0; i < count; i++) {
+            copy.add(
+                children.value(i)
+            );
+        }
         return copy;
     }
 
@@ -399,59 +416,39 @@ public final class JsonArray extends JsonParentNode<List<JsonNode>> {
 
     @Override
     public void accept(final JsonNodeVisitor visitor) {
-        if (Visiting.CONTINUE == visitor.startVisit(this)) {
-            this.acceptValues(visitor);
-        }
-        visitor.endVisit(this);
+        visitor.acceptParent(this);
     }
 
-    // removeFalseLike..................................................................................................
+    @Override
+    Visiting startVisit(final JsonNodeVisitor visitor) {
+        return visitor.startVisit(this);
+    }
 
     @Override
-    public JsonNode removeFalseLike() {
-        return this.setChildren(
-            this.children()
-                .stream()
-                .map(JsonNode::removeFalseLike)
-                .collect(ImmutableList.collector())
-        );
+    void endVisit(final JsonNodeVisitor visitor) {
+        visitor.endVisit(this);
     }
 
-    // TreePrint........................................................................................................
+    // removeFalseLike..................................................................................................
 
+    /**
+     * Arrays keep all elements, only removing false like values from objects within.
+     */
     @Override
-    void printJson0(final IndentingPrinter printer) {
-        final List<JsonNode> children = this.children();
-        if (children.isEmpty()) {
-            printer.print(EMPTY_ARRAY_STRING);
-        } else {
-            printer.println(BEGIN);
-
-            printer.indent();
-            {
-                int i = 0;
-                for (final JsonNode child : this.children) {
-                    if (i > 0) {
-                        printer.println(",");
-                    }
-                    i++;
-
-                    child.printJson(printer);
-                }
-            }
-            printer.outdent();
-
-            printer.println();
-            printer.print(END);
-        }
+    boolean removeFalseLikeKeep(final JsonNode child) {
+        return true;
     }
 
-    private final static String EMPTY_ARRAY_STRING = BEGIN.string() + END;
-
     // Object...........................................................................................................
 
     @Override //
-    boolean equalsChildren(final JsonNode other) {
-        return this.children.equals(other.children());
+    boolean pushChildren(final JsonNode other,
+                         final JsonNodeStack stack) {
+        return other.isArray() &&
+            this.children.pushValues(
+                other.arrayOrFail()
+                    .children,
+                stack
+            );
     }
 }
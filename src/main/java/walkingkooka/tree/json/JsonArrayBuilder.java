@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A mutable builder that creates a {@link JsonArray} with many elements in a single pass, without the copying of all
+ * elements that happens with each {@link JsonArray#appendChild(JsonNode)}. Builders are not thread safe and should
+ * not be shared, and may continue to be used after {@link #build()}.
+ */
+public final class JsonArrayBuilder {
+
+    /**
+     * Factory only called by {@link JsonNode#arrayBuilder()}.
+     */
+    static JsonArrayBuilder empty() {
+        return new JsonArrayBuilder();
+    }
+
+    private JsonArrayBuilder() {
+        super();
+        this.values = JsonParentNodeList.NO_VALUES;
+    }
+
+    /**
+     * Appends the given element.
+     */
+    public JsonArrayBuilder appendChild(final JsonNode element) {
+        Objects.requireNonNull(element, "element");
+
+        final int size = this.size;
+        JsonNode[] values = this.values;
+        if (size == values.length) {
+            values = Arrays.copyOf(
+                values,
+                Math.max(
+                    INITIAL_CAPACITY,
+                    size + (size >> 1)
+                )
+            );
+            this.values = values;
+        }
+
+        values[size] = element.detach(
+            JsonPropertyName.index(size),
+            size
+        );
+        this.size = size + 1;
+        return this;
+    }
+
+    public JsonArrayBuilder append(final boolean value) {
+        return this.appendChild(
+            JsonNode.booleanNode(value)
+        );
+    }
+
+    public JsonArrayBuilder append(final double value) {
+        return this.appendChild(
+            JsonNode.number(value)
+        );
+    }
+
+    public JsonArrayBuilder append(final String value) {
+        return this.appendChild(
+            JsonNode.string(value)
+        );
+    }
+
+    public JsonArrayBuilder appendNull() {
+        return this.appendChild(
+            JsonNode.nullNode()
+        );
+    }
+
+    /**
+     * The number of elements appended so far.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Creates a {@link JsonArray} with all the appended elements.
+     */
+    public JsonArray build() {
+        return JsonArray.withChildren(
+            JsonArrayList.detached(
+                Arrays.copyOf(
+                    this.values,
+                    this.size
+                )
+            )
+        );
+    }
+
+    private final static int INITIAL_CAPACITY = 8;
+
+    /**
+     * Growable array of detached elements, only the first {@link #size} slots are filled.
+     */
+    private JsonNode[] values;
+
+    private int size;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.build()
+            .toString();
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import walkingkooka.collect.list.ImmutableList;
+import walkingkooka.collect.list.ImmutableListDefaults;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An immutable {@link List} view of elements belonging to a {@link JsonArray}.
+ * <br>
+ * Arrays with many elements that are all {@link JsonNumber} without extra digits are packed into a double[], each
+ * {@link JsonNumber} is created when an element is fetched.
+ */
+final class JsonArrayList extends JsonParentNodeList implements ImmutableListDefaults<ImmutableList<JsonNode>, JsonNode> {
+
+    /**
+     * Empty list constant.
+     */
+    static final JsonArrayList EMPTY = new JsonArrayList(
+        NO_VALUES,
+        null,
+        null,
+        NO_PARENT,
+        NO_HASH_CODE
+    );
+
+    /**
+     * Number arrays with fewer elements are not packed.
+     */
+    // VisibleForTesting
+    final static int PACKED_MIN = 16;
+
+    /**
+     * Factory that detaches each element giving it a name and index matching its position.
+     */
+    static JsonArrayList with(final Collection<JsonNode> elements) {
+        final int count = elements.size();
+
+        final JsonArrayList list;
+        if (0 == count) {
+            list = EMPTY;
+        } else {
+            if (isPackable(elements)) {
+                final double[] numbers = new double[count];
+                int i = 0;
+                for (final JsonNode element : elements) {
+                    numbers[i] = element.cast(JsonNumber.class)
+                        .doubleValue();
+                    i++;
+                }
+                list = packed(numbers);
+            } else {
+                final JsonNode[] values = new JsonNode[count];
+                int i = 0;
+                for (final JsonNode element : elements) {
+                    values[i] = element.detach(
+                        JsonPropertyName.index(i),
+                        i
+                    );
+                    i++;
+                }
+                list = new JsonArrayList(
+                    values,
+                    null,
+                    null,
+                    NO_PARENT,
+                    NO_HASH_CODE
+                );
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Factory that takes ownership of the given values, which must already be detached, with names and indices matching
+     * their position.
+     */
+    static JsonArrayList detached(final JsonNode[] values) {
+        final JsonArrayList list;
+
+        if (0 == values.length) {
+            list = EMPTY;
+        } else {
+            final List<JsonNode> elements = Arrays.asList(values);
+            list = isPackable(elements) ?
+                with(elements) :
+                new JsonArrayList(
+                    values,
+                    null,
+                    null,
+                    NO_PARENT,
+                    NO_HASH_CODE
+                );
+        }
+
+        return list;
+    }
+
+    /**
+     * Factory that takes ownership of the given numbers.
+     */
+    static JsonArrayList packed(final double[] numbers) {
+        return new JsonArrayList(
+            null,
+            numbers,
+            null,
+            NO_PARENT,
+            NO_HASH_CODE
+        );
+    }
+
+    /**
+     * Factory that creates a list with empty value slots, each element is created by the {@link JsonNodeLazyChildren}
+     * when first fetched.
+     */
+    static JsonArrayList lazy(final int count,
+                              final JsonNodeLazyChildren lazy) {
+        return 0 == count ?
+            EMPTY :
+            new JsonArrayList(
+                new JsonNode[count],
+                null,
+                lazy,
+                NO_PARENT,
+                NO_HASH_CODE
+            );
+    }
+
+    private static boolean isPackable(final Collection<JsonNode> elements) {
+        boolean packable = elements.size() >= PACKED_MIN;
+
+        if (packable) {
+            for (final JsonNode element : elements) {
+                packable = element.isNumber() &&
+                    false == element.cast(JsonNumber.class)
+                        .isLossless();
+                if (false == packable) {
+                    break;
+                }
+            }
+        }
+
+        return packable;
+    }
+
+    /**
+     * Private ctor use factory.
+     */
+    private JsonArrayList(final JsonNode[] values,
+                          final double[] numbers,
+                          final JsonNodeLazyChildren lazy,
+                          final Optional<JsonNode> parent,
+                          final int childrenHashCode) {
+        super(
+            values,
+            null != numbers ?
+                numbers.length :
+                values.length,
+            lazy,
+            parent,
+            childrenHashCode
+        );
+        this.numbers = numbers;
+    }
+
+    /**
+     * Returns a view sharing the same detached values, which will adopt children with the given parent.
+     */
+    JsonArrayList setParent(final JsonArray parent) {
+        return new JsonArrayList(
+            this.values,
+            this.numbers,
+            this.lazy,
+            Optional.of(parent),
+            this.childrenHashCode
+        );
+    }
+
+    /**
+     * Packed lists create a new detached {@link JsonNumber} each time.
+     */
+    @Override
+    JsonNode value(final int index) {
+        final double[] numbers = this.numbers;
+
+        return null != numbers ?
+            JsonNumber.with(numbers[index])
+                .detach(
+                    JsonPropertyName.index(index),
+                    index
+                ) :
+            super.value(index);
+    }
+
+    @Override
+    public int size() {
+        final double[] numbers = this.numbers;
+
+        return null != numbers ?
+            numbers.length :
+            this.values.length;
+    }
+
+    /**
+     * When not null all elements are numbers held here and {@link #values} is null.
+     */
+    final double[] numbers;
+
+    /**
+     * Arrays hash their elements in order, the same as {@link List#hashCode()}.
+     */
+    @Override
+    int computeChildrenHashCode() {
+        final int count = this.size();
+
+        int hashCode = 1;
+        for (int i = 0; i < count; i++) {
+            hashCode = 31 * hashCode + this.value(i).hashCode();
+        }
+        return hashCode;
+    }
+
+    /**
+     * When the hash code of the previous list is known, and only the element at the given index is different,
+     * computes the hash code of this list by replacing the term of that element.
+     */
+    JsonArrayList combineChildrenHashCode(final JsonArrayList previous,
+                                          final int index) {
+        final int previousHashCode = previous.childrenHashCode;
+        final int count = this.size();
+
+        if (NO_HASH_CODE != previousHashCode && count == previous.size() && this != EMPTY) {
+            final int difference = this.value(index).hashCode() - previous.value(index).hashCode();
+
+            // each element is multiplied by 31 once for every following element
+            int multiplier = 1;
+            int base = 31;
+            for (int power = count - 1 - index; power > 0; power = power >> 1) {
+                if (1 == (power & 1)) {
+                    multiplier = multiplier * base;
+                }
+                base = base * base;
+            }
+
+            this.childrenHashCode = previousHashCode + difference * multiplier;
+        }
+        return this;
+    }
+
+    /**
+     * When the hash code of the previous list is known, and this list only appended an element, computes the hash
+     * code of this list without hashing the previous elements.
+     */
+    JsonArrayList appendChildrenHashCode(final JsonArrayList previous) {
+        final int previousHashCode = previous.childrenHashCode;
+        final int count = this.size();
+
+        if (NO_HASH_CODE != previousHashCode && count == previous.size() + 1) {
+            this.childrenHashCode = 31 * previousHashCode + this.value(count - 1).hashCode();
+        }
+        return this;
+    }
+
+    /**
+     * Packed lists only hold numbers.
+     */
+    @Override
+    boolean mayHaveParentValues() {
+        return null == this.numbers;
+    }
+
+    /**
+     * Arrays are lists so the memoized children hash code is also the {@link List#hashCode()}.
+     */
+    @Override
+    public int hashCode() {
+        return this.childrenHashCode();
+    }
+
+    /**
+     * Tests if both lists hold equal elements, without adopting any.
+     */
+    boolean equalsValues(final JsonArrayList other) {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+
+        return this.pushValues(
+            other,
+            stack
+        ) && equalsPairs(stack);
+    }
+
+    /**
+     * Returns false if the other has a different number of elements, otherwise pushes each pair of elements. Two packed
+     * lists are compared here without pushing any elements.
+     */
+    boolean pushValues(final JsonArrayList other,
+                       final JsonNodeStack stack) {
+        final int count = this.size();
+
+        boolean equals = count == other.size();
+        if (equals) {
+            final double[] numbers = this.numbers;
+            final double[] otherNumbers = other.numbers;
+
+            if (null != numbers && null != otherNumbers) {
+                for (int i = 0; i < count; i++) {
+                    equals = 0 == Double.compare(
+                        numbers[i],
+                        otherNumbers[i]
+                    );
+                    if (false == equals) {
+                        break;
+                    }
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    stack.push(
+                        this.value(i),
+                        other.value(i)
+                    );
+                }
+            }
+        }
+
+        return equals;
+    }
+
+    // ImmutableList....................................................................................................
+
+    /**
+     * Null elements within an array or object are not allowed.
+     */
+    @Override
+    public void elementCheck(final JsonNode node) {
+        Objects.requireNonNull(node, "node");
+    }
+
+    @Override
+    public ImmutableList<JsonNode> setElements(final Collection<JsonNode> collection) {
+        Objects.requireNonNull(collection, "collection");
+
+        final JsonArrayList list = with(collection);
+
+        return this.equalsValues(list) ?
+            this :
+            list;
+    }
+}
@@ -17,9 +17,8 @@
 
 package walkingkooka.tree.json;
 
-import walkingkooka.text.printer.IndentingPrinter;
-
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Represents an immutable json boolean.
@@ -40,6 +39,7 @@ public final class JsonBoolean extends JsonLeafNonNullNode<Boolean> {
     private final static JsonBoolean FALSE = new JsonBoolean(
         NAME,
         NO_INDEX,
+        NO_PARENT,
         false
     );
 
@@ -49,15 +49,18 @@ public final class JsonBoolean extends JsonLeafNonNullNode<Boolean> {
     private final static JsonBoolean TRUE = new JsonBoolean(
         NAME,
         NO_INDEX,
+        NO_PARENT,
         true
     );
 
     private JsonBoolean(final JsonPropertyName name,
                         final int index,
+                        final Optional<JsonNode> parent,
                         final boolean value) {
         super(
             name,
             index,
+            parent,
             value
         );
     }
@@ -78,10 +81,12 @@ public final class JsonBoolean extends JsonLeafNonNullNode<Boolean> {
     @Override
     JsonBoolean replace0(final JsonPropertyName name,
                          final int index,
+                         final Optional<JsonNode> parent,
                          final Boolean value) {
         return new JsonBoolean(
             name,
             index,
+            parent,
             value
         );
     }
@@ -125,9 +130,4 @@ public final class JsonBoolean extends JsonLeafNonNullNode<Boolean> {
     public void accept(final JsonNodeVisitor visitor) {
         visitor.visit(this);
     }
-
-    @Override
-    void printJson0(final IndentingPrinter printer) {
-        printer.print(String.valueOf(this.value));
-    }
 }
@@ -23,6 +23,7 @@ import walkingkooka.collect.list.Lists;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Base type for all the leaf json nodes that hold a simple value, including null.
@@ -31,13 +32,14 @@ abstract class JsonLeafNode<V> extends JsonNode implements HasValue<Object> {
 
     JsonLeafNode(final JsonPropertyName name,
                  final int index,
+                 final Optional<JsonNode> parent,
                  final V value) {
-        super(name, index);
+        super(name, index, parent);
         this.value = value;
     }
 
     @Override
-    public final V value() {
+    public V value() {
         return this.value;
     }
 
@@ -51,23 +53,26 @@ abstract class JsonLeafNode<V> extends JsonNode implements HasValue<Object> {
 
     @SuppressWarnings("unchecked") //
     final JsonLeafNode<V> replaceValue(final V value) {
-        return this.replace0(this.name, this.index, value)
+        return this.replace0(this.name, this.index, NO_PARENT, value)
             .replaceChild(this.parent(), this.index)
             .cast(JsonLeafNode.class);
     }
 
     @Override//
-    final JsonNode replace(final JsonPropertyName name,
-                           final int index) {
+    JsonNode replace(final JsonPropertyName name,
+                     final int index,
+                     final Optional<JsonNode> parent) {
         return this.replace0(
             name,
             index,
-            this.value
+            parent,
+            this.value()
         );
     }
 
     abstract JsonLeafNode<V> replace0(final JsonPropertyName name,
                                       final int index,
+                                      final Optional<JsonNode> parent,
                                       final V value);
 
     /**
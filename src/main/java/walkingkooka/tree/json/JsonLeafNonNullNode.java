@@ -18,6 +18,7 @@
 package walkingkooka.tree.json;
 
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Base type for all the leaf json nodes that are not {@link JsonNull} such as {@link JsonString}, {@link JsonBoolean} and {@link JsonNumber}.
@@ -27,10 +28,12 @@ abstract class JsonLeafNonNullNode<V> extends JsonLeafNode<V> {
 
     JsonLeafNonNullNode(final JsonPropertyName name,
                         final int index,
+                        final Optional<JsonNode> parent,
                         final V value) {
         super(
             name,
             index,
+            parent,
             value
         );
     }
@@ -38,7 +41,7 @@ abstract class JsonLeafNonNullNode<V> extends JsonLeafNode<V> {
     // Object...........................................................................................................
 
     @Override
-    public final int hashCode() {
+    public int hashCode() {
         return Objects.hash(
             this.name,
             this.value
@@ -47,7 +50,7 @@ abstract class JsonLeafNonNullNode<V> extends JsonLeafNode<V> {
 
 
     @Override //
-    final boolean equalsValue(final JsonNode other) {
+    boolean equalsValue(final JsonNode other) {
         return Objects.equals(
             this.value,
             other.value()
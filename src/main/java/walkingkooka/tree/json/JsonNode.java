@@ -20,6 +20,7 @@ package walkingkooka.tree.json;
 import walkingkooka.Binary;
 import walkingkooka.CanBinary;
 import walkingkooka.Cast;
+import walkingkooka.NeverError;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.naming.Name;
 import walkingkooka.net.header.HasContentType;
@@ -30,30 +31,40 @@ import walkingkooka.text.Indentation;
 import walkingkooka.text.LineEnding;
 import walkingkooka.text.TextContext;
 import walkingkooka.text.TextPrinting;
-import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.printer.IndentingPrinter;
-import walkingkooka.text.printer.Printers;
 import walkingkooka.text.printer.TreePrintable;
 import walkingkooka.tree.Node;
 import walkingkooka.tree.TraversableHasTextOffset;
 import walkingkooka.tree.expression.ExpressionFunctionName;
 import walkingkooka.tree.expression.HasExpressionNumberKind;
 import walkingkooka.tree.json.parser.JsonNodeParserContext;
-import walkingkooka.tree.json.parser.JsonNodeParserContexts;
 import walkingkooka.tree.json.parser.JsonNodeParserToken;
 import walkingkooka.tree.json.parser.JsonNodeParsers;
 import walkingkooka.tree.select.NodeSelector;
 import walkingkooka.tree.select.parser.ExpressionNodeSelectorParserToken;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Base class for all json nodes, all of which are immutable. Note that performing a seemingly mutable operation
  * actually returns a new graph of nodes as would be expected including all parents and the root.
+ * <br>
+ * All fields are final, so nodes may be shared between threads, including nodes whose children are created or adopted
+ * lazily when first fetched.
  */
 public abstract class JsonNode implements Node<JsonNode, JsonPropertyName, Name, Object>,
     CanBinary,
@@ -77,27 +88,109 @@ public abstract class JsonNode implements Node<JsonNode, JsonPropertyName, Name,
     }
 
     /**
-     * Parsers the given json and returns its {@link JsonNode} equivalent.
+     * Parsers the given json and returns its {@link JsonNode} equivalent. The text is scanned once building nodes
+     * directly, use {@link JsonNodeParsers#value()} when the {@link JsonNodeParserToken tokens} are required.
      */
     public static JsonNode parse(final String text) {
-        return PARSER.parseText(
-                text,
-                JsonNodeParserContexts.basic()
-            ).cast(JsonNodeParserToken.class)
-            .toJsonNode()
-            .get();
+        Objects.requireNonNull(text, "text");
+
+        return JsonNodeTextParser.parse(text);
+    }
+
+    /**
+     * Parses the given json the same as {@link #parse(String)}, but fails with a
+     * {@link walkingkooka.tree.json.parser.JsonNodeParserException} as soon as any of the
+     * {@link JsonNodeParserContext} limits are exceeded, such as the depth or length of a string.
+     */
+    public static JsonNode parse(final String text,
+                                 final JsonNodeParserContext context) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(context, "context");
+
+        return JsonNodeTextParser.parse(
+            text,
+            context
+        );
     }
 
     /**
-     * Parser that will consume json or report a parsing error.
+     * Parses the given json the same as {@link #parse(String)}, but only records where each value starts. Object
+     * and array children are parsed from the text the first time they are fetched, which suits large documents where
+     * only a few values are read. The whole text stays reachable as long as any
+     * node from it is reachable, even after all its values have been fetched.
      */
-    private final static Parser<JsonNodeParserContext> PARSER = JsonNodeParsers.value()
-        .cast();
+    public static JsonNode parseLazy(final String text) {
+        Objects.requireNonNull(text, "text");
+
+        return JsonNodeTextParser.parseLazy(text);
+    }
+
+    /**
+     * Parses UTF-8 encoded json bytes and returns its {@link JsonNode} equivalent, without first decoding all the bytes
+     * into a {@link String}.
+     */
+    public static JsonNode parseUtf8(final byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        return parseUtf8(
+            bytes,
+            0,
+            bytes.length
+        );
+    }
+
+    /**
+     * Parses the given range of UTF-8 encoded json bytes and returns its {@link JsonNode} equivalent.
+     */
+    public static JsonNode parseUtf8(final byte[] bytes,
+                                     final int offset,
+                                     final int length) {
+        Objects.requireNonNull(bytes, "bytes");
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " length " + length + " for " + bytes.length + " bytes");
+        }
+
+        return JsonNodeUtf8Parser.parse(
+            bytes,
+            offset,
+            length
+        );
+    }
+
+    /**
+     * Returns a lazy {@link Stream} of the records read from UTF-8 encoded newline delimited json (NDJSON), where each
+     * non blank line holds a single json value. Each record is read and parsed only when the {@link Stream} requires it.
+     * A {@link Stream#parallel() parallel} stream parses records concurrently. Closing the {@link Stream} closes the
+     * {@link InputStream}.
+     */
+    public static Stream<JsonNode> parseNdjson(final InputStream input) {
+        Objects.requireNonNull(input, "input");
+
+        return StreamSupport.stream(
+            JsonNodeNdjsonSpliterator.with(input),
+            false
+        ).map(JsonNode::parseUtf8)
+            .onClose(() -> {
+                try {
+                    input.close();
+                } catch (final IOException cause) {
+                    throw new UncheckedIOException(cause);
+                }
+            });
+    }
 
     public static JsonArray array() {
         return JsonArray.EMPTY;
     }
 
+    /**
+     * Returns a mutable builder that creates a {@link JsonArray}, which is more efficient than repeated
+     * {@link JsonArray#appendChild(JsonNode)} when adding many elements.
+     */
+    public static JsonArrayBuilder arrayBuilder() {
+        return JsonArrayBuilder.empty();
+    }
+
     public static JsonBoolean booleanNode(final boolean value) {
         return JsonBoolean.with(value);
     }
@@ -110,24 +203,56 @@ public abstract class JsonNode implements Node<JsonNode, JsonPropertyName, Name,
         return JsonNumber.with(value);
     }
 
+    /**
+     * Creates a {@link JsonNumber} from a long, large longs that would lose digits as a double keep all digits.
+     */
+    public static JsonNumber number(final long value) {
+        return JsonNumber.withLong(value);
+    }
+
+    /**
+     * Creates a {@link JsonNumber} that keeps all the digits of the given {@link BigDecimal}.
+     */
+    public static JsonNumber number(final BigDecimal value) {
+        return JsonNumber.withBigDecimal(value);
+    }
+
+    /**
+     * Creates a {@link JsonNumber} that always keeps the given {@link BigDecimal}, without checking if its double would
+     * print the same digits. Parsers use this for numbers they counted to have more digits or a larger exponent than
+     * a double can hold.
+     */
+    public static JsonNumber losslessNumber(final BigDecimal value) {
+        return JsonNumber.withLossless(value);
+    }
+
     public static JsonObject object() {
         return JsonObject.EMPTY;
     }
 
+    /**
+     * Returns a mutable builder that creates a {@link JsonObject}, which is more efficient than repeated
+     * {@link JsonObject#set(JsonPropertyName, JsonNode)} when setting many properties.
+     */
+    public static JsonObjectBuilder objectBuilder() {
+        return JsonObjectBuilder.empty();
+    }
+
     public static JsonString string(final String value) {
         return JsonString.with(value);
     }
 
-    private final static Optional<JsonNode> NO_PARENT = Optional.empty();
+    final static Optional<JsonNode> NO_PARENT = Optional.empty();
 
     /**
      * Package private ctor to limit sub classing.
      */
     JsonNode(final JsonPropertyName name,
-             final int index) {
+             final int index,
+             final Optional<JsonNode> parent) {
         super();
         this.name = name;
-        this.parent = NO_PARENT;
+        this.parent = parent;
         this.index = index;
     }
 
@@ -186,12 +311,30 @@ public abstract class JsonNode implements Node<JsonNode, JsonPropertyName, Name,
     final JsonNode setParent(final Optional<JsonNode> parent,
                              final JsonPropertyName name,
                              final int index) {
-        final JsonNode copy = this.replace(name, index);
-        copy.parent = parent;
-        return copy;
+        return this.replace(
+            name,
+            index,
+            parent
+        );
     }
 
-    private Optional<JsonNode> parent;
+    /**
+     * The parent is final like every other field of a {@link JsonNode}, so a node that is cached without locking, such
+     * as an adopted child, is always seen fully built by other threads.
+     */
+    private final Optional<JsonNode> parent;
+
+    /**
+     * Returns an equivalent node without a parent, with the given name and index. This is the form that a
+     * {@link JsonParentNode} stores its children, and because copies of a parent share their children, detaching is
+     * always a shallow copy.
+     */
+    final JsonNode detach(final JsonPropertyName name,
+                          final int index) {
+        return this.isRoot() && this.index == index && this.name.equals(name) ?
+            this :
+            this.replace(name, index);
+    }
 
     /**
      * Replaces this {@link JsonNode} with the given {@link JsonNode} providing its different, keeping the parent and siblings.
@@ -243,9 +386,23 @@ public abstract class JsonNode implements Node<JsonNode, JsonPropertyName, Name,
     final int index;
 
     /**
-     * Factory method that creates a new sub class of {@link JsonLeafNode} that is the same type as this.
+     * Factory method that creates a new node without a parent that is the same type and value as this.
      */
-    abstract JsonNode replace(final JsonPropertyName name, final int index);
+    final JsonNode replace(final JsonPropertyName name,
+                           final int index) {
+        return this.replace(
+            name,
+            index,
+            NO_PARENT
+        );
+    }
+
+    /**
+     * Factory method that creates a new node with the given parent that is the same type and value as this.
+     */
+    abstract JsonNode replace(final JsonPropertyName name,
+                              final int index,
+                              final Optional<JsonNode> parent);
 
     // attributes.......................................................................................................
 
@@ -466,8 +623,13 @@ public abstract class JsonNode implements Node<JsonNode, JsonPropertyName, Name,
         Objects.requireNonNull(context, "context");
 
         final StringBuilder b = new StringBuilder();
-        try (final IndentingPrinter printer = Printers.stringBuilder(b, context.lineEnding()).indenting(context.indentation())) {
-            this.printJson(printer);
+        try {
+            JsonNodeWriter.pretty(
+                b,
+                context
+            ).write(this);
+        } catch (final IOException cause) {
+            throw new NeverError("StringBuilder should never fail: " + cause.getMessage());
         }
         return b.toString();
     }
@@ -480,11 +642,140 @@ public abstract class JsonNode implements Node<JsonNode, JsonPropertyName, Name,
      */
     public final void printJson(final IndentingPrinter printer) {
         Objects.requireNonNull(printer, "printer");
-        this.printJson0(printer);
+
+        try {
+            JsonNodeWriter.printer(printer)
+                .write(this);
+        } catch (final IOException cause) {
+            throw new NeverError("IndentingPrinter should never fail: " + cause.getMessage());
+        }
         printer.flush();
     }
 
-    abstract void printJson0(final IndentingPrinter printer);
+    /**
+     * Appends this node as json to the {@link Appendable}, using the same indentation and line endings as
+     * {@link #toString()}, without building a {@link String} holding the entire document.
+     */
+    public final void appendJson(final Appendable appendable) throws IOException {
+        this.appendJson(
+            appendable,
+            TEXT_CONTEXT
+        );
+    }
+
+    /**
+     * Appends this node as json to the {@link Appendable}, using the indentation and line ending of the
+     * {@link TextContext}.
+     */
+    public final void appendJson(final Appendable appendable,
+                                 final TextContext context) throws IOException {
+        Objects.requireNonNull(appendable, "appendable");
+        Objects.requireNonNull(context, "context");
+
+        JsonNodeWriter.pretty(
+            appendable,
+            context
+        ).write(this);
+    }
+
+    /**
+     * Appends this node as json without any whitespace to the {@link Appendable}.
+     */
+    public final void appendCompactJson(final Appendable appendable) throws IOException {
+        Objects.requireNonNull(appendable, "appendable");
+
+        JsonNodeWriter.compact(appendable)
+            .write(this);
+    }
+
+    /**
+     * Appends this node as json without any whitespace to the {@link Appendable}, escaping all characters above 0x7F
+     * including U+2028 and U+2029, so the json may be safely embedded within javascript or html.
+     */
+    public final void appendAsciiJson(final Appendable appendable) throws IOException {
+        Objects.requireNonNull(appendable, "appendable");
+
+        JsonNodeWriter.ascii(appendable)
+            .write(this);
+    }
+
+    /**
+     * Writes this node as json to the {@link OutputStream} in the given {@link Charset}, using the same indentation and
+     * line endings as {@link #toString()}. Characters are encoded as they are written into a small buffer, so neither a
+     * {@link String} nor a byte[] of the entire document is created. The stream is flushed but not closed.
+     */
+    public final void writeTo(final OutputStream output,
+                              final Charset charset) throws IOException {
+        Objects.requireNonNull(output, "output");
+        Objects.requireNonNull(charset, "charset");
+
+        final JsonNodeOutputStreamAppendable appendable = JsonNodeOutputStreamAppendable.with(
+            output,
+            charset
+        );
+        JsonNodeWriter.pretty(
+            appendable,
+            TEXT_CONTEXT
+        ).write(this);
+        appendable.flush();
+    }
+
+    /**
+     * Writes this node as json without any whitespace to the {@link OutputStream} in the given {@link Charset}.
+     * The stream is flushed but not closed.
+     */
+    public final void writeCompactTo(final OutputStream output,
+                                     final Charset charset) throws IOException {
+        Objects.requireNonNull(output, "output");
+        Objects.requireNonNull(charset, "charset");
+
+        final JsonNodeOutputStreamAppendable appendable = JsonNodeOutputStreamAppendable.with(
+            output,
+            charset
+        );
+        JsonNodeWriter.compact(appendable)
+            .write(this);
+        appendable.flush();
+    }
+
+    /**
+     * Appends each record as compact json followed by a new line, giving newline delimited json (NDJSON).
+     */
+    public static void appendNdjson(final Stream<JsonNode> records,
+                                    final Appendable appendable) throws IOException {
+        Objects.requireNonNull(records, "records");
+        Objects.requireNonNull(appendable, "appendable");
+
+        final JsonNodeWriter writer = JsonNodeWriter.compact(appendable);
+
+        final Iterator<JsonNode> iterator = records.iterator();
+        while (iterator.hasNext()) {
+            writer.write(
+                iterator.next()
+            );
+            appendable.append('\n');
+        }
+    }
+
+    /**
+     * Writes each record as compact json followed by a new line, giving UTF-8 encoded newline delimited json (NDJSON).
+     * The stream is flushed but not closed.
+     */
+    public static void writeNdjson(final Stream<JsonNode> records,
+                                   final OutputStream output) throws IOException {
+        Objects.requireNonNull(records, "records");
+        Objects.requireNonNull(output, "output");
+
+        final JsonNodeOutputStreamAppendable appendable = JsonNodeOutputStreamAppendable.with(
+            output,
+            StandardCharsets.UTF_8
+        );
+        appendNdjson(
+            records,
+            appendable
+        );
+        appendable.flush();
+    }
 
     /**
      * {@see NodeSelector#absolute}
@@ -530,9 +821,18 @@ public abstract class JsonNode implements Node<JsonNode, JsonPropertyName, Name,
     public Binary binary(final Charset charset) {
         Objects.requireNonNull(charset, "charset");
 
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            this.writeTo(
+                bytes,
+                charset
+            );
+        } catch (final IOException cause) {
+            throw new NeverError("ByteArrayOutputStream should never fail: " + cause.getMessage());
+        }
+
         return Binary.with(
-            this.toString()
-                .getBytes(charset)
+            bytes.toByteArray()
         );
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import walkingkooka.text.printer.IndentingPrinter;
+
+/**
+ * An {@link Appendable} that prints all characters to an {@link IndentingPrinter}, so {@link JsonNodeWriter} may also
+ * print json for {@link JsonNode#printJson(IndentingPrinter)}. Line breaks and indentation are not appended but are
+ * requested directly from the {@link IndentingPrinter} by {@link JsonNodeWriter}.
+ */
+final class JsonNodeIndentingPrinterAppendable implements Appendable {
+
+    static JsonNodeIndentingPrinterAppendable with(final IndentingPrinter printer) {
+        return new JsonNodeIndentingPrinterAppendable(printer);
+    }
+
+    private JsonNodeIndentingPrinterAppendable(final IndentingPrinter printer) {
+        super();
+        this.printer = printer;
+    }
+
+    @Override
+    public Appendable append(final CharSequence chars) {
+        this.printer.print(chars);
+        return this;
+    }
+
+    @Override
+    public Appendable append(final CharSequence chars,
+                             final int start,
+                             final int end) {
+        return this.append(
+            chars.subSequence(
+                start,
+                end
+            )
+        );
+    }
+
+    @Override
+    public Appendable append(final char c) {
+        return this.append(
+            String.valueOf(c)
+        );
+    }
+
+    final IndentingPrinter printer;
+
+    @Override
+    public String toString() {
+        return this.printer.toString();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+/**
+ * Creates the values of a lazy {@link JsonArrayList} or {@link JsonObjectList} from the tape recorded by
+ * {@link JsonNodeTextParser#parseLazy(String)}, parsing each value from the original text only when it is fetched.
+ * The text and tape are shared by all lazy lists of the same document and never modified.
+ */
+final class JsonNodeLazyChildren {
+
+    static JsonNodeLazyChildren with(final String text,
+                                     final int[] tape,
+                                     final int[] entries,
+                                     final JsonPropertyName[] names) {
+        return new JsonNodeLazyChildren(
+            text,
+            tape,
+            entries,
+            names
+        );
+    }
+
+    private JsonNodeLazyChildren(final String text,
+                                 final int[] tape,
+                                 final int[] entries,
+                                 final JsonPropertyName[] names) {
+        super();
+        this.text = text;
+        this.tape = tape;
+        this.entries = entries;
+        this.names = names;
+    }
+
+    /**
+     * Parses the value at the given index and detaches it with its name and index.
+     */
+    JsonNode value(final int index) {
+        final JsonPropertyName[] names = this.names;
+
+        return JsonNodeTextParser.lazyValue(
+            this.text,
+            this.tape,
+            this.entries[index]
+        ).detach(
+            null == names ?
+                JsonPropertyName.index(index) :
+                names[index],
+            index
+        );
+    }
+
+    private final String text;
+
+    private final int[] tape;
+
+    /**
+     * The tape entry of each value.
+     */
+    private final int[] entries;
+
+    /**
+     * The property names for an object or null for an array.
+     */
+    private final JsonPropertyName[] names;
+
+    @Override
+    public String toString() {
+        return this.entries.length + " lazy value(s)";
+    }
+}
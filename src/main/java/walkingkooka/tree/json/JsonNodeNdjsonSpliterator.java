@@ -0,0 +1,215 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import walkingkooka.tree.json.parser.JsonNodeScanner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} that reads UTF-8 newline delimited json from an {@link InputStream} and returns the still
+ * encoded bytes of each record. Lines are found by scanning bytes for '\n', which never appears within a multi-byte
+ * UTF-8 sequence, so records are never decoded here and each is later parsed by {@link JsonNodeUtf8Parser}. Blank
+ * lines are ignored and a trailing '\r' is removed.
+ * <br>
+ * Records are parsed by the {@link java.util.stream.Stream} rather than here, so a parallel stream parses records
+ * concurrently, while reading remains sequential.
+ */
+final class JsonNodeNdjsonSpliterator extends Spliterators.AbstractSpliterator<byte[]> {
+
+    // VisibleForTesting
+    final static int BUFFER_SIZE = 8192;
+
+    private final static byte[] NO_BYTES = new byte[0];
+
+    static JsonNodeNdjsonSpliterator with(final InputStream input) {
+        return new JsonNodeNdjsonSpliterator(input);
+    }
+
+    private JsonNodeNdjsonSpliterator(final InputStream input) {
+        super(
+            Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL
+        );
+        this.input = input;
+        this.bytes = new byte[BUFFER_SIZE];
+        this.line = NO_BYTES;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super byte[]> action) {
+        try {
+            byte[] record;
+            do {
+                record = this.readLine();
+            } while (null != record && isBlank(record));
+
+            final boolean advanced = null != record;
+            if (advanced) {
+                action.accept(record);
+            }
+            return advanced;
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+    }
+
+    /**
+     * Returns the next line without the line ending, or null at the end of the input.
+     */
+    private byte[] readLine() throws IOException {
+        int lineLength = 0;
+
+        for (; ; ) {
+            if (this.position >= this.limit && false == this.fill()) {
+                return 0 == lineLength ?
+                    null :
+                    this.record(
+                        this.line,
+                        0,
+                        lineLength
+                    );
+            }
+
+            final byte[] bytes = this.bytes;
+            final int limit = this.limit;
+            final int start = this.position;
+
+            int i = start;
+            while (i < limit && '\n' != bytes[i]) {
+                i++;
+            }
+
+            if (i < limit) {
+                this.position = i + 1;
+
+                // the entire line is within the buffer
+                if (0 == lineLength) {
+                    return this.record(
+                        bytes,
+                        start,
+                        i - start
+                    );
+                }
+            } else {
+                this.position = i;
+            }
+
+            // copy the part of the line within this buffer
+            final int count = i - start;
+            byte[] line = this.line;
+            if (lineLength + count > line.length) {
+                line = Arrays.copyOf(
+                    line,
+                    Math.max(
+                        line.length * 2,
+                        lineLength + count
+                    )
+                );
+                this.line = line;
+            }
+            System.arraycopy(
+                bytes,
+                start,
+                line,
+                lineLength,
+                count
+            );
+            lineLength += count;
+
+            if (i < limit) {
+                return this.record(
+                    line,
+                    0,
+                    lineLength
+                );
+            }
+        }
+    }
+
+    /**
+     * Copies the bytes of a record without any trailing '\r', as the buffers are reused for the following records.
+     */
+    private byte[] record(final byte[] bytes,
+                          final int offset,
+                          final int length) {
+        int end = offset + length;
+        if (end > offset && '\r' == bytes[end - 1]) {
+            end--;
+        }
+        return Arrays.copyOfRange(
+            bytes,
+            offset,
+            end
+        );
+    }
+
+    /**
+     * Json whitespace is only ever a single byte, so a record is blank when all its bytes are whitespace.
+     */
+    private static boolean isBlank(final byte[] record) {
+        boolean blank = true;
+
+        for (final byte b : record) {
+            if (false == JsonNodeScanner.isWhitespace((char) b)) {
+                blank = false;
+                break;
+            }
+        }
+
+        return blank;
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = this.input.read(this.bytes);
+        } while (0 == read);
+
+        this.position = 0;
+        this.limit = Math.max(
+            read,
+            0
+        );
+        return read > 0;
+    }
+
+    private final InputStream input;
+
+    private final byte[] bytes;
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * Holds the bytes of a line that continues past the end of {@link #bytes}.
+     */
+    private byte[] line;
+
+    @Override
+    public String toString() {
+        return this.input.toString();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@link Appendable} that encodes characters into a reused byte buffer, which is written to an {@link OutputStream}
+ * each time it fills. UTF-8 is encoded directly, other {@link Charset charsets} encode small chunks of characters.
+ * Unpaired surrogates are written as '?', matching {@link String#getBytes(Charset)}.
+ */
+final class JsonNodeOutputStreamAppendable implements Appendable {
+
+    // VisibleForTesting
+    final static int BUFFER_SIZE = 8192;
+
+    static JsonNodeOutputStreamAppendable with(final OutputStream output,
+                                               final Charset charset) {
+        return new JsonNodeOutputStreamAppendable(
+            output,
+            charset
+        );
+    }
+
+    private JsonNodeOutputStreamAppendable(final OutputStream output,
+                                           final Charset charset) {
+        super();
+        this.output = output;
+        this.charset = charset;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.bytes = new byte[BUFFER_SIZE];
+        this.chars = this.utf8 ?
+            null :
+            new StringBuilder();
+    }
+
+    @Override
+    public Appendable append(final CharSequence chars) throws IOException {
+        return this.append(
+            chars,
+            0,
+            chars.length()
+        );
+    }
+
+    @Override
+    public Appendable append(final CharSequence chars,
+                             final int start,
+                             final int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            this.append(
+                chars.charAt(i)
+            );
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(final char c) throws IOException {
+        if (this.utf8) {
+            this.encodeUtf8(c);
+        } else {
+            final StringBuilder chars = this.chars;
+            chars.append(c);
+
+            // never split a surrogate pair between chunks
+            if (chars.length() >= CHUNK_SIZE && false == Character.isHighSurrogate(c)) {
+                this.encodeChunk();
+            }
+        }
+        return this;
+    }
+
+    private void encodeUtf8(final char c) throws IOException {
+        final char highSurrogate = this.highSurrogate;
+
+        if (0 != highSurrogate) {
+            this.highSurrogate = 0;
+
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(
+                    highSurrogate,
+                    c
+                );
+                this.write(0xf0 | (codePoint >> 18));
+                this.write(0x80 | ((codePoint >> 12) & 0x3f));
+                this.write(0x80 | ((codePoint >> 6) & 0x3f));
+                this.write(0x80 | (codePoint & 0x3f));
+                return;
+            }
+
+            this.write(UNPAIRED_SURROGATE);
+        }
+
+        if (c < 0x80) {
+            this.write(c);
+        } else if (c < 0x800) {
+            this.write(0xc0 | (c >> 6));
+            this.write(0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c)) {
+            this.highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            this.write(UNPAIRED_SURROGATE);
+        } else {
+            this.write(0xe0 | (c >> 12));
+            this.write(0x80 | ((c >> 6) & 0x3f));
+            this.write(0x80 | (c & 0x3f));
+        }
+    }
+
+    private void encodeChunk() throws IOException {
+        final StringBuilder chars = this.chars;
+
+        for (final byte b : chars.toString().getBytes(this.charset)) {
+            this.write(b);
+        }
+        chars.setLength(0);
+    }
+
+    private void write(final int b) throws IOException {
+        if (BUFFER_SIZE == this.position) {
+            this.writeBytes();
+        }
+        this.bytes[this.position++] = (byte) b;
+    }
+
+    private void writeBytes() throws IOException {
+        this.output.write(
+            this.bytes,
+            0,
+            this.position
+        );
+        this.position = 0;
+    }
+
+    /**
+     * Encodes any remaining characters and writes all bytes to the {@link OutputStream}, which is then flushed.
+     */
+    void flush() throws IOException {
+        if (this.utf8) {
+            if (0 != this.highSurrogate) {
+                this.highSurrogate = 0;
+                this.write(UNPAIRED_SURROGATE);
+            }
+        } else {
+            this.encodeChunk();
+        }
+
+        this.writeBytes();
+        this.output.flush();
+    }
+
+    private final OutputStream output;
+
+    private final Charset charset;
+
+    private final boolean utf8;
+
+    /**
+     * The reused buffer of encoded bytes.
+     */
+    private final byte[] bytes;
+
+    /**
+     * The number of bytes in {@link #bytes} not yet written.
+     */
+    private int position;
+
+    /**
+     * A high surrogate waiting for its low surrogate, only used when encoding UTF-8.
+     */
+    private char highSurrogate;
+
+    /**
+     * Characters waiting to be encoded, only used by charsets other than UTF-8.
+     */
+    private final StringBuilder chars;
+
+    private final static int CHUNK_SIZE = 1024;
+
+    private final static int UNPAIRED_SURROGATE = '?';
+
+    @Override
+    public String toString() {
+        return this.output.toString();
+    }
+}
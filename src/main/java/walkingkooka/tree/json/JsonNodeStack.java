@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import walkingkooka.Cast;
+
+import java.util.Arrays;
+
+/**
+ * A growable stack used by the tree algorithms that walk json without recursing, so the depth of a document is
+ * limited by memory and not the thread stack. Each entry holds two values and the index of the next child.
+ */
+final class JsonNodeStack {
+
+    static JsonNodeStack empty() {
+        return new JsonNodeStack();
+    }
+
+    private JsonNodeStack() {
+        super();
+        this.firsts = new Object[INITIAL_CAPACITY];
+        this.seconds = new Object[INITIAL_CAPACITY];
+        this.indices = new int[INITIAL_CAPACITY];
+    }
+
+    void push(final Object first,
+              final Object second) {
+        final int size = this.size;
+        if (size == this.indices.length) {
+            final int capacity = size * 2;
+            this.firsts = Arrays.copyOf(
+                this.firsts,
+                capacity
+            );
+            this.seconds = Arrays.copyOf(
+                this.seconds,
+                capacity
+            );
+            this.indices = Arrays.copyOf(
+                this.indices,
+                capacity
+            );
+        }
+
+        this.firsts[size] = first;
+        this.seconds[size] = second;
+        this.indices[size] = 0;
+        this.size = size + 1;
+    }
+
+    <T> T first() {
+        return Cast.to(
+            this.firsts[this.size - 1]
+        );
+    }
+
+    <T> T second() {
+        return Cast.to(
+            this.seconds[this.size - 1]
+        );
+    }
+
+    /**
+     * Replaces the second value of the top entry.
+     */
+    void setSecond(final Object second) {
+        this.seconds[this.size - 1] = second;
+    }
+
+    /**
+     * Returns the index of the next child of the top entry, and advances it.
+     */
+    int nextIndex() {
+        return this.indices[this.size - 1]++;
+    }
+
+    /**
+     * Returns the index of the next child of the top entry.
+     */
+    int index() {
+        return this.indices[this.size - 1];
+    }
+
+    void pop() {
+        final int size = this.size - 1;
+        this.firsts[size] = null;
+        this.seconds[size] = null;
+        this.size = size;
+    }
+
+    boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    private final static int INITIAL_CAPACITY = 16;
+
+    private Object[] firsts;
+
+    private Object[] seconds;
+
+    private int[] indices;
+
+    private int size;
+
+    @Override
+    public String toString() {
+        return this.size + " entries";
+    }
+}
@@ -0,0 +1,773 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.parser.JsonNodeParserContext;
+import walkingkooka.tree.json.parser.JsonNodeParserContexts;
+import walkingkooka.tree.json.parser.JsonNodeParserException;
+import walkingkooka.tree.json.parser.JsonNodeParsers;
+import walkingkooka.tree.json.parser.JsonNodeScanner;
+
+import java.util.Arrays;
+
+/**
+ * A single pass parser that scans json text and builds {@link JsonNode} directly, without the intermediate
+ * {@link walkingkooka.tree.json.parser.JsonNodeParserToken} tree or any backtracking. It accepts the same json as
+ * {@link JsonNodeParsers#value()}, which remains available for tooling that needs tokens, and additionally ignores
+ * whitespace before and after the value. Numbers and strings are scanned by the same {@link JsonNodeScanner} as every
+ * other json parser. Nesting never recurses, so deep json is only limited by memory and the maximum depth of the
+ * {@link JsonNodeParserContext}.
+ */
+final class JsonNodeTextParser {
+
+    /**
+     * Parses the given text which must contain a single json value.
+     */
+    static JsonNode parse(final String text) {
+        return parse(
+            text,
+            JsonNodeParserContexts.basic()
+        );
+    }
+
+    /**
+     * Parses the given text which must contain a single json value, failing as soon as any limit of the
+     * {@link JsonNodeParserContext} is exceeded.
+     */
+    static JsonNode parse(final String text,
+                          final JsonNodeParserContext context) {
+        final JsonNodeTextParser parser = new JsonNodeTextParser(
+            text,
+            context
+        );
+
+        final int maxDocumentLength = context.maxDocumentLength();
+        if (text.length() > maxDocumentLength) {
+            parser.position = maxDocumentLength;
+            throw parser.exceeded(
+                "document length",
+                maxDocumentLength
+            );
+        }
+
+        parser.skipWhitespace();
+        final JsonNode value = parser.value();
+        parser.skipWhitespace();
+
+        if (parser.position < parser.length) {
+            throw parser.invalidCharacter("end of text");
+        }
+        return value;
+    }
+
+    private JsonNodeTextParser(final String text,
+                               final JsonNodeParserContext context) {
+        super();
+        this.text = text;
+        this.length = text.length();
+
+        this.maxDepth = context.maxDepth();
+        this.maxStringLength = context.maxStringLength();
+        this.maxObjectMembers = context.maxObjectMembers();
+        this.maxArrayElements = context.maxArrayElements();
+    }
+
+    /**
+     * Parses the value at the current position. Arrays and objects being filled are kept on a {@link JsonNodeStack}
+     * rather than the thread stack, so the depth of the text is only limited by the {@link JsonNodeParserContext}.
+     */
+    private JsonNode value() {
+        JsonNodeStack stack = null;
+
+        for (; ; ) {
+            if (this.position >= this.length) {
+                throw this.endOfText("value");
+            }
+
+            JsonNode value;
+
+            final char c = this.text.charAt(this.position);
+            switch (c) {
+                case '{':
+                    this.enter();
+                    this.position++; // skip {
+                    this.skipWhitespace();
+
+                    if (this.tryConsume('}')) {
+                        this.depth--;
+                        value = JsonObjectBuilder.empty()
+                            .build();
+                        break;
+                    }
+                    if (null == stack) {
+                        stack = JsonNodeStack.empty();
+                    }
+                    stack.push(
+                        JsonObjectBuilder.empty(),
+                        null
+                    );
+                    this.propertyName(stack);
+                    continue;
+                case '[':
+                    this.enter();
+                    this.position++; // skip [
+                    this.skipWhitespace();
+
+                    if (this.tryConsume(']')) {
+                        this.depth--;
+                        value = JsonArrayBuilder.empty()
+                            .build();
+                        break;
+                    }
+                    if (null == stack) {
+                        stack = JsonNodeStack.empty();
+                    }
+                    stack.push(
+                        JsonArrayBuilder.empty(),
+                        null
+                    );
+                    this.element(stack);
+                    continue;
+                case '"':
+                    value = JsonNode.string(
+                        this.string()
+                    );
+                    break;
+                case 't':
+                    this.literal("true");
+                    value = JsonBoolean.with(true);
+                    break;
+                case 'f':
+                    this.literal("false");
+                    value = JsonBoolean.with(false);
+                    break;
+                case 'n':
+                    this.literal("null");
+                    value = JsonNull.INSTANCE;
+                    break;
+                default:
+                    if (false == JsonNodeScanner.isNumberStart(c)) {
+                        throw this.invalidCharacter("value");
+                    }
+                    value = this.number();
+                    break;
+            }
+
+            // add the value to its parent, completing every parent that is closed after it
+            for (; ; ) {
+                if (null == stack || stack.isEmpty()) {
+                    return value;
+                }
+
+                this.skipWhitespace();
+
+                final Object builder = stack.first();
+                if (builder instanceof JsonObjectBuilder) {
+                    final JsonObjectBuilder object = (JsonObjectBuilder) builder;
+                    object.set(
+                        stack.second(),
+                        value
+                    );
+                    if (this.tryConsume('}')) {
+                        value = object.build();
+                    } else {
+                        this.consume(
+                            ',',
+                            "',' or '}'"
+                        );
+                        this.skipWhitespace();
+                        this.propertyName(stack);
+                        break;
+                    }
+                } else {
+                    final JsonArrayBuilder array = (JsonArrayBuilder) builder;
+                    array.appendChild(value);
+                    if (this.tryConsume(']')) {
+                        value = array.build();
+                    } else {
+                        this.consume(
+                            ',',
+                            "',' or ']'"
+                        );
+                        this.skipWhitespace();
+                        this.element(stack);
+                        break;
+                    }
+                }
+
+                stack.pop();
+                this.depth--;
+            }
+        }
+    }
+
+    /**
+     * Consumes the name of the next property of the object on top of the stack up to its value, saving the name
+     * until the value is parsed.
+     */
+    private void propertyName(final JsonNodeStack stack) {
+        if (this.position >= this.length) {
+            throw this.endOfText("property name");
+        }
+        if (stack.nextIndex() >= this.maxObjectMembers) {
+            throw this.exceeded(
+                "object members",
+                this.maxObjectMembers
+            );
+        }
+        if ('"' != this.text.charAt(this.position)) {
+            throw this.invalidCharacter("property name");
+        }
+
+        stack.setSecond(
+            JsonPropertyName.with(
+                this.string()
+            )
+        );
+
+        this.skipWhitespace();
+        this.consume(
+            ':',
+            "':'"
+        );
+        this.skipWhitespace();
+    }
+
+    /**
+     * Counts the next element of the array on top of the stack.
+     */
+    private void element(final JsonNodeStack stack) {
+        if (stack.nextIndex() >= this.maxArrayElements) {
+            throw this.exceeded(
+                "array elements",
+                this.maxArrayElements
+            );
+        }
+    }
+
+    /**
+     * Increases the depth when an array or object begins, failing if the maximum is exceeded.
+     */
+    private void enter() {
+        final int depth = this.depth + 1;
+        if (depth > this.maxDepth) {
+            throw this.exceeded(
+                "depth",
+                this.maxDepth
+            );
+        }
+        this.depth = depth;
+    }
+
+    /**
+     * Consumes a string including the surrounding double quotes. Strings without any escaping are returned as a
+     * substring, only strings with escape sequences are decoded.
+     */
+    private String string() {
+        final JsonNodeScanner scanner = this.scanner;
+        scanner.beginString(
+            true,
+            this.maxStringLength
+        );
+        this.token();
+        return scanner.string();
+    }
+
+    /**
+     * Skips over a string including the surrounding double quotes, checking but not decoding escape sequences.
+     */
+    private void skipString() {
+        this.scanner.beginString(
+            false,
+            this.maxStringLength
+        );
+        this.token();
+    }
+
+    /**
+     * Consumes a number including the NaN and Infinity forms accepted by {@link JsonNodeParsers#number()}.
+     */
+    private JsonNumber number() {
+        this.skipNumber();
+        return this.scanner.number();
+    }
+
+    private void skipNumber() {
+        this.scanner.beginNumber();
+        this.token();
+    }
+
+    /**
+     * Gives the {@link JsonNodeScanner} the characters of the number or string at the current position, failing if
+     * the token is incomplete or too long.
+     */
+    private void token() {
+        final JsonNodeScanner scanner = this.scanner;
+
+        final int position = scanner.accept(
+            this.text,
+            this.position,
+            this.length
+        );
+        this.position = position;
+
+        if (false == scanner.isComplete()) {
+            if (scanner.isLengthExceeded()) {
+                throw this.exceeded(
+                    "string length",
+                    this.maxStringLength
+                );
+            }
+            throw position >= this.length ?
+                this.endOfText(scanner.expected()) :
+                this.invalidCharacter(scanner.expected());
+        }
+    }
+
+    private void literal(final String literal) {
+        if (false == this.text.startsWith(literal, this.position)) {
+            throw this.invalidCharacter(literal);
+        }
+        this.position += literal.length();
+    }
+
+    private void skipWhitespace() {
+        this.position = JsonNodeScanner.skipWhitespace(
+            this.text,
+            this.position,
+            this.length
+        );
+    }
+
+    private boolean tryConsume(final char c) {
+        final boolean consumed = this.position < this.length &&
+            c == this.text.charAt(this.position);
+        if (consumed) {
+            this.position++;
+        }
+        return consumed;
+    }
+
+    private void consume(final char c,
+                         final String expected) {
+        if (false == this.tryConsume(c)) {
+            throw this.position >= this.length ?
+                this.endOfText(expected) :
+                this.invalidCharacter(expected);
+        }
+    }
+
+    // lazy.............................................................................................................
+
+    /**
+     * Checks all the text in a single scan, recording where each value starts into an int tape without creating any
+     * {@link JsonNode}. The root and each object or array fetched later are given lazy children, which are parsed
+     * from the text only when fetched, so values that are never fetched cost only their tape entries. Invalid json
+     * still fails here, rather than when a value is fetched.
+     */
+    static JsonNode parseLazy(final String text) {
+        final JsonNodeTextParser parser = new JsonNodeTextParser(
+            text,
+            JsonNodeParserContexts.basic()
+        );
+        parser.tape = new int[TAPE_ENTRY * 16];
+
+        parser.skipWhitespace();
+        parser.scan();
+        parser.skipWhitespace();
+
+        if (parser.position < parser.length) {
+            throw parser.invalidCharacter("end of text");
+        }
+
+        return lazyValue(
+            text,
+            parser.tape,
+            0
+        );
+    }
+
+    /**
+     * Each tape entry holds the offset of the value, the entry following the value and all its descendants, and the
+     * number of children for an object or array. Object properties record an entry for the name followed by the value.
+     */
+    private final static int TAPE_ENTRY = 3;
+
+    /**
+     * Records a tape entry for the value at the current position and skips over the value including any children.
+     * The tape entries of the arrays and objects being scanned are kept on a {@link JsonNodeStack}, so they are
+     * completed when the array or object is closed.
+     */
+    private void scan() {
+        JsonNodeStack stack = null;
+
+        for (; ; ) {
+            if (this.position >= this.length) {
+                throw this.endOfText("value");
+            }
+
+            final int entry = this.tapeAdd();
+
+            final char c = this.text.charAt(this.position);
+            switch (c) {
+                case '{':
+                    this.position++; // skip {
+                    this.skipWhitespace();
+
+                    if (this.tryConsume('}')) {
+                        break;
+                    }
+                    if (null == stack) {
+                        stack = JsonNodeStack.empty();
+                    }
+                    stack.push(
+                        entry,
+                        Boolean.TRUE
+                    );
+                    this.scanPropertyName();
+                    continue;
+                case '[':
+                    this.position++; // skip [
+                    this.skipWhitespace();
+
+                    if (this.tryConsume(']')) {
+                        break;
+                    }
+                    if (null == stack) {
+                        stack = JsonNodeStack.empty();
+                    }
+                    stack.push(
+                        entry,
+                        Boolean.FALSE
+                    );
+                    continue;
+                case '"':
+                    this.skipString();
+                    break;
+                case 't':
+                    this.literal("true");
+                    break;
+                case 'f':
+                    this.literal("false");
+                    break;
+                case 'n':
+                    this.literal("null");
+                    break;
+                default:
+                    if (false == JsonNodeScanner.isNumberStart(c)) {
+                        throw this.invalidCharacter("value");
+                    }
+                    this.skipNumber();
+                    break;
+            }
+
+            // count the value in its parent, completing the entry of every parent that is closed after it
+            for (; ; ) {
+                if (null == stack || stack.isEmpty()) {
+                    return;
+                }
+
+                this.skipWhitespace();
+                stack.nextIndex();
+
+                final boolean object = stack.second();
+                if (this.tryConsume(object ? '}' : ']')) {
+                    final int parent = stack.<Integer>first();
+                    final int[] tape = this.tape;
+                    tape[parent + 1] = this.tapeLength;
+                    tape[parent + 2] = stack.index();
+                    stack.pop();
+                } else {
+                    this.consume(
+                        ',',
+                        object ?
+                            "',' or '}'" :
+                            "',' or ']'"
+                    );
+                    this.skipWhitespace();
+                    if (object) {
+                        this.scanPropertyName();
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a tape entry for the next property name and skips over it up to the value.
+     */
+    private void scanPropertyName() {
+        if (this.position >= this.length) {
+            throw this.endOfText("property name");
+        }
+        if ('"' != this.text.charAt(this.position)) {
+            throw this.invalidCharacter("property name");
+        }
+
+        this.tapeAdd();
+        this.skipString();
+
+        this.skipWhitespace();
+        this.consume(
+            ':',
+            "':'"
+        );
+        this.skipWhitespace();
+    }
+
+    /**
+     * Adds a tape entry for the value at the current position, returning its offset within the tape.
+     */
+    private int tapeAdd() {
+        final int entry = this.tapeLength;
+
+        int[] tape = this.tape;
+        if (entry + TAPE_ENTRY > tape.length) {
+            tape = Arrays.copyOf(
+                tape,
+                tape.length * 2
+            );
+            this.tape = tape;
+        }
+
+        tape[entry] = this.position;
+        tape[entry + 1] = entry + TAPE_ENTRY;
+        this.tapeLength = entry + TAPE_ENTRY;
+        return entry;
+    }
+
+    /**
+     * Creates the detached value recorded by the given tape entry. Objects and arrays are given lazy children, all
+     * other values are parsed from the text.
+     */
+    static JsonNode lazyValue(final String text,
+                              final int[] tape,
+                              final int entry) {
+        final JsonNodeTextParser parser = new JsonNodeTextParser(
+            text,
+            JsonNodeParserContexts.basic()
+        );
+        parser.position = tape[entry];
+
+        final JsonNode value;
+
+        switch (text.charAt(parser.position)) {
+            case '{':
+                value = JsonObject.withChildren(
+                    parser.lazyObject(
+                        tape,
+                        entry
+                    )
+                );
+                break;
+            case '[':
+                value = JsonArray.withChildren(
+                    parser.lazyArray(
+                        tape,
+                        entry
+                    )
+                );
+                break;
+            default:
+                value = parser.value();
+                break;
+        }
+
+        return value;
+    }
+
+    private JsonObjectList lazyObject(final int[] tape,
+                                      final int entry) {
+        final int count = tape[entry + 2];
+
+        JsonPropertyName[] names = new JsonPropertyName[count];
+        int[] entries = new int[count];
+        final int[] table = count > JsonObjectList.LINEAR_SCAN_MAX ?
+            JsonObjectList.emptyIndex(count) :
+            null;
+        int size = 0;
+
+        int child = entry + TAPE_ENTRY;
+        for (int i = 0; i < count; i++) {
+            this.position = tape[child];
+            final JsonPropertyName name = JsonPropertyName.with(
+                this.string()
+            );
+            final int value = child + TAPE_ENTRY;
+
+            // a later property with the same name replaces the value of the earlier, but keeps the earlier position
+            final int index = JsonObjectList.indexOf(
+                name,
+                names,
+                size,
+                table
+            );
+            if (-1 == index) {
+                names[size] = name;
+                entries[size] = value;
+                if (null != table) {
+                    JsonObjectList.indexPut(
+                        table,
+                        name,
+                        size
+                    );
+                }
+                size++;
+            } else {
+                entries[index] = value;
+            }
+
+            child = tape[value + 1];
+        }
+
+        if (size < count) {
+            names = Arrays.copyOf(
+                names,
+                size
+            );
+            entries = Arrays.copyOf(
+                entries,
+                size
+            );
+        }
+
+        return JsonObjectList.lazy(
+            names,
+            table,
+            JsonNodeLazyChildren.with(
+                this.text,
+                tape,
+                entries,
+                names
+            )
+        );
+    }
+
+    private JsonArrayList lazyArray(final int[] tape,
+                                    final int entry) {
+        final int count = tape[entry + 2];
+        final int[] entries = new int[count];
+
+        int child = entry + TAPE_ENTRY;
+        for (int i = 0; i < count; i++) {
+            entries[i] = child;
+            child = tape[child + 1];
+        }
+
+        return JsonArrayList.lazy(
+            count,
+            JsonNodeLazyChildren.with(
+                this.text,
+                tape,
+                entries,
+                null
+            )
+        );
+    }
+
+    // errors...........................................................................................................
+
+    private JsonNodeParserException endOfText(final String expected) {
+        return new JsonNodeParserException("End of text at " + this.location() + " expected " + expected);
+    }
+
+    private JsonNodeParserException exceeded(final String label,
+                                             final int max) {
+        return new JsonNodeParserException("Maximum " + label + " " + max + " exceeded at " + this.location());
+    }
+
+    private JsonNodeParserException invalidCharacter(final String expected) {
+        return new JsonNodeParserException(
+            "Invalid character " +
+                CharSequences.quoteIfChars(
+                    this.text.charAt(this.position)
+                ) +
+                " at " +
+                this.location() +
+                " expected " +
+                expected
+        );
+    }
+
+    /**
+     * Computes the line and column of the current position, only done when reporting an error.
+     */
+    private String location() {
+        final String text = this.text;
+        final int position = Math.min(
+            this.position,
+            this.length
+        );
+
+        int line = 1;
+        int column = 1;
+        for (int i = 0; i < position; i++) {
+            if ('\n' == text.charAt(i)) {
+                line++;
+                column = 1;
+            } else {
+                column++;
+            }
+        }
+
+        return "(" + column + "," + line + ")";
+    }
+
+    private final String text;
+
+    private final int length;
+
+    private final int maxDepth;
+
+    private final int maxStringLength;
+
+    private final int maxObjectMembers;
+
+    private final int maxArrayElements;
+
+    /**
+     * Scans every number and string.
+     */
+    private final JsonNodeScanner scanner = JsonNodeScanner.empty();
+
+    /**
+     * The number of arrays and objects currently being parsed.
+     */
+    private int depth;
+
+    /**
+     * The position of the next character to be consumed.
+     */
+    private int position;
+
+    /**
+     * The tape filled by {@link #parseLazy(String)}, only the first {@link #tapeLength} ints are used.
+     */
+    private int[] tape;
+
+    private int tapeLength;
+
+    @Override
+    public String toString() {
+        return CharSequences.quoteAndEscape(
+            this.text.substring(this.position)
+        ).toString();
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.parser.JsonNodeParserException;
+import walkingkooka.tree.json.parser.JsonNodeScanner;
+import walkingkooka.tree.json.parser.JsonNodeUtf8Decoder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single pass parser that scans UTF-8 encoded json bytes and builds {@link JsonNode} directly, accepting the same
+ * json as {@link JsonNodeTextParser}. Structural characters, literals and numbers are all ASCII and recognised as bytes,
+ * only the content of strings is validated and decoded, so the input is never decoded into a {@link String} or char[]
+ * first. Numbers and strings are scanned by the same {@link JsonNodeScanner} as every other json parser, and like
+ * {@link JsonNodeTextParser} nesting never recurses.
+ */
+final class JsonNodeUtf8Parser {
+
+    /**
+     * Parses the given range of bytes which must contain a single json value.
+     */
+    static JsonNode parse(final byte[] bytes,
+                          final int offset,
+                          final int length) {
+        final JsonNodeUtf8Parser parser = new JsonNodeUtf8Parser(
+            bytes,
+            offset,
+            offset + length
+        );
+
+        parser.skipWhitespace();
+        final JsonNode value = parser.value();
+        parser.skipWhitespace();
+
+        if (parser.position < parser.end) {
+            throw parser.invalidCharacter("end of text");
+        }
+        return value;
+    }
+
+    private JsonNodeUtf8Parser(final byte[] bytes,
+                               final int start,
+                               final int end) {
+        super();
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        this.position = start;
+    }
+
+    /**
+     * Parses the value at the current position. Arrays and objects being filled are kept on a {@link JsonNodeStack}
+     * rather than the thread stack.
+     */
+    private JsonNode value() {
+        JsonNodeStack stack = null;
+
+        for (; ; ) {
+            if (this.position >= this.end) {
+                throw this.endOfText("value");
+            }
+
+            JsonNode value;
+
+            final byte b = this.bytes[this.position];
+            switch (b) {
+                case '{':
+                    this.position++; // skip {
+                    this.skipWhitespace();
+
+                    if (this.tryConsume('}')) {
+                        value = JsonObjectBuilder.empty()
+                            .build();
+                        break;
+                    }
+                    if (null == stack) {
+                        stack = JsonNodeStack.empty();
+                    }
+                    stack.push(
+                        JsonObjectBuilder.empty(),
+                        null
+                    );
+                    this.propertyName(stack);
+                    continue;
+                case '[':
+                    this.position++; // skip [
+                    this.skipWhitespace();
+
+                    if (this.tryConsume(']')) {
+                        value = JsonArrayBuilder.empty()
+                            .build();
+                        break;
+                    }
+                    if (null == stack) {
+                        stack = JsonNodeStack.empty();
+                    }
+                    stack.push(
+                        JsonArrayBuilder.empty(),
+                        null
+                    );
+                    continue;
+                case '"':
+                    value = JsonNode.string(
+                        this.string()
+                    );
+                    break;
+                case 't':
+                    this.literal("true");
+                    value = JsonBoolean.with(true);
+                    break;
+                case 'f':
+                    this.literal("false");
+                    value = JsonBoolean.with(false);
+                    break;
+                case 'n':
+                    this.literal("null");
+                    value = JsonNull.INSTANCE;
+                    break;
+                default:
+                    if (false == JsonNodeScanner.isNumberStart((char) b)) {
+                        throw this.invalidCharacter("value");
+                    }
+                    value = this.number();
+                    break;
+            }
+
+            // add the value to its parent, completing every parent that is closed after it
+            for (; ; ) {
+                if (null == stack || stack.isEmpty()) {
+                    return value;
+                }
+
+                this.skipWhitespace();
+
+                final Object builder = stack.first();
+                if (builder instanceof JsonObjectBuilder) {
+                    final JsonObjectBuilder object = (JsonObjectBuilder) builder;
+                    object.set(
+                        stack.second(),
+                        value
+                    );
+                    if (this.tryConsume('}')) {
+                        value = object.build();
+                    } else {
+                        this.consume(
+                            ',',
+                            "',' or '}'"
+                        );
+                        this.skipWhitespace();
+                        this.propertyName(stack);
+                        break;
+                    }
+                } else {
+                    final JsonArrayBuilder array = (JsonArrayBuilder) builder;
+                    array.appendChild(value);
+                    if (this.tryConsume(']')) {
+                        value = array.build();
+                    } else {
+                        this.consume(
+                            ',',
+                            "',' or ']'"
+                        );
+                        this.skipWhitespace();
+                        break;
+                    }
+                }
+
+                stack.pop();
+            }
+        }
+    }
+
+    /**
+     * Consumes the name of the next property of the object on top of the stack up to its value, saving the name
+     * until the value is parsed.
+     */
+    private void propertyName(final JsonNodeStack stack) {
+        if (this.position >= this.end) {
+            throw this.endOfText("property name");
+        }
+        if ('"' != this.bytes[this.position]) {
+            throw this.invalidCharacter("property name");
+        }
+
+        stack.setSecond(
+            JsonPropertyName.with(
+                this.string()
+            )
+        );
+
+        this.skipWhitespace();
+        this.consume(
+            ':',
+            "':'"
+        );
+        this.skipWhitespace();
+    }
+
+    /**
+     * Consumes a string including the surrounding double quotes, decoding multi byte UTF-8 sequences into chars for
+     * the {@link JsonNodeScanner}.
+     */
+    private String string() {
+        final JsonNodeScanner scanner = this.scanner;
+        scanner.beginString(
+            true,
+            Integer.MAX_VALUE
+        );
+
+        final JsonNodeUtf8Decoder decoder = this.decoder;
+        final byte[] bytes = this.bytes;
+        final int end = this.end;
+
+        int i = this.position;
+        while (i < end) {
+            final int b = bytes[i];
+            if (b >= 0) {
+                if (false == scanner.accept((char) b)) {
+                    break;
+                }
+                i++;
+            } else {
+                // multi byte utf-8 sequence
+                final int start = i;
+
+                int codePoint;
+                do {
+                    codePoint = decoder.accept(bytes[i]);
+                    i++;
+                } while (JsonNodeUtf8Decoder.INCOMPLETE == codePoint && i < end);
+
+                if (codePoint < 0) {
+                    this.position = start;
+                    throw this.invalidUtf8();
+                }
+
+                final boolean accepted = codePoint >= 0x10000 ?
+                    scanner.accept(Character.highSurrogate(codePoint)) && scanner.accept(Character.lowSurrogate(codePoint)) :
+                    scanner.accept((char) codePoint);
+                if (false == accepted) {
+                    i = start;
+                    break;
+                }
+            }
+        }
+
+        this.position = i;
+        this.complete();
+        return scanner.string();
+    }
+
+    /**
+     * Consumes a number including the NaN and Infinity forms, which are always ASCII.
+     */
+    private JsonNumber number() {
+        final JsonNodeScanner scanner = this.scanner;
+        scanner.beginNumber();
+
+        final byte[] bytes = this.bytes;
+        final int end = this.end;
+
+        int i = this.position;
+        while (i < end) {
+            final byte b = bytes[i];
+            if (b < 0 || false == scanner.accept((char) b)) {
+                break;
+            }
+            i++;
+        }
+
+        this.position = i;
+        this.complete();
+        return scanner.number();
+    }
+
+    /**
+     * Fails if the number or string given to the {@link JsonNodeScanner} is incomplete.
+     */
+    private void complete() {
+        final JsonNodeScanner scanner = this.scanner;
+        if (false == scanner.isComplete()) {
+            throw this.position >= this.end ?
+                this.endOfText(scanner.expected()) :
+                this.invalidCharacter(scanner.expected());
+        }
+    }
+
+    /**
+     * Scans every number and string.
+     */
+    private final JsonNodeScanner scanner = JsonNodeScanner.empty();
+
+    private final JsonNodeUtf8Decoder decoder = JsonNodeUtf8Decoder.empty();
+
+    private boolean startsWith(final String literal,
+                               final int start) {
+        final int length = literal.length();
+
+        boolean match = start + length <= this.end;
+        if (match) {
+            final byte[] bytes = this.bytes;
+            for (int i = 0; i < length; i++) {
+                if (literal.charAt(i) != bytes[start + i]) {
+                    match = false;
+                    break;
+                }
+            }
+        }
+        return match;
+    }
+
+    private void literal(final String literal) {
+        if (false == this.startsWith(literal, this.position)) {
+            throw this.invalidCharacter(literal);
+        }
+        this.position += literal.length();
+    }
+
+    private void skipWhitespace() {
+        final byte[] bytes = this.bytes;
+        final int end = this.end;
+
+        int i = this.position;
+        while (i < end && JsonNodeScanner.isWhitespace((char) bytes[i])) {
+            i++;
+        }
+        this.position = i;
+    }
+
+    private boolean tryConsume(final char c) {
+        final boolean consumed = this.position < this.end &&
+            c == this.bytes[this.position];
+        if (consumed) {
+            this.position++;
+        }
+        return consumed;
+    }
+
+    private void consume(final char c,
+                         final String expected) {
+        if (false == this.tryConsume(c)) {
+            throw this.position >= this.end ?
+                this.endOfText(expected) :
+                this.invalidCharacter(expected);
+        }
+    }
+
+    // errors...........................................................................................................
+
+    private JsonNodeParserException endOfText(final String expected) {
+        return new JsonNodeParserException("End of text at " + this.location() + " expected " + expected);
+    }
+
+    private JsonNodeParserException invalidCharacter(final String expected) {
+        final int b = this.bytes[this.position] & 0xFF;
+
+        return new JsonNodeParserException(
+            "Invalid character " +
+                (b < 0x80 ?
+                    CharSequences.quoteIfChars((char) b) :
+                    "0x" + Integer.toHexString(b)) +
+                " at " +
+                this.location() +
+                " expected " +
+                expected
+        );
+    }
+
+    private JsonNodeParserException invalidUtf8() {
+        return new JsonNodeParserException(
+            "Invalid UTF-8 byte 0x" +
+                Integer.toHexString(this.bytes[this.position] & 0xFF) +
+                " at " +
+                this.location()
+        );
+    }
+
+    /**
+     * Computes the line and column of the current position, only done when reporting an error. Columns count bytes.
+     */
+    private String location() {
+        final byte[] bytes = this.bytes;
+        final int position = Math.min(
+            this.position,
+            this.end
+        );
+
+        int line = 1;
+        int column = 1;
+        for (int i = this.start; i < position; i++) {
+            if ('\n' == bytes[i]) {
+                line++;
+                column = 1;
+            } else {
+                column++;
+            }
+        }
+
+        return "(" + column + "," + line + ")";
+    }
+
+    private final byte[] bytes;
+
+    /**
+     * The position of the first byte.
+     */
+    private final int start;
+
+    /**
+     * The position after the last byte.
+     */
+    private final int end;
+
+    /**
+     * The position of the next byte to be consumed.
+     */
+    private int position;
+
+    @Override
+    public String toString() {
+        return new String(
+            this.bytes,
+            this.position,
+            this.end - this.position,
+            StandardCharsets.UTF_8
+        );
+    }
+}
@@ -17,9 +17,11 @@
 
 package walkingkooka.tree.json;
 
+import walkingkooka.collect.list.Lists;
 import walkingkooka.visit.Visiting;
 import walkingkooka.visit.Visitor;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -44,6 +46,58 @@ public abstract class JsonNodeVisitor extends Visitor<JsonNode> {
         this.endVisit(node);
     }
 
+    /**
+     * Visits the children and all descendants of the given parent, using a {@link JsonNodeStack} rather than recursing
+     * into each {@link JsonArray} or {@link JsonObject}. The order of all visit methods is the same as if
+     * {@link #accept(JsonNode)} was called for each child.
+     */
+    final void acceptParent(final JsonParentNode<?> parent) {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+        this.pushParent(
+            parent,
+            stack
+        );
+
+        do {
+            final List<JsonNode> children = stack.second();
+            final int index = stack.nextIndex();
+
+            if (index < children.size()) {
+                final JsonNode child = children.get(index);
+
+                if (Visiting.CONTINUE == this.startVisit(child)) {
+                    if (child instanceof JsonParentNode) {
+                        this.pushParent(
+                            (JsonParentNode<?>) child,
+                            stack
+                        );
+                        continue;
+                    }
+                    child.accept(this);
+                }
+                this.endVisit(child);
+            } else {
+                final JsonParentNode<?> node = stack.first();
+                stack.pop();
+
+                node.endVisit(this);
+                if (parent != node) {
+                    this.endVisit(node);
+                }
+            }
+        } while (false == stack.isEmpty());
+    }
+
+    private void pushParent(final JsonParentNode<?> parent,
+                            final JsonNodeStack stack) {
+        stack.push(
+            parent,
+            Visiting.CONTINUE == parent.startVisit(this) ?
+                parent.children() :
+                Lists.empty()
+        );
+    }
+
     protected Visiting startVisit(final JsonNode node) {
         return Visiting.CONTINUE;
     }
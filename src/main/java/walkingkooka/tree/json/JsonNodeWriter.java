@@ -0,0 +1,360 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.TextContext;
+import walkingkooka.text.printer.IndentingPrinter;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link JsonNode} graph directly to an {@link Appendable}, without first building a {@link String} of the
+ * entire document. All json printing including {@link JsonNode#printJson(IndentingPrinter)} and {@link JsonNode#toString()}
+ * goes through this class, so pretty, compact and ascii json only differ by their whitespace and escaping.
+ */
+final class JsonNodeWriter {
+
+    /**
+     * Writes json with the indentation and line ending of the given {@link TextContext}.
+     */
+    static JsonNodeWriter pretty(final Appendable appendable,
+                                 final TextContext context) {
+        return new JsonNodeWriter(
+            appendable,
+            context.indentation()
+                .value(),
+            context.lineEnding()
+                .toString(),
+            ": ",
+            false,
+            null
+        );
+    }
+
+    /**
+     * Prints json to the {@link IndentingPrinter}, which is responsible for all line breaks and indentation.
+     */
+    static JsonNodeWriter printer(final IndentingPrinter printer) {
+        return new JsonNodeWriter(
+            JsonNodeIndentingPrinterAppendable.with(printer),
+            "",
+            "",
+            ": ",
+            false,
+            printer
+        );
+    }
+
+    /**
+     * Writes json without any whitespace.
+     */
+    static JsonNodeWriter compact(final Appendable appendable) {
+        return new JsonNodeWriter(
+            appendable,
+            "",
+            "",
+            ":",
+            false,
+            null
+        );
+    }
+
+    /**
+     * Writes json without any whitespace, escaping all characters above 0x7F so the output may be embedded within
+     * javascript or html.
+     */
+    static JsonNodeWriter ascii(final Appendable appendable) {
+        return new JsonNodeWriter(
+            appendable,
+            "",
+            "",
+            ":",
+            true,
+            null
+        );
+    }
+
+    private JsonNodeWriter(final Appendable appendable,
+                           final String indentation,
+                           final String lineEnding,
+                           final String keyValueSeparator,
+                           final boolean escapeNonAscii,
+                           final IndentingPrinter printer) {
+        super();
+        this.appendable = appendable;
+        this.indentation = indentation;
+        this.lineEnding = lineEnding;
+        this.keyValueSeparator = keyValueSeparator;
+        this.escapeNonAscii = escapeNonAscii;
+        this.printer = printer;
+    }
+
+    /**
+     * Writes the node and all descendants, using a {@link JsonNodeStack} of the open arrays and objects rather than
+     * recursing.
+     */
+    void write(final JsonNode node) throws IOException {
+        final JsonParentNodeList root = this.writeBegin(node);
+
+        if (null != root) {
+            final JsonNodeStack stack = JsonNodeStack.empty();
+            stack.push(
+                root,
+                null
+            );
+
+            do {
+                final JsonParentNodeList children = stack.first();
+                final int count = children.size();
+                final int index = stack.nextIndex();
+
+                if (index < count) {
+                    final JsonNode value = this.writeBeforeValue(
+                        children,
+                        index
+                    );
+                    final JsonParentNodeList valueChildren = null != value ?
+                        this.writeBegin(value) :
+                        null;
+
+                    if (null != valueChildren) {
+                        stack.push(
+                            valueChildren,
+                            null
+                        );
+                    } else {
+                        this.writeAfterValue(
+                            children,
+                            index,
+                            count
+                        );
+                    }
+                } else {
+                    this.writeEnd(children);
+                    stack.pop();
+
+                    if (false == stack.isEmpty()) {
+                        final JsonParentNodeList parent = stack.first();
+                        this.writeAfterValue(
+                            parent,
+                            stack.index() - 1,
+                            parent.size()
+                        );
+                    }
+                }
+            } while (false == stack.isEmpty());
+        }
+    }
+
+    /**
+     * Writes the start of a non empty array or object returning its children, otherwise writes the entire node and
+     * returns null.
+     */
+    private JsonParentNodeList writeBegin(final JsonNode node) throws IOException {
+        final Appendable appendable = this.appendable;
+
+        JsonParentNodeList children = null;
+
+        if (node.isArray()) {
+            children = node.arrayOrFail()
+                .children;
+            if (children.isEmpty()) {
+                appendable.append("[]");
+                children = null;
+            } else {
+                appendable.append('[');
+                this.lineBreak();
+                this.indent();
+            }
+        } else if (node.isObject()) {
+            children = node.objectOrFail()
+                .children;
+            if (children.isEmpty()) {
+                appendable.append("{}");
+                children = null;
+            } else {
+                appendable.append('{');
+                this.lineBreak();
+                this.indent();
+            }
+        } else if (node.isString()) {
+            this.writeString(
+                node.stringOrFail()
+            );
+        } else {
+            // boolean, null and number have no characters that need escaping
+            appendable.append(
+                node.text()
+            );
+        }
+
+        return children;
+    }
+
+    /**
+     * Writes the separator, indentation and any property name before the value at the given index, returning the value
+     * or null if a packed number was also written.
+     */
+    private JsonNode writeBeforeValue(final JsonParentNodeList children,
+                                      final int index) throws IOException {
+        final Appendable appendable = this.appendable;
+
+        JsonNode value = null;
+
+        if (children instanceof JsonArrayList) {
+            if (index > 0) {
+                appendable.append(',');
+                this.lineBreak();
+            }
+            this.writeIndentation();
+
+            final double[] numbers = ((JsonArrayList) children).numbers;
+            if (null != numbers) {
+                appendable.append(
+                    JsonNumber.text(numbers[index])
+                );
+            } else {
+                value = children.value(index);
+            }
+        } else {
+            this.writeIndentation();
+            this.writeName(
+                ((JsonObjectList) children).names[index].value()
+            );
+            appendable.append(this.keyValueSeparator);
+            value = children.value(index);
+        }
+
+        return value;
+    }
+
+    private void writeAfterValue(final JsonParentNodeList children,
+                                 final int index,
+                                 final int count) throws IOException {
+        if (children instanceof JsonObjectList) {
+            if (index < count - 1) {
+                this.appendable.append(',');
+            }
+            this.lineBreak();
+        }
+    }
+
+    private void writeEnd(final JsonParentNodeList children) throws IOException {
+        final Appendable appendable = this.appendable;
+
+        this.outdent();
+        if (children instanceof JsonArrayList) {
+            this.lineBreak();
+            this.writeIndentation();
+            appendable.append(']');
+        } else {
+            this.writeIndentation();
+            appendable.append('}');
+        }
+    }
+
+    private void writeName(final String name) throws IOException {
+        if (this.escapeNonAscii) {
+            this.writeString(name);
+        } else {
+            this.appendable.append(
+                CharSequences.quoteAndEscape(name)
+            );
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        JsonString.quote(
+            value,
+            this.escapeNonAscii,
+            this.appendable
+        );
+    }
+
+    private void lineBreak() throws IOException {
+        final IndentingPrinter printer = this.printer;
+
+        if (null != printer) {
+            printer.println();
+        } else {
+            this.appendable.append(this.lineEnding);
+        }
+    }
+
+    private void indent() {
+        this.depth++;
+
+        final IndentingPrinter printer = this.printer;
+        if (null != printer) {
+            printer.indent();
+        }
+    }
+
+    private void outdent() {
+        this.depth--;
+
+        final IndentingPrinter printer = this.printer;
+        if (null != printer) {
+            printer.outdent();
+        }
+    }
+
+    /**
+     * Appends the indentation for the current depth, which is empty when printing to an {@link IndentingPrinter} as it
+     * indents itself.
+     */
+    private void writeIndentation() throws IOException {
+        final String indentation = this.indentation;
+
+        if (false == indentation.isEmpty()) {
+            final Appendable appendable = this.appendable;
+            for (int i = 0; i < this.depth; i++) {
+                appendable.append(indentation);
+            }
+        }
+    }
+
+    private final Appendable appendable;
+
+    private final String indentation;
+
+    private final String lineEnding;
+
+    private final String keyValueSeparator;
+
+    /**
+     * When true all characters above 0x7F are also escaped.
+     */
+    private final boolean escapeNonAscii;
+
+    /**
+     * When present receives all line breaks and indentation, otherwise null.
+     */
+    private final IndentingPrinter printer;
+
+    /**
+     * The current number of open arrays and objects.
+     */
+    private int depth;
+
+    @Override
+    public String toString() {
+        return this.appendable.toString();
+    }
+}
@@ -17,9 +17,8 @@
 
 package walkingkooka.tree.json;
 
-import walkingkooka.text.printer.IndentingPrinter;
-
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Represents a json null.
@@ -35,6 +34,7 @@ public final class JsonNull extends JsonLeafNode<Void> {
     final static JsonNull INSTANCE = new JsonNull(
         NAME,
         NO_INDEX,
+        NO_PARENT,
         null
     );
 
@@ -43,10 +43,12 @@ public final class JsonNull extends JsonLeafNode<Void> {
      */
     private JsonNull(final JsonPropertyName name,
                      final int index,
+                     final Optional<JsonNode> parent,
                      final Void value) {
         super(
             name,
             index,
+            parent,
             value
         );
     }
@@ -76,10 +78,12 @@ public final class JsonNull extends JsonLeafNode<Void> {
     @Override
     JsonNull replace0(final JsonPropertyName name,
                       final int index,
+                      final Optional<JsonNode> parent,
                       final Void value) {
         return new JsonNull(
             name,
             index,
+            parent,
             value
         );
     }
@@ -128,11 +132,4 @@ public final class JsonNull extends JsonLeafNode<Void> {
     public void accept(final JsonNodeVisitor visitor) {
         visitor.visit(this);
     }
-
-    @Override
-    void printJson0(final IndentingPrinter printer) {
-        printer.print(
-            String.valueOf(this.value)
-        );
-    }
 }
@@ -17,34 +17,157 @@
 
 package walkingkooka.tree.json;
 
-import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.Cast;
 
+import java.math.BigDecimal;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Represents an immutable json number.
+ * <br>
+ * Most numbers only hold a double. Numbers created from a {@link BigDecimal}, or parsed from text with more digits
+ * than a double can hold, also keep that {@link BigDecimal} so no digits are lost when printed or read with
+ * {@link #bigDecimalValue()}.
  */
 public final class JsonNumber extends JsonLeafNonNullNode<Double> {
 
     static JsonNumber with(final double value) {
+        return isCached(value) ?
+            CACHE[(int) value - CACHE_MIN] :
+            new JsonNumber(
+                NAME,
+                NO_INDEX,
+                NO_PARENT,
+                value,
+                null
+            );
+    }
+
+    /**
+     * Longs that a double cannot hold exactly keep a {@link BigDecimal}.
+     */
+    static JsonNumber withLong(final long value) {
+        final double doubleValue = value;
+
+        return value >= -MAX_SAFE_INTEGER && value <= MAX_SAFE_INTEGER || isLong(value, doubleValue) ?
+            with(doubleValue) :
+            withLossless(
+                BigDecimal.valueOf(value)
+            );
+    }
+
+    /**
+     * Whole doubles print as a long, so the double is enough when it converts back to the same long. Doubles from
+     * 2<sup>63</sup> convert to {@link Long#MAX_VALUE} which is not exact.
+     */
+    private static boolean isLong(final long value,
+                                  final double doubleValue) {
+        return doubleValue != LONG_OVERFLOW && (long) doubleValue == value;
+    }
+
+    private final static double LONG_OVERFLOW = 0x1p63;
+
+    /**
+     * Larger longs cannot be converted to a double without losing the least significant digits.
+     */
+    private final static long MAX_SAFE_INTEGER = 1L << 53;
+
+    /**
+     * Only keeps the {@link BigDecimal} when the text of its double would lose digits, so values such as 1e2 hold only
+     * a double and print the same as any other double, as 100.
+     */
+    static JsonNumber withBigDecimal(final BigDecimal value) {
+        Objects.requireNonNull(value, "value");
+
+        final double doubleValue = value.doubleValue();
+
+        return Double.isFinite(doubleValue) && 0 == new BigDecimal(text(doubleValue)).compareTo(value) ?
+            with(doubleValue) :
+            lossless(
+                value,
+                doubleValue
+            );
+    }
+
+    /**
+     * Always keeps the {@link BigDecimal}, for callers that already know its double would lose digits.
+     */
+    static JsonNumber withLossless(final BigDecimal value) {
+        Objects.requireNonNull(value, "value");
+
+        return lossless(
+            value,
+            value.doubleValue()
+        );
+    }
+
+    private static JsonNumber lossless(final BigDecimal value,
+                                       final double doubleValue) {
         return new JsonNumber(
             NAME,
             NO_INDEX,
+            NO_PARENT,
+            doubleValue,
             value
         );
     }
 
     private final static JsonPropertyName NAME = JsonPropertyName.fromClass(JsonNumber.class);
 
+    // VisibleForTesting
+    final static int CACHE_MIN = -1;
+
+    // VisibleForTesting
+    final static int CACHE_MAX = 10;
+
+    /**
+     * Small whole numbers without a name or parent are shared, minus zero is never cached.
+     */
+    private static boolean isCached(final double value) {
+        return value >= CACHE_MIN &&
+            value <= CACHE_MAX &&
+            value == (int) value &&
+            (0 != value || 1 / value > 0);
+    }
+
+    private final static JsonNumber[] CACHE = fillCache();
+
+    private static JsonNumber[] fillCache() {
+        final JsonNumber[] cache = new JsonNumber[CACHE_MAX - CACHE_MIN + 1];
+        for (int i = CACHE_MIN; i <= CACHE_MAX; i++) {
+            cache[i - CACHE_MIN] = new JsonNumber(
+                NAME,
+                NO_INDEX,
+                NO_PARENT,
+                i,
+                null
+            );
+        }
+        return cache;
+    }
 
     private JsonNumber(final JsonPropertyName name,
                        final int index,
-                       final double value) {
+                       final Optional<JsonNode> parent,
+                       final double value,
+                       final BigDecimal bigDecimal) {
         super(
             name,
             index,
-            value
+            parent,
+            null // the double is held unboxed by this class
         );
+        this.doubleValue = value;
+        this.bigDecimal = bigDecimal;
+    }
+
+    /**
+     * Boxes the double value each time it is requested.
+     */
+    @Override
+    public Double value() {
+        return this.doubleValue;
     }
 
     @Override
@@ -55,14 +178,44 @@ public final class JsonNumber extends JsonLeafNonNullNode<Double> {
             .cast(JsonNumber.class);
     }
 
+    /**
+     * Would be setter that returns a {@link JsonNumber} holding only the given double.
+     */
     public JsonNumber setValue(final double value) {
-        return this.setValue0(value)
-            .cast(JsonNumber.class);
+        return null == this.bigDecimal && 0 == Double.compare(this.doubleValue, value) ?
+            this :
+            this.replaceValue(value)
+                .cast(JsonNumber.class);
     }
 
+    /**
+     * Keeps the lossless {@link BigDecimal} when only the name, index or parent changes.
+     */
     @Override
-    JsonNumber replace0(final JsonPropertyName name, final int index, final Double value) {
-        return new JsonNumber(name, index, value);
+    JsonNumber replace(final JsonPropertyName name,
+                       final int index,
+                       final Optional<JsonNode> parent) {
+        return new JsonNumber(
+            name,
+            index,
+            parent,
+            this.doubleValue,
+            this.bigDecimal
+        );
+    }
+
+    @Override
+    JsonNumber replace0(final JsonPropertyName name,
+                        final int index,
+                        final Optional<JsonNode> parent,
+                        final Double value) {
+        return new JsonNumber(
+            name,
+            index,
+            parent,
+            value,
+            null
+        );
     }
 
     /**
@@ -79,15 +232,78 @@ public final class JsonNumber extends JsonLeafNonNullNode<Double> {
         return NAME;
     }
 
+    // Number...........................................................................................................
+
+    /**
+     * Returns this number as a double, which may lose digits of a lossless number.
+     */
+    public double doubleValue() {
+        return this.doubleValue;
+    }
+
+    private final double doubleValue;
+
+    /**
+     * Returns this number as a long, dropping any fraction.
+     */
+    public long longValue() {
+        final BigDecimal bigDecimal = this.bigDecimal;
+
+        return null != bigDecimal ?
+            bigDecimal.longValue() :
+            (long) this.doubleValue;
+    }
+
+    /**
+     * Returns this number as a {@link BigDecimal}. Lossless numbers return all their digits, other numbers are
+     * converted from their shortest text form, so 0.1 becomes 0.1 and not the exact binary fraction.
+     * Infinity and NaN cannot be converted and fail with a {@link NumberFormatException}.
+     */
+    public BigDecimal bigDecimalValue() {
+        final BigDecimal bigDecimal = this.bigDecimal;
+
+        return null != bigDecimal ?
+            bigDecimal :
+            new BigDecimal(this.text());
+    }
+
+    /**
+     * Lossless numbers hold more digits than their double.
+     */
+    boolean isLossless() {
+        return null != this.bigDecimal;
+    }
+
+    /**
+     * When present, holds all the digits of this number.
+     */
+    private final BigDecimal bigDecimal;
+
     // HasText..........................................................................................................
 
     @Override
     public String text() {
-        final long i = this.value.longValue();
+        final BigDecimal bigDecimal = this.bigDecimal;
+        final String text;
+
+        if (null != bigDecimal) {
+            text = bigDecimal.toString();
+        } else {
+            text = text(this.doubleValue);
+        }
+
+        return text;
+    }
+
+    /**
+     * Formats a double, whole numbers have no fraction.
+     */
+    static String text(final double value) {
+        final long i = (long) value;
 
-        return i == this.value ?
+        return i == value ?
             String.valueOf(i) :
-            String.valueOf(this.value);
+            String.valueOf(value);
     }
 
     // Visitor .........................................................................................................
@@ -101,18 +317,44 @@ public final class JsonNumber extends JsonLeafNonNullNode<Double> {
 
     @Override
     public boolean isFalseLike() {
-        return Math.signum(this.value) == 0;
+        return Math.signum(this.doubleValue) == 0;
     }
 
     @Override
     public boolean toBoolean() {
-        return this.value != 0;
+        return this.doubleValue != 0;
     }
 
-    // JsonNode ........................................................................................................
+    // Object...........................................................................................................
 
+    /**
+     * Only hashes the double, which gives the same result as {@link Double#hashCode()} without boxing.
+     */
     @Override
-    void printJson0(final IndentingPrinter printer) {
-        printer.print(this.text());
+    public int hashCode() {
+        return 31 * (31 + this.name.hashCode()) + Double.hashCode(this.doubleValue);
+    }
+
+    /**
+     * Numbers with equal doubles are also compared as {@link BigDecimal} when either is lossless, this keeps
+     * {@link #hashCode()} which only hashes the double valid.
+     */
+    @Override //
+    boolean equalsValue(final JsonNode other) {
+        final JsonNumber otherNumber = Cast.to(other);
+
+        return 0 == Double.compare(this.doubleValue, otherNumber.doubleValue) &&
+            this.equalsBigDecimal(otherNumber);
+    }
+
+    private boolean equalsBigDecimal(final JsonNumber other) {
+        final BigDecimal bigDecimal = this.bigDecimal;
+        final BigDecimal otherBigDecimal = other.bigDecimal;
+
+        return null == bigDecimal && null == otherBigDecimal ||
+            (Double.isFinite(this.doubleValue) ?
+                0 == this.bigDecimalValue().compareTo(other.bigDecimalValue()) :
+                null != bigDecimal && null != otherBigDecimal && 0 == bigDecimal.compareTo(otherBigDecimal)
+            );
     }
 }
@@ -17,16 +17,11 @@
 
 package walkingkooka.tree.json;
 
-import walkingkooka.collect.list.ImmutableList;
-import walkingkooka.collect.map.Maps;
 import walkingkooka.text.CharSequences;
-import walkingkooka.text.CharacterConstant;
-import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.visit.Visiting;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -43,49 +38,45 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
     final static JsonObject EMPTY = new JsonObject(
         NAME,
         NO_INDEX,
+        NO_PARENT,
         JsonObjectList.EMPTY
     );
 
-    private final static CharacterConstant BEGIN = CharacterConstant.with('{');
-    private final static CharacterConstant END = CharacterConstant.with('}');
-    private final static String KEY_VALUE_SEPARATOR = ": ";
-    private final static String AFTER = ",";
+    /**
+     * Factory used by {@link JsonObjectBuilder} that creates a {@link JsonObject} without a parent holding the given children.
+     */
+    static JsonObject withChildren(final JsonObjectList children) {
+        return children.isEmpty() ?
+            EMPTY :
+            new JsonObject(
+                NAME,
+                NO_INDEX,
+                NO_PARENT,
+                children
+            );
+    }
 
     /**
      * Private ctor use {@link #EMPTY} to start.
      */
     private JsonObject(final JsonPropertyName name,
                        final int index,
+                       final Optional<JsonNode> parent,
                        final JsonObjectList children) {
         super(
             name,
             index,
+            parent,
             children
         );
     }
 
     /**
-     * Makes a copy of the list and sets the parent upon the children.
+     * Returns a view of the shared properties that will adopt each property with this as the parent.
      */
     @Override
     JsonObjectList adoptChildren(final JsonObjectList children) {
-        final Optional<JsonNode> parent = Optional.of(this);
-
-        final Map<JsonPropertyName, JsonNode> nameToValues = Maps.ordered();
-        int i = 0;
-        for (JsonNode child : children) {
-            nameToValues.put(
-                child.name(),
-                child.setParent(
-                    parent,
-                    child.name,
-                    i
-                )
-            );
-            i++;
-        }
-
-        return JsonObjectList.with(nameToValues);
+        return children.setParent(this);
     }
 
     /**
@@ -98,24 +89,8 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
     }
 
     @Override
-    boolean childrenEquals(final List<JsonNode> children) {
-        final Map<JsonPropertyName, JsonNode> nameToValues = this.children.nameToValues;
-
-        boolean equals = nameToValues.size() == children.size();
-        if (equals) {
-
-            for (JsonNode child : children) {
-                equals = JsonParentNodeChildPredicate.INSTANCE.test(
-                    nameToValues.get(child.name),
-                    child
-                ); // predicate doesnt throw if 1st param is null returns false.
-                if (false == equals) {
-                    break;
-                }
-            }
-        }
-
-        return equals;
+    boolean childrenEquals(final JsonObjectList children) {
+        return this.children.equalsValues(children);
     }
 
     /**
@@ -125,7 +100,7 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
         Objects.requireNonNull(name, "name");
 
         return Optional.ofNullable(
-            this.children.nameToValues.get(name)
+            this.children.getOrNull(name)
         );
     }
 
@@ -191,85 +166,43 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
         Objects.requireNonNull(name, "name");
         Objects.requireNonNull(value, "value");
 
-        final JsonNode previous = this.children.nameToValues.get(name);
-        final JsonNode value2 = value.setName0(name);
-        return null != previous ?
-            this.setChild(previous, name, value2) :
-            this.addChild(name, value2);
+        final int index = this.children.indexOf(name);
+        return -1 != index ?
+            this.setChild(index, value) :
+            this.addChild(name, value);
     }
 
-    private JsonObject setChild(final JsonNode previous,
-                                final JsonPropertyName name,
+    private JsonObject setChild(final int index,
                                 final JsonNode value) {
-        return JsonParentNodeChildPredicate.INSTANCE.test(previous, value) ?
+        return JsonParentNodeChildPredicate.INSTANCE.test(
+            this.children.value(index),
+            value
+        ) ?
             this :
-            this.setChild0(
-                previous.index(),
-                name,
-                value
-            );
-    }
-
-    private JsonObject setChild0(final int index,
-                                 final JsonPropertyName name,
-                                 final JsonNode value) {
-        final Map<JsonPropertyName, JsonNode> children = Maps.ordered();
-
-        int i = 0;
-        for (Entry<JsonPropertyName, JsonNode> nameAndValue : this.children.nameToValues.entrySet()) {
-            if (index == i) {
-                children.put(
-                    name,
-                    value
-                );
-            } else {
-                children.put(
-                    nameAndValue.getKey(),
-                    nameAndValue.getValue()
-                );
-            }
-            i++;
-        }
-
-        return this.setChildren0(JsonObjectList.with(children))
-            .cast(JsonObject.class);
+            this.replaceChild0(value, index);
     }
 
     private JsonObject addChild(final JsonPropertyName name,
                                 final JsonNode value) {
-        final Map<JsonPropertyName, JsonNode> children = Maps.ordered();
-        children.putAll(this.children.nameToValues);
-        children.put(
-            name,
-            value.setName0(name)
-        );
-
         return this.replaceChildren(
-            JsonObjectList.with(children)
-            ).cast(JsonObject.class);
+            this.children.add(
+                name,
+                value
+            )
+        ).cast(JsonObject.class);
     }
 
     /**
-     * Creates a new list of children and replaces the child at the given slot.
+     * Creates a new list of children sharing the property names, replacing the child at the given slot.
      */
-    //@Override
     private JsonObject replaceChild0(final JsonNode newChild,
                                      final int index) {
-        final Map<JsonPropertyName, JsonNode> newChildren = Maps.ordered();
-        final JsonPropertyName newChildName = newChild.name;
-
-        for (Entry<JsonPropertyName, JsonNode> nameAndValue : this.children.nameToValues.entrySet()) {
-            final JsonPropertyName name = nameAndValue.getKey();
-            newChildren.put(
-                name,
-                newChildName.equals(name) ?
-                    newChild :
-                    nameAndValue.getValue()
-            );
-        }
-
-        return this.replaceChildren(JsonObjectList.with(newChildren))
-            .cast(JsonObject.class);
+        return this.replaceChildren(
+            this.children.replace(
+                index,
+                newChild
+            )
+        ).cast(JsonObject.class);
     }
 
     @Override
@@ -283,15 +216,7 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
     public JsonObject setChildren(final List<JsonNode> children) {
         Objects.requireNonNull(children, "children");
 
-        final Map<JsonPropertyName, JsonNode> copy = Maps.ordered();
-        for (JsonNode child : children) {
-            copy.put(
-                child.name(),
-                child
-            );
-        }
-
-        return this.setChildren0(JsonObjectList.with(copy))
+        return this.setChildren0(JsonObjectList.with(children))
             .cast(JsonObject.class);
     }
 
@@ -299,13 +224,13 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
     JsonNode setChild0(final JsonNode newChild,
                        final int index) {
         return JsonParentNodeChildPredicate.INSTANCE.test(
-            this.children.get(index),
+            this.children.value(index),
             newChild
         ) ?
             this :
             this.replaceChild0(newChild, index)
                 .children
-                .nameToValues.get(newChild.name);
+                .get(index);
     }
 
     /**
@@ -314,14 +239,12 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
     public JsonObject remove(final JsonPropertyName name) {
         Objects.requireNonNull(name, "name");
 
-        final Map<JsonPropertyName, JsonNode> copy = Maps.ordered();
-        for (JsonNode child : children) {
-            copy.put(child.name(), child);
-        }
-        copy.remove(name);
-
-        return this.setChildren0(JsonObjectList.with(copy))
-            .cast(JsonObject.class);
+        final int index = this.children.indexOf(name);
+        return -1 == index ?
+            this :
+            this.replaceChildren(
+                this.children.remove(index)
+            ).cast(JsonObject.class);
     }
 
     /**
@@ -334,10 +257,12 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
     @Override
     JsonObject replace0(final JsonPropertyName name,
                         final int index,
+                        final Optional<JsonNode> parent,
                         final JsonObjectList children) {
         return new JsonObject(
             name,
             index,
+            parent,
             children
         );
     }
@@ -362,10 +287,10 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
     }
 
     /**
-     * Returns a {@link Map} view of the object's properties.
+     * Returns a read only {@link Map} view of the object's properties, in insertion order.
      */
     public Map<JsonPropertyName, JsonNode> asMap() {
-        return Maps.readOnly(this.children.nameToValues);
+        return JsonObjectMap.with(this.children);
     }
 
     @Override
@@ -390,58 +315,27 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
 
     @Override
     public void accept(final JsonNodeVisitor visitor) {
-        if (Visiting.CONTINUE == visitor.startVisit(this)) {
-            this.acceptValues(visitor);
-        }
-        visitor.endVisit(this);
+        visitor.acceptParent(this);
     }
 
-    // removeFalseLike..................................................................................................
+    @Override
+    Visiting startVisit(final JsonNodeVisitor visitor) {
+        return visitor.startVisit(this);
+    }
 
     @Override
-    public JsonNode removeFalseLike() {
-        return this.setChildren(
-            this.children()
-                .stream()
-                .filter(JsonNode::isNotFalseLike)
-                .map(JsonNode::removeFalseLike)
-                .collect(ImmutableList.collector())
-        );
+    void endVisit(final JsonNodeVisitor visitor) {
+        visitor.endVisit(this);
     }
 
-    // TreePrint........................................................................................................
+    // removeFalseLike..................................................................................................
 
+    /**
+     * Properties with a false like value are removed.
+     */
     @Override
-    void printJson0(final IndentingPrinter printer) {
-        printer.print(BEGIN.string());
-
-        final int size = this.children.size();
-        if (size > 0) {
-            printer.println();
-            printer.indent();
-
-            int i = size - 1;
-            for (JsonNode child : this.children) {
-                printer.print(
-                    CharSequences.quoteAndEscape(
-                        child.name()
-                            .value()
-                    )
-                );
-                printer.print(KEY_VALUE_SEPARATOR);
-                child.printJson(printer);
-
-                if (i > 0) {
-                    printer.print(AFTER);
-                }
-                i--;
-                printer.println();
-            }
-
-            printer.outdent();
-        }
-
-        printer.print(END.string());
+    boolean removeFalseLikeKeep(final JsonNode child) {
+        return child.isNotFalseLike();
     }
 
     // JsonNode.........................................................................................................
@@ -450,11 +344,13 @@ public final class JsonObject extends JsonParentNode<JsonObjectList> {
      * Only returns true if the child count is the same and all children are equal, note order is not important
      */
     @Override//
-    boolean equalsChildren(final JsonNode other) {
-        return this.children.nameToValues.equals(
-            other.objectOrFail()
-                .children
-                .nameToValues
-        );
+    boolean pushChildren(final JsonNode other,
+                         final JsonNodeStack stack) {
+        return other.isObject() &&
+            this.children.pushValues(
+                other.objectOrFail()
+                    .children,
+                stack
+            );
     }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A mutable builder that creates a {@link JsonObject} with many properties in a single pass, without the copying of
+ * all properties that happens with each {@link JsonObject#set(JsonPropertyName, JsonNode)}. Setting an existing
+ * property replaces its value but keeps its original position, matching {@link JsonObject#set(JsonPropertyName, JsonNode)}.
+ * Builders are not thread safe and should not be shared, and may continue to be used after {@link #build()}.
+ */
+public final class JsonObjectBuilder {
+
+    /**
+     * Factory only called by {@link JsonNode#objectBuilder()}.
+     */
+    static JsonObjectBuilder empty() {
+        return new JsonObjectBuilder();
+    }
+
+    private JsonObjectBuilder() {
+        super();
+        this.names = NO_NAMES;
+        this.values = JsonParentNodeList.NO_VALUES;
+    }
+
+    public JsonObjectBuilder set(final JsonPropertyName name,
+                                 final boolean value) {
+        return this.set(
+            name,
+            JsonNode.booleanNode(value)
+        );
+    }
+
+    public JsonObjectBuilder set(final JsonPropertyName name,
+                                 final double value) {
+        return this.set(
+            name,
+            JsonNode.number(value)
+        );
+    }
+
+    public JsonObjectBuilder set(final JsonPropertyName name,
+                                 final String value) {
+        return null == value ?
+            this.setNull(name) :
+            this.set(
+                name,
+                JsonNode.string(value)
+            );
+    }
+
+    public JsonObjectBuilder setNull(final JsonPropertyName name) {
+        return this.set(
+            name,
+            JsonNode.nullNode()
+        );
+    }
+
+    /**
+     * Sets a new property or replaces an existing.
+     */
+    public JsonObjectBuilder set(final JsonPropertyName name,
+                                 final JsonNode value) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(value, "value");
+
+        final int index = JsonObjectList.indexOf(
+            name,
+            this.names,
+            this.size,
+            this.table
+        );
+        if (-1 != index) {
+            this.values[index] = value.detach(
+                name,
+                index
+            );
+        } else {
+            this.add(
+                name,
+                value
+            );
+        }
+
+        return this;
+    }
+
+    private void add(final JsonPropertyName name,
+                     final JsonNode value) {
+        final int size = this.size;
+        JsonPropertyName[] names = this.names;
+        JsonNode[] values = this.values;
+        if (size == values.length) {
+            final int capacity = Math.max(
+                INITIAL_CAPACITY,
+                size + (size >> 1)
+            );
+            names = Arrays.copyOf(
+                names,
+                capacity
+            );
+            this.names = names;
+            values = Arrays.copyOf(
+                values,
+                capacity
+            );
+            this.values = values;
+        }
+
+        names[size] = name;
+        values[size] = value.detach(
+            name,
+            size
+        );
+
+        final int count = size + 1;
+        if (count > JsonObjectList.LINEAR_SCAN_MAX) {
+            final int[] table = this.table;
+            this.table = null == table || count * 2 > table.length ?
+                JsonObjectList.index(
+                    names,
+                    count
+                ) :
+                JsonObjectList.indexPut(
+                    table,
+                    name,
+                    size
+                );
+        }
+        this.size = count;
+    }
+
+    /**
+     * The number of properties set so far.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Creates a {@link JsonObject} with all the properties.
+     */
+    public JsonObject build() {
+        return JsonObject.withChildren(
+            this.children()
+        );
+    }
+
+    /**
+     * Copies all properties into a new {@link JsonObjectList}, the builder keeps its own arrays so it may continue
+     * to be used.
+     */
+    JsonObjectList children() {
+        final int size = this.size;
+        final int[] table = this.table;
+
+        return JsonObjectList.detached(
+            Arrays.copyOf(
+                this.names,
+                size
+            ),
+            Arrays.copyOf(
+                this.values,
+                size
+            ),
+            null == table ?
+                null :
+                Arrays.copyOf(
+                    table,
+                    table.length
+                )
+        );
+    }
+
+    private final static int INITIAL_CAPACITY = 8;
+
+    private final static JsonPropertyName[] NO_NAMES = new JsonPropertyName[0];
+
+    /**
+     * Growable array of names parallel to {@link #values}.
+     */
+    private JsonPropertyName[] names;
+
+    /**
+     * Growable array of detached values, only the first {@link #size} slots are filled.
+     */
+    private JsonNode[] values;
+
+    private int size;
+
+    /**
+     * Index of names created once there are more than {@link JsonObjectList#LINEAR_SCAN_MAX} properties.
+     */
+    private int[] table;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.build()
+            .toString();
+    }
+}
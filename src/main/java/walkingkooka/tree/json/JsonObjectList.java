@@ -21,67 +21,460 @@ import walkingkooka.collect.list.ImmutableList;
 import walkingkooka.collect.list.ImmutableListDefaults;
 import walkingkooka.collect.map.Maps;
 
-import java.util.AbstractList;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * An immutable {@link List} view of elements belonging to a {@link JsonObject}.
+ * <br>
+ * Properties are held in parallel {@link JsonPropertyName} and detached {@link JsonNode} arrays in insertion order.
+ * Objects with a few properties find a name with a linear scan, larger objects also have a small open addressing
+ * table holding the slot of each name. The names and table are shared by every view and also with copies that only
+ * replace property values.
  */
-final class JsonObjectList extends AbstractList<JsonNode> implements ImmutableListDefaults<ImmutableList<JsonNode>, JsonNode> {
+final class JsonObjectList extends JsonParentNodeList implements ImmutableListDefaults<ImmutableList<JsonNode>, JsonNode> {
+
+    /**
+     * Objects with this many or fewer properties do not have an index table, and find names by scanning.
+     */
+    // VisibleForTesting
+    final static int LINEAR_SCAN_MAX = 8;
+
+    private final static JsonPropertyName[] NO_NAMES = new JsonPropertyName[0];
 
     /**
      * Empty list constant.
      */
-    static final JsonObjectList EMPTY = new JsonObjectList(Maps.empty());
+    static final JsonObjectList EMPTY = new JsonObjectList(
+        NO_NAMES,
+        NO_VALUES,
+        null,
+        null,
+        NO_PARENT,
+        NO_HASH_CODE
+    );
 
     /**
-     * Factory only used by {@link JsonObject}
+     * Factory that creates a list holding the given properties, each named by the name of the {@link JsonNode}.
+     * A later property with the same name replaces the value of the earlier, but keeps the position of the earlier.
      */
-    static JsonObjectList with(final Map<JsonPropertyName, JsonNode> nameToValues) {
-        return new JsonObjectList(nameToValues);
+    static JsonObjectList with(final Collection<JsonNode> properties) {
+        final JsonObjectBuilder builder = JsonObjectBuilder.empty();
+
+        for (final JsonNode property : properties) {
+            builder.set(
+                property.name(),
+                property
+            );
+        }
+
+        return builder.children();
+    }
+
+    /**
+     * Factory that takes ownership of the given values, which must already be detached, with unique names and indices
+     * matching their position.
+     */
+    static JsonObjectList detached(final JsonNode[] values) {
+        final int count = values.length;
+
+        final JsonObjectList list;
+        if (0 == count) {
+            list = EMPTY;
+        } else {
+            final JsonPropertyName[] names = new JsonPropertyName[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = values[i].name;
+            }
+
+            list = new JsonObjectList(
+                names,
+                values,
+                index(names, count),
+                null,
+                NO_PARENT,
+                NO_HASH_CODE
+            );
+        }
+
+        return list;
+    }
+
+    /**
+     * Factory that takes ownership of all arrays, the names and table must match the detached values.
+     */
+    static JsonObjectList detached(final JsonPropertyName[] names,
+                                   final JsonNode[] values,
+                                   final int[] table) {
+        return 0 == values.length ?
+            EMPTY :
+            new JsonObjectList(
+                names,
+                values,
+                table,
+                null,
+                NO_PARENT,
+                NO_HASH_CODE
+            );
+    }
+
+    /**
+     * Factory that takes ownership of the unique names and table, each value is created by the
+     * {@link JsonNodeLazyChildren} when first fetched.
+     */
+    static JsonObjectList lazy(final JsonPropertyName[] names,
+                               final int[] table,
+                               final JsonNodeLazyChildren lazy) {
+        final int count = names.length;
+
+        return 0 == count ?
+            EMPTY :
+            new JsonObjectList(
+                names,
+                new JsonNode[count],
+                table,
+                lazy,
+                NO_PARENT,
+                NO_HASH_CODE
+            );
     }
 
     /**
      * Private ctor use factory.
      */
-    private JsonObjectList(final Map<JsonPropertyName, JsonNode> nameToValues) {
-        super();
-        this.nameToValues = nameToValues;
+    private JsonObjectList(final JsonPropertyName[] names,
+                           final JsonNode[] values,
+                           final int[] table,
+                           final JsonNodeLazyChildren lazy,
+                           final Optional<JsonNode> parent,
+                           final int childrenHashCode) {
+        super(
+            values,
+            values.length,
+            lazy,
+            parent,
+            childrenHashCode
+        );
+        this.names = names;
+        this.table = table;
     }
 
-    @Override
-    public JsonNode get(int index) {
-        return this.list().get(index);
+    /**
+     * Returns a view sharing the same detached values, which will adopt children with the given parent.
+     */
+    JsonObjectList setParent(final JsonObject parent) {
+        return new JsonObjectList(
+            this.names,
+            this.values,
+            this.table,
+            this.lazy,
+            Optional.of(parent),
+            this.childrenHashCode
+        );
+    }
+
+    /**
+     * Returns the adopted child with the given name or null if absent.
+     */
+    JsonNode getOrNull(final JsonPropertyName name) {
+        final int index = this.indexOf(name);
+        return -1 == index ?
+            null :
+            this.get(index);
+    }
+
+    /**
+     * Returns the slot of the property with the given name or -1 if absent.
+     */
+    int indexOf(final JsonPropertyName name) {
+        return indexOf(
+            name,
+            this.names,
+            this.names.length,
+            this.table
+        );
+    }
+
+    /**
+     * Returns a new list with the value at the given slot replaced, sharing the names and table. Lazy values that have
+     * not been fetched remain lazy in the new list.
+     */
+    JsonObjectList replace(final int index,
+                           final JsonNode value) {
+        final int childrenHashCode = this.childrenHashCode;
+        final int previousHashCode = NO_HASH_CODE == childrenHashCode ?
+            NO_HASH_CODE :
+            this.value(index).hashCode();
+
+        final JsonNode[] values = Arrays.copyOf(
+            this.values,
+            this.values.length
+        );
+        final JsonNode replaced = value.detach(
+            this.names[index],
+            index
+        );
+        values[index] = replaced;
+
+        return new JsonObjectList(
+            this.names,
+            values,
+            this.table,
+            this.lazy,
+            NO_PARENT,
+            NO_HASH_CODE == childrenHashCode ?
+                NO_HASH_CODE :
+                childrenHashCode - previousHashCode + replaced.hashCode()
+        );
+    }
+
+    /**
+     * Returns a new list with the given property appended, the name must not already be present.
+     */
+    JsonObjectList add(final JsonPropertyName name,
+                       final JsonNode value) {
+        final int count = this.values.length;
+
+        final JsonNode[] values = Arrays.copyOf(
+            this.detachedValues(),
+            count + 1
+        );
+        final JsonNode added = value.detach(
+            name,
+            count
+        );
+        values[count] = added;
+
+        final JsonObjectList list = detached(values);
+        list.combineChildrenHashCode(
+            this,
+            added.hashCode()
+        );
+        return list;
     }
 
+    /**
+     * Returns a new list without the property at the given slot, following properties are moved to fill the gap.
+     */
+    JsonObjectList remove(final int index) {
+        final JsonNode[] values = this.detachedValues();
+        final int count = values.length - 1;
+
+        final JsonNode[] removed = new JsonNode[count];
+        System.arraycopy(
+            values,
+            0,
+            removed,
+            0,
+            index
+        );
+        for (int i = index; i < count; i++) {
+            final JsonNode value = values[i + 1];
+            removed[i] = value.detach(
+                value.name,
+                i
+            );
+        }
+
+        final JsonObjectList list = detached(removed);
+        list.combineChildrenHashCode(
+            this,
+            -values[index].hashCode()
+        );
+        return list;
+    }
+
+    /**
+     * Objects add the hash code of each property, so the order of properties is ignored, matching
+     * {@link #equalsValues(JsonObjectList)}. The hash code of a property includes its name but not its index.
+     */
     @Override
-    public int size() {
-        return this.nameToValues.size();
+    int computeChildrenHashCode() {
+        final int count = this.size();
+
+        int hashCode = 0;
+        for (int i = 0; i < count; i++) {
+            hashCode += this.value(i).hashCode();
+        }
+        return hashCode;
+    }
+
+    /**
+     * When the previous hash code is known, adds the given difference rather than hashing all properties again.
+     */
+    private void combineChildrenHashCode(final JsonObjectList previous,
+                                         final int difference) {
+        final int previousHashCode = previous.childrenHashCode;
+        if (NO_HASH_CODE != previousHashCode && this != EMPTY) {
+            this.childrenHashCode = previousHashCode + difference;
+        }
+    }
+
+    /**
+     * Tests if both lists hold the same properties ignoring their order.
+     */
+    boolean equalsValues(final JsonObjectList other) {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+
+        return this.pushValues(
+            other,
+            stack
+        ) && equalsPairs(stack);
+    }
+
+    /**
+     * Returns false if the other has a different number of properties or a property name is missing, otherwise pushes
+     * each pair of values with the same name.
+     */
+    boolean pushValues(final JsonObjectList other,
+                       final JsonNodeStack stack) {
+        final int count = other.size();
+
+        boolean equals = this.size() == count;
+        if (equals) {
+            for (int i = 0; i < count; i++) {
+                final int index = this.indexOf(other.names[i]);
+                equals = -1 != index;
+                if (false == equals) {
+                    break;
+                }
+                stack.push(
+                    this.value(index),
+                    other.value(i)
+                );
+            }
+        }
+
+        return equals;
     }
 
     @Override
     public String toString() {
-        final String toString = this.nameToValues.toString();
-        return '[' + toString.substring(1, toString.length() - 1) + ']';
+        final StringBuilder b = new StringBuilder();
+        b.append('[');
+
+        final int count = this.size();
+
+        String separator = "";
+        for (int i = 0; i < count; i++) {
+            final JsonNode value = this.value(i);
+            b.append(separator)
+                .append(value.name)
+                .append('=')
+                .append(value);
+            separator = ", ";
+        }
+
+        return b.append(']')
+            .toString();
+    }
+
+    /**
+     * The property names in insertion order, shared with all other views and copies with the same names.
+     */
+    final JsonPropertyName[] names;
+
+    /**
+     * Open addressing table holding the slot plus one for each name, or null for small objects.
+     */
+    private final int[] table;
+
+    // index............................................................................................................
+
+    /**
+     * Finds the slot of the given name, scanning if there is no table.
+     */
+    static int indexOf(final JsonPropertyName name,
+                       final JsonPropertyName[] names,
+                       final int count,
+                       final int[] table) {
+        int index = -1;
+
+        if (null == table) {
+            for (int i = 0; i < count; i++) {
+                final JsonPropertyName possible = names[i];
+                if (name == possible || name.equals(possible)) {
+                    index = i;
+                    break;
+                }
+            }
+        } else {
+            final int mask = table.length - 1;
+            int slot = spread(name.hashCode()) & mask;
+
+            for (; ; ) {
+                final int i = table[slot] - 1;
+                if (-1 == i) {
+                    break;
+                }
+                final JsonPropertyName possible = names[i];
+                if (name == possible || name.equals(possible)) {
+                    index = i;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        return index;
     }
 
-    final Map<JsonPropertyName, JsonNode> nameToValues;
+    /**
+     * Creates the table for the given names, returning null if the names are few enough to scan.
+     */
+    static int[] index(final JsonPropertyName[] names,
+                       final int count) {
+        int[] table = null;
+
+        if (count > LINEAR_SCAN_MAX) {
+            table = emptyIndex(count);
+            for (int i = 0; i < count; i++) {
+                indexPut(
+                    table,
+                    names[i],
+                    i
+                );
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Creates an empty table large enough for the given number of names.
+     */
+    static int[] emptyIndex(final int count) {
+        int length = 16;
+        while (length < count * 2) {
+            length = length << 1;
+        }
+        return new int[length];
+    }
 
     /**
-     * Lazily loaded list view of json object properties.
+     * Records the slot of a name that is not already present.
      */
-    private List<JsonNode> list() {
-        if (null == this.list) {
-            this.list = new ArrayList<>(this.nameToValues.values());
+    static int[] indexPut(final int[] table,
+                          final JsonPropertyName name,
+                          final int index) {
+        final int mask = table.length - 1;
+        int slot = spread(name.hashCode()) & mask;
+
+        while (0 != table[slot]) {
+            slot = (slot + 1) & mask;
         }
-        return this.list;
+        table[slot] = index + 1;
+
+        return table;
     }
 
-    private List<JsonNode> list;
+    private static int spread(final int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
 
     // ImmutableList....................................................................................................
 
@@ -106,8 +499,9 @@ final class JsonObjectList extends AbstractList<JsonNode> implements ImmutableLi
             );
         }
 
-        return map.equals(this.nameToValues) ?
+        final JsonObjectList list = with(map.values());
+        return this.equalsValues(list) ?
             this :
-            new JsonObjectList(map);
+            list;
     }
 }
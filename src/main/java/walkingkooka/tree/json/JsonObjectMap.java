@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read only {@link Map} view of the properties of a {@link JsonObject}, backed by its {@link JsonObjectList} so
+ * nothing is copied and names are found using the same index as {@link JsonObject#get(JsonPropertyName)}.
+ */
+final class JsonObjectMap extends AbstractMap<JsonPropertyName, JsonNode> {
+
+    static JsonObjectMap with(final JsonObjectList children) {
+        return new JsonObjectMap(children);
+    }
+
+    private JsonObjectMap(final JsonObjectList children) {
+        super();
+        this.children = children;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof JsonPropertyName &&
+            -1 != this.children.indexOf((JsonPropertyName) key);
+    }
+
+    @Override
+    public JsonNode get(final Object key) {
+        return key instanceof JsonPropertyName ?
+            this.children.getOrNull((JsonPropertyName) key) :
+            null;
+    }
+
+    @Override
+    public int size() {
+        return this.children.size();
+    }
+
+    @Override
+    public Set<Entry<JsonPropertyName, JsonNode>> entrySet() {
+        return new AbstractSet<Entry<JsonPropertyName, JsonNode>>() {
+
+            @Override
+            public Iterator<Entry<JsonPropertyName, JsonNode>> iterator() {
+                return JsonObjectMap.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return JsonObjectMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Entries are created as they are iterated, the iterator does not support remove.
+     */
+    private Iterator<Entry<JsonPropertyName, JsonNode>> iterator() {
+        final JsonObjectList children = this.children;
+
+        return new Iterator<Entry<JsonPropertyName, JsonNode>>() {
+
+            @Override
+            public boolean hasNext() {
+                return this.index < children.size();
+            }
+
+            @Override
+            public Entry<JsonPropertyName, JsonNode> next() {
+                final int index = this.index;
+                if (index >= children.size()) {
+                    throw new NoSuchElementException();
+                }
+                this.index++;
+
+                final JsonNode child = children.get(index);
+                return new SimpleImmutableEntry<>(
+                    child.name(),
+                    child
+                );
+            }
+
+            private int index;
+        };
+    }
+
+    private final JsonObjectList children;
+}
@@ -17,27 +17,37 @@
 
 package walkingkooka.tree.json;
 
-import walkingkooka.text.HasText;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.visit.Visiting;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
- * Base type for all the parent json nodes that hold other nodes, such as array and object
+ * Base type for all the parent json nodes that hold other nodes, such as array and object.
+ * <br>
+ * Children are held detached and shared by all copies of a parent, and are only adopted when fetched. This means an
+ * edit only copies the parents between the changed node and the root, while untouched siblings and their descendants
+ * are shared.
+ * <br>
+ * Hashing, equality, visiting and {@link #removeFalseLike()} walk descendants with a {@link JsonNodeStack} rather than
+ * recursing, as does {@link JsonNodeWriter} which prints all json, so very deeply nested json does not overflow the
+ * thread stack.
  */
 @SuppressWarnings("lgtm[java/inconsistent-equals-and-hashcode]")
-abstract class JsonParentNode<C extends List<JsonNode>> extends JsonNode {
+abstract class JsonParentNode<C extends JsonParentNodeList> extends JsonNode {
 
     JsonParentNode(final JsonPropertyName name,
                    final int index,
+                   final Optional<JsonNode> parent,
                    final C children) {
-        super(name, index);
+        super(name, index, parent);
 
         this.children = this.adoptChildren(children);
     }
 
     /**
-     * Called during construction to adopt children.
+     * Called during construction to create a view of the children, that will adopt each child when it is fetched.
      */
     abstract C adoptChildren(final C children);
 
@@ -63,23 +73,25 @@ abstract class JsonParentNode<C extends List<JsonNode>> extends JsonNode {
     /**
      * Allows sub-classes to have different strategies to compare children for equality.
      */
-    abstract boolean childrenEquals(final List<JsonNode> children);
+    abstract boolean childrenEquals(final C children);
 
     /**
      * Returns a new {@link JsonParentNode} with the given children and also updates the parent/ancestors.
      */
     @SuppressWarnings("unchecked") final JsonParentNode<C> replaceChildren(final C children) {
-        return this.replace0(this.name, this.index, children)
+        return this.replace0(this.name, this.index, NO_PARENT, children)
             .replaceChild(this.parent(), this.index)
             .cast(JsonParentNode.class);
     }
 
     @Override //
     final JsonNode replace(final JsonPropertyName name,
-                           final int index) {
+                           final int index,
+                           final Optional<JsonNode> parent) {
         return this.replace0(
             name,
             index,
+            parent,
             this.children
         );
     }
@@ -89,6 +101,7 @@ abstract class JsonParentNode<C extends List<JsonNode>> extends JsonNode {
      */
     abstract JsonParentNode<C> replace0(final JsonPropertyName name,
                                         final int index,
+                                        final Optional<JsonNode> parent,
                                         final C children);
 
     @Override
@@ -98,12 +111,70 @@ abstract class JsonParentNode<C extends List<JsonNode>> extends JsonNode {
 
     // Visitor .........................................................................................................
 
-    final void acceptValues(final JsonNodeVisitor visitor) {
-        for (JsonNode node : this.children()) {
-            visitor.accept(node);
-        }
+    /**
+     * Calls the {@link JsonNodeVisitor} start visit method for this type.
+     */
+    abstract Visiting startVisit(final JsonNodeVisitor visitor);
+
+    /**
+     * Calls the {@link JsonNodeVisitor} end visit method for this type.
+     */
+    abstract void endVisit(final JsonNodeVisitor visitor);
+
+    // removeFalseLike..................................................................................................
+
+    /**
+     * Rebuilds each parent after all its children, with an explicit stack holding the kept children of each parent.
+     */
+    @Override
+    public final JsonNode removeFalseLike() {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+        stack.push(
+            this,
+            Lists.array()
+        );
+
+        JsonNode removed = null;
+
+        do {
+            final JsonParentNode<?> parent = stack.first();
+            final JsonParentNodeList children = parent.children;
+            final int index = stack.nextIndex();
+
+            if (index < children.size()) {
+                final JsonNode child = children.value(index);
+                if (parent.removeFalseLikeKeep(child)) {
+                    if (child instanceof JsonParentNode) {
+                        stack.push(
+                            child,
+                            Lists.array()
+                        );
+                    } else {
+                        stack.<List<JsonNode>>second()
+                            .add(child);
+                    }
+                }
+            } else {
+                removed = parent.setChildren(
+                    stack.second()
+                );
+                stack.pop();
+
+                if (false == stack.isEmpty()) {
+                    stack.<List<JsonNode>>second()
+                        .add(removed);
+                }
+            }
+        } while (false == stack.isEmpty());
+
+        return removed;
     }
 
+    /**
+     * Returns true if the given child should be kept, before its own false like children are removed.
+     */
+    abstract boolean removeFalseLikeKeep(final JsonNode child);
+
     // HasText..........................................................................................................
 
     /**
@@ -111,18 +182,32 @@ abstract class JsonParentNode<C extends List<JsonNode>> extends JsonNode {
      */
     @Override
     public final String text() {
-        return this.children().stream()
-            .map(HasText::text)
-            .collect(Collectors.joining());
+        final C children = this.children;
+        final int count = children.size();
+
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            b.append(
+                children.value(i)
+                    .text()
+            );
+        }
+        return b.toString();
     }
 
     // HasTextLength....................................................................................................
 
     @Override
     public final int textLength() {
-        return this.children().stream()
-            .mapToInt(HasText::textLength)
-            .sum();
+        final C children = this.children;
+        final int count = children.size();
+
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            length += children.value(i)
+                .textLength();
+        }
+        return length;
     }
 
     // javascript.......................................................................................................
@@ -139,13 +224,37 @@ abstract class JsonParentNode<C extends List<JsonNode>> extends JsonNode {
 
     // Object...........................................................................................................
 
+    /**
+     * The hash code is computed once, and copied to other parents that share the same children.
+     */
     @Override
     public final int hashCode() {
-        return this.children.hashCode();
+        return this.children.childrenHashCode();
     }
 
+    /**
+     * There are no other properties, but comparing hash codes rejects most different parents without comparing all
+     * children.
+     */
     @Override //
     final boolean equalsValue(final JsonNode other) {
-        return true; // no other properties name already tested.
+        return this.hashCode() == other.hashCode();
+    }
+
+    @Override //
+    final boolean equalsChildren(final JsonNode other) {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+
+        return this.pushChildren(
+            other,
+            stack
+        ) && JsonParentNodeList.equalsPairs(stack);
     }
+
+    /**
+     * Returns false if the other is a different type or has a different number of children, otherwise pushes each
+     * pair of children that must also be equal.
+     */
+    abstract boolean pushChildren(final JsonNode other,
+                                  final JsonNodeStack stack);
 }
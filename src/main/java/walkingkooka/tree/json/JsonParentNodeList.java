@@ -0,0 +1,250 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Base {@link List} view of the children belonging to a {@link JsonParentNode}.
+ * <br>
+ * The detached values, which have the correct name and index but no parent, are shared by every copy of a parent,
+ * so renaming or re-parenting a {@link JsonParentNode} never copies its descendants. Each view lazily adopts a child,
+ * giving it this parent, the first time it is fetched.
+ * <br>
+ * Lazy values and adopted children are cached in array slots without locking. This is safe because every field of a
+ * {@link JsonNode} is final, so a thread that sees a cached node also sees it fully built, while two threads fetching
+ * the same slot at once may each create an equal node.
+ */
+@SuppressWarnings("lgtm[java/inconsistent-equals-and-hashcode]")
+abstract class JsonParentNodeList extends AbstractList<JsonNode> {
+
+    final static JsonNode[] NO_VALUES = new JsonNode[0];
+
+    final static Optional<JsonNode> NO_PARENT = Optional.empty();
+
+    /**
+     * Used when the hash code of the children is not yet known.
+     */
+    final static int NO_HASH_CODE = 0;
+
+    JsonParentNodeList(final JsonNode[] values,
+                       final int count,
+                       final JsonNodeLazyChildren lazy,
+                       final Optional<JsonNode> parent,
+                       final int childrenHashCode) {
+        super();
+        this.values = values;
+        this.lazy = lazy;
+        this.parent = parent;
+        this.adopted = parent.isPresent() && count > 0 ?
+            new JsonNode[count] :
+            null;
+        this.childrenHashCode = childrenHashCode;
+    }
+
+    @Override
+    public final JsonNode get(final int index) {
+        final JsonNode[] adopted = this.adopted;
+
+        final JsonNode child;
+        if (null == adopted) {
+            child = this.value(index);
+        } else {
+            final JsonNode cached = adopted[index];
+            if (null == cached) {
+                final JsonNode value = this.value(index);
+
+                child = value.setParent(
+                    this.parent,
+                    value.name,
+                    value.index
+                );
+                adopted[index] = child;
+            } else {
+                child = cached;
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Returns the detached child at the given index, without adopting it. Lazy values are created the first time they
+     * are fetched and then kept in {@link #values}.
+     */
+    JsonNode value(final int index) {
+        final JsonNode[] values = this.values;
+
+        JsonNode value = values[index];
+        if (null == value) {
+            value = this.lazy.value(index);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns {@link #values} after creating any lazy values that have not yet been fetched.
+     */
+    final JsonNode[] detachedValues() {
+        if (null != this.lazy) {
+            final int count = this.size();
+            for (int i = 0; i < count; i++) {
+                this.value(i);
+            }
+        }
+        return this.values;
+    }
+
+    @Override
+    public int size() {
+        return this.values.length;
+    }
+
+    /**
+     * The detached children, which are shared with all other views of the same children. Sub-classes with another
+     * storage may leave this null, overriding {@link #value(int)} and {@link #size()}.
+     */
+    final JsonNode[] values;
+
+    /**
+     * Creates the values for empty slots in {@link #values}, or null when all values are present.
+     */
+    final JsonNodeLazyChildren lazy;
+
+    /**
+     * The parent given to each adopted child, or empty when this view does not belong to a {@link JsonParentNode}.
+     */
+    final Optional<JsonNode> parent;
+
+    /**
+     * Cache of adopted children, filled as each child is fetched, or null when this view has no parent.
+     */
+    private final JsonNode[] adopted;
+
+    // childrenHashCode.................................................................................................
+
+    /**
+     * Returns the hash code used by the {@link JsonParentNode}, computing it only once. As children are immutable the
+     * hash code is copied to other views of the same children, and some edits also combine it with the hash code of the
+     * changed child rather than hashing all children again.
+     */
+    final int childrenHashCode() {
+        int childrenHashCode = this.childrenHashCode;
+        if (NO_HASH_CODE == childrenHashCode) {
+            this.hashDescendants();
+
+            childrenHashCode = this.computeChildrenHashCode();
+            this.childrenHashCode = childrenHashCode;
+        }
+        return childrenHashCode;
+    }
+
+    /**
+     * Memoizes the hash code of every descendant list, deepest first, so {@link #computeChildrenHashCode()} only
+     * hashes children with a known hash code and never recurses.
+     */
+    private void hashDescendants() {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+        stack.push(
+            this,
+            null
+        );
+
+        do {
+            final JsonParentNodeList list = stack.first();
+            final int index = stack.nextIndex();
+
+            if (index < list.size() && list.mayHaveParentValues()) {
+                final JsonNode value = list.value(index);
+                if (value instanceof JsonParentNode) {
+                    final JsonParentNodeList children = ((JsonParentNode<?>) value).children;
+                    if (NO_HASH_CODE == children.childrenHashCode) {
+                        stack.push(
+                            children,
+                            null
+                        );
+                    }
+                }
+            } else {
+                stack.pop();
+                if (this != list) {
+                    list.childrenHashCode = list.computeChildrenHashCode();
+                }
+            }
+        } while (false == stack.isEmpty());
+    }
+
+    /**
+     * Returns false when no value can be an array or object, which skips walking values when hashing.
+     */
+    boolean mayHaveParentValues() {
+        return true;
+    }
+
+    abstract int computeChildrenHashCode();
+
+    /**
+     * The hash code of all children, or {@link #NO_HASH_CODE} if not yet computed. Like {@link String#hashCode()} the
+     * same value is always computed, so a thread that does not yet see another thread's write simply computes it again.
+     */
+    int childrenHashCode;
+
+    // equals...........................................................................................................
+
+    /**
+     * Pops and compares each pair of values, pushing the children of a pair of parents rather than recursing.
+     */
+    static boolean equalsPairs(final JsonNodeStack stack) {
+        boolean equals = true;
+
+        while (equals && false == stack.isEmpty()) {
+            final JsonNode value = stack.first();
+            final JsonNode other = stack.second();
+            stack.pop();
+
+            equals = value == other ||
+                value.getClass() == other.getClass() &&
+                    value.equalsValue(other) &&
+                    (false == value instanceof JsonParentNode ||
+                        ((JsonParentNode<?>) value).pushChildren(
+                            other,
+                            stack
+                        ));
+        }
+
+        return equals;
+    }
+
+    // Object...........................................................................................................
+
+    /**
+     * Hashes the detached values, which avoids adopting every child and gives the same result as {@link List#hashCode()}.
+     */
+    @Override
+    public int hashCode() {
+        final int count = this.size();
+
+        int hashCode = 1;
+        for (int i = 0; i < count; i++) {
+            hashCode = 31 * hashCode + this.value(i).hashCode();
+        }
+        return hashCode;
+    }
+}
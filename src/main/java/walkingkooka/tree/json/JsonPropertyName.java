@@ -28,6 +28,8 @@ import walkingkooka.text.CharSequences;
 public final class JsonPropertyName implements Name,
     Comparable<JsonPropertyName> {
 
+    private final static CaseSensitivity CASE_SENSITIVITY = CaseSensitivity.SENSITIVE;
+
     /**
      * The size of a cache for {@link JsonPropertyName} by index
      */
@@ -55,12 +57,53 @@ public final class JsonPropertyName implements Name,
     }
 
     /**
-     * Factory that creates a new {@link JsonPropertyName}
+     * The number of slots in the pool of interned {@link JsonPropertyName}, which must be a power of two.
+     */
+    // VisibleForTesting
+    final static int INTERN_SIZE = 4096;
+
+    /**
+     * Names longer than this are not interned, as they are unlikely to be repeated keys.
+     */
+    // VisibleForTesting
+    final static int INTERN_LENGTH_MAX = 64;
+
+    /**
+     * A fixed size pool of names, each held in the slot selected by its hash code, so the same key parsed or marshalled
+     * for many objects shares a single instance. A different name for the same slot evicts the previous, so keys that
+     * are seen once are soon replaced while frequently used keys are interned again the next time they appear.
+     * Slots are read and written without locking, which is safe as all fields of a {@link JsonPropertyName} are final.
+     */
+    private final static JsonPropertyName[] INTERNED = new JsonPropertyName[INTERN_SIZE];
+
+    /**
+     * Factory that returns a {@link JsonPropertyName}, reusing an interned instance when one exists.
      */
     public static JsonPropertyName with(final String name) {
-        return new JsonPropertyName(
-            CharSequences.failIfNullOrEmpty(name, "name")
-        );
+        CharSequences.failIfNullOrEmpty(name, "name");
+
+        final int hashCode = CASE_SENSITIVITY.hash(name);
+
+        JsonPropertyName propertyName;
+        if (name.length() <= INTERN_LENGTH_MAX) {
+            final int slot = (hashCode ^ (hashCode >>> 16)) & (INTERN_SIZE - 1);
+
+            propertyName = INTERNED[slot];
+            if (null == propertyName || false == propertyName.equals0(name, hashCode)) {
+                propertyName = new JsonPropertyName(
+                    name,
+                    hashCode
+                );
+                INTERNED[slot] = propertyName;
+            }
+        } else {
+            propertyName = new JsonPropertyName(
+                name,
+                hashCode
+            );
+        }
+
+        return propertyName;
     }
 
     // helper only used by various JsonXXX.NAME constants.
@@ -74,7 +117,16 @@ public final class JsonPropertyName implements Name,
     }
 
     private JsonPropertyName(final String name) {
+        this(
+            name,
+            CASE_SENSITIVITY.hash(name)
+        );
+    }
+
+    private JsonPropertyName(final String name,
+                             final int hashCode) {
         this.name = name;
+        this.hashCode = hashCode;
     }
 
     // Value.........................................................................................................
@@ -97,9 +149,14 @@ public final class JsonPropertyName implements Name,
 
     @Override
     public int hashCode() {
-        return CASE_SENSITIVITY.hash(this.name);
+        return this.hashCode;
     }
 
+    /**
+     * Computed once as names are used as keys and frequently hashed.
+     */
+    private final int hashCode;
+
     @Override
     public boolean equals(final Object other) {
         return this == other ||
@@ -108,7 +165,16 @@ public final class JsonPropertyName implements Name,
     }
 
     private boolean equals0(final JsonPropertyName other) {
-        return CASE_SENSITIVITY.equals(this.name, other.name);
+        return this.equals0(
+            other.name,
+            other.hashCode
+        );
+    }
+
+    private boolean equals0(final String name,
+                            final int hashCode) {
+        return this.hashCode == hashCode &&
+            CASE_SENSITIVITY.equals(this.name, name);
     }
 
     @Override
@@ -129,6 +195,4 @@ public final class JsonPropertyName implements Name,
     public CaseSensitivity caseSensitivity() {
         return CASE_SENSITIVITY;
     }
-
-    private final static CaseSensitivity CASE_SENSITIVITY = CaseSensitivity.SENSITIVE;
 }
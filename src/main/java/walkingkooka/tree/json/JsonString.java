@@ -17,10 +17,9 @@
 
 package walkingkooka.tree.json;
 
-import walkingkooka.text.CharSequences;
-import walkingkooka.text.printer.IndentingPrinter;
-
+import java.io.IOException;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Represents an immutable json string.
@@ -33,6 +32,7 @@ public final class JsonString extends JsonLeafNonNullNode<String> {
         return new JsonString(
             NAME,
             NO_INDEX,
+            NO_PARENT,
             value
         );
     }
@@ -41,10 +41,12 @@ public final class JsonString extends JsonLeafNonNullNode<String> {
 
     private JsonString(final JsonPropertyName name,
                        final int index,
+                       final Optional<JsonNode> parent,
                        final String value) {
         super(
             name,
             index,
+            parent,
             value
         );
     }
@@ -65,10 +67,12 @@ public final class JsonString extends JsonLeafNonNullNode<String> {
     @Override
     JsonString replace0(final JsonPropertyName name,
                         final int index,
+                        final Optional<JsonNode> parent,
                         final String value) {
         return new JsonString(
             name,
             index,
+            parent,
             value
         );
     }
@@ -124,59 +128,91 @@ public final class JsonString extends JsonLeafNonNullNode<String> {
      * '0020' . '10FFFF' - '"' - '\'
      * '\' escape
      * </pre>
+     * Appends the given value quoted and escaped, copying runs of characters that do not need escaping in bulk. When
+     * escapeNonAscii is true all characters above 0x7F, including U+2028 and U+2029 which are not allowed in javascript
+     * strings, are also escaped so the json may be embedded within javascript or html.
      */
-    @Override
-    void printJson0(final IndentingPrinter printer) {
-        final String value = this.value;
+    static void quote(final String value,
+                      final boolean escapeNonAscii,
+                      final Appendable appendable) throws IOException {
         final int length = value.length();
 
-        final StringBuilder encoded = new StringBuilder();
-        encoded.append('"'); // open
+        appendable.append('"'); // open
+
+        int start = 0;
+        while (start < length) {
+            final int escape = escapeIndex(
+                value,
+                start,
+                escapeNonAscii
+            );
+            if (escape > start) {
+                appendable.append(
+                    value,
+                    start,
+                    escape
+                );
+            }
+            if (escape < length) {
+                final char c = value.charAt(escape);
+                if (c < ESCAPES_LENGTH) {
+                    appendable.append(ESCAPES[c]);
+                } else {
+                    appendable.append("\\u")
+                        .append(HEX.charAt((c >> 12) & 0xf))
+                        .append(HEX.charAt((c >> 8) & 0xf))
+                        .append(HEX.charAt((c >> 4) & 0xf))
+                        .append(HEX.charAt(c & 0xf));
+                }
+            }
+            start = escape + 1;
+        }
 
-        for (int i = 0; i < length; i++) {
-            final char c = value.charAt(i);
+        appendable.append('"'); // close
+    }
 
-            switch (c) {
-                case '"':
-                    encoded.append("\\\"");
-                    break;
-                case '\\':
-                    encoded.append("\\\\");
-                    break;
-                case '\b':
-                    encoded.append("\\b");
-                    break;
-                case '\f':
-                    encoded.append("\\f");
-                    break;
-                case '\n':
-                    encoded.append("\\n");
-                    break;
-                case '\r':
-                    encoded.append("\\r");
-                    break;
-                case '\t':
-                    encoded.append("\\t");
-                    break;
-                default:
-                    if (c < 0x20) {
-                        encoded.append("\\u")
-                            .append(
-                                CharSequences.padLeft(
-                                    Integer.toHexString(c),
-                                    4,
-                                    '0'
-                                )
-                            );
-                        break;
-                    }
-                    encoded.append(c);
-                    break;
+    /**
+     * Returns the index of the next character starting at start that must be escaped, or the length of the value if
+     * none remain.
+     */
+    private static int escapeIndex(final String value,
+                                   final int start,
+                                   final boolean escapeNonAscii) {
+        final String[] escapes = ESCAPES;
+        final int length = value.length();
+
+        int i = start;
+        while (i < length) {
+            final char c = value.charAt(i);
+            if (c < ESCAPES_LENGTH ? null != escapes[c] : escapeNonAscii) {
+                break;
             }
+            i++;
         }
+        return i;
+    }
 
-        encoded.append('"'); // close
+    private final static String HEX = "0123456789abcdef";
 
-        printer.print(encoded);
+    private final static int ESCAPES_LENGTH = 128;
+
+    /**
+     * The escape sequence for each ASCII character, or null if the character does not need escaping.
+     */
+    private final static String[] ESCAPES = new String[ESCAPES_LENGTH];
+
+    static {
+        final String[] escapes = ESCAPES;
+
+        for (int c = 0; c < 0x20; c++) {
+            escapes[c] = "\\u00" + HEX.charAt(c >> 4) + HEX.charAt(c & 0xf);
+        }
+        escapes['"'] = "\\\"";
+        escapes['\\'] = "\\\\";
+        escapes['\b'] = "\\b";
+        escapes['\f'] = "\\f";
+        escapes['\n'] = "\\n";
+        escapes['\r'] = "\\r";
+        escapes['\t'] = "\\t";
     }
 }
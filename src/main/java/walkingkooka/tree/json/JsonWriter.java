@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import walkingkooka.text.CharSequences;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Writes compact json to an {@link Appendable} one event at a time, so a large document can be written without first
+ * building a {@link JsonNode} graph of the entire document. Commas and colons are added automatically, and an
+ * {@link IllegalStateException} is thrown for events that would give invalid json, such as a value within an object
+ * without a property name.
+ * <pre>
+ * writer.beginObject()
+ *     .name(JsonPropertyName.with("items"))
+ *     .beginArray()
+ *     .value(JsonNode.number(1))
+ *     .value(JsonNode.string("two"))
+ *     .endArray()
+ *     .endObject();
+ * </pre>
+ */
+public final class JsonWriter {
+
+    /**
+     * Creates a {@link JsonWriter} which writes json without any whitespace.
+     */
+    public static JsonWriter compact(final Appendable appendable) {
+        Objects.requireNonNull(appendable, "appendable");
+
+        return new JsonWriter(appendable);
+    }
+
+    private JsonWriter(final Appendable appendable) {
+        super();
+        this.appendable = appendable;
+        this.writer = JsonNodeWriter.compact(appendable);
+    }
+
+    /**
+     * Begins an array, which must be followed by its elements and then {@link #endArray()}.
+     */
+    public JsonWriter beginArray() throws IOException {
+        this.beforeValue();
+        this.appendable.append('[');
+        this.push(false);
+        return this;
+    }
+
+    /**
+     * Ends the array begun by {@link #beginArray()}.
+     */
+    public JsonWriter endArray() throws IOException {
+        if (0 == this.depth || this.objects[this.depth - 1]) {
+            throw new IllegalStateException("End array outside array");
+        }
+        this.appendable.append(']');
+        this.pop();
+        return this;
+    }
+
+    /**
+     * Begins an object, which must be followed by each property name and value and then {@link #endObject()}.
+     */
+    public JsonWriter beginObject() throws IOException {
+        this.beforeValue();
+        this.appendable.append('{');
+        this.push(true);
+        return this;
+    }
+
+    /**
+     * Ends the object begun by {@link #beginObject()}.
+     */
+    public JsonWriter endObject() throws IOException {
+        if (0 == this.depth || false == this.objects[this.depth - 1]) {
+            throw new IllegalStateException("End object outside object");
+        }
+        if (this.named) {
+            throw new IllegalStateException("Missing value after property name");
+        }
+        this.appendable.append('}');
+        this.pop();
+        return this;
+    }
+
+    /**
+     * Writes the name of the next property, which must be followed by its value.
+     */
+    public JsonWriter name(final JsonPropertyName name) throws IOException {
+        Objects.requireNonNull(name, "name");
+
+        if (0 == this.depth || false == this.objects[this.depth - 1]) {
+            throw new IllegalStateException("Property name outside object");
+        }
+        if (this.named) {
+            throw new IllegalStateException("Missing value after property name");
+        }
+
+        this.comma();
+
+        final Appendable appendable = this.appendable;
+        // matches JsonNodeWriter#writeName
+        appendable.append(
+            CharSequences.quoteAndEscape(
+                name.value()
+            )
+        );
+        appendable.append(':');
+        this.named = true;
+        return this;
+    }
+
+    /**
+     * Writes the {@link JsonNode} and all its descendants. Any name of the given node is ignored, the property name
+     * within an object must be written using {@link #name(JsonPropertyName)}.
+     */
+    public JsonWriter value(final JsonNode node) throws IOException {
+        Objects.requireNonNull(node, "node");
+
+        this.beforeValue();
+        this.writer.write(node);
+        this.afterValue();
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        final int depth = this.depth;
+
+        if (0 == depth) {
+            if (this.written) {
+                throw new IllegalStateException("Json already written");
+            }
+        } else {
+            if (this.objects[depth - 1]) {
+                if (false == this.named) {
+                    throw new IllegalStateException("Missing property name before value");
+                }
+                this.named = false;
+            } else {
+                this.comma();
+            }
+        }
+    }
+
+    private void afterValue() {
+        if (0 == this.depth) {
+            this.written = true;
+        }
+    }
+
+    /**
+     * Appends a comma unless this is the first element or property of the current array or object.
+     */
+    private void comma() throws IOException {
+        final int last = this.depth - 1;
+
+        if (this.commas[last]) {
+            this.appendable.append(',');
+        } else {
+            this.commas[last] = true;
+        }
+    }
+
+    private void push(final boolean object) {
+        final int depth = this.depth;
+
+        if (depth == this.objects.length) {
+            final int length = depth * 2;
+
+            final boolean[] objects = new boolean[length];
+            System.arraycopy(this.objects, 0, objects, 0, depth);
+            this.objects = objects;
+
+            final boolean[] commas = new boolean[length];
+            System.arraycopy(this.commas, 0, commas, 0, depth);
+            this.commas = commas;
+        }
+
+        this.objects[depth] = object;
+        this.commas[depth] = false;
+        this.depth = depth + 1;
+    }
+
+    private void pop() {
+        this.depth--;
+        this.afterValue();
+    }
+
+    /**
+     * Returns true when a complete json value has been written.
+     */
+    public boolean isComplete() {
+        return this.written;
+    }
+
+    private final Appendable appendable;
+
+    /**
+     * Writes each {@link JsonNode} value.
+     */
+    private final JsonNodeWriter writer;
+
+    /**
+     * For each open array or object, true if the container is an object.
+     */
+    private boolean[] objects = new boolean[INITIAL_DEPTH];
+
+    /**
+     * For each open array or object, true if a comma must be written before the next element or property.
+     */
+    private boolean[] commas = new boolean[INITIAL_DEPTH];
+
+    private final static int INITIAL_DEPTH = 8;
+
+    /**
+     * The current number of open arrays and objects.
+     */
+    private int depth;
+
+    /**
+     * True when a property name was written and its value has not yet been written.
+     */
+    private boolean named;
+
+    /**
+     * True when the top level value is complete.
+     */
+    private boolean written;
+
+    @Override
+    public String toString() {
+        return this.appendable.toString();
+    }
+}
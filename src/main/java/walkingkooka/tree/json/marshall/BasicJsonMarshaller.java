@@ -42,8 +42,12 @@ import walkingkooka.tree.expression.XorExpression;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonNodeException;
 import walkingkooka.tree.json.JsonString;
+import walkingkooka.tree.json.JsonWriter;
 import walkingkooka.tree.json.UnsupportedTypeJsonNodeException;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -62,14 +66,46 @@ abstract class BasicJsonMarshaller<T> {
     // @VisibleForTesting
     final static Map<String, BasicJsonMarshaller<?>> TYPENAME_TO_MARSHALLER = Maps.sorted();
 
+    /**
+     * The {@link BasicJsonMarshaller marshaller} registered for each {@link Class}. Registration replaces the map rather
+     * than modifying it, so lookups never lock.
+     */
+    // @VisibleForTesting
+    static volatile Map<Class<?>, BasicJsonMarshaller<?>> typeToMarshaller = new IdentityHashMap<>();
+
+    /**
+     * Caches the {@link BasicJsonMarshaller marshaller} found for the {@link Class} of each value, including sub classes
+     * and list, set or map implementations that are not registered. This is replaced by any registration.
+     */
+    private static volatile Map<Class<?>, BasicJsonMarshaller<?>> valueTypeToMarshaller = new IdentityHashMap<>();
+
     /**
      * Returns the marshaller for the given {@link Object value}.
      */
     static <T> BasicJsonMarshaller<T> marshaller(final T value) {
-        String name = classToString(value.getClass());
+        BasicJsonMarshaller<?> marshaller = valueTypeToMarshaller.get(value.getClass());
+        if (null == marshaller) {
+            marshaller = resolve(value);
+        }
+
+        return Cast.to(marshaller);
+    }
+
+    /**
+     * Finds the marshaller for the class of the given value, trying each super class and then the list, set or map
+     * marshaller, and caches the result.
+     */
+    private static synchronized BasicJsonMarshaller<?> resolve(final Object value) {
+        final Class<?> type = value.getClass();
+
+        BasicJsonMarshaller<?> marshaller = null;
+
+        Class<?> superType = type;
+        do {
+            marshaller = typeToMarshaller.get(superType);
+            superType = superType.getSuperclass();
+        } while (null == marshaller && null != superType);
 
-        // try and find by class name, then try again if list/set/map.
-        BasicJsonMarshaller<?> marshaller = TYPENAME_TO_MARSHALLER.get(name);
         if (null == marshaller) {
             final String listSetMapName = value instanceof List ?
                 "list" :
@@ -84,21 +120,28 @@ abstract class BasicJsonMarshaller<T> {
         }
 
         if (null == marshaller) {
-            throw notFound(name);
+            throw notFound(
+                classToString(type)
+            );
         }
 
-        return Cast.to(marshaller);
+        final Map<Class<?>, BasicJsonMarshaller<?>> resolved = new IdentityHashMap<>(valueTypeToMarshaller);
+        resolved.put(type, marshaller);
+        valueTypeToMarshaller = resolved;
+
+        return marshaller;
     }
 
     /**
-     * Returns the marshaller for the given {@link Class}.
+     * Returns the marshaller for the given {@link Class}. Unlike {@link #marshaller(Object)} sub classes are not
+     * resolved, as the marshaller must create an instance of the given type.
      */
     static <T> BasicJsonMarshaller<T> marshaller(final Class<T> type) {
-        final String name = classToString(type);
-
-        final BasicJsonMarshaller<?> marshaller = TYPENAME_TO_MARSHALLER.get(name);
+        final BasicJsonMarshaller<?> marshaller = typeToMarshaller.get(type);
         if (null == marshaller) {
-            throw notFound(name);
+            throw notFound(
+                classToString(type)
+            );
         }
         return Cast.to(marshaller);
     }
@@ -256,9 +299,7 @@ abstract class BasicJsonMarshaller<T> {
         Objects.requireNonNull(type, "type");
 
         return Optional.ofNullable(
-            TYPENAME_TO_MARSHALLER.get(
-                classToString(type)
-            )
+            typeToMarshaller.get(type)
         ).map(m -> JsonNode.string(m.toString()));
     }
 
@@ -288,9 +329,49 @@ abstract class BasicJsonMarshaller<T> {
 
     final void registerTypeNameAndType() {
         registerWithTypeName(this.typeName());
-        registerWithTypeName(
-            classToString(this.type())
+        registerWithType(this.type());
+    }
+
+    /**
+     * Registers this {@link BasicJsonMarshaller} for the given {@link Class} and its name.
+     * If the name is already registered an {@link IllegalArgumentException} will be thrown.
+     */
+    final void registerWithType(final Class<?> type) {
+        this.registerWithTypeName(
+            classToString(type)
         );
+        registerType(
+            type,
+            this
+        );
+    }
+
+    private static synchronized void registerType(final Class<?> type,
+                                                  final BasicJsonMarshaller<?> marshaller) {
+        final Map<Class<?>, BasicJsonMarshaller<?>> types = new IdentityHashMap<>(typeToMarshaller);
+        types.put(type, marshaller);
+
+        typeToMarshaller = types;
+        valueTypeToMarshaller = types;
+    }
+
+    /**
+     * Removes the type name and each {@link Class} and its name.
+     */
+    static synchronized void unregister(final String typeName,
+                                        final Collection<Class<?>> types) {
+        TYPENAME_TO_MARSHALLER.remove(typeName);
+
+        final Map<Class<?>, BasicJsonMarshaller<?>> remaining = new IdentityHashMap<>(typeToMarshaller);
+        for (final Class<?> type : types) {
+            TYPENAME_TO_MARSHALLER.remove(
+                classToString(type)
+            );
+            remaining.remove(type);
+        }
+
+        typeToMarshaller = remaining;
+        valueTypeToMarshaller = remaining;
     }
 
     /**
@@ -372,6 +453,38 @@ abstract class BasicJsonMarshaller<T> {
     abstract JsonNode marshallWithTypeNonNull(final T value,
                                               final JsonNodeMarshallContext context);
 
+    // write............................................................................................................
+
+    /**
+     * Writes the json of the given value to the {@link JsonWriter}. By default the {@link JsonNode} is built and then
+     * written, the collection and map marshallers override to write each element as it is marshalled.
+     */
+    void writeNonNull(final T value,
+                      final JsonWriter writer,
+                      final BasicJsonNodeMarshallContext context) throws IOException {
+        writer.value(
+            context.marshallNonNull(
+                value,
+                Cast.to(this)
+            )
+        );
+    }
+
+    /**
+     * Writes the json with type of the given value to the {@link JsonWriter}. By default the {@link JsonNode} is built
+     * and then written.
+     */
+    void writeWithTypeNonNull(final T value,
+                              final JsonWriter writer,
+                              final BasicJsonNodeMarshallContext context) throws IOException {
+        writer.value(
+            this.marshallWithTypeNonNull(
+                value,
+                context
+            )
+        );
+    }
+
     // toString.........................................................................................................
 
     @Override
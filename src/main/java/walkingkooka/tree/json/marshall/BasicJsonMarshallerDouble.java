@@ -18,6 +18,7 @@
 package walkingkooka.tree.json.marshall;
 
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonNumber;
 
 final class BasicJsonMarshallerDouble extends BasicJsonMarshaller<Double> {
 
@@ -47,7 +48,11 @@ final class BasicJsonMarshallerDouble extends BasicJsonMarshaller<Double> {
     @Override
     Double unmarshallNonNull(final JsonNode node,
                              final JsonNodeUnmarshallContext context) {
-        return node.numberOrFail().doubleValue();
+        return node.isNumber() ?
+            node.cast(JsonNumber.class)
+                .doubleValue() :
+            node.numberOrFail()
+                .doubleValue();
     }
 
     @Override
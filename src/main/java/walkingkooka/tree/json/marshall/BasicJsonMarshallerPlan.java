@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.marshall;
+
+import walkingkooka.Cast;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonObjectBuilder;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A marshalling plan for a registered type that is always marshalled as the same sequence of properties. The
+ * {@link BasicJsonMarshaller} of each property is resolved the first time it is needed and then reused for every
+ * following value, so marshalling many values of the type skips the registry lookup and the dispatch through
+ * {@link JsonNodeMarshallContext#marshall(Object)} for each property. A property whose value is a different class
+ * from the previous value resolves its marshaller again.
+ */
+final class BasicJsonMarshallerPlan<T> {
+
+    static <T> BasicJsonMarshallerPlan<T> with(final List<BasicJsonMarshallerPlanProperty<T>> properties) {
+        Objects.requireNonNull(properties, "properties");
+
+        return new BasicJsonMarshallerPlan<>(
+            Cast.to(
+                properties.toArray(new BasicJsonMarshallerPlanProperty[0])
+            )
+        );
+    }
+
+    private BasicJsonMarshallerPlan(final BasicJsonMarshallerPlanProperty<T>[] properties) {
+        super();
+        this.properties = properties;
+    }
+
+    /**
+     * Marshalls each property of the value into a {@link JsonObject}. The resolved marshallers are only used with a
+     * {@link BasicJsonNodeMarshallContext}, any other context marshalls each property itself.
+     */
+    JsonObject marshall(final T value,
+                        final JsonNodeMarshallContext context) {
+        final BasicJsonMarshallerPlanProperty<T>[] properties = this.properties;
+        final int count = properties.length;
+
+        final JsonObjectBuilder object = JsonNode.objectBuilder();
+
+        if (context instanceof BasicJsonNodeMarshallContext) {
+            final BasicJsonNodeMarshallContext basic = (BasicJsonNodeMarshallContext) context;
+
+            for (int i = 0; i < count; i++) {
+                BasicJsonMarshallerPlanProperty<T> property = properties[i];
+                final Object propertyValue = property.get(value);
+
+                final JsonNode json;
+                if (null == propertyValue) {
+                    json = JsonNode.nullNode();
+                } else {
+                    if (false == property.isResolved(propertyValue)) {
+                        property = property.resolve(propertyValue);
+                        properties[i] = property;
+                    }
+                    json = basic.marshallNonNull(
+                        propertyValue,
+                        property.marshaller
+                    );
+                }
+
+                object.set(
+                    property.name,
+                    json
+                );
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                final BasicJsonMarshallerPlanProperty<T> property = properties[i];
+
+                object.set(
+                    property.name,
+                    context.marshall(
+                        property.get(value)
+                    )
+                );
+            }
+        }
+
+        return object.build();
+    }
+
+    /**
+     * The properties in the order they are marshalled. Each slot is replaced by a property holding its resolved
+     * marshaller without locking, which is safe because every field of a {@link BasicJsonMarshallerPlanProperty} is
+     * final, so threads resolving the same slot at once only repeat the lookup.
+     */
+    private final BasicJsonMarshallerPlanProperty<T>[] properties;
+
+    @Override
+    public String toString() {
+        return this.properties.length + " properties";
+    }
+}
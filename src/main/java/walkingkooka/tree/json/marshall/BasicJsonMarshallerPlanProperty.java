@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.marshall;
+
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A single property of a {@link BasicJsonMarshallerPlan}, holding its name, the function that gets its value and the
+ * {@link BasicJsonMarshaller} resolved for the class of the last value.
+ */
+final class BasicJsonMarshallerPlanProperty<T> {
+
+    static <T> BasicJsonMarshallerPlanProperty<T> with(final JsonPropertyName name,
+                                                       final Function<T, ?> getter) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(getter, "getter");
+
+        return new BasicJsonMarshallerPlanProperty<>(
+            name,
+            getter,
+            null,
+            null
+        );
+    }
+
+    private BasicJsonMarshallerPlanProperty(final JsonPropertyName name,
+                                            final Function<T, ?> getter,
+                                            final Class<?> type,
+                                            final BasicJsonMarshaller<Object> marshaller) {
+        super();
+        this.name = name;
+        this.getter = getter;
+        this.type = type;
+        this.marshaller = marshaller;
+    }
+
+    Object get(final T value) {
+        return this.getter.apply(value);
+    }
+
+    /**
+     * Returns true if the {@link #marshaller} was resolved for the class of the given property value.
+     */
+    boolean isResolved(final Object propertyValue) {
+        return propertyValue.getClass() == this.type;
+    }
+
+    /**
+     * Returns a property holding the {@link BasicJsonMarshaller} for the class of the given property value.
+     */
+    BasicJsonMarshallerPlanProperty<T> resolve(final Object propertyValue) {
+        return new BasicJsonMarshallerPlanProperty<>(
+            this.name,
+            this.getter,
+            propertyValue.getClass(),
+            BasicJsonMarshaller.marshaller(propertyValue)
+        );
+    }
+
+    final JsonPropertyName name;
+
+    private final Function<T, ?> getter;
+
+    /**
+     * The class that {@link #marshaller} was resolved for, or null when nothing has been resolved.
+     */
+    private final Class<?> type;
+
+    final BasicJsonMarshaller<Object> marshaller;
+
+    @Override
+    public String toString() {
+        return this.name +
+            (null == this.type ?
+                "" :
+                " " + this.marshaller);
+    }
+}
@@ -19,7 +19,9 @@ package walkingkooka.tree.json.marshall;
 
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonWriter;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -41,16 +43,15 @@ abstract class BasicJsonMarshallerTyped<T> extends BasicJsonMarshaller<T> {
         this.registerTypeNameAndType();
 
         Arrays.stream(values)
-            .map(v -> v.getClass().getName())
-            .filter(t -> false == TYPENAME_TO_MARSHALLER.containsKey(t))
-            .forEach(this::registerWithTypeName);
+            .map(v -> v.getClass())
+            .filter(t -> false == typeToMarshaller.containsKey(t))
+            .forEach(this::registerWithType);
     }
 
     final void registerTypes(final List<Class<?>> types) {
         types.stream()
             .filter(t -> t != this.type())
-            .map(Class::getName)
-            .forEach(this::registerWithTypeName);
+            .forEach(this::registerWithType);
     }
 
     @Override final JsonNode marshallWithTypeNonNull(final T value,
@@ -59,6 +60,25 @@ abstract class BasicJsonMarshallerTyped<T> extends BasicJsonMarshaller<T> {
             .set(BasicJsonNodeContext.VALUE, context.marshall(value));
     }
 
+    /**
+     * Writes the same object as {@link #marshallWithTypeNonNull(Object, JsonNodeMarshallContext)}, with the value
+     * written by {@link BasicJsonNodeMarshallContext#marshall(Object, JsonWriter)}.
+     */
+    @Override //
+    final void writeWithTypeNonNull(final T value,
+                                    final JsonWriter writer,
+                                    final BasicJsonNodeMarshallContext context) throws IOException {
+        writer.beginObject()
+            .name(BasicJsonNodeContext.TYPE)
+            .value(JsonNode.string(this.toString()))
+            .name(BasicJsonNodeContext.VALUE);
+        context.marshall(
+            value,
+            writer
+        );
+        writer.endObject();
+    }
+
     /**
      * The {@link JsonObject} holding type=$typename must be created lazily after all registration. Attempts to create
      * during registration will result in exceptions when the {@link JsonObject} is created and the TYPE property set.
@@ -17,6 +17,7 @@
 
 package walkingkooka.tree.json.marshall;
 
+import walkingkooka.collect.list.Lists;
 import walkingkooka.environment.AuditInfo;
 import walkingkooka.net.email.EmailAddress;
 import walkingkooka.tree.json.JsonNode;
@@ -106,13 +107,21 @@ final class BasicJsonMarshallerTypedAuditInfo extends BasicJsonMarshallerTyped<A
     @Override
     JsonNode marshallNonNull(final AuditInfo auditInfo,
                              final JsonNodeMarshallContext context) {
-        return JsonNode.object()
-            .set(CREATED_BY_PROPERTY, context.marshall(auditInfo.createdBy()))
-            .set(CREATED_TIMESTAMP_PROPERTY, context.marshall(auditInfo.createdTimestamp()))
-            .set(MODIFIED_BY_PROPERTY, context.marshall(auditInfo.modifiedBy()))
-            .set(MODIFIED_TIMESTAMP_PROPERTY, context.marshall(auditInfo.modifiedTimestamp()));
+        return this.plan.marshall(
+            auditInfo,
+            context
+        );
     }
 
+    private final BasicJsonMarshallerPlan<AuditInfo> plan = BasicJsonMarshallerPlan.with(
+        Lists.of(
+            BasicJsonMarshallerPlanProperty.with(CREATED_BY_PROPERTY, AuditInfo::createdBy),
+            BasicJsonMarshallerPlanProperty.with(CREATED_TIMESTAMP_PROPERTY, AuditInfo::createdTimestamp),
+            BasicJsonMarshallerPlanProperty.with(MODIFIED_BY_PROPERTY, AuditInfo::modifiedBy),
+            BasicJsonMarshallerPlanProperty.with(MODIFIED_TIMESTAMP_PROPERTY, AuditInfo::modifiedTimestamp)
+        )
+    );
+
     private final static String CREATED_BY_PROPERTY_STRING = "createdBy";
 
     private final static String CREATED_TIMESTAMP_PROPERTY_STRING = "createdTimestamp";
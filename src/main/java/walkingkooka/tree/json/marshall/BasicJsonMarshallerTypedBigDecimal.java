@@ -18,6 +18,7 @@
 package walkingkooka.tree.json.marshall;
 
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonNumber;
 
 import java.math.BigDecimal;
 
@@ -54,7 +55,10 @@ final class BasicJsonMarshallerTypedBigDecimal extends BasicJsonMarshallerTyped<
     @Override
     BigDecimal unmarshallNonNull(final JsonNode node,
                                  final JsonNodeUnmarshallContext context) {
-        return new BigDecimal(node.stringOrFail());
+        return node.isNumber() ?
+            node.cast(JsonNumber.class)
+                .bigDecimalValue() :
+            new BigDecimal(node.stringOrFail());
     }
 
     @Override
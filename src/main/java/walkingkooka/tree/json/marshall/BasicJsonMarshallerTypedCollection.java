@@ -17,11 +17,13 @@
 
 package walkingkooka.tree.json.marshall;
 
-import walkingkooka.collect.list.ImmutableList;
+import walkingkooka.tree.json.JsonArrayBuilder;
 import walkingkooka.tree.json.JsonNode;
-import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonWriter;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 abstract class BasicJsonMarshallerTypedCollection<C extends Collection<?>> extends BasicJsonMarshallerTyped<C> {
 
@@ -34,12 +36,65 @@ abstract class BasicJsonMarshallerTypedCollection<C extends Collection<?>> exten
         return null;
     }
 
+    /**
+     * Large collections are marshalled by a parallel stream, which calls the context from several threads at once.
+     * Only a {@link BasicJsonNodeMarshallContext} which is known to be safe to share decides if a collection is large,
+     * any other context is always called from the current thread.
+     */
     @Override //
     final JsonNode marshallNonNull(final C value,
                                    final JsonNodeMarshallContext context) {
-        return JsonObject.array()
-            .setChildren(value.stream()
-                .map(context::marshallWithType)
-                .collect(ImmutableList.collector()));
+        return context instanceof BasicJsonNodeMarshallContext &&
+            ((BasicJsonNodeMarshallContext) context).isParallel(value.size()) ?
+            marshallParallel(
+                value,
+                context
+            ) :
+            marshallSequential(
+                value,
+                context
+            );
+    }
+
+    private static JsonNode marshallParallel(final Collection<?> value,
+                                             final JsonNodeMarshallContext context) {
+        return JsonNode.array()
+            .setChildren(
+                value.parallelStream()
+                    .map(context::marshallWithType)
+                    .collect(Collectors.toList())
+            );
+    }
+
+    private static JsonNode marshallSequential(final Collection<?> value,
+                                               final JsonNodeMarshallContext context) {
+        final JsonArrayBuilder array = JsonNode.arrayBuilder();
+
+        for (final Object element : value) {
+            array.appendChild(
+                context.marshallWithType(element)
+            );
+        }
+
+        return array.build();
+    }
+
+    /**
+     * Writes each element as it is marshalled, so the array of all elements is never built.
+     */
+    @Override //
+    final void writeNonNull(final C value,
+                            final JsonWriter writer,
+                            final BasicJsonNodeMarshallContext context) throws IOException {
+        writer.beginArray();
+
+        for (final Object element : value) {
+            context.marshallWithType(
+                element,
+                writer
+            );
+        }
+
+        writer.endArray();
     }
 }
@@ -17,6 +17,7 @@
 
 package walkingkooka.tree.json.marshall;
 
+import walkingkooka.collect.list.Lists;
 import walkingkooka.math.DecimalNumberSymbols;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonPropertyName;
@@ -243,21 +244,29 @@ final class BasicJsonMarshallerTypedDecimalNumberSymbols extends BasicJsonMarsha
     @Override
     JsonNode marshallNonNull(final DecimalNumberSymbols value,
                              final JsonNodeMarshallContext context) {
-        return JsonNode.object()
-            .set(NEGATIVE_SIGN_PROPERTY, context.marshall(value.negativeSign()))
-            .set(POSITIVE_SIGN_PROPERTY, context.marshall(value.positiveSign()))
-            .set(ZERO_DIGIT_PROPERTY, context.marshall(value.zeroDigit()))
-            .set(CURRENCY_SYMBOL_PROPERTY, context.marshall(value.currencySymbol()))
-            .set(DECIMAL_SEPARATOR_PROPERTY, context.marshall(value.decimalSeparator()))
-            .set(EXPONENT_SYMBOL_PROPERTY, context.marshall(value.exponentSymbol()))
-            .set(GROUP_SEPARATOR_PROPERTY, context.marshall(value.groupSeparator()))
-            .set(INFINITY_SYMBOL_PROPERTY, context.marshall(value.infinitySymbol()))
-            .set(MONETARY_DECIMAL_SEPARATOR_PROPERTY, context.marshall(value.monetaryDecimalSeparator()))
-            .set(NAN_SYMBOL_PROPERTY, context.marshall(value.nanSymbol()))
-            .set(PERCENT_SYMBOL_PROPERTY, context.marshall(value.percentSymbol()))
-            .set(PERMILL_SYMBOL_PROPERTY, context.marshall(value.permillSymbol()));
+        return this.plan.marshall(
+            value,
+            context
+        );
     }
 
+    private final BasicJsonMarshallerPlan<DecimalNumberSymbols> plan = BasicJsonMarshallerPlan.with(
+        Lists.of(
+            BasicJsonMarshallerPlanProperty.with(NEGATIVE_SIGN_PROPERTY, DecimalNumberSymbols::negativeSign),
+            BasicJsonMarshallerPlanProperty.with(POSITIVE_SIGN_PROPERTY, DecimalNumberSymbols::positiveSign),
+            BasicJsonMarshallerPlanProperty.with(ZERO_DIGIT_PROPERTY, DecimalNumberSymbols::zeroDigit),
+            BasicJsonMarshallerPlanProperty.with(CURRENCY_SYMBOL_PROPERTY, DecimalNumberSymbols::currencySymbol),
+            BasicJsonMarshallerPlanProperty.with(DECIMAL_SEPARATOR_PROPERTY, DecimalNumberSymbols::decimalSeparator),
+            BasicJsonMarshallerPlanProperty.with(EXPONENT_SYMBOL_PROPERTY, DecimalNumberSymbols::exponentSymbol),
+            BasicJsonMarshallerPlanProperty.with(GROUP_SEPARATOR_PROPERTY, DecimalNumberSymbols::groupSeparator),
+            BasicJsonMarshallerPlanProperty.with(INFINITY_SYMBOL_PROPERTY, DecimalNumberSymbols::infinitySymbol),
+            BasicJsonMarshallerPlanProperty.with(MONETARY_DECIMAL_SEPARATOR_PROPERTY, DecimalNumberSymbols::monetaryDecimalSeparator),
+            BasicJsonMarshallerPlanProperty.with(NAN_SYMBOL_PROPERTY, DecimalNumberSymbols::nanSymbol),
+            BasicJsonMarshallerPlanProperty.with(PERCENT_SYMBOL_PROPERTY, DecimalNumberSymbols::percentSymbol),
+            BasicJsonMarshallerPlanProperty.with(PERMILL_SYMBOL_PROPERTY, DecimalNumberSymbols::permillSymbol)
+        )
+    );
+
     private final static String NEGATIVE_SIGN_PROPERTY_STRING = "negativeSign";
 
     private final static String POSITIVE_SIGN_PROPERTY_STRING = "positiveSign";
@@ -21,6 +21,7 @@ import walkingkooka.text.CharSequences;
 import walkingkooka.tree.expression.ExpressionNumber;
 import walkingkooka.tree.expression.ExpressionNumberKind;
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonNumber;
 
 import java.math.BigDecimal;
 
@@ -58,10 +59,44 @@ final class BasicJsonMarshallerTypedExpressionNumber extends BasicJsonMarshaller
         return null;
     }
 
+    /**
+     * Accepts the number as a string or a lossless {@link JsonNumber}.
+     */
     @Override
     ExpressionNumber unmarshallNonNull(final JsonNode node,
                                        final JsonNodeUnmarshallContext context) {
-        final String string = node.stringOrFail();
+        return node.isNumber() ?
+            this.unmarshallNumber(
+                node.cast(JsonNumber.class),
+                context
+            ) :
+            this.unmarshallString(
+                node.stringOrFail(),
+                context
+            );
+    }
+
+    private ExpressionNumber unmarshallNumber(final JsonNumber node,
+                                              final JsonNodeUnmarshallContext context) {
+        final ExpressionNumberKind kind = context.expressionNumberKind();
+        final ExpressionNumber number;
+
+        switch (kind) {
+            case BIG_DECIMAL:
+                number = ExpressionNumberKind.BIG_DECIMAL.create(node.bigDecimalValue());
+                break;
+            case DOUBLE:
+                number = ExpressionNumberKind.DOUBLE.create(node.doubleValue());
+                break;
+            default:
+                throw new JsonNodeMarshallException("Unknown ExpressionNumber kind " + kind + " " + node);
+        }
+
+        return number;
+    }
+
+    private ExpressionNumber unmarshallString(final String string,
+                                              final JsonNodeUnmarshallContext context) {
         final ExpressionNumberKind kind = context.expressionNumberKind();
         final ExpressionNumber number;
 
@@ -91,12 +91,10 @@ final class BasicJsonMarshallerTypedGeneric<T> extends BasicJsonMarshallerTyped<
      * Eventually called by {@link BasicJsonMarshallerTypedGenericRunnable#run()}
      */
     void remove() {
-        TYPENAME_TO_MARSHALLER.remove(this.typeName());
-        TYPENAME_TO_MARSHALLER.remove(this.type().getName());
-
-        this.types.stream()
-            .map(Class::getName)
-            .forEach(TYPENAME_TO_MARSHALLER::remove);
+        unregister(
+            this.typeName(),
+            this.types
+        );
     }
 
     private final List<Class<?>> types;
@@ -46,19 +46,17 @@ final class BasicJsonMarshallerTypedHttpRequest extends BasicJsonMarshallerTyped
     @Override
     void register() {
         this.registerTypeNameAndType();
-        registerWithTypeName(
-            classToString(
-                HttpRequests.value(
-                    HttpTransport.SECURED,
-                    HttpMethod.POST,
-                    Url.parseRelative("/path1/file2?query3"),
-                    HttpProtocolVersion.VERSION_1_0,
-                    HttpEntity.EMPTY
-                        .addHeader(HttpHeaderName.CONTENT_LENGTH, 123L)
-                        .setContentType(MediaType.TEXT_PLAIN)
-                        .setBodyText("body-text-123")
-                ).getClass()
-            )
+        this.registerWithType(
+            HttpRequests.value(
+                HttpTransport.SECURED,
+                HttpMethod.POST,
+                Url.parseRelative("/path1/file2?query3"),
+                HttpProtocolVersion.VERSION_1_0,
+                HttpEntity.EMPTY
+                    .addHeader(HttpHeaderName.CONTENT_LENGTH, 123L)
+                    .setContentType(MediaType.TEXT_PLAIN)
+                    .setBodyText("body-text-123")
+            ).getClass()
         );
     }
 
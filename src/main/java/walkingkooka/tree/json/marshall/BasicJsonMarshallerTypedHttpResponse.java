@@ -40,11 +40,9 @@ final class BasicJsonMarshallerTypedHttpResponse extends BasicJsonMarshallerType
     void register() {
         this.registerTypeNameAndType();
 
-        this.registerWithTypeName(
-            classToString(
-                HttpResponses.recording()
-                    .getClass()
-            )
+        this.registerWithType(
+            HttpResponses.recording()
+                .getClass()
         );
     }
 
@@ -22,7 +22,9 @@ import walkingkooka.collect.list.ImmutableList;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonObject;
 import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.JsonWriter;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -85,6 +87,35 @@ final class BasicJsonMarshallerTypedMap extends BasicJsonMarshallerTyped<Map<?,
             .set(ENTRY_VALUE, context.marshallWithType(entry.getValue()));
     }
 
+    /**
+     * Writes each entry as it is marshalled, so the array of all entries is never built.
+     */
+    @Override
+    void writeNonNull(final Map<?, ?> map,
+                      final JsonWriter writer,
+                      final BasicJsonNodeMarshallContext context) throws IOException {
+        writer.beginArray();
+
+        for (final Entry<?, ?> entry : map.entrySet()) {
+            writer.beginObject()
+                .name(ENTRY_KEY);
+            context.marshallWithType(
+                entry.getKey(),
+                writer
+            );
+
+            writer.name(ENTRY_VALUE);
+            context.marshallWithType(
+                entry.getValue(),
+                writer
+            );
+
+            writer.endObject();
+        }
+
+        writer.endArray();
+    }
+
     final static JsonPropertyName ENTRY_KEY = JsonPropertyName.with("key");
     final static JsonPropertyName ENTRY_VALUE = JsonPropertyName.with("value");
 }
@@ -18,6 +18,7 @@
 package walkingkooka.tree.json.marshall;
 
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonNumber;
 import walkingkooka.tree.json.NumericLossJsonNodeException;
 
 /**
@@ -31,21 +32,30 @@ abstract class BasicJsonMarshallerTypedNumber<T extends Number> extends BasicJso
 
     @Override final T unmarshallNonNull(final JsonNode node,
                                         final JsonNodeUnmarshallContext context) {
-        return this.numberWithoutPrecisionLoss(node.numberOrFail());
+        return this.numberWithoutPrecisionLoss(
+            node.isNumber() ?
+                node.cast(JsonNumber.class)
+                    .doubleValue() :
+                node.numberOrFail()
+                    .doubleValue()
+        );
     }
 
     /**
      * Ensures that no precision is lost.
      */
-    private T numberWithoutPrecisionLoss(final Number number) {
-        final T number2 = this.number(number);
-        if (number2.doubleValue() != number.doubleValue()) {
-            throw new NumericLossJsonNodeException(number.getClass().getName() + "=" + number);
+    private T numberWithoutPrecisionLoss(final double value) {
+        final T number = this.number(value);
+        if (number.doubleValue() != value) {
+            throw new NumericLossJsonNodeException(Double.class.getName() + "=" + value);
         }
-        return number2;
+        return number;
     }
 
-    abstract T number(final Number number);
+    /**
+     * Converts the primitive double read directly from the {@link JsonNumber}.
+     */
+    abstract T number(final double value);
 
     @Override final T unmarshallNull(final JsonNodeUnmarshallContext context) {
         return null;
@@ -43,7 +43,7 @@ final class BasicJsonMarshallerTypedNumberByte extends BasicJsonMarshallerTypedN
     }
 
     @Override
-    Byte number(final Number number) {
-        return number.byteValue();
+    Byte number(final double value) {
+        return (byte) value;
     }
 }
@@ -43,7 +43,7 @@ final class BasicJsonMarshallerTypedNumberFloat extends BasicJsonMarshallerTyped
     }
 
     @Override
-    Float number(final Number number) {
-        return number.floatValue();
+    Float number(final double value) {
+        return (float) value;
     }
 }
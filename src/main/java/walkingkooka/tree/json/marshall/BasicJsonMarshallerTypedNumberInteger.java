@@ -43,7 +43,7 @@ final class BasicJsonMarshallerTypedNumberInteger extends BasicJsonMarshallerTyp
     }
 
     @Override
-    Integer number(final Number number) {
-        return number.intValue();
+    Integer number(final double value) {
+        return (int) value;
     }
 }
@@ -18,6 +18,7 @@
 package walkingkooka.tree.json.marshall;
 
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonNumber;
 import walkingkooka.tree.json.NumericLossJsonNodeException;
 
 final class BasicJsonMarshallerTypedNumberLong extends BasicJsonMarshallerTyped<Long> {
@@ -49,11 +50,11 @@ final class BasicJsonMarshallerTypedNumberLong extends BasicJsonMarshallerTyped<
     Long unmarshallNonNull(final JsonNode node,
                            final JsonNodeUnmarshallContext context) {
         return node.isNumber() ?
-            this.unmarshallNumber(node.numberOrFail()) :
+            this.unmarshallNumber(node.cast(JsonNumber.class)) :
             this.unmarshallString(node);
     }
 
-    private Long unmarshallNumber(final Number number) {
+    private Long unmarshallNumber(final JsonNumber number) {
         final double doubleValue = number.doubleValue();
         final long longValue = number.longValue();
         if (doubleValue != longValue) {
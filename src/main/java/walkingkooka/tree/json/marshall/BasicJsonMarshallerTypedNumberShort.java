@@ -43,7 +43,7 @@ final class BasicJsonMarshallerTypedNumberShort extends BasicJsonMarshallerTyped
     }
 
     @Override
-    Short number(final Number number) {
-        return number.shortValue();
+    Short number(final double value) {
+        return (short) value;
     }
 }
@@ -18,11 +18,14 @@
 package walkingkooka.tree.json.marshall;
 
 import walkingkooka.collect.set.SortedSets;
+import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.tree.json.JsonString;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * A {@link JsonNodeContext} that contains shared methods and attributes for both {@link BasicJsonNodeUnmarshallContext} and
@@ -54,10 +57,54 @@ abstract class BasicJsonNodeContext implements JsonNodeContext {
      */
     static final JsonPropertyName VALUE = JsonPropertyName.with("value");
 
-    BasicJsonNodeContext() {
+    /**
+     * The parallel threshold used by {@link JsonNodeMarshallContexts#basic()} and
+     * {@link JsonNodeUnmarshallContexts#basic(walkingkooka.tree.expression.ExpressionNumberKind, walkingkooka.currency.CurrencyCodeLanguageTagContext, java.math.MathContext)}.
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Fails if the parallel threshold is less than one.
+     */
+    static int checkParallelThreshold(final int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Invalid parallelThreshold " + parallelThreshold + " < 1");
+        }
+        return parallelThreshold;
+    }
+
+    BasicJsonNodeContext(final int parallelThreshold) {
         super();
+        this.parallelThreshold = parallelThreshold;
     }
 
+    /**
+     * Returns true if the given number of elements should be processed by a parallel stream.
+     */
+    final boolean isParallel(final int count) {
+        return count >= this.parallelThreshold;
+    }
+
+    /**
+     * Streams the children of the given array, using a parallel stream for large arrays. Each child may be fetched by
+     * another thread, which is safe as a {@link walkingkooka.tree.json.JsonArray} caches the children it creates
+     * without sharing any mutable state.
+     */
+    final Stream<JsonNode> children(final JsonNode node) {
+        final List<JsonNode> children = node.children();
+
+        return this.isParallel(children.size()) ?
+            children.parallelStream() :
+            children.stream();
+    }
+
+    /**
+     * Collections with at least this many elements are marshalled and unmarshalled using a parallel stream, which
+     * splits the elements across the common fork join pool and assembles the results in order. Smaller collections
+     * are not worth the cost of splitting.
+     */
+    final int parallelThreshold;
+
     /**
      * Returns one of possibly many registered {@link Class types} for the given type name.
      */
@@ -18,13 +18,14 @@
 package walkingkooka.tree.json.marshall;
 
 import walkingkooka.Cast;
-import walkingkooka.collect.list.ImmutableList;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.tree.json.JsonArray;
+import walkingkooka.tree.json.JsonArrayBuilder;
 import walkingkooka.tree.json.JsonNode;
-import walkingkooka.tree.json.JsonObject;
 import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.JsonWriter;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -42,15 +43,31 @@ import java.util.stream.Collectors;
 final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements JsonNodeMarshallContext {
 
     /**
-     * Singleton
+     * Singleton using the {@link #DEFAULT_PARALLEL_THRESHOLD}.
      */
-    final static BasicJsonNodeMarshallContext INSTANCE = new BasicJsonNodeMarshallContext(JsonNodeMarshallContext.OBJECT_PRE_PROCESSOR);
+    final static BasicJsonNodeMarshallContext INSTANCE = new BasicJsonNodeMarshallContext(
+        DEFAULT_PARALLEL_THRESHOLD,
+        JsonNodeMarshallContext.OBJECT_PRE_PROCESSOR
+    );
+
+    /**
+     * Factory
+     */
+    static BasicJsonNodeMarshallContext with(final int parallelThreshold) {
+        return DEFAULT_PARALLEL_THRESHOLD == checkParallelThreshold(parallelThreshold) ?
+            INSTANCE :
+            new BasicJsonNodeMarshallContext(
+                parallelThreshold,
+                JsonNodeMarshallContext.OBJECT_PRE_PROCESSOR
+            );
+    }
 
     /**
      * Private ctor
      */
-    private BasicJsonNodeMarshallContext(final JsonNodeMarshallContextObjectPostProcessor processor) {
-        super();
+    private BasicJsonNodeMarshallContext(final int parallelThreshold,
+                                         final JsonNodeMarshallContextObjectPostProcessor processor) {
+        super(parallelThreshold);
         this.processor = processor;
     }
 
@@ -62,7 +79,10 @@ final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements
 
         return this.processor.equals(processor) ?
             this :
-            new BasicJsonNodeMarshallContext(processor);
+            new BasicJsonNodeMarshallContext(
+                this.parallelThreshold,
+                processor
+            );
     }
 
     // marshall. .....................................................................................................
@@ -78,8 +98,18 @@ final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements
     }
 
     private JsonNode marshallNonNull(final Object value) {
-        final JsonNode json = BasicJsonMarshaller.marshaller(value)
-            .marshall(Cast.to(value), this);
+        return this.marshallNonNull(
+            value,
+            BasicJsonMarshaller.marshaller(value)
+        );
+    }
+
+    /**
+     * Marshalls the non null value using the given marshaller, applying the post processor to any json object.
+     */
+    JsonNode marshallNonNull(final Object value,
+                             final BasicJsonMarshaller<Object> marshaller) {
+        final JsonNode json = marshaller.marshall(value, this);
         return json.isObject() ?
             this.processor.apply(value, json.objectOrFail()) :
             json;
@@ -87,6 +117,28 @@ final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements
 
     private final JsonNodeMarshallContextObjectPostProcessor processor;
 
+    /**
+     * Writes the json of the value to the {@link JsonWriter}. Lists, sets and maps are written one element or entry at a
+     * time. All other values, including the types registered with a {@link java.util.function.BiFunction}, build their
+     * {@link JsonNode} which is then written.
+     */
+    @Override
+    public void marshall(final Object value,
+                         final JsonWriter writer) throws IOException {
+        Objects.requireNonNull(writer, "writer");
+
+        if (null == value) {
+            writer.value(JsonNode.nullNode());
+        } else {
+            BasicJsonMarshaller.marshaller(value)
+                .writeNonNull(
+                    value,
+                    writer,
+                    this
+                );
+        }
+    }
+
     /**
      * Accepts a {@link Collection} of elements which are assumed to be the same type and creates a {@link JsonArray}.
      */
@@ -94,12 +146,57 @@ final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements
     public JsonNode marshallCollection(final Collection<?> collection) {
         return null == collection ?
             JsonNode.nullNode() :
-            JsonObject.array()
-                .setChildren(
-                    collection.stream()
-                        .map(this::marshall)
-                        .collect(ImmutableList.collector())
+            this.marshallCollectionNonNull(collection);
+    }
+
+    private JsonNode marshallCollectionNonNull(final Collection<?> collection) {
+        return this.isParallel(collection.size()) ?
+            this.marshallCollectionParallel(collection) :
+            this.marshallCollectionSequential(collection);
+    }
+
+    /**
+     * Large collections are marshalled by a parallel stream.
+     */
+    private JsonNode marshallCollectionParallel(final Collection<?> collection) {
+        return JsonNode.array()
+            .setChildren(
+                collection.parallelStream()
+                    .map(this::marshall)
+                    .collect(Collectors.toList())
+            );
+    }
+
+    /**
+     * Elements are usually all the same class, so the marshaller of the previous element is reused until the class
+     * changes, giving a single registry lookup for a collection of records.
+     */
+    private JsonNode marshallCollectionSequential(final Collection<?> collection) {
+        final JsonArrayBuilder array = JsonNode.arrayBuilder();
+
+        Class<?> type = null;
+        BasicJsonMarshaller<Object> marshaller = null;
+
+        for (final Object element : collection) {
+            final JsonNode json;
+
+            if (null == element) {
+                json = JsonNode.nullNode();
+            } else {
+                if (element.getClass() != type) {
+                    type = element.getClass();
+                    marshaller = BasicJsonMarshaller.marshaller(element);
+                }
+                json = this.marshallNonNull(
+                    element,
+                    marshaller
                 );
+            }
+
+            array.appendChild(json);
+        }
+
+        return array.build();
     }
 
     /**
@@ -152,10 +249,10 @@ final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements
         boolean allKeysString = true;
 
         for (final Entry<?, ?> keyAndValue : map.entrySet()) {
-            final JsonNode key = marshall(keyAndValue.getKey());
+            final JsonNode key = this.marshall(keyAndValue.getKey());
             allKeysString = allKeysString & key.isString();
 
-            final JsonNode value = marshall(keyAndValue.getValue());
+            final JsonNode value = this.marshall(keyAndValue.getValue());
 
             keyAndValues.add(key);
             keyAndValues.add(value);
@@ -210,6 +307,26 @@ final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements
                 .marshallWithType(Cast.to(value), this);
     }
 
+    /**
+     * Writes the type name and json of the value to the {@link JsonWriter}.
+     */
+    @Override
+    public void marshallWithType(final Object value,
+                                 final JsonWriter writer) throws IOException {
+        Objects.requireNonNull(writer, "writer");
+
+        if (null == value) {
+            writer.value(JsonNode.nullNode());
+        } else {
+            BasicJsonMarshaller.marshaller(value)
+                .writeWithTypeNonNull(
+                    value,
+                    writer,
+                    this
+                );
+        }
+    }
+
     /**
      * Accepts a {@link Collection} of elements which are assumed to be the same type and creates a {@link JsonArray}.
      */
@@ -232,6 +349,7 @@ final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements
     @Override
     public int hashCode() {
         return Objects.hash(
+            this.parallelThreshold,
             this.processor
         );
     }
@@ -244,6 +362,7 @@ final class BasicJsonNodeMarshallContext extends BasicJsonNodeContext implements
     }
 
     private boolean equals0(final BasicJsonNodeMarshallContext other) {
-        return Objects.equals(this.processor, other.processor);
+        return this.parallelThreshold == other.parallelThreshold &&
+            Objects.equals(this.processor, other.processor);
     }
 }
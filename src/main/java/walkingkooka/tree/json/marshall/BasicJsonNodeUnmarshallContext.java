@@ -50,6 +50,21 @@ final class BasicJsonNodeUnmarshallContext extends BasicJsonNodeContext implemen
     static BasicJsonNodeUnmarshallContext with(final ExpressionNumberKind kind,
                                                final CurrencyCodeLanguageTagContext currencyCodeLanguageTagContext,
                                                final MathContext mathContext) {
+        return with(
+            kind,
+            currencyCodeLanguageTagContext,
+            mathContext,
+            DEFAULT_PARALLEL_THRESHOLD
+        );
+    }
+
+    /**
+     * Factory
+     */
+    static BasicJsonNodeUnmarshallContext with(final ExpressionNumberKind kind,
+                                               final CurrencyCodeLanguageTagContext currencyCodeLanguageTagContext,
+                                               final MathContext mathContext,
+                                               final int parallelThreshold) {
         Objects.requireNonNull(kind, "kind");
         Objects.requireNonNull(currencyCodeLanguageTagContext, "currencyCodeLanguageTagContext");
         Objects.requireNonNull(mathContext, "mathContext");
@@ -58,6 +73,7 @@ final class BasicJsonNodeUnmarshallContext extends BasicJsonNodeContext implemen
             kind,
             currencyCodeLanguageTagContext,
             mathContext,
+            checkParallelThreshold(parallelThreshold),
             JsonNodeUnmarshallContext.PRE_PROCESSOR
         );
     }
@@ -68,8 +84,9 @@ final class BasicJsonNodeUnmarshallContext extends BasicJsonNodeContext implemen
     private BasicJsonNodeUnmarshallContext(final ExpressionNumberKind kind,
                                            final CurrencyCodeLanguageTagContext currencyCodeLanguageTagContext,
                                            final MathContext mathContext,
+                                           final int parallelThreshold,
                                            final JsonNodeUnmarshallContextPreProcessor processor) {
-        super();
+        super(parallelThreshold);
         this.kind = kind;
         this.currencyCodeLanguageTagContext = currencyCodeLanguageTagContext;
         this.mathContext = mathContext;
@@ -115,6 +132,7 @@ final class BasicJsonNodeUnmarshallContext extends BasicJsonNodeContext implemen
                 this.kind,
                 this.currencyCodeLanguageTagContext,
                 this.mathContext,
+                this.parallelThreshold,
                 processor
             );
     }
@@ -214,8 +232,7 @@ final class BasicJsonNodeUnmarshallContext extends BasicJsonNodeContext implemen
                                                                 final Collector<T, ?, C> collector) {
         final BasicJsonMarshaller<T> marshaller = BasicJsonMarshaller.marshaller(elementType);
 
-        return node.children()
-            .stream()
+        return this.children(node)
             .map(c -> marshaller.unmarshall(this.preProcess(c, elementType), this))
             .collect(collector);
     }
@@ -366,8 +383,7 @@ final class BasicJsonNodeUnmarshallContext extends BasicJsonNodeContext implemen
                                                                  final Collector<T, ?, C> collector) {
         fromArrayCheck(from, label);
 
-        return from.children()
-            .stream()
+        return this.children(from)
             .map(element)
             .collect(collector);
     }
@@ -393,6 +409,7 @@ final class BasicJsonNodeUnmarshallContext extends BasicJsonNodeContext implemen
             this.kind,
             this.currencyCodeLanguageTagContext,
             this.mathContext,
+            this.parallelThreshold,
             this.processor
         );
     }
@@ -408,6 +425,7 @@ final class BasicJsonNodeUnmarshallContext extends BasicJsonNodeContext implemen
         return this.kind.equals(other.kind) &&
             this.currencyCodeLanguageTagContext.equals(other.currencyCodeLanguageTagContext) &&
             this.mathContext.equals(other.mathContext) &&
+            this.parallelThreshold == other.parallelThreshold &&
             Objects.equals(this.processor, other.processor);
     }
 }
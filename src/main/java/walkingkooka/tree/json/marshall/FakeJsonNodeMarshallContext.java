@@ -18,6 +18,7 @@
 package walkingkooka.tree.json.marshall;
 
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonWriter;
 
 import java.util.Collection;
 import java.util.Map;
@@ -36,6 +37,12 @@ public class FakeJsonNodeMarshallContext extends FakeJsonNodeContext implements
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void marshall(final Object value,
+                         final JsonWriter writer) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public JsonNode marshallEnumSet(final Set<? extends Enum<?>> enumSet) {
         throw new UnsupportedOperationException();
@@ -56,6 +63,12 @@ public class FakeJsonNodeMarshallContext extends FakeJsonNodeContext implements
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void marshallWithType(final Object value,
+                                 final JsonWriter writer) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public JsonNode marshallCollection(final Collection<?> collection) {
         throw new UnsupportedOperationException();
@@ -46,7 +46,8 @@ public interface JsonNodeContext extends Context {
 
     /**
      * Registers a factory that parses a {@link JsonNode} into a value for the given {@link Class}. The {@link Runnable}
-     * when executed removes the just registered mapping.
+     * when executed removes the just registered mapping. Both functions may be called from several threads at once,
+     * when the elements of a large collection are marshalled or unmarshalled by a parallel stream.
      */
     @SafeVarargs
     static <T> Runnable register(final String typeName,
@@ -19,15 +19,21 @@ package walkingkooka.tree.json.marshall;
 
 import walkingkooka.Context;
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonWriter;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
  * A {@link Context} that accompanies transforming an object into a {@link JsonNode}.
+ * <br>
+ * The elements of large collections are marshalled by a parallel stream, so a context and the marshallers it calls
+ * may be used from several threads at once.
  */
 public interface JsonNodeMarshallContext extends JsonNodeContext {
 
@@ -46,6 +52,20 @@ public interface JsonNodeMarshallContext extends JsonNodeContext {
      */
     JsonNode marshall(final Object value);
 
+    /**
+     * Writes the json equivalent of this object to the {@link JsonWriter}. By default the {@link JsonNode} is built
+     * using {@link #marshall(Object)} and then written. Implementations may write the elements of collections and maps
+     * one at a time, but the {@link JsonNode} of any other value, such as a record, is always built before it is written.
+     */
+    default void marshall(final Object value,
+                          final JsonWriter writer) throws IOException {
+        Objects.requireNonNull(writer, "writer");
+
+        writer.value(
+            this.marshall(value)
+        );
+    }
+
     /**
      * Marshalls the {@link Set} to a {@link JsonNode}.
      */
@@ -56,6 +76,20 @@ public interface JsonNodeMarshallContext extends JsonNodeContext {
      */
     JsonNode marshallWithType(final Object value);
 
+    /**
+     * Writes the json with the type name of this object to the {@link JsonWriter}. By default the {@link JsonNode} is
+     * built using {@link #marshallWithType(Object)} and then written. As with {@link #marshall(Object, JsonWriter)}
+     * only collections and maps may be written one element at a time.
+     */
+    default void marshallWithType(final Object value,
+                                  final JsonWriter writer) throws IOException {
+        Objects.requireNonNull(writer, "writer");
+
+        writer.value(
+            this.marshallWithType(value)
+        );
+    }
+
     /**
      * Marshalls the given {@link Optional} without recording the type.
      */
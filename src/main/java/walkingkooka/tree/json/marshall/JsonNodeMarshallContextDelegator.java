@@ -18,7 +18,9 @@
 package walkingkooka.tree.json.marshall;
 
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonWriter;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
@@ -32,6 +34,16 @@ public interface JsonNodeMarshallContextDelegator extends JsonNodeMarshallContex
             .marshall(value);
     }
 
+    @Override
+    default void marshall(final Object value,
+                          final JsonWriter writer) throws IOException {
+        this.jsonNodeMarshallContext()
+            .marshall(
+                value,
+                writer
+            );
+    }
+
     @Override
     default JsonNode marshallEnumSet(final Set<? extends Enum<?>> enumSet) {
         return this.jsonNodeMarshallContext()
@@ -56,6 +68,16 @@ public interface JsonNodeMarshallContextDelegator extends JsonNodeMarshallContex
             .marshallWithType(value);
     }
 
+    @Override
+    default void marshallWithType(final Object value,
+                                  final JsonWriter writer) throws IOException {
+        this.jsonNodeMarshallContext()
+            .marshallWithType(
+                value,
+                writer
+            );
+    }
+
     @Override
     default JsonNode marshallCollection(final Collection<?> collection) {
         return this.jsonNodeMarshallContext()
@@ -24,6 +24,8 @@ import java.util.function.BiFunction;
 /**
  * This function may be used to post process an object after it has been marshalled. An example of this
  * utility is in HATEOS where this can be used to add links.
+ * <br>
+ * Large collections are marshalled by a parallel stream, so the processor may be called from several threads at once.
  */
 public interface JsonNodeMarshallContextObjectPostProcessor extends BiFunction<Object, JsonObject, JsonObject> {
 }
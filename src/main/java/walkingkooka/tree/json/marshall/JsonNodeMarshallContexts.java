@@ -31,6 +31,13 @@ public final class JsonNodeMarshallContexts implements PublicStaticHelper {
         return BasicJsonNodeMarshallContext.INSTANCE;
     }
 
+    /**
+     * {@see BasicJsonNodeMarshallContext}
+     */
+    public static JsonNodeMarshallContext basic(final int parallelThreshold) {
+        return BasicJsonNodeMarshallContext.with(parallelThreshold);
+    }
+
     /**
      * {@see FakeJsonNodeMarshallContext}
      */
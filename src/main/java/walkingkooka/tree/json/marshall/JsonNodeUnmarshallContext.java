@@ -28,16 +28,24 @@ import walkingkooka.tree.json.JsonObject;
 import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.tree.json.MissingPropertyJsonNodeException;
 import walkingkooka.tree.json.UnknownPropertyJsonNodeException;
+import walkingkooka.tree.json.parser.JsonReader;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * A {@link Context} that accompanies transforming {@link JsonNode} into an object.
+ * <br>
+ * The elements of large arrays are unmarshalled by a parallel stream, so a context and the unmarshallers it calls
+ * may be used from several threads at once.
  */
 public interface JsonNodeUnmarshallContext extends JsonNodeContext,
     CanCurrencyForCurrencyCode,
@@ -79,6 +87,45 @@ public interface JsonNodeUnmarshallContext extends JsonNodeContext,
     <T> T unmarshall(final JsonNode node,
                      final Class<T> type);
 
+    /**
+     * Reads each record from UTF-8 newline delimited json (NDJSON) and unmarshalls it to the requested {@link Class type}
+     * as it is read. Records are independent, so a {@link Stream#parallel() parallel} stream parses and unmarshalls many
+     * records concurrently, providing this context may be shared between threads.
+     */
+    default <T> Stream<T> unmarshallNdjson(final InputStream input,
+                                           final Class<T> type) {
+        Objects.requireNonNull(type, "type");
+
+        return JsonNode.parseNdjson(input)
+            .map(n -> this.unmarshall(n, type));
+    }
+
+    /**
+     * Reads an array from the {@link JsonReader} and unmarshalls each element to the requested {@link Class type} as it
+     * is read, giving the same elements as {@link #unmarshallList(JsonNode, Class)} without parsing the entire array.
+     * The {@link JsonReader} is not closed.
+     */
+    default <T> Stream<T> unmarshallListStream(final JsonReader reader,
+                                               final Class<T> elementType) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(elementType, "elementType");
+
+        return reader.readArray()
+            .map(n -> this.unmarshall(n, elementType));
+    }
+
+    /**
+     * Reads an array from the {@link JsonReader} and unmarshalls each element holding its type and value as it is read,
+     * giving the same elements as {@link #unmarshallListWithType(JsonNode)} without parsing the entire array.
+     * The {@link JsonReader} is not closed.
+     */
+    default <T> Stream<T> unmarshallListStreamWithType(final JsonReader reader) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+
+        return reader.readArray()
+            .map(this::unmarshallWithType);
+    }
+
     /**
      * Unmarshalls the {@link JsonNode} to a {@link Set} using the provided {@link Enum} string factory.
      */
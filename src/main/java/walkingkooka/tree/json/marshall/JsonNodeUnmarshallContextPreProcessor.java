@@ -24,6 +24,8 @@ import java.util.function.BiFunction;
 /**
  * This function may be used to pre-process an {@link JsonNode} before it will be unmarshalled. An example of this
  * utility is removing links added by a HATEOS {@link JsonNodeMarshallContextObjectPostProcessor}.
+ * <br>
+ * Large arrays are unmarshalled by a parallel stream, so the processor may be called from several threads at once.
  */
 public interface JsonNodeUnmarshallContextPreProcessor extends BiFunction<JsonNode, Class<?>, JsonNode> {
 }
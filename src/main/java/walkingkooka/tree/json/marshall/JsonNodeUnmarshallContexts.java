@@ -41,6 +41,21 @@ public final class JsonNodeUnmarshallContexts implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see BasicJsonNodeUnmarshallContext}
+     */
+    public static JsonNodeUnmarshallContext basic(final ExpressionNumberKind kind,
+                                                  final CurrencyCodeLanguageTagContext currencyCodeLanguageTagContext,
+                                                  final MathContext mathContext,
+                                                  final int parallelThreshold) {
+        return BasicJsonNodeUnmarshallContext.with(
+            kind,
+            currencyCodeLanguageTagContext,
+            mathContext,
+            parallelThreshold
+        );
+    }
+
     /**
      * {@see FakeJsonNodeUnmarshallContext}
      */
@@ -16,7 +16,6 @@
  */
 package walkingkooka.tree.json.parser;
 
-import walkingkooka.collect.list.Lists;
 import walkingkooka.text.cursor.parser.ParserToken;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.visit.Visiting;
@@ -39,19 +38,7 @@ public final class ArrayJsonNodeParserToken extends ParentJsonNodeParserToken<Ar
 
     @Override
     JsonNode toJsonNodeOrNull() {
-        final List<JsonNode> children = Lists.array();
-        this.addJsonNode(children);
-
-        return JsonNode.array().setChildren(children);
-    }
-
-    @Override
-    void addJsonNode(final List<JsonNode> children) {
-        for (ParserToken element : this.value()) {
-            if (element instanceof JsonNodeParserToken) {
-                element.cast(JsonNodeParserToken.class).addJsonNode(children);
-            }
-        }
+        return ParentJsonNodeParserTokenJsonNodeConverter.convert(this);
     }
 
     // children.........................................................................................................
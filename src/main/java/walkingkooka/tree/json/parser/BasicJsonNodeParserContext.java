@@ -35,7 +35,7 @@ import java.text.DateFormatSymbols;
 import java.util.Locale;
 
 /**
- * A {@link JsonNodeParserContext} without any functionality.
+ * A {@link JsonNodeParserContext} without any functionality, which may also limit the size of the json being parsed.
  */
 final class BasicJsonNodeParserContext implements JsonNodeParserContext,
     DateTimeContextDelegator,
@@ -49,13 +49,55 @@ final class BasicJsonNodeParserContext implements JsonNodeParserContext,
     }
 
     /**
-     * Singleton
+     * Singleton without any limits. The json parsers keep open arrays and objects on explicit stacks, so an unlimited
+     * depth cannot overflow the thread stack, see {@link JsonNodeParserContext#maxDepth()}.
      */
-    private final static BasicJsonNodeParserContext INSTANCE = new BasicJsonNodeParserContext();
+    private final static BasicJsonNodeParserContext INSTANCE = new BasicJsonNodeParserContext(
+        Integer.MAX_VALUE,
+        Integer.MAX_VALUE,
+        Integer.MAX_VALUE,
+        Integer.MAX_VALUE,
+        Integer.MAX_VALUE
+    );
 
-    private BasicJsonNodeParserContext() {
+    /**
+     * Factory that creates a context that fails parsing once any of the given limits is exceeded.
+     */
+    static BasicJsonNodeParserContext with(final int maxDepth,
+                                           final int maxDocumentLength,
+                                           final int maxStringLength,
+                                           final int maxObjectMembers,
+                                           final int maxArrayElements) {
+        return new BasicJsonNodeParserContext(
+            checkLimit("maxDepth", maxDepth),
+            checkLimit("maxDocumentLength", maxDocumentLength),
+            checkLimit("maxStringLength", maxStringLength),
+            checkLimit("maxObjectMembers", maxObjectMembers),
+            checkLimit("maxArrayElements", maxArrayElements)
+        );
+    }
+
+    private static int checkLimit(final String label,
+                                  final int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Invalid " + label + " " + limit + " must be greater than 0");
+        }
+        return limit;
+    }
+
+    private BasicJsonNodeParserContext(final int maxDepth,
+                                       final int maxDocumentLength,
+                                       final int maxStringLength,
+                                       final int maxObjectMembers,
+                                       final int maxArrayElements) {
         super();
 
+        this.maxDepth = maxDepth;
+        this.maxDocumentLength = maxDocumentLength;
+        this.maxStringLength = maxStringLength;
+        this.maxObjectMembers = maxObjectMembers;
+        this.maxArrayElements = maxArrayElements;
+
         final Locale locale = Locale.getDefault();
 
         this.dateTimeContext = DateTimeContexts.basic(
@@ -96,6 +138,43 @@ final class BasicJsonNodeParserContext implements JsonNodeParserContext,
         return ',';
     }
 
+    // limits...........................................................................................................
+
+    @Override
+    public int maxDepth() {
+        return this.maxDepth;
+    }
+
+    private final int maxDepth;
+
+    @Override
+    public int maxDocumentLength() {
+        return this.maxDocumentLength;
+    }
+
+    private final int maxDocumentLength;
+
+    @Override
+    public int maxStringLength() {
+        return this.maxStringLength;
+    }
+
+    private final int maxStringLength;
+
+    @Override
+    public int maxObjectMembers() {
+        return this.maxObjectMembers;
+    }
+
+    private final int maxObjectMembers;
+
+    @Override
+    public int maxArrayElements() {
+        return this.maxArrayElements;
+    }
+
+    private final int maxArrayElements;
+
     // DateTimeContextDelegator.........................................................................................
 
     @Override
@@ -19,8 +19,6 @@ package walkingkooka.tree.json.parser;
 import walkingkooka.text.CharSequences;
 import walkingkooka.tree.json.JsonNode;
 
-import java.util.List;
-
 /**
  * Holds a either true or false boolean value
  */
@@ -42,11 +40,6 @@ public final class BooleanJsonNodeParserToken extends ValueJsonNodeParserToken<B
         return JsonNode.booleanNode(this.value);
     }
 
-    @Override
-    void addJsonNode(final List<JsonNode> children) {
-        children.add(JsonNode.booleanNode(this.value));
-    }
-
     // visitor ...............................................................................................
 
     @Override
@@ -20,4 +20,42 @@ package walkingkooka.tree.json.parser;
 import walkingkooka.text.cursor.parser.ParserContext;
 
 public interface JsonNodeParserContext extends ParserContext {
+
+    /**
+     * The deepest nesting of arrays and objects that will be parsed.
+     * {@link walkingkooka.tree.json.JsonNode#parse(String)}, {@link JsonReader} and {@link JsonPushParser} never
+     * recurse, so without a limit depth is only bounded by memory. The grammar parsers of {@link JsonNodeParsers}
+     * recurse for each level, and should be given a limit when parsing untrusted text.
+     */
+    default int maxDepth() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The most characters that will be parsed for a single json value.
+     */
+    default int maxDocumentLength() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The longest decoded string, including property names, that will be parsed.
+     */
+    default int maxStringLength() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The most properties in a single object that will be parsed.
+     */
+    default int maxObjectMembers() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The most elements in a single array that will be parsed.
+     */
+    default int maxArrayElements() {
+        return Integer.MAX_VALUE;
+    }
 }
@@ -28,6 +28,23 @@ public final class JsonNodeParserContexts implements PublicStaticHelper {
         return BasicJsonNodeParserContext.instance();
     }
 
+    /**
+     * {@see BasicJsonNodeParserContext}
+     */
+    public static JsonNodeParserContext basic(final int maxDepth,
+                                              final int maxDocumentLength,
+                                              final int maxStringLength,
+                                              final int maxObjectMembers,
+                                              final int maxArrayElements) {
+        return BasicJsonNodeParserContext.with(
+            maxDepth,
+            maxDocumentLength,
+            maxStringLength,
+            maxObjectMembers,
+            maxArrayElements
+        );
+    }
+
     /**
      * {@see FakeJsonNodeParserContext}
      */
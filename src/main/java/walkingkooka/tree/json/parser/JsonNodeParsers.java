@@ -24,7 +24,6 @@ import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.text.CaseSensitivity;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.cursor.parser.CharacterParserToken;
-import walkingkooka.text.cursor.parser.DoubleParserToken;
 import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.cursor.parser.ParserContext;
 import walkingkooka.text.cursor.parser.ParserToken;
@@ -134,13 +133,7 @@ public final class JsonNodeParsers implements PublicStaticHelper {
         return NUMBER;
     }
 
-    private final static Parser<ParserContext> NUMBER = Parsers.doubleParser()
-        .transform(JsonNodeParsers::transformNumber)
-        .setToString("NUMBER");
-
-    private static ParserToken transformNumber(final ParserToken token, final ParserContext context) {
-        return JsonNodeParserToken.number(token.cast(DoubleParserToken.class).value(), token.text());
-    }
+    private final static Parser<ParserContext> NUMBER = JsonNodeParsersNumberParser.INSTANCE;
 
     /**
      * String
@@ -187,12 +180,15 @@ public final class JsonNodeParsers implements PublicStaticHelper {
 
     /**
      * Returns a {@link Parser} that returns any of the json values, such as array, boolean, null, number, object.
+     * When the {@link ParserContext} is a {@link JsonNodeParserContext} any limits are checked before parsing.
      */
     public static Parser<ParserContext> value() {
         return VALUE;
     }
 
-    private final static Parser<ParserContext> VALUE = value0();
+    private final static Parser<ParserContext> VALUE = JsonNodeParsersLimitsParser.with(
+        value0()
+    );
 
     private final static String FILENAME = "JsonNodeParsersGrammar.txt";
 
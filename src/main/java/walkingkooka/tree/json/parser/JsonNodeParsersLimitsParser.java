@@ -0,0 +1,233 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.RequiredParser;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Wraps the {@link JsonNodeParsers#value()} parser, and when given a {@link JsonNodeParserContext} with limits first
+ * scans the value without creating any tokens or recursing, failing with a {@link JsonNodeParserException} as soon as
+ * a limit is exceeded. Only values within the limits are given to the recursive grammar parser. Other problems are
+ * ignored by the scan and reported by the wrapped parser.
+ */
+final class JsonNodeParsersLimitsParser implements Parser<ParserContext>,
+    RequiredParser<ParserContext> {
+
+    static JsonNodeParsersLimitsParser with(final Parser<ParserContext> parser) {
+        return new JsonNodeParsersLimitsParser(parser);
+    }
+
+    private JsonNodeParsersLimitsParser(final Parser<ParserContext> parser) {
+        super();
+        this.parser = parser;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final ParserContext context) {
+        if (context instanceof JsonNodeParserContext) {
+            final JsonNodeParserContext jsonContext = (JsonNodeParserContext) context;
+            if (hasLimits(jsonContext)) {
+                final TextCursorSavePoint save = cursor.save();
+                try {
+                    check(
+                        cursor,
+                        jsonContext
+                    );
+                } finally {
+                    save.restore();
+                }
+            }
+        }
+
+        return this.parser.parse(
+            cursor,
+            context
+        );
+    }
+
+    private static boolean hasLimits(final JsonNodeParserContext context) {
+        return Integer.MAX_VALUE != context.maxDepth() ||
+            Integer.MAX_VALUE != context.maxDocumentLength() ||
+            Integer.MAX_VALUE != context.maxStringLength() ||
+            Integer.MAX_VALUE != context.maxObjectMembers() ||
+            Integer.MAX_VALUE != context.maxArrayElements();
+    }
+
+    /**
+     * Scans a single value, stopping after the value ends or the text ends.
+     */
+    private static void check(final TextCursor cursor,
+                              final JsonNodeParserContext context) {
+        final int maxDepth = context.maxDepth();
+        final int maxDocumentLength = context.maxDocumentLength();
+        final int maxStringLength = context.maxStringLength();
+        final int maxObjectMembers = context.maxObjectMembers();
+        final int maxArrayElements = context.maxArrayElements();
+
+        // the number of values in each open array or object
+        int[] counts = new int[8];
+        boolean[] objects = new boolean[8];
+        int depth = 0;
+        boolean expectingValue = true;
+
+        int length = 0;
+        int line = 1;
+        int column = 1;
+
+        int stringLength = -1; // -1 when outside a string
+        boolean escaped = false;
+        int unicode = 0; // hex digits remaining in a unicode escape sequence
+
+        Exit:
+        while (false == cursor.isEmpty()) {
+            final char c = cursor.at();
+
+            length++;
+            if (length > maxDocumentLength) {
+                throw exceeded("document length", maxDocumentLength, column, line);
+            }
+
+            if (stringLength >= 0) {
+                if (unicode > 0) {
+                    unicode--;
+                    if (0 == unicode) {
+                        stringLength++;
+                    }
+                } else if (escaped) {
+                    escaped = false;
+                    if ('u' == c) {
+                        unicode = 4;
+                    } else {
+                        stringLength++;
+                    }
+                } else if ('\\' == c) {
+                    escaped = true;
+                } else if ('"' == c) {
+                    stringLength = -1;
+                    if (0 == depth) {
+                        break;
+                    }
+                } else {
+                    stringLength++;
+                }
+
+                if (stringLength > maxStringLength) {
+                    throw exceeded("string length", maxStringLength, column, line);
+                }
+            } else {
+                switch (c) {
+                    case ',':
+                        expectingValue = true;
+                        break;
+                    case ':':
+                        break;
+                    case '}':
+                    case ']':
+                        depth--;
+                        if (depth <= 0) {
+                            break Exit;
+                        }
+                        break;
+                    default:
+                        if (JsonNodeScanner.isWhitespace(c)) {
+                            break;
+                        }
+                        if (0 == depth && '"' != c && '{' != c && '[' != c) {
+                            // numbers, booleans and null have no limits
+                            break Exit;
+                        }
+
+                        if (expectingValue && depth > 0) {
+                            final int count = counts[depth] + 1;
+                            if (objects[depth]) {
+                                if (count > maxObjectMembers) {
+                                    throw exceeded("object members", maxObjectMembers, column, line);
+                                }
+                            } else {
+                                if (count > maxArrayElements) {
+                                    throw exceeded("array elements", maxArrayElements, column, line);
+                                }
+                            }
+                            counts[depth] = count;
+                        }
+                        expectingValue = false;
+
+                        switch (c) {
+                            case '"':
+                                stringLength = 0;
+                                break;
+                            case '{':
+                            case '[':
+                                depth++;
+                                if (depth > maxDepth) {
+                                    throw exceeded("depth", maxDepth, column, line);
+                                }
+                                if (depth == counts.length) {
+                                    counts = Arrays.copyOf(
+                                        counts,
+                                        depth * 2
+                                    );
+                                    objects = Arrays.copyOf(
+                                        objects,
+                                        depth * 2
+                                    );
+                                }
+                                counts[depth] = 0;
+                                objects[depth] = '{' == c;
+                                expectingValue = true;
+                                break;
+                            default:
+                                break;
+                        }
+                        break;
+                }
+            }
+
+            if ('\n' == c) {
+                line++;
+                column = 1;
+            } else {
+                column++;
+            }
+            cursor.next();
+        }
+    }
+
+    private static JsonNodeParserException exceeded(final String label,
+                                                    final int max,
+                                                    final int column,
+                                                    final int line) {
+        return new JsonNodeParserException("Maximum " + label + " " + max + " exceeded at (" + column + "," + line + ")");
+    }
+
+    private final Parser<ParserContext> parser;
+
+    @Override
+    public String toString() {
+        return this.parser.toString();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.RequiredParser;
+
+import java.util.Optional;
+
+/**
+ * A parser that consumes json numbers, including the NaN and Infinity forms, into a {@link NumberJsonNodeParserToken}.
+ * The characters are given to a {@link JsonNodeScanner}, the same scanner used by all other json parsers, which
+ * converts most numbers to an exactly rounded double without parsing the text again.
+ * <br>
+ * A fraction or exponent that is not followed by a digit is not consumed, so the number ends before it.
+ */
+final class JsonNodeParsersNumberParser implements Parser<ParserContext>,
+    RequiredParser<ParserContext> {
+
+    /**
+     * Singleton
+     */
+    final static JsonNodeParsersNumberParser INSTANCE = new JsonNodeParsersNumberParser();
+
+    /**
+     * Stop sub classing
+     */
+    private JsonNodeParsersNumberParser() {
+        super();
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final ParserContext context) {
+        final TextCursorSavePoint save = cursor.save();
+
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginNumber();
+
+        int consumed = 0;
+        while (false == cursor.isEmpty() && scanner.accept(cursor.at())) {
+            cursor.next();
+            consumed++;
+        }
+
+        ParserToken token = null;
+
+        final int length = scanner.numberLength();
+        if (length > 0) {
+            // a fraction or exponent without any digits is not part of the number
+            if (length < consumed) {
+                save.restore();
+                for (int i = 0; i < length; i++) {
+                    cursor.next();
+                }
+            }
+
+            token = JsonNodeParserToken.number(
+                scanner.numberValue(),
+                save.textBetween()
+                    .toString()
+            );
+        } else {
+            save.restore();
+        }
+
+        return Optional.ofNullable(token);
+    }
+
+    @Override
+    public String toString() {
+        return "NUMBER";
+    }
+}
@@ -0,0 +1,800 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonNumber;
+
+import java.math.BigDecimal;
+
+/**
+ * Scans the numbers and strings within json one character at a time, keeping only the state of the current token.
+ * Every json parser, whether it reads a {@link String}, UTF-8 bytes, a {@link java.io.Reader} or chunks pushed as they
+ * arrive, uses this scanner, so they all accept the same numbers, strings and whitespace and convert numbers the same
+ * way.
+ * <br>
+ * A token is started by {@link #beginNumber()} or {@link #beginString(boolean, int)}, which expects the opening
+ * double quote, and then given characters until {@link #accept(char)} returns false or the text ends.
+ * {@link #isComplete()} then tells if the token is valid, otherwise {@link #expected()} describes what was expected
+ * instead of the character that was not accepted or the end of the text.
+ * <br>
+ * Digits are accumulated into a long as they are consumed. Numbers with up to 15 digits and a small exponent are
+ * converted to an exactly rounded double without parsing any text.
+ */
+public final class JsonNodeScanner {
+
+    /**
+     * Creates a new scanner, which may be reused for any number of tokens but not shared between threads.
+     */
+    public static JsonNodeScanner empty() {
+        return new JsonNodeScanner();
+    }
+
+    private JsonNodeScanner() {
+        super();
+    }
+
+    // whitespace.......................................................................................................
+
+    /**
+     * Tests if the character is one of the four whitespace characters allowed by json. Unlike
+     * {@link Character#isWhitespace(char)} form feed, vertical tab and the unicode separators are not whitespace.
+     */
+    public static boolean isWhitespace(final char c) {
+        return ' ' == c || '\t' == c || '\n' == c || '\r' == c;
+    }
+
+    /**
+     * Returns the position of the first character that is not whitespace, starting at start, or end if all are.
+     */
+    public static int skipWhitespace(final CharSequence chars,
+                                     final int start,
+                                     final int end) {
+        int i = start;
+        while (i < end && isWhitespace(chars.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // number...........................................................................................................
+
+    /**
+     * Tests if the character may start a number, including the NaN and Infinity forms.
+     */
+    public static boolean isNumberStart(final char c) {
+        return (c >= '0' && c <= '9') || '+' == c || '-' == c || 'N' == c || 'I' == c;
+    }
+
+    /**
+     * Starts scanning a number, the first character given must be a sign, digit or the start of NaN or Infinity.
+     */
+    public void beginNumber() {
+        this.begin(NUMBER_SIGN);
+
+        this.negative = false;
+        this.mantissa = 0;
+        this.digits = 0;
+        this.trailingZeros = 0;
+        this.exponent = 0;
+        this.explicitExponent = 0;
+        this.negativeExponent = false;
+        this.exponentDigits = false;
+        this.literalIndex = 0;
+        this.numberLength = 0;
+    }
+
+    private boolean acceptNumber(final char c) {
+        final boolean digit = c >= '0' && c <= '9';
+
+        switch (this.state) {
+            case NUMBER_SIGN:
+                if ('+' == c || '-' == c) {
+                    this.negative = '-' == c;
+                    this.state = NUMBER_INTEGER_FIRST;
+                    break;
+                }
+                // fall through to a digit, NaN or Infinity
+            case NUMBER_INTEGER_FIRST:
+                if (digit) {
+                    this.integerDigit(c);
+                    this.state = NUMBER_INTEGER;
+                } else if ('N' == c) {
+                    this.literalIndex = 1;
+                    this.state = NUMBER_NAN;
+                } else if ('I' == c) {
+                    this.literalIndex = 1;
+                    this.state = NUMBER_INFINITY;
+                } else {
+                    return false;
+                }
+                break;
+            case NUMBER_INTEGER:
+                if (digit) {
+                    this.integerDigit(c);
+                } else if ('.' == c) {
+                    this.state = NUMBER_FRACTION_FIRST;
+                } else if ('e' == c || 'E' == c) {
+                    this.state = NUMBER_EXPONENT_SIGN;
+                } else {
+                    return false;
+                }
+                break;
+            case NUMBER_FRACTION_FIRST:
+            case NUMBER_FRACTION:
+                if (digit) {
+                    this.fractionDigit(c);
+                    this.state = NUMBER_FRACTION;
+                } else if (NUMBER_FRACTION == this.state && ('e' == c || 'E' == c)) {
+                    this.state = NUMBER_EXPONENT_SIGN;
+                } else {
+                    return false;
+                }
+                break;
+            case NUMBER_EXPONENT_SIGN:
+                if ('+' == c || '-' == c) {
+                    this.negativeExponent = '-' == c;
+                    this.state = NUMBER_EXPONENT_FIRST;
+                    break;
+                }
+                // fall through to a digit
+            case NUMBER_EXPONENT_FIRST:
+            case NUMBER_EXPONENT:
+                if (false == digit) {
+                    return false;
+                }
+                this.exponentDigit(c);
+                this.state = NUMBER_EXPONENT;
+                break;
+            case NUMBER_NAN:
+            case NUMBER_INFINITY:
+                final String literal = NUMBER_NAN == this.state ?
+                    NAN :
+                    INFINITY;
+                if (literal.charAt(this.literalIndex) != c) {
+                    return false;
+                }
+                this.literalIndex++;
+                if (literal.length() == this.literalIndex) {
+                    this.state = NUMBER_NAN == this.state ?
+                        NUMBER_NAN_END :
+                        NUMBER_INFINITY_END;
+                }
+                break;
+            default:
+                // NaN and Infinity are complete
+                return false;
+        }
+
+        final StringBuilder text = this.text;
+        text.append(c);
+        if (this.isComplete()) {
+            this.numberLength = text.length();
+        }
+        return true;
+    }
+
+    private void integerDigit(final char c) {
+        if (this.digits < MANTISSA_DIGITS_MAX) {
+            this.mantissa = this.mantissa * 10 + (c - '0');
+        } else {
+            this.exponent++;
+        }
+        if (0 != this.mantissa) {
+            this.significantDigit(c);
+        }
+    }
+
+    private void fractionDigit(final char c) {
+        if (this.digits < MANTISSA_DIGITS_MAX) {
+            this.mantissa = this.mantissa * 10 + (c - '0');
+            this.exponent--;
+        }
+        if (0 != this.mantissa) {
+            this.significantDigit(c);
+        }
+    }
+
+    private void significantDigit(final char c) {
+        this.digits++;
+        this.trailingZeros = '0' == c ?
+            this.trailingZeros + 1 :
+            0;
+    }
+
+    private void exponentDigit(final char c) {
+        if (this.explicitExponent < EXPONENT_MAX) {
+            this.explicitExponent = this.explicitExponent * 10 + (c - '0');
+        }
+        this.exponentDigits = true;
+    }
+
+    /**
+     * The number of characters of the longest complete number accepted so far, which is less than all the characters
+     * accepted when a fraction or exponent is missing its digits.
+     */
+    public int numberLength() {
+        return this.numberLength;
+    }
+
+    /**
+     * Returns the double value of the longest complete number accepted so far. When the mantissa fits exactly in a
+     * double and the power of ten is also exact, a single multiply or divide is correctly rounded, otherwise the text
+     * is parsed.
+     */
+    public double numberValue() {
+        double value;
+
+        switch (this.state) {
+            case NUMBER_NAN_END:
+                value = Double.NaN;
+                break;
+            case NUMBER_INFINITY_END:
+                value = this.negative ?
+                    Double.NEGATIVE_INFINITY :
+                    Double.POSITIVE_INFINITY;
+                break;
+            default:
+                final long mantissa = this.mantissa;
+                final int digits = this.digits;
+                final int exponent = this.exponent +
+                    (this.negativeExponent ?
+                        -this.explicitExponent :
+                        this.explicitExponent);
+
+                if (digits <= MANTISSA_DIGITS_MAX && 0 == exponent) {
+                    value = mantissa;
+                } else if (digits <= EXACT_DIGITS_MAX && exponent >= -EXACT_POWER_MAX && exponent <= EXACT_POWER_MAX) {
+                    value = mantissa;
+                    value = exponent < 0 ?
+                        value / POWERS_OF_TEN[-exponent] :
+                        value * POWERS_OF_TEN[exponent];
+                } else if (digits <= EXACT_DIGITS_MAX && exponent > EXACT_POWER_MAX && exponent <= EXACT_POWER_MAX + EXACT_DIGITS_MAX - digits) {
+                    // the extra zeros still leave an exact mantissa, so only the last multiply rounds
+                    value = mantissa * (long) POWERS_OF_TEN[exponent - EXACT_POWER_MAX];
+                    value = value * POWERS_OF_TEN[EXACT_POWER_MAX];
+                } else {
+                    // the text includes any sign
+                    value = Double.parseDouble(
+                        this.numberText()
+                    );
+                    break;
+                }
+                if (this.negative) {
+                    value = -value;
+                }
+                break;
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the longest complete number accepted so far as a {@link JsonNumber}. Whole numbers that fit a long become
+     * a long, numbers with more significant digits or a larger exponent than a double can hold keep all their digits as
+     * a {@link BigDecimal}, and all other numbers become a double.
+     */
+    public JsonNumber number() {
+        final JsonNumber number;
+
+        if (this.isLong()) {
+            final long mantissa = this.mantissa;
+            number = JsonNode.number(
+                this.negative ?
+                    -mantissa :
+                    mantissa
+            );
+        } else {
+            final JsonNumber lossless = this.isBigDecimal() ?
+                bigDecimal(
+                    this.numberText()
+                ) :
+                null;
+            number = null != lossless ?
+                lossless :
+                JsonNode.number(
+                    this.numberValue()
+                );
+        }
+
+        return number;
+    }
+
+    /**
+     * True when the number is whole, not zero which may be negative, and all its digits are in the mantissa.
+     */
+    private boolean isLong() {
+        return this.isDigits() &&
+            0 != this.mantissa &&
+            this.digits <= MANTISSA_DIGITS_MAX &&
+            0 == this.exponent &&
+            0 == this.explicitExponent;
+    }
+
+    /**
+     * True when the number has more significant digits than the {@link #DOUBLE_DIGITS_MAX} a double can print, or its
+     * first digit is beyond the normal range of a double, where the double would be infinity, zero or lose digits.
+     * Trailing zeros are not significant, so 1.50000000000000000000 is a double.
+     */
+    private boolean isBigDecimal() {
+        final int digits = this.digits;
+        final int power = this.exponent +
+            (this.negativeExponent ?
+                -this.explicitExponent :
+                this.explicitExponent) +
+            Math.min(digits, MANTISSA_DIGITS_MAX) - 1;
+
+        return this.isDigits() &&
+            0 != digits &&
+            (digits - this.trailingZeros > DOUBLE_DIGITS_MAX || power < -DOUBLE_POWER_MAX || power > DOUBLE_POWER_MAX);
+    }
+
+    /**
+     * NaN and Infinity have no digits.
+     */
+    private boolean isDigits() {
+        return NUMBER_NAN_END != this.state && NUMBER_INFINITY_END != this.state;
+    }
+
+    private String numberText() {
+        return this.text.substring(
+            0,
+            this.numberLength
+        );
+    }
+
+    /**
+     * Creates the {@link JsonNumber} for the given number text, used by {@link NumberJsonNodeParserToken}, counting its
+     * digits the same way as any other number.
+     */
+    static JsonNumber number(final String text) {
+        final JsonNodeScanner scanner = new JsonNodeScanner();
+        scanner.beginNumber();
+        scanner.accept(
+            text,
+            0,
+            text.length()
+        );
+        return scanner.number();
+    }
+
+    /**
+     * Returns null when the exponent is too large for a {@link BigDecimal}, such numbers keep their double value which
+     * is zero or infinity.
+     */
+    private static JsonNumber bigDecimal(final String text) {
+        JsonNumber number;
+        try {
+            number = JsonNode.losslessNumber(
+                new BigDecimal(text)
+            );
+        } catch (final NumberFormatException exponentTooLarge) {
+            number = null;
+        }
+        return number;
+    }
+
+    /**
+     * The most significant digits needed to print any double.
+     */
+    private final static int DOUBLE_DIGITS_MAX = 17;
+
+    /**
+     * Numbers whose first digit has a larger power of ten may be infinity, zero or subnormal as a double.
+     */
+    private final static int DOUBLE_POWER_MAX = 307;
+
+    /**
+     * The number of digits that always fit in a long.
+     */
+    private final static int MANTISSA_DIGITS_MAX = 18;
+
+    /**
+     * Larger exponents are not accumulated, as such numbers always use {@link Double#parseDouble(String)}.
+     */
+    private final static int EXPONENT_MAX = 100_000;
+
+    /**
+     * Mantissas with up to this many digits are always exact as a double.
+     */
+    private final static int EXACT_DIGITS_MAX = 15;
+
+    /**
+     * The largest power of ten that is exact as a double.
+     */
+    private final static int EXACT_POWER_MAX = 22;
+
+    private final static double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22
+    };
+
+    private final static String NAN = "NaN";
+
+    private final static String INFINITY = "Infinity";
+
+    private boolean negative;
+
+    private long mantissa;
+
+    /**
+     * Significant digits, not counting leading zeros.
+     */
+    private int digits;
+
+    /**
+     * The zeros at the end of the digits counted by {@link #digits}.
+     */
+    private int trailingZeros;
+
+    /**
+     * The power of ten from digits not kept in the mantissa and fraction digits.
+     */
+    private int exponent;
+
+    private int explicitExponent;
+
+    private boolean negativeExponent;
+
+    /**
+     * True once a digit of an exponent has been accepted.
+     */
+    private boolean exponentDigits;
+
+    /**
+     * The index of the next character of NaN or Infinity.
+     */
+    private int literalIndex;
+
+    private int numberLength;
+
+    // string...........................................................................................................
+
+    /**
+     * Starts scanning a string, the first character given must be the opening double quote. When decode is false the
+     * string is only checked, otherwise it is decoded and available from {@link #string()} once complete. Decoded
+     * strings longer than maxLength are not accepted and {@link #isLengthExceeded()} becomes true.
+     */
+    public void beginString(final boolean decode,
+                            final int maxLength) {
+        this.begin(STRING_OPEN);
+
+        this.decode = decode;
+        this.maxLength = maxLength;
+        this.length = 0;
+        this.lengthExceeded = false;
+        this.value = null;
+    }
+
+    private boolean acceptString(final char c) {
+        boolean accepted = true;
+
+        switch (this.state) {
+            case STRING_OPEN:
+                if ('"' == c) {
+                    this.state = STRING;
+                } else {
+                    accepted = false;
+                }
+                break;
+            case STRING:
+                if ('"' == c) {
+                    this.state = STRING_CLOSED;
+                } else if ('\\' == c) {
+                    this.state = STRING_ESCAPE;
+                } else {
+                    accepted = this.append(c);
+                }
+                break;
+            case STRING_ESCAPE:
+                switch (c) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        accepted = this.append(c);
+                        break;
+                    case 'b':
+                        accepted = this.append('\b');
+                        break;
+                    case 'f':
+                        accepted = this.append('\f');
+                        break;
+                    case 'n':
+                        accepted = this.append('\n');
+                        break;
+                    case 'r':
+                        accepted = this.append('\r');
+                        break;
+                    case 't':
+                        accepted = this.append('\t');
+                        break;
+                    case 'u':
+                        this.unicode = 0;
+                        this.unicodeDigits = 0;
+                        this.state = STRING_UNICODE;
+                        break;
+                    default:
+                        accepted = false;
+                        break;
+                }
+                break;
+            case STRING_UNICODE:
+                final int digit = hex(c);
+                if (-1 == digit) {
+                    accepted = false;
+                } else {
+                    this.unicode = this.unicode * 16 + digit;
+                    this.unicodeDigits++;
+                    if (4 == this.unicodeDigits) {
+                        accepted = this.append((char) this.unicode);
+                    }
+                }
+                break;
+            default:
+                // closed
+                accepted = false;
+                break;
+        }
+
+        return accepted;
+    }
+
+    /**
+     * Only ASCII hex digits, {@link Character#digit(char, int)} also accepts other unicode digits.
+     */
+    private static int hex(final char c) {
+        final int digit;
+
+        if (c >= '0' && c <= '9') {
+            digit = c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            digit = c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            digit = c - 'A' + 10;
+        } else {
+            digit = -1;
+        }
+
+        return digit;
+    }
+
+    private boolean append(final char c) {
+        final boolean appended = this.length < this.maxLength;
+        if (appended) {
+            this.length++;
+            if (this.decode) {
+                this.text.append(c);
+            }
+            this.state = STRING;
+        } else {
+            this.lengthExceeded = true;
+        }
+        return appended;
+    }
+
+    /**
+     * Returns the decoded string once complete.
+     */
+    public String string() {
+        final String value = this.value;
+        return null != value ?
+            value :
+            this.text.toString();
+    }
+
+    /**
+     * True when a string was not accepted because it is longer than the maximum length.
+     */
+    public boolean isLengthExceeded() {
+        return this.lengthExceeded;
+    }
+
+    private boolean decode;
+
+    private int maxLength;
+
+    /**
+     * The length of the decoded string so far.
+     */
+    private int length;
+
+    private boolean lengthExceeded;
+
+    /**
+     * A string without any escaping given within a single {@link CharSequence}, which is taken as is rather than
+     * copied into {@link #text}.
+     */
+    private String value;
+
+    private int unicode;
+
+    private int unicodeDigits;
+
+    // accept...........................................................................................................
+
+    /**
+     * Accepts the next character of the current token, returning false if it is not part of the token. A number ends
+     * at the first character that cannot continue it, while a string ends after its closing double quote.
+     */
+    public boolean accept(final char c) {
+        return this.state < STRING_OPEN ?
+            this.acceptNumber(c) :
+            this.acceptString(c);
+    }
+
+    /**
+     * Accepts characters of the current token starting at start, returning the position of the first character that
+     * was not accepted or end. Runs of characters within a string that need no decoding are copied in bulk, and a
+     * string without any escaping that is entirely within the given characters is taken as is.
+     */
+    public int accept(final CharSequence chars,
+                      final int start,
+                      final int end) {
+        int i = start;
+
+        while (i < end) {
+            if (STRING == this.state) {
+                final int remaining = this.maxLength - this.length;
+                final int limit = end - i > remaining ?
+                    i + remaining :
+                    end;
+
+                int run = i;
+                while (run < limit) {
+                    final char c = chars.charAt(run);
+                    if ('"' == c || '\\' == c) {
+                        break;
+                    }
+                    run++;
+                }
+
+                if (run > i) {
+                    if (this.decode) {
+                        if (0 == this.length && run < end && '"' == chars.charAt(run)) {
+                            this.value = chars.subSequence(
+                                i,
+                                run
+                            ).toString();
+                        } else {
+                            this.text.append(
+                                chars,
+                                i,
+                                run
+                            );
+                        }
+                    }
+                    this.length += run - i;
+                    i = run;
+                    if (i >= end) {
+                        break;
+                    }
+                }
+            }
+
+            if (false == this.accept(chars.charAt(i))) {
+                break;
+            }
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * True when the characters accepted so far are a whole number or string.
+     */
+    public boolean isComplete() {
+        final boolean complete;
+
+        switch (this.state) {
+            case NUMBER_INTEGER:
+            case NUMBER_FRACTION:
+            case NUMBER_EXPONENT:
+            case NUMBER_NAN_END:
+            case NUMBER_INFINITY_END:
+            case STRING_CLOSED:
+                complete = true;
+                break;
+            default:
+                complete = false;
+                break;
+        }
+
+        return complete;
+    }
+
+    /**
+     * True when the token is complete and cannot accept any more characters, such as a string after its closing
+     * double quote. Readers use this to avoid waiting for more input that is not needed.
+     */
+    public boolean isEnded() {
+        return NUMBER_NAN_END == this.state ||
+            NUMBER_INFINITY_END == this.state ||
+            STRING_CLOSED == this.state;
+    }
+
+    /**
+     * Describes what was expected by an incomplete token, for use in error messages.
+     */
+    public String expected() {
+        final String expected;
+
+        switch (this.state) {
+            case NUMBER_NAN:
+                expected = NAN;
+                break;
+            case NUMBER_INFINITY:
+                expected = INFINITY;
+                break;
+            case STRING_OPEN:
+                expected = "'\"'";
+                break;
+            case STRING:
+                expected = "closing '\"'";
+                break;
+            case STRING_ESCAPE:
+                expected = "escape sequence";
+                break;
+            case STRING_UNICODE:
+                expected = "hex digit";
+                break;
+            default:
+                expected = "digit";
+                break;
+        }
+
+        return expected;
+    }
+
+    private void begin(final int state) {
+        this.state = state;
+        this.text.setLength(0);
+    }
+
+    private final static int NUMBER_SIGN = 0;
+    private final static int NUMBER_INTEGER_FIRST = NUMBER_SIGN + 1;
+    private final static int NUMBER_INTEGER = NUMBER_INTEGER_FIRST + 1;
+    private final static int NUMBER_FRACTION_FIRST = NUMBER_INTEGER + 1;
+    private final static int NUMBER_FRACTION = NUMBER_FRACTION_FIRST + 1;
+    private final static int NUMBER_EXPONENT_SIGN = NUMBER_FRACTION + 1;
+    private final static int NUMBER_EXPONENT_FIRST = NUMBER_EXPONENT_SIGN + 1;
+    private final static int NUMBER_EXPONENT = NUMBER_EXPONENT_FIRST + 1;
+    private final static int NUMBER_NAN = NUMBER_EXPONENT + 1;
+    private final static int NUMBER_NAN_END = NUMBER_NAN + 1;
+    private final static int NUMBER_INFINITY = NUMBER_NAN_END + 1;
+    private final static int NUMBER_INFINITY_END = NUMBER_INFINITY + 1;
+
+    private final static int STRING_OPEN = NUMBER_INFINITY_END + 1;
+    private final static int STRING = STRING_OPEN + 1;
+    private final static int STRING_ESCAPE = STRING + 1;
+    private final static int STRING_UNICODE = STRING_ESCAPE + 1;
+    private final static int STRING_CLOSED = STRING_UNICODE + 1;
+
+    private int state = STRING_CLOSED;
+
+    /**
+     * The characters of the current number or the decoded current string, reused by all tokens.
+     */
+    private final StringBuilder text = new StringBuilder();
+
+    @Override
+    public String toString() {
+        return this.text.toString();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+/**
+ * Decodes UTF-8 one byte at a time, keeping only the state of the current multi byte sequence. Every json parser that
+ * reads bytes uses this decoder, so they all reject the same malformed sequences: bad lead or continuation bytes,
+ * overlong forms, surrogates encoded as UTF-8 and anything above U+10FFFF.
+ */
+public final class JsonNodeUtf8Decoder {
+
+    /**
+     * Returned by {@link #accept(int)} when more continuation bytes are expected.
+     */
+    public final static int INCOMPLETE = -1;
+
+    /**
+     * Returned by {@link #accept(int)} when the byte does not continue a valid sequence, after which the next byte
+     * starts a new sequence.
+     */
+    public final static int INVALID = -2;
+
+    /**
+     * Creates a new decoder, which may be reused for any number of sequences but not shared between threads.
+     */
+    public static JsonNodeUtf8Decoder empty() {
+        return new JsonNodeUtf8Decoder();
+    }
+
+    private JsonNodeUtf8Decoder() {
+        super();
+    }
+
+    /**
+     * Tests if the byte is a continuation byte, which can never start a sequence.
+     */
+    public static boolean isContinuation(final int b) {
+        return 0x80 == (b & 0xC0);
+    }
+
+    /**
+     * Accepts the next byte, returning the code point once a sequence is complete, {@link #INCOMPLETE} or
+     * {@link #INVALID}. Signed bytes may be given as is.
+     */
+    public int accept(final int b) {
+        final int unsigned = b & 0xFF;
+        final int result;
+
+        if (this.following > 0) {
+            if (isContinuation(unsigned)) {
+                this.codePoint = (this.codePoint << 6) | (unsigned & 0x3F);
+                this.following--;
+                result = 0 == this.following ?
+                    this.complete() :
+                    INCOMPLETE;
+            } else {
+                this.reset();
+                result = INVALID;
+            }
+        } else {
+            this.lead = unsigned;
+
+            if (unsigned < 0x80) {
+                result = unsigned;
+            } else if (unsigned >= 0xC2 && unsigned <= 0xDF) {
+                result = this.begin(1, unsigned & 0x1F);
+            } else if (unsigned >= 0xE0 && unsigned <= 0xEF) {
+                result = this.begin(2, unsigned & 0x0F);
+            } else if (unsigned >= 0xF0 && unsigned <= 0xF4) {
+                result = this.begin(3, unsigned & 0x07);
+            } else {
+                result = INVALID;
+            }
+        }
+
+        return result;
+    }
+
+    private int begin(final int following,
+                      final int codePoint) {
+        this.following = following;
+        this.sequenceLength = following;
+        this.codePoint = codePoint;
+        return INCOMPLETE;
+    }
+
+    /**
+     * Overlong sequences, surrogates encoded as UTF-8 and code points beyond U+10FFFF are all invalid.
+     */
+    private int complete() {
+        final int codePoint = this.codePoint;
+        final int sequenceLength = this.sequenceLength;
+
+        return (2 == sequenceLength && (codePoint < 0x800 || (codePoint >= 0xD800 && codePoint <= 0xDFFF))) ||
+            (3 == sequenceLength && (codePoint < 0x10000 || codePoint > 0x10FFFF)) ?
+            INVALID :
+            codePoint;
+    }
+
+    /**
+     * True when a multi byte sequence has started but not all its continuation bytes have been accepted.
+     */
+    public boolean isIncomplete() {
+        return this.following > 0;
+    }
+
+    /**
+     * Abandons any incomplete sequence.
+     */
+    public void reset() {
+        this.following = 0;
+    }
+
+    /**
+     * The first byte of the current or most recent sequence, reported when a sequence is invalid.
+     */
+    public int lead() {
+        return this.lead;
+    }
+
+    /**
+     * The number of continuation bytes still expected by the current multi byte sequence.
+     */
+    private int following;
+
+    /**
+     * The number of continuation bytes of the current multi byte sequence.
+     */
+    private int sequenceLength;
+
+    private int codePoint;
+
+    private int lead;
+
+    @Override
+    public String toString() {
+        return this.isIncomplete() ?
+            "0x" + Integer.toHexString(this.lead) + " " + this.following :
+            "";
+    }
+}
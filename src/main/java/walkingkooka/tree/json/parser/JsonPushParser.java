@@ -0,0 +1,700 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.JsonArrayBuilder;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObjectBuilder;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A push parser that accepts json in chunks as they arrive, returning each top level value as soon as it is complete.
+ * The text is never buffered, each character advances a state machine that keeps the arrays and objects being filled
+ * on an explicit stack and any partial number, string or literal between calls, so a chunk may end anywhere. Many
+ * values may follow each other, separated by optional whitespace.
+ * <br>
+ * A top level number can only be completed by the following character or {@link #end()}, which should be called after
+ * the last chunk. After any {@link JsonNodeParserException} the parser should be discarded.
+ */
+public final class JsonPushParser {
+
+    /**
+     * Creates a {@link JsonPushParser} that fails as soon as any limit of the given {@link JsonNodeParserContext} is
+     * exceeded. The document length limit applies to each top level value.
+     */
+    public static JsonPushParser with(final JsonNodeParserContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return new JsonPushParser(context);
+    }
+
+    private JsonPushParser(final JsonNodeParserContext context) {
+        super();
+        this.maxDepth = context.maxDepth();
+        this.maxDocumentLength = context.maxDocumentLength();
+        this.maxStringLength = context.maxStringLength();
+        this.maxObjectMembers = context.maxObjectMembers();
+        this.maxArrayElements = context.maxArrayElements();
+
+        this.builders = new Object[INITIAL_DEPTH];
+        this.names = new JsonPropertyName[INITIAL_DEPTH];
+        this.counts = new int[INITIAL_DEPTH];
+        this.state = STATE_DOCUMENT;
+    }
+
+    /**
+     * Feeds more characters, returning any top level values completed by them.
+     */
+    public List<JsonNode> feed(final CharSequence chars) {
+        Objects.requireNonNull(chars, "chars");
+
+        final int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            this.accept(
+                chars.charAt(i)
+            );
+        }
+
+        return this.completed();
+    }
+
+    /**
+     * Feeds more UTF-8 encoded bytes, returning any top level values completed by them. A multi byte sequence may be
+     * split across calls, malformed sequences fail like {@link JsonNode#parseUtf8(byte[])}.
+     */
+    public List<JsonNode> feedUtf8(final byte[] bytes,
+                                   final int offset,
+                                   final int length) {
+        Objects.requireNonNull(bytes, "bytes");
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " length " + length + " for " + bytes.length + " bytes");
+        }
+
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            this.acceptByte(bytes[i] & 0xFF);
+        }
+
+        return this.completed();
+    }
+
+    /**
+     * Marks the end of the input, returning any top level value completed by the end, such as a number. Incomplete
+     * values or UTF-8 sequences fail.
+     */
+    public List<JsonNode> end() {
+        if (this.decoder.isIncomplete()) {
+            throw this.invalidUtf8();
+        }
+
+        if (STATE_NUMBER == this.state) {
+            this.endToken(null);
+        }
+        if (STATE_DOCUMENT != this.state) {
+            throw new JsonNodeParserException("End of text at " + this.location() + " expected " + this.expected());
+        }
+
+        return this.completed();
+    }
+
+    // bytes............................................................................................................
+
+    /**
+     * Decodes a single UTF-8 byte, keeping any partial multi byte sequence.
+     */
+    private void acceptByte(final int b) {
+        final int codePoint = this.decoder.accept(b);
+
+        if (codePoint >= 0) {
+            if (codePoint >= 0x10000) {
+                this.accept(Character.highSurrogate(codePoint));
+                this.accept(Character.lowSurrogate(codePoint));
+            } else {
+                this.accept((char) codePoint);
+            }
+        } else if (JsonNodeUtf8Decoder.INVALID == codePoint) {
+            throw this.invalidUtf8();
+        }
+    }
+
+    private final JsonNodeUtf8Decoder decoder = JsonNodeUtf8Decoder.empty();
+
+    // chars............................................................................................................
+
+    private void accept(final char c) {
+        boolean again;
+        do {
+            again = false;
+
+            switch (this.state) {
+                case STATE_DOCUMENT:
+                    if (false == JsonNodeScanner.isWhitespace(c)) {
+                        this.valueLength = 0;
+                        this.value(c);
+                    }
+                    break;
+                case STATE_VALUE:
+                    if (JsonNodeScanner.isWhitespace(c)) {
+                        this.consumed();
+                    } else {
+                        this.value(c);
+                    }
+                    break;
+                case STATE_FIRST_ELEMENT:
+                    if (']' == c) {
+                        this.consumed();
+                        this.close();
+                    } else if (JsonNodeScanner.isWhitespace(c)) {
+                        this.consumed();
+                    } else {
+                        this.value(c);
+                    }
+                    break;
+                case STATE_FIRST_NAME:
+                    if ('}' == c) {
+                        this.consumed();
+                        this.close();
+                    } else if (JsonNodeScanner.isWhitespace(c)) {
+                        this.consumed();
+                    } else {
+                        this.name(c);
+                    }
+                    break;
+                case STATE_NAME:
+                    if (JsonNodeScanner.isWhitespace(c)) {
+                        this.consumed();
+                    } else {
+                        this.name(c);
+                    }
+                    break;
+                case STATE_ASSIGNMENT:
+                    if (':' == c) {
+                        this.state = STATE_VALUE;
+                    } else if (false == JsonNodeScanner.isWhitespace(c)) {
+                        throw this.invalidCharacter(c);
+                    }
+                    this.consumed();
+                    break;
+                case STATE_AFTER_VALUE:
+                    this.afterValue(c);
+                    break;
+                case STATE_STRING:
+                case STATE_PROPERTY_NAME:
+                case STATE_NUMBER:
+                    if (this.scanner.accept(c)) {
+                        this.consumed();
+                        if (this.scanner.isEnded()) {
+                            this.endToken(c);
+                        }
+                    } else {
+                        // the character after a number is part of what follows
+                        this.endToken(c);
+                        again = true;
+                    }
+                    break;
+                case STATE_LITERAL:
+                    this.literal(c);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown state " + this.state);
+            }
+        } while (again);
+
+        if ('\n' == c) {
+            this.line++;
+            this.column = 1;
+        } else {
+            this.column++;
+        }
+    }
+
+    /**
+     * Begins the value starting with the given character.
+     */
+    private void value(final char c) {
+        final int depth = this.depth;
+        if (depth > 0 && this.builders[depth - 1] instanceof JsonArrayBuilder) {
+            this.count(
+                "array elements",
+                this.maxArrayElements
+            );
+        }
+        this.consumed();
+
+        switch (c) {
+            case '{':
+                this.open(JsonNode.objectBuilder());
+                this.state = STATE_FIRST_NAME;
+                break;
+            case '[':
+                this.open(JsonNode.arrayBuilder());
+                this.state = STATE_FIRST_ELEMENT;
+                break;
+            case '"':
+                this.scanner.beginString(
+                    true,
+                    this.maxStringLength
+                );
+                this.scanner.accept(c);
+                this.state = STATE_STRING;
+                break;
+            case 't':
+                this.beginLiteral(
+                    "true",
+                    JsonNode.booleanNode(true)
+                );
+                break;
+            case 'f':
+                this.beginLiteral(
+                    "false",
+                    JsonNode.booleanNode(false)
+                );
+                break;
+            case 'n':
+                this.beginLiteral(
+                    "null",
+                    JsonNode.nullNode()
+                );
+                break;
+            default:
+                if (false == JsonNodeScanner.isNumberStart(c)) {
+                    throw this.invalidCharacter(c);
+                }
+                this.scanner.beginNumber();
+                this.scanner.accept(c);
+                this.state = STATE_NUMBER;
+                break;
+        }
+    }
+
+    /**
+     * Begins the property name starting with the given character.
+     */
+    private void name(final char c) {
+        if ('"' != c) {
+            throw this.invalidCharacter(c);
+        }
+        this.count(
+            "object members",
+            this.maxObjectMembers
+        );
+        this.consumed();
+
+        this.scanner.beginString(
+            true,
+            this.maxStringLength
+        );
+        this.scanner.accept(c);
+        this.state = STATE_PROPERTY_NAME;
+    }
+
+    private void afterValue(final char c) {
+        final boolean object = this.builders[this.depth - 1] instanceof JsonObjectBuilder;
+
+        if (',' == c) {
+            this.consumed();
+            this.state = object ?
+                STATE_NAME :
+                STATE_VALUE;
+        } else if ((object ? '}' : ']') == c) {
+            this.consumed();
+            this.close();
+        } else if (false == JsonNodeScanner.isWhitespace(c)) {
+            throw this.invalidCharacter(c);
+        } else {
+            this.consumed();
+        }
+    }
+
+    private void beginLiteral(final String literal,
+                              final JsonNode value) {
+        this.literal = literal;
+        this.literalIndex = 1;
+        this.literalValue = value;
+        this.state = STATE_LITERAL;
+    }
+
+    private void literal(final char c) {
+        final String literal = this.literal;
+        final int index = this.literalIndex;
+        if (literal.charAt(index) != c) {
+            throw this.invalidCharacter(c);
+        }
+        this.consumed();
+
+        if (index + 1 == literal.length()) {
+            this.complete(this.literalValue);
+        } else {
+            this.literalIndex = index + 1;
+        }
+    }
+
+    /**
+     * Completes the current number or string, failing if it is incomplete. The given character is null at the end of
+     * the input.
+     */
+    private void endToken(final Character c) {
+        final JsonNodeScanner scanner = this.scanner;
+
+        if (false == scanner.isComplete()) {
+            if (scanner.isLengthExceeded()) {
+                throw this.exceeded(
+                    "string length",
+                    this.maxStringLength
+                );
+            }
+            throw null == c ?
+                new JsonNodeParserException("End of text at " + this.location() + " expected " + scanner.expected()) :
+                this.invalidCharacter(c);
+        }
+
+        switch (this.state) {
+            case STATE_PROPERTY_NAME:
+                this.names[this.depth - 1] = JsonPropertyName.with(
+                    scanner.string()
+                );
+                this.state = STATE_ASSIGNMENT;
+                break;
+            case STATE_STRING:
+                this.complete(
+                    JsonNode.string(
+                        scanner.string()
+                    )
+                );
+                break;
+            default:
+                this.complete(
+                    scanner.number()
+                );
+                break;
+        }
+    }
+
+    /**
+     * Adds a complete value to the array or object being filled, or returns it when it is a top level value.
+     */
+    private void complete(final JsonNode value) {
+        final int depth = this.depth;
+
+        if (0 == depth) {
+            List<JsonNode> completed = this.completed;
+            if (null == completed) {
+                completed = Lists.array();
+                this.completed = completed;
+            }
+            completed.add(value);
+            this.state = STATE_DOCUMENT;
+        } else {
+            final Object builder = this.builders[depth - 1];
+            if (builder instanceof JsonArrayBuilder) {
+                ((JsonArrayBuilder) builder).appendChild(value);
+            } else {
+                ((JsonObjectBuilder) builder).set(
+                    this.names[depth - 1],
+                    value
+                );
+            }
+            this.state = STATE_AFTER_VALUE;
+        }
+    }
+
+    /**
+     * Pushes a new array or object.
+     */
+    private void open(final Object builder) {
+        final int depth = this.depth;
+        if (depth == this.maxDepth) {
+            throw this.exceeded(
+                "depth",
+                this.maxDepth
+            );
+        }
+
+        if (depth == this.builders.length) {
+            final int capacity = depth * 2;
+            this.builders = Arrays.copyOf(
+                this.builders,
+                capacity
+            );
+            this.names = Arrays.copyOf(
+                this.names,
+                capacity
+            );
+            this.counts = Arrays.copyOf(
+                this.counts,
+                capacity
+            );
+        }
+
+        this.builders[depth] = builder;
+        this.names[depth] = null;
+        this.counts[depth] = 0;
+        this.depth = depth + 1;
+    }
+
+    /**
+     * Pops the current array or object, which is then complete.
+     */
+    private void close() {
+        final int depth = this.depth - 1;
+
+        final Object builder = this.builders[depth];
+        this.builders[depth] = null;
+        this.names[depth] = null;
+        this.depth = depth;
+
+        this.complete(
+            builder instanceof JsonArrayBuilder ?
+                ((JsonArrayBuilder) builder).build() :
+                ((JsonObjectBuilder) builder).build()
+        );
+    }
+
+    /**
+     * Counts another element or member of the current array or object, failing if there are too many.
+     */
+    private void count(final String label,
+                       final int max) {
+        final int top = this.depth - 1;
+        final int count = this.counts[top] + 1;
+        if (count > max) {
+            throw this.exceeded(
+                label,
+                max
+            );
+        }
+        this.counts[top] = count;
+    }
+
+    /**
+     * Counts a character that belongs to the current top level value, failing if the value is too long.
+     */
+    private void consumed() {
+        final int length = this.valueLength + 1;
+        if (length > this.maxDocumentLength) {
+            throw this.exceeded(
+                "document length",
+                this.maxDocumentLength
+            );
+        }
+        this.valueLength = length;
+    }
+
+    /**
+     * Describes what the current state expects, for use in error messages.
+     */
+    private String expected() {
+        final String expected;
+
+        switch (this.state) {
+            case STATE_FIRST_NAME:
+            case STATE_NAME:
+                expected = "property name";
+                break;
+            case STATE_ASSIGNMENT:
+                expected = "':'";
+                break;
+            case STATE_AFTER_VALUE:
+                expected = this.builders[this.depth - 1] instanceof JsonObjectBuilder ?
+                    "',' or '}'" :
+                    "',' or ']'";
+                break;
+            case STATE_STRING:
+            case STATE_PROPERTY_NAME:
+            case STATE_NUMBER:
+                expected = this.scanner.expected();
+                break;
+            case STATE_LITERAL:
+                expected = this.literal;
+                break;
+            default:
+                expected = "value";
+                break;
+        }
+
+        return expected;
+    }
+
+    /**
+     * Expecting a top level value or the end of the input.
+     */
+    private final static int STATE_DOCUMENT = 0;
+
+    /**
+     * Expecting a value after a property name or a separator within an array.
+     */
+    private final static int STATE_VALUE = 1;
+
+    /**
+     * Expecting a value or the end of an empty array.
+     */
+    private final static int STATE_FIRST_ELEMENT = 2;
+
+    /**
+     * Expecting a property name or the end of an empty object.
+     */
+    private final static int STATE_FIRST_NAME = 3;
+
+    /**
+     * Expecting a property name after a separator.
+     */
+    private final static int STATE_NAME = 4;
+
+    /**
+     * Expecting the colon after a property name.
+     */
+    private final static int STATE_ASSIGNMENT = 5;
+
+    /**
+     * Expecting a separator or the end of the current array or object.
+     */
+    private final static int STATE_AFTER_VALUE = 6;
+
+    /**
+     * Within a string value given to the {@link #scanner}.
+     */
+    private final static int STATE_STRING = 7;
+
+    /**
+     * Within a property name given to the {@link #scanner}.
+     */
+    private final static int STATE_PROPERTY_NAME = 8;
+
+    /**
+     * Within a number given to the {@link #scanner}.
+     */
+    private final static int STATE_NUMBER = 9;
+
+    /**
+     * Within true, false or null.
+     */
+    private final static int STATE_LITERAL = 10;
+
+    private int state;
+
+    private final static int INITIAL_DEPTH = 16;
+
+    /**
+     * The builder of each open array or object.
+     */
+    private Object[] builders;
+
+    /**
+     * The name of the property being read by each open object, always null for arrays.
+     */
+    private JsonPropertyName[] names;
+
+    /**
+     * The number of elements or members of each open array or object.
+     */
+    private int[] counts;
+
+    private int depth;
+
+    /**
+     * Scans the current number or string, which may be split across any number of chunks.
+     */
+    private final JsonNodeScanner scanner = JsonNodeScanner.empty();
+
+    /**
+     * The current true, false or null, the index of the next expected character and its value.
+     */
+    private String literal;
+
+    private int literalIndex;
+
+    private JsonNode literalValue;
+
+    /**
+     * The number of characters of the current top level value.
+     */
+    private int valueLength;
+
+    private final int maxDepth;
+
+    private final int maxDocumentLength;
+
+    private final int maxStringLength;
+
+    private final int maxObjectMembers;
+
+    private final int maxArrayElements;
+
+    /**
+     * Values completed by the current feed, or null if none.
+     */
+    private List<JsonNode> completed;
+
+    private List<JsonNode> completed() {
+        final List<JsonNode> completed = this.completed;
+        this.completed = null;
+
+        return null == completed ?
+            Lists.empty() :
+            completed;
+    }
+
+    // errors...........................................................................................................
+
+    private JsonNodeParserException exceeded(final String label,
+                                             final int max) {
+        return new JsonNodeParserException("Maximum " + label + " " + max + " exceeded at " + this.location());
+    }
+
+    private JsonNodeParserException invalidCharacter(final char c) {
+        return new JsonNodeParserException(
+            "Invalid character " +
+                CharSequences.quoteIfChars(c) +
+                " at " +
+                this.location() +
+                " expected " +
+                this.expected()
+        );
+    }
+
+    private JsonNodeParserException invalidUtf8() {
+        return new JsonNodeParserException(
+            "Invalid UTF-8 byte 0x" +
+                Integer.toHexString(this.decoder.lead()) +
+                " at " +
+                this.location()
+        );
+    }
+
+    private String location() {
+        return "(" + this.column + "," + this.line + ")";
+    }
+
+    /**
+     * The position of the next character within all input, used in error messages.
+     */
+    private int column = 1;
+
+    private int line = 1;
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " at " + this.location();
+    }
+}
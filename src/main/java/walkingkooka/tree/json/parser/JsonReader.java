@@ -0,0 +1,651 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.JsonArrayBuilder;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObjectBuilder;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A pull reader that returns a {@link JsonReaderEvent} for each part of json read from a {@link Reader}. Characters are
+ * read into a fixed size buffer, so memory use does not grow with the size of the input, only with the nesting and the
+ * size of the current name or value. Objects and arrays may be skipped without creating any names or values, or read
+ * into a {@link JsonNode} when required.
+ * <br>
+ * Many json values may follow each other, separated by optional whitespace, and {@link JsonReaderEvent#END_DOCUMENT}
+ * is only returned at the end of the input.
+ */
+public final class JsonReader implements Closeable {
+
+    /**
+     * Creates a {@link JsonReader} that reads characters from the given {@link Reader}.
+     */
+    public static JsonReader with(final Reader reader) {
+        Objects.requireNonNull(reader, "reader");
+
+        return new JsonReader(reader);
+    }
+
+    /**
+     * Creates a {@link JsonReader} that reads UTF-8 encoded json from the given {@link InputStream}.
+     */
+    public static JsonReader withUtf8(final InputStream input) {
+        return new JsonReader(
+            JsonReaderUtf8Reader.with(input)
+        );
+    }
+
+    // VisibleForTesting
+    final static int BUFFER_SIZE = 8192;
+
+    private JsonReader(final Reader reader) {
+        super();
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.objects = new boolean[INITIAL_DEPTH];
+        this.state = STATE_DOCUMENT;
+    }
+
+    /**
+     * Reads and returns the next {@link JsonReaderEvent}.
+     */
+    public JsonReaderEvent next() throws IOException {
+        this.name = null;
+        this.value = null;
+
+        final JsonReaderEvent event;
+
+        switch (this.state) {
+            case STATE_DOCUMENT:
+                this.skipWhitespace();
+                event = -1 == this.peek() ?
+                    JsonReaderEvent.END_DOCUMENT :
+                    this.valueEvent();
+                break;
+            case STATE_VALUE:
+                this.skipWhitespace();
+                event = this.valueEvent();
+                break;
+            case STATE_FIRST_ELEMENT:
+                this.skipWhitespace();
+                if (']' == this.peek()) {
+                    this.position++;
+                    event = this.end(JsonReaderEvent.END_ARRAY);
+                } else {
+                    event = this.valueEvent();
+                }
+                break;
+            case STATE_FIRST_NAME:
+                this.skipWhitespace();
+                if ('}' == this.peek()) {
+                    this.position++;
+                    event = this.end(JsonReaderEvent.END_OBJECT);
+                } else {
+                    event = this.nameEvent();
+                }
+                break;
+            case STATE_AFTER_VALUE:
+                this.skipWhitespace();
+                event = this.afterValue();
+                break;
+            default:
+                throw new IllegalStateException("Unknown state " + this.state);
+        }
+
+        this.event = event;
+        return event;
+    }
+
+    private JsonReaderEvent afterValue() throws IOException {
+        final boolean object = this.objects[this.depth - 1];
+        final char end = object ? '}' : ']';
+
+        final JsonReaderEvent event;
+
+        final int c = this.peek();
+        if (',' == c) {
+            this.position++;
+            this.skipWhitespace();
+            event = object ?
+                this.nameEvent() :
+                this.valueEvent();
+        } else if (end == c) {
+            this.position++;
+            event = this.end(
+                object ?
+                    JsonReaderEvent.END_OBJECT :
+                    JsonReaderEvent.END_ARRAY
+            );
+        } else {
+            throw this.unexpected(
+                object ?
+                    "',' or '}'" :
+                    "',' or ']'"
+            );
+        }
+
+        return event;
+    }
+
+    private JsonReaderEvent nameEvent() throws IOException {
+        if ('"' != this.peek()) {
+            throw this.unexpected("property name");
+        }
+        this.name = this.string();
+
+        this.skipWhitespace();
+        if (':' != this.peek()) {
+            throw this.unexpected("':'");
+        }
+        this.position++;
+
+        this.state = STATE_VALUE;
+        return JsonReaderEvent.NAME;
+    }
+
+    private JsonReaderEvent valueEvent() throws IOException {
+        final JsonReaderEvent event;
+
+        final int c = this.peek();
+        switch (c) {
+            case '{':
+                this.position++;
+                this.begin(true);
+                this.state = STATE_FIRST_NAME;
+                event = JsonReaderEvent.BEGIN_OBJECT;
+                break;
+            case '[':
+                this.position++;
+                this.begin(false);
+                this.state = STATE_FIRST_ELEMENT;
+                event = JsonReaderEvent.BEGIN_ARRAY;
+                break;
+            default:
+                this.value = this.leaf(c);
+                this.state = this.stateAfterValue();
+                event = JsonReaderEvent.VALUE;
+                break;
+        }
+
+        return event;
+    }
+
+    private JsonNode leaf(final int c) throws IOException {
+        final JsonNode value;
+
+        switch (c) {
+            case '"':
+                final String string = this.string();
+                value = this.skipping ?
+                    null :
+                    JsonNode.string(string);
+                break;
+            case 't':
+                this.literal("true");
+                value = JsonNode.booleanNode(true);
+                break;
+            case 'f':
+                this.literal("false");
+                value = JsonNode.booleanNode(false);
+                break;
+            case 'n':
+                this.literal("null");
+                value = JsonNode.nullNode();
+                break;
+            default:
+                if (-1 == c || false == JsonNodeScanner.isNumberStart((char) c)) {
+                    throw this.unexpected("value");
+                }
+                value = this.number();
+                break;
+        }
+
+        return value;
+    }
+
+    private void begin(final boolean object) {
+        final int depth = this.depth;
+
+        boolean[] objects = this.objects;
+        if (depth == objects.length) {
+            objects = Arrays.copyOf(
+                objects,
+                depth * 2
+            );
+            this.objects = objects;
+        }
+        objects[depth] = object;
+        this.depth = depth + 1;
+    }
+
+    private JsonReaderEvent end(final JsonReaderEvent event) {
+        this.depth--;
+        this.state = this.stateAfterValue();
+        return event;
+    }
+
+    private int stateAfterValue() {
+        return 0 == this.depth ?
+            STATE_DOCUMENT :
+            STATE_AFTER_VALUE;
+    }
+
+    /**
+     * Expecting a value at the top level or the end of the input.
+     */
+    private final static int STATE_DOCUMENT = 0;
+
+    /**
+     * Expecting a value after a property name or a separator within an array.
+     */
+    private final static int STATE_VALUE = 1;
+
+    /**
+     * Expecting a value or the end of an empty array.
+     */
+    private final static int STATE_FIRST_ELEMENT = 2;
+
+    /**
+     * Expecting a property name or the end of an empty object.
+     */
+    private final static int STATE_FIRST_NAME = 3;
+
+    /**
+     * Expecting a separator or the end of the current array or object.
+     */
+    private final static int STATE_AFTER_VALUE = 4;
+
+    private int state;
+
+    private final static int INITIAL_DEPTH = 16;
+
+    /**
+     * For each open array or object, true when it is an object.
+     */
+    private boolean[] objects;
+
+    private int depth;
+
+    // events...........................................................................................................
+
+    /**
+     * The last event returned by {@link #next()}.
+     */
+    public JsonReaderEvent event() {
+        return this.event;
+    }
+
+    private JsonReaderEvent event;
+
+    /**
+     * Returns the property name when the last event was {@link JsonReaderEvent#NAME}.
+     */
+    public String name() {
+        final String name = this.name;
+        if (null == name) {
+            throw new IllegalStateException("No name at " + this.event);
+        }
+        return name;
+    }
+
+    private String name;
+
+    /**
+     * Returns the boolean, null, number or string when the last event was {@link JsonReaderEvent#VALUE}.
+     */
+    public JsonNode value() {
+        final JsonNode value = this.value;
+        if (null == value) {
+            throw new IllegalStateException("No value at " + this.event);
+        }
+        return value;
+    }
+
+    private JsonNode value;
+
+    /**
+     * Reads the entire value starting with the last event into a {@link JsonNode}. After reading an object or array
+     * the last event will be the matching {@link JsonReaderEvent#END_OBJECT} or {@link JsonReaderEvent#END_ARRAY}.
+     * Arrays and objects being filled are kept in a list rather than on the thread stack, so deep json does not
+     * overflow.
+     */
+    public JsonNode readValue() throws IOException {
+        JsonReaderEvent event = this.event;
+        if (JsonReaderEvent.VALUE == event) {
+            return this.value;
+        }
+        if (JsonReaderEvent.BEGIN_ARRAY != event && JsonReaderEvent.BEGIN_OBJECT != event) {
+            throw new IllegalStateException("No value at " + event);
+        }
+
+        // the builder of each open array or object, each followed by the name of the property being read
+        final List<Object> open = new ArrayList<>();
+
+        for (; ; ) {
+            JsonNode value = null;
+
+            switch (event) {
+                case BEGIN_ARRAY:
+                    open.add(JsonNode.arrayBuilder());
+                    open.add(null);
+                    break;
+                case BEGIN_OBJECT:
+                    open.add(JsonNode.objectBuilder());
+                    open.add(null);
+                    break;
+                case NAME:
+                    open.set(
+                        open.size() - 1,
+                        JsonPropertyName.with(this.name)
+                    );
+                    break;
+                case END_ARRAY:
+                    open.remove(open.size() - 1);
+                    value = ((JsonArrayBuilder) open.remove(open.size() - 1))
+                        .build();
+                    break;
+                case END_OBJECT:
+                    open.remove(open.size() - 1);
+                    value = ((JsonObjectBuilder) open.remove(open.size() - 1))
+                        .build();
+                    break;
+                default:
+                    value = this.value;
+                    break;
+            }
+
+            if (null != value) {
+                final int size = open.size();
+                if (0 == size) {
+                    return value;
+                }
+
+                final Object builder = open.get(size - 2);
+                if (builder instanceof JsonArrayBuilder) {
+                    ((JsonArrayBuilder) builder).appendChild(value);
+                } else {
+                    ((JsonObjectBuilder) builder).set(
+                        (JsonPropertyName) open.get(size - 1),
+                        value
+                    );
+                }
+            }
+
+            event = this.next();
+        }
+    }
+
+    /**
+     * Returns a {@link Stream} of the elements of the array starting with the last event, or the next event when the
+     * last event was not {@link JsonReaderEvent#BEGIN_ARRAY}. Each element is read into a {@link JsonNode} only as the
+     * stream advances, so only the current element is held in memory. A null value is treated as an empty array.
+     * After the stream is exhausted the last event will be the matching {@link JsonReaderEvent#END_ARRAY}.
+     */
+    public Stream<JsonNode> readArray() throws IOException {
+        JsonReaderEvent event = this.event;
+        if (JsonReaderEvent.BEGIN_ARRAY != event) {
+            event = this.next();
+        }
+
+        final Stream<JsonNode> elements;
+
+        if (JsonReaderEvent.BEGIN_ARRAY == event) {
+            elements = StreamSupport.stream(
+                JsonReaderArraySpliterator.with(this),
+                false
+            );
+        } else {
+            if (JsonReaderEvent.VALUE != event || false == this.value.isNull()) {
+                throw new JsonNodeParserException("Expected array but got " + this);
+            }
+            elements = Stream.empty();
+        }
+
+        return elements;
+    }
+
+    /**
+     * Skips the object or array starting with the last event without creating any names or values. When the last
+     * event was a {@link JsonReaderEvent#NAME} its value is skipped. Other events are ignored.
+     */
+    public void skip() throws IOException {
+        this.skipping = true;
+        try {
+            JsonReaderEvent event = this.event;
+            if (JsonReaderEvent.NAME == event) {
+                event = this.next();
+            }
+
+            if (JsonReaderEvent.BEGIN_ARRAY == event || JsonReaderEvent.BEGIN_OBJECT == event) {
+                final int depth = this.depth - 1;
+                while (this.depth > depth) {
+                    this.next();
+                }
+            }
+        } finally {
+            this.skipping = false;
+        }
+    }
+
+    /**
+     * When true strings and numbers are scanned but not decoded.
+     */
+    private boolean skipping;
+
+    // leaf.............................................................................................................
+
+    /**
+     * Reads a string including the surrounding double quotes, returning null when skipping.
+     */
+    private String string() throws IOException {
+        final JsonNodeScanner scanner = this.scanner;
+        final boolean skipping = this.skipping;
+
+        scanner.beginString(
+            false == skipping,
+            Integer.MAX_VALUE
+        );
+        this.token();
+
+        return skipping ?
+            null :
+            scanner.string();
+    }
+
+    /**
+     * Reads a number, returning null when skipping.
+     */
+    private JsonNode number() throws IOException {
+        final JsonNodeScanner scanner = this.scanner;
+
+        scanner.beginNumber();
+        this.token();
+
+        return this.skipping ?
+            null :
+            scanner.number();
+    }
+
+    /**
+     * Gives the {@link JsonNodeScanner} the characters of the current number or string, reading more input only while
+     * the token may continue, failing if it is incomplete.
+     */
+    private void token() throws IOException {
+        final JsonNodeScanner scanner = this.scanner;
+
+        while (false == scanner.isEnded() && (this.position < this.limit || this.fill())) {
+            final char[] buffer = this.buffer;
+            final int limit = this.limit;
+
+            int i = this.position;
+            while (i < limit && scanner.accept(buffer[i])) {
+                i++;
+                if (scanner.isEnded()) {
+                    break;
+                }
+            }
+            this.position = i;
+
+            if (i < limit) {
+                break;
+            }
+        }
+
+        if (false == scanner.isComplete()) {
+            throw this.unexpected(scanner.expected());
+        }
+    }
+
+    /**
+     * Scans every number and string.
+     */
+    private final JsonNodeScanner scanner = JsonNodeScanner.empty();
+
+    private void literal(final String literal) throws IOException {
+        final int length = literal.length();
+
+        for (int i = 0; i < length; i++) {
+            if (literal.charAt(i) != this.peek()) {
+                throw this.unexpected(literal);
+            }
+            this.position++;
+        }
+    }
+
+    // buffer...........................................................................................................
+
+    private void skipWhitespace() throws IOException {
+        for (; ; ) {
+            if (this.position >= this.limit && false == this.fill()) {
+                break;
+            }
+
+            final char[] buffer = this.buffer;
+            final int limit = this.limit;
+
+            int i = this.position;
+            while (i < limit && JsonNodeScanner.isWhitespace(buffer[i])) {
+                i++;
+            }
+            this.position = i;
+
+            if (i < limit) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the next character without consuming it, or -1 at the end of the input.
+     */
+    private int peek() throws IOException {
+        return this.position < this.limit || this.fill() ?
+            this.buffer[this.position] :
+            -1;
+    }
+
+    /**
+     * Reads more characters into the buffer, returning false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        this.offset += this.limit;
+        this.position = 0;
+
+        int read;
+        do {
+            read = this.reader.read(this.buffer);
+        } while (0 == read);
+
+        this.limit = Math.max(
+            read,
+            0
+        );
+        return read > 0;
+    }
+
+    private final Reader reader;
+
+    private final char[] buffer;
+
+    /**
+     * The position of the next character within the {@link #buffer}.
+     */
+    private int position;
+
+    /**
+     * The number of characters in the {@link #buffer}.
+     */
+    private int limit;
+
+    /**
+     * The number of characters read before the {@link #buffer}.
+     */
+    private long offset;
+
+    // errors...........................................................................................................
+
+    private JsonNodeParserException unexpected(final String expected) throws IOException {
+        final int c = this.peek();
+
+        return -1 == c ?
+            this.endOfText(expected) :
+            new JsonNodeParserException(
+                "Invalid character " +
+                    CharSequences.quoteIfChars((char) c) +
+                    " at " +
+                    this.offset() +
+                    " expected " +
+                    expected
+            );
+    }
+
+    private JsonNodeParserException endOfText(final String expected) {
+        return new JsonNodeParserException("End of text at " + this.offset() + " expected " + expected);
+    }
+
+    private long offset() {
+        return this.offset + this.position;
+    }
+
+    // Closeable........................................................................................................
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.event + " at " + this.offset();
+    }
+}
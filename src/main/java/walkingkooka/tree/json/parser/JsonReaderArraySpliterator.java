@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import walkingkooka.tree.json.JsonNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} that reads each element of an array from a {@link JsonReader} into a {@link JsonNode}, only as
+ * the {@link java.util.stream.Stream} advances. The {@link JsonReader} must have just returned
+ * {@link JsonReaderEvent#BEGIN_ARRAY}.
+ */
+final class JsonReaderArraySpliterator extends Spliterators.AbstractSpliterator<JsonNode> {
+
+    static JsonReaderArraySpliterator with(final JsonReader reader) {
+        return new JsonReaderArraySpliterator(reader);
+    }
+
+    private JsonReaderArraySpliterator(final JsonReader reader) {
+        super(
+            Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL
+        );
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super JsonNode> action) {
+        boolean advanced = false;
+
+        if (false == this.ended) {
+            try {
+                final JsonReader reader = this.reader;
+
+                if (JsonReaderEvent.END_ARRAY == reader.next()) {
+                    this.ended = true;
+                } else {
+                    action.accept(
+                        reader.readValue()
+                    );
+                    advanced = true;
+                }
+            } catch (final IOException cause) {
+                throw new UncheckedIOException(cause);
+            }
+        }
+
+        return advanced;
+    }
+
+    private final JsonReader reader;
+
+    /**
+     * Becomes true after the {@link JsonReaderEvent#END_ARRAY} is read.
+     */
+    private boolean ended;
+
+    @Override
+    public String toString() {
+        return this.reader.toString();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+/**
+ * The events returned by {@link JsonReader#next()}.
+ */
+public enum JsonReaderEvent {
+
+    /**
+     * A <code>{</code> was read, a {@link #NAME} or {@link #END_OBJECT} follows.
+     */
+    BEGIN_OBJECT,
+
+    /**
+     * A property name was read, which is available from {@link JsonReader#name()}.
+     */
+    NAME,
+
+    /**
+     * A <code>}</code> was read.
+     */
+    END_OBJECT,
+
+    /**
+     * A <code>[</code> was read, zero or more values followed by {@link #END_ARRAY} follow.
+     */
+    BEGIN_ARRAY,
+
+    /**
+     * A <code>]</code> was read.
+     */
+    END_ARRAY,
+
+    /**
+     * A boolean, null, number or string was read, which is available from {@link JsonReader#value()}.
+     */
+    VALUE,
+
+    /**
+     * The end of the input was reached after zero or more complete values.
+     */
+    END_DOCUMENT
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * A {@link Reader} that decodes UTF-8 bytes from an {@link InputStream} using a small reused byte buffer. Malformed
+ * sequences are replaced by U+FFFD.
+ */
+final class JsonReaderUtf8Reader extends Reader {
+
+    // VisibleForTesting
+    final static int BUFFER_SIZE = 8192;
+
+    private final static char REPLACEMENT = '\uFFFD';
+
+    static JsonReaderUtf8Reader with(final InputStream input) {
+        Objects.requireNonNull(input, "input");
+
+        return new JsonReaderUtf8Reader(input);
+    }
+
+    private JsonReaderUtf8Reader(final InputStream input) {
+        super();
+        this.input = input;
+        this.bytes = new byte[BUFFER_SIZE];
+    }
+
+    @Override
+    public int read(final char[] chars,
+                    final int offset,
+                    final int length) throws IOException {
+        int count = 0;
+
+        if (length > 0 && REPLACEMENT != this.pendingLowSurrogate) {
+            chars[offset] = this.pendingLowSurrogate;
+            this.pendingLowSurrogate = REPLACEMENT;
+            count = 1;
+        }
+
+        final JsonNodeUtf8Decoder decoder = this.decoder;
+
+        while (count < length) {
+            final int first = this.readByte();
+            if (-1 == first) {
+                break;
+            }
+
+            if (first < 0x80) {
+                chars[offset + count] = (char) first;
+                count++;
+                continue;
+            }
+
+            int codePoint = decoder.accept(first);
+            while (JsonNodeUtf8Decoder.INCOMPLETE == codePoint) {
+                final int next = this.peekByte();
+                if (-1 == next || false == JsonNodeUtf8Decoder.isContinuation(next)) {
+                    // leave the byte that ended the sequence for the next character
+                    decoder.reset();
+                    codePoint = JsonNodeUtf8Decoder.INVALID;
+                    break;
+                }
+                this.position++;
+                codePoint = decoder.accept(next);
+            }
+
+            if (codePoint < 0) {
+                codePoint = REPLACEMENT;
+            }
+
+            if (codePoint >= 0x10000) {
+                chars[offset + count] = Character.highSurrogate(codePoint);
+                count++;
+
+                final char low = Character.lowSurrogate(codePoint);
+                if (count < length) {
+                    chars[offset + count] = low;
+                    count++;
+                } else {
+                    this.pendingLowSurrogate = low;
+                }
+            } else {
+                chars[offset + count] = (char) codePoint;
+                count++;
+            }
+        }
+
+        return 0 == count && length > 0 ?
+            -1 :
+            count;
+    }
+
+    private int readByte() throws IOException {
+        final int b = this.peekByte();
+        if (-1 != b) {
+            this.position++;
+        }
+        return b;
+    }
+
+    private int peekByte() throws IOException {
+        if (this.position >= this.limit) {
+            int read;
+            do {
+                read = this.input.read(this.bytes);
+            } while (0 == read);
+
+            this.limit = Math.max(
+                read,
+                0
+            );
+            this.position = 0;
+        }
+        return this.position < this.limit ?
+            this.bytes[this.position] & 0xFF :
+            -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    private final InputStream input;
+
+    private final byte[] bytes;
+
+    private final JsonNodeUtf8Decoder decoder = JsonNodeUtf8Decoder.empty();
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * The second half of a surrogate pair that did not fit in the previous read, or U+FFFD when none.
+     */
+    private char pendingLowSurrogate = REPLACEMENT;
+
+    @Override
+    public String toString() {
+        return this.input.toString();
+    }
+}
@@ -19,8 +19,6 @@ package walkingkooka.tree.json.parser;
 import walkingkooka.text.CharSequences;
 import walkingkooka.tree.json.JsonNode;
 
-import java.util.List;
-
 /**
  * Holds a json null value.
  */
@@ -48,9 +46,4 @@ public final class NullJsonNodeParserToken extends ValueJsonNodeParserToken<Void
     JsonNode toJsonNodeOrNull() {
         return JsonNode.nullNode();
     }
-
-    @Override
-    void addJsonNode(final List<JsonNode> children) {
-        children.add(JsonNode.nullNode());
-    }
 }
@@ -18,8 +18,6 @@ package walkingkooka.tree.json.parser;
 
 import walkingkooka.tree.json.JsonNode;
 
-import java.util.List;
-
 /**
  * Holds a single integer or decimal number.
  */
@@ -37,12 +35,13 @@ public final class NumberJsonNodeParserToken extends ValueJsonNodeParserToken<Do
 
     @Override
     JsonNode toJsonNodeOrNull() {
-        return JsonNode.number(this.value());
+        return this.jsonNumber();
     }
 
-    @Override
-    void addJsonNode(final List<JsonNode> children) {
-        children.add(JsonNode.number(value()));
+    private JsonNode jsonNumber() {
+        return JsonNodeScanner.number(
+            this.text()
+        );
     }
 
     // visitor ...............................................................................................
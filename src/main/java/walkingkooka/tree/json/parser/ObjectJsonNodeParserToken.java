@@ -16,11 +16,8 @@
  */
 package walkingkooka.tree.json.parser;
 
-import walkingkooka.collect.list.Lists;
 import walkingkooka.text.cursor.parser.ParserToken;
 import walkingkooka.tree.json.JsonNode;
-import walkingkooka.tree.json.JsonObject;
-import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.visit.Visiting;
 
 import java.util.List;
@@ -63,33 +60,7 @@ public final class ObjectJsonNodeParserToken extends ParentJsonNodeParserToken<O
 
     @Override
     JsonNode toJsonNodeOrNull() {
-        StringJsonNodeParserToken key = null;
-
-        final JsonObject object = JsonNode.object();
-        final List<JsonNode> objectChildren = Lists.array();
-
-        for (ParserToken element : ParserToken.filterWithoutNoise(this.value)) {
-            if (element instanceof JsonNodeParserToken) {
-                final JsonNodeParserToken j = element.cast(JsonNodeParserToken.class);
-                if (j.isNoise()) {
-                    continue;
-                }
-                if (null == key) {
-                    key = j.cast(StringJsonNodeParserToken.class);
-                } else {
-                    final JsonNode node = j.toJsonNode().get();
-                    objectChildren.add(node.setName(JsonPropertyName.with(key.value())));
-                    key = null;
-                }
-            }
-        }
-
-        return object.setChildren(objectChildren);
-    }
-
-    @Override
-    void addJsonNode(final List<JsonNode> children) {
-        children.add(this.toJsonNodeOrNull());
+        return ParentJsonNodeParserTokenJsonNodeConverter.convert(this);
     }
 
     // children.........................................................................................................
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.List;
+
+/**
+ * Converts an array or object token and all descendant tokens into a {@link JsonNode}, keeping a stack of the open
+ * arrays and objects rather than recursing, so very deeply nested tokens do not overflow the thread stack.
+ */
+final class ParentJsonNodeParserTokenJsonNodeConverter {
+
+    static JsonNode convert(final ParentJsonNodeParserToken<?> token) {
+        return new ParentJsonNodeParserTokenJsonNodeConverter()
+            .convert0(token);
+    }
+
+    private ParentJsonNodeParserTokenJsonNodeConverter() {
+        super();
+    }
+
+    private JsonNode convert0(final ParentJsonNodeParserToken<?> token) {
+        final List<Frame> stack = this.stack;
+        stack.add(
+            new Frame(token)
+        );
+
+        JsonNode converted = null;
+
+        do {
+            final Frame frame = stack.get(stack.size() - 1);
+            final List<ParserToken> tokens = frame.token.value();
+
+            if (frame.index < tokens.size()) {
+                final ParserToken child = tokens.get(frame.index);
+                frame.index++;
+
+                if (child instanceof JsonNodeParserToken && false == child.isNoise()) {
+                    if (frame.isObject && null == frame.key) {
+                        frame.key = child.cast(StringJsonNodeParserToken.class)
+                            .value();
+                    } else if (child instanceof ParentJsonNodeParserToken) {
+                        stack.add(
+                            new Frame((ParentJsonNodeParserToken<?>) child)
+                        );
+                    } else {
+                        frame.add(
+                            child.cast(JsonNodeParserToken.class)
+                                .toJsonNodeOrNull()
+                        );
+                    }
+                }
+            } else {
+                stack.remove(stack.size() - 1);
+
+                converted = frame.isObject ?
+                    JsonNode.object()
+                        .setChildren(frame.children) :
+                    JsonNode.array()
+                        .setChildren(frame.children);
+
+                if (false == stack.isEmpty()) {
+                    stack.get(stack.size() - 1)
+                        .add(converted);
+                }
+            }
+        } while (false == stack.isEmpty());
+
+        return converted;
+    }
+
+    /**
+     * The open arrays and objects, the last being the innermost.
+     */
+    private final List<Frame> stack = Lists.array();
+
+    /**
+     * An array or object token, the index of its next child token and the converted children so far.
+     */
+    private static final class Frame {
+
+        Frame(final ParentJsonNodeParserToken<?> token) {
+            this.token = token;
+            this.isObject = token instanceof ObjectJsonNodeParserToken;
+        }
+
+        void add(final JsonNode node) {
+            if (this.isObject) {
+                this.children.add(
+                    node.setName(
+                        JsonPropertyName.with(this.key)
+                    )
+                );
+                this.key = null;
+            } else {
+                this.children.add(node);
+            }
+        }
+
+        final ParentJsonNodeParserToken<?> token;
+
+        final boolean isObject;
+
+        int index;
+
+        /**
+         * The name of the next property, when converting an object.
+         */
+        String key;
+
+        final List<JsonNode> children = Lists.array();
+
+        @Override
+        public String toString() {
+            return this.token.toString();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.stack.toString();
+    }
+}
@@ -19,8 +19,6 @@ package walkingkooka.tree.json.parser;
 import walkingkooka.text.CharSequences;
 import walkingkooka.tree.json.JsonNode;
 
-import java.util.List;
-
 /**
  * Holds a json string value.
  */
@@ -42,11 +40,6 @@ public final class StringJsonNodeParserToken extends ValueJsonNodeParserToken<St
         return JsonNode.string(this.value());
     }
 
-    @Override
-    void addJsonNode(final List<JsonNode> children) {
-        children.add(JsonNode.string(value()));
-    }
-
     // visitor ...............................................................................................
 
     @Override
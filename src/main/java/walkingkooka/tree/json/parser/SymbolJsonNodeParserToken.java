@@ -18,8 +18,6 @@ package walkingkooka.tree.json.parser;
 
 import walkingkooka.tree.json.JsonNode;
 
-import java.util.List;
-
 /**
  * Base class for all JsonNode symbol parser tokens.
  */
@@ -37,8 +35,4 @@ abstract class SymbolJsonNodeParserToken extends LeafJsonNodeParserToken<String>
     @Override final JsonNode toJsonNodeOrNull() {
         return null;
     }
-
-    @Override final void addJsonNode(final List<JsonNode> children) {
-        // skip whitespace
-    }
 }
@@ -18,12 +18,17 @@
 package walkingkooka.tree.json.pointer;
 
 import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.tree.pointer.NodePointer;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -35,6 +40,7 @@ public final class JsonPointer implements Function<JsonNode, Optional<JsonNode>>
 
     public static JsonPointer parse(final String pointer) {
         return new JsonPointer(
+            pointer,
             NodePointer.parse(
                 pointer,
                 JsonPropertyName::with,
@@ -43,12 +49,73 @@ public final class JsonPointer implements Function<JsonNode, Optional<JsonNode>>
         );
     }
 
-    private JsonPointer(final NodePointer<JsonNode, JsonPropertyName> nodePointer) {
+    /**
+     * Parses the json text, returning the value matched by each of the given pointers, without creating any
+     * {@link JsonNode} for values outside the matches. Pointers without a match are absent from the returned
+     * {@link Map}. Object properties are matched by name and array elements by index, as defined by RFC 6901. The
+     * entire text must be valid json, even values that are skipped are checked.
+     */
+    public static Map<JsonPointer, JsonNode> project(final String text,
+                                                     final Collection<JsonPointer> pointers) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(pointers, "pointers");
+
+        return JsonPointerProjector.project(
+            text,
+            pointers
+        );
+    }
+
+    private JsonPointer(final String pointer,
+                        final NodePointer<JsonNode, JsonPropertyName> nodePointer) {
         super();
 
+        this.pointer = pointer;
         this.nodePointer = nodePointer;
     }
 
+    /**
+     * Parses the json text, returning only the value matched by this pointer. The entire text must be valid json.
+     */
+    public Optional<JsonNode> project(final String text) {
+        return Optional.ofNullable(
+            project(
+                text,
+                Lists.of(this)
+            ).get(this)
+        );
+    }
+
+    /**
+     * Returns the unescaped reference tokens of an absolute pointer.
+     */
+    String[] referenceTokens() {
+        final String pointer = this.pointer;
+
+        final String[] tokens;
+        if (pointer.isEmpty()) {
+            tokens = new String[0];
+        } else {
+            if ('/' != pointer.charAt(0)) {
+                throw new IllegalArgumentException("Relative pointer " + CharSequences.quote(pointer) + " cannot be projected");
+            }
+
+            tokens = pointer.substring(1)
+                .split("/", -1);
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = tokens[i].replace("~1", "/")
+                    .replace("~0", "~");
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * The pointer text.
+     */
+    private final String pointer;
+
     @Override
     public Optional<JsonNode> apply(final JsonNode node) {
         return this.nodePointer.traverse(node);
@@ -0,0 +1,687 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.pointer;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.JsonArrayBuilder;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObjectBuilder;
+import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.parser.JsonNodeParserException;
+import walkingkooka.tree.json.parser.JsonNodeScanner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Scans json text following only the properties and elements named by a group of {@link JsonPointer}, parsing just the
+ * matched values into {@link JsonNode}. All other values are checked against the full json grammar but skipped without
+ * decoding strings or creating any {@link JsonNode}, so invalid json fails wherever it appears. Values are walked with
+ * an explicit stack, only the properties and elements named by the pointers are followed by recursing.
+ */
+final class JsonPointerProjector {
+
+    static Map<JsonPointer, JsonNode> project(final String text,
+                                              final Collection<JsonPointer> pointers) {
+        final List<Target> targets = Lists.array();
+        for (final JsonPointer pointer : pointers) {
+            targets.add(
+                new Target(pointer)
+            );
+        }
+
+        final JsonPointerProjector projector = new JsonPointerProjector(text);
+        projector.skipWhitespace();
+        if (targets.isEmpty()) {
+            projector.skipValue();
+        } else {
+            projector.value(
+                0,
+                targets
+            );
+        }
+        projector.skipWhitespace();
+
+        if (projector.position < projector.length) {
+            throw projector.invalidCharacter("end of text");
+        }
+
+        return projector.matches;
+    }
+
+    private JsonPointerProjector(final String text) {
+        super();
+        this.text = text;
+        this.length = text.length();
+    }
+
+    /**
+     * Visits the value at the current position, which is matched by all the given targets up to the given depth.
+     */
+    private void value(final int depth,
+                       final List<Target> targets) {
+        if (this.position >= this.length) {
+            throw this.endOfText("value");
+        }
+
+        boolean matched = false;
+        for (final Target target : targets) {
+            matched = target.tokens.length == depth;
+            if (matched) {
+                break;
+            }
+        }
+
+        if (matched) {
+            this.match(
+                depth,
+                targets
+            );
+        } else {
+            switch (this.text.charAt(this.position)) {
+                case '{':
+                    this.object(
+                        depth,
+                        targets
+                    );
+                    break;
+                case '[':
+                    this.array(
+                        depth,
+                        targets
+                    );
+                    break;
+                default:
+                    this.skipValue();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Parses the value at the current position, which ends at least one target. Longer targets continue within the
+     * parsed value.
+     */
+    private void match(final int depth,
+                       final List<Target> targets) {
+        final JsonNode value = this.parseOrSkip(true);
+
+        for (final Target target : targets) {
+            final String[] tokens = target.tokens;
+
+            Optional<JsonNode> node = Optional.of(value);
+            for (int i = depth; i < tokens.length && node.isPresent(); i++) {
+                node = child(
+                    node.get(),
+                    tokens[i]
+                );
+            }
+
+            if (node.isPresent()) {
+                this.matches.put(
+                    target.pointer,
+                    node.get()
+                );
+            }
+        }
+    }
+
+    private static Optional<JsonNode> child(final JsonNode node,
+                                            final String token) {
+        Optional<JsonNode> child = Optional.empty();
+
+        if (node.isObject()) {
+            if (false == token.isEmpty()) {
+                child = node.objectOrFail()
+                    .get(JsonPropertyName.with(token));
+            }
+        } else if (node.isArray()) {
+            final List<JsonNode> elements = node.children();
+            final int index = index(token);
+            if (index >= 0 && index < elements.size()) {
+                child = Optional.of(
+                    elements.get(index)
+                );
+            }
+        }
+
+        return child;
+    }
+
+    /**
+     * Returns the array index for the given pointer token, or -1 if it is not an index without leading zeroes.
+     */
+    private static int index(final String token) {
+        final int length = token.length();
+
+        int index = -1;
+        if (length > 0 && length < 10 && ('0' != token.charAt(0) || 1 == length)) {
+            index = 0;
+            for (int i = 0; i < length; i++) {
+                final char c = token.charAt(i);
+                if (c < '0' || c > '9') {
+                    index = -1;
+                    break;
+                }
+                index = index * 10 + c - '0';
+            }
+        }
+
+        return index;
+    }
+
+    private void object(final int depth,
+                        final List<Target> targets) {
+        this.position++; // skip {
+        this.skipWhitespace();
+
+        if (false == this.tryConsume('}')) {
+            for (; ; ) {
+                if (this.position >= this.length) {
+                    throw this.endOfText("property name");
+                }
+                if ('"' != this.text.charAt(this.position)) {
+                    throw this.invalidCharacter("property name");
+                }
+
+                final int nameStart = this.position;
+                this.skipString();
+                final List<Target> matching = this.matchingName(
+                    depth,
+                    targets,
+                    nameStart
+                );
+
+                this.skipWhitespace();
+                this.consume(
+                    ':',
+                    "':'"
+                );
+                this.skipWhitespace();
+
+                if (matching.isEmpty()) {
+                    this.skipValue();
+                } else {
+                    this.value(
+                        depth + 1,
+                        matching
+                    );
+                }
+
+                this.skipWhitespace();
+                if (this.tryConsume('}')) {
+                    break;
+                }
+                this.consume(
+                    ',',
+                    "',' or '}'"
+                );
+                this.skipWhitespace();
+            }
+        }
+    }
+
+    /**
+     * Returns the targets with the property name that starts at the given position and ends before the current
+     * position. Names with escape sequences are decoded before comparing.
+     */
+    private List<Target> matchingName(final int depth,
+                                      final List<Target> targets,
+                                      final int nameStart) {
+        final String text = this.text;
+        final int start = nameStart + 1;
+        final int end = this.position - 1;
+
+        String decoded = null;
+        if (hasBackslash(text, start, end)) {
+            final JsonNodeScanner scanner = this.scanner;
+            scanner.beginString(
+                true,
+                Integer.MAX_VALUE
+            );
+            scanner.accept(
+                text,
+                nameStart,
+                this.position
+            );
+            decoded = scanner.string();
+        }
+
+        List<Target> matching = Lists.empty();
+        for (final Target target : targets) {
+            final String token = target.tokens[depth];
+
+            if (null != decoded ?
+                decoded.equals(token) :
+                token.length() == end - start && text.startsWith(token, start)) {
+                if (matching.isEmpty()) {
+                    matching = Lists.array();
+                }
+                matching.add(target);
+            }
+        }
+
+        return matching;
+    }
+
+    /**
+     * Returns true if there is a backslash between start and end, without looking past the end of the name.
+     */
+    private static boolean hasBackslash(final String text,
+                                        final int start,
+                                        final int end) {
+        boolean backslash = false;
+
+        for (int i = start; i < end; i++) {
+            if ('\\' == text.charAt(i)) {
+                backslash = true;
+                break;
+            }
+        }
+
+        return backslash;
+    }
+
+    private void array(final int depth,
+                       final List<Target> targets) {
+        this.position++; // skip [
+        this.skipWhitespace();
+
+        if (false == this.tryConsume(']')) {
+            for (int i = 0; ; i++) {
+                List<Target> matching = Lists.empty();
+                for (final Target target : targets) {
+                    if (i == index(target.tokens[depth])) {
+                        if (matching.isEmpty()) {
+                            matching = Lists.array();
+                        }
+                        matching.add(target);
+                    }
+                }
+
+                if (matching.isEmpty()) {
+                    this.skipValue();
+                } else {
+                    this.value(
+                        depth + 1,
+                        matching
+                    );
+                }
+
+                this.skipWhitespace();
+                if (this.tryConsume(']')) {
+                    break;
+                }
+                this.consume(
+                    ',',
+                    "',' or ']'"
+                );
+                this.skipWhitespace();
+            }
+        }
+    }
+
+    // value............................................................................................................
+
+    private void skipValue() {
+        this.parseOrSkip(false);
+    }
+
+    /**
+     * Checks the value at the current position, creating and returning its {@link JsonNode} only when create is true,
+     * otherwise null. The arrays and objects being checked or filled are kept on an explicit stack, so deep values do
+     * not recurse.
+     */
+    private JsonNode parseOrSkip(final boolean create) {
+        final String text = this.text;
+
+        // for each open array or object, true when it is an object
+        boolean[] objects = null;
+        int depth = 0;
+
+        // when creating, the builder of each open array or object followed by the name of the property being read
+        final List<Object> builders = create ?
+            Lists.array() :
+            null;
+
+        for (; ; ) {
+            if (this.position >= this.length) {
+                throw this.endOfText("value");
+            }
+
+            JsonNode value = null;
+
+            final char c = text.charAt(this.position);
+            switch (c) {
+                case '{':
+                case '[':
+                    final boolean object = '{' == c;
+
+                    this.position++; // skip { or [
+                    this.skipWhitespace();
+
+                    if (this.tryConsume(object ? '}' : ']')) {
+                        if (create) {
+                            value = object ?
+                                JsonNode.object() :
+                                JsonNode.array();
+                        }
+                        break;
+                    }
+
+                    if (null == objects) {
+                        objects = new boolean[INITIAL_DEPTH];
+                    } else if (depth == objects.length) {
+                        objects = Arrays.copyOf(
+                            objects,
+                            depth * 2
+                        );
+                    }
+                    objects[depth] = object;
+                    depth++;
+
+                    if (create) {
+                        builders.add(
+                            object ?
+                                JsonNode.objectBuilder() :
+                                JsonNode.arrayBuilder()
+                        );
+                        builders.add(null);
+                    }
+                    if (object) {
+                        this.propertyName(builders);
+                    }
+                    continue;
+                case '"':
+                    this.string(create);
+                    if (create) {
+                        value = JsonNode.string(
+                            this.scanner.string()
+                        );
+                    }
+                    break;
+                case 't':
+                    this.literal("true");
+                    if (create) {
+                        value = JsonNode.booleanNode(true);
+                    }
+                    break;
+                case 'f':
+                    this.literal("false");
+                    if (create) {
+                        value = JsonNode.booleanNode(false);
+                    }
+                    break;
+                case 'n':
+                    this.literal("null");
+                    if (create) {
+                        value = JsonNode.nullNode();
+                    }
+                    break;
+                default:
+                    if (false == JsonNodeScanner.isNumberStart(c)) {
+                        throw this.invalidCharacter("value");
+                    }
+                    this.scanner.beginNumber();
+                    this.token();
+                    if (create) {
+                        value = this.scanner.number();
+                    }
+                    break;
+            }
+
+            // add the value to its parent, completing every parent that is closed after it
+            for (; ; ) {
+                if (0 == depth) {
+                    return value;
+                }
+
+                this.skipWhitespace();
+
+                final boolean object = objects[depth - 1];
+                if (create) {
+                    final int size = builders.size();
+                    final Object builder = builders.get(size - 2);
+                    if (object) {
+                        ((JsonObjectBuilder) builder).set(
+                            (JsonPropertyName) builders.get(size - 1),
+                            value
+                        );
+                    } else {
+                        ((JsonArrayBuilder) builder).appendChild(value);
+                    }
+                }
+
+                if (this.tryConsume(object ? '}' : ']')) {
+                    depth--;
+                    if (create) {
+                        builders.remove(builders.size() - 1);
+                        final Object builder = builders.remove(builders.size() - 1);
+                        value = object ?
+                            ((JsonObjectBuilder) builder).build() :
+                            ((JsonArrayBuilder) builder).build();
+                    }
+                } else {
+                    this.consume(
+                        ',',
+                        object ?
+                            "',' or '}'" :
+                            "',' or ']'"
+                    );
+                    this.skipWhitespace();
+                    if (object) {
+                        this.propertyName(builders);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private final static int INITIAL_DEPTH = 16;
+
+    /**
+     * Consumes the name of the next property of the open object up to its value, keeping the name in the given
+     * builders when they are not null.
+     */
+    private void propertyName(final List<Object> builders) {
+        if (this.position >= this.length) {
+            throw this.endOfText("property name");
+        }
+        if ('"' != this.text.charAt(this.position)) {
+            throw this.invalidCharacter("property name");
+        }
+
+        final boolean create = null != builders;
+        this.string(create);
+        if (create) {
+            builders.set(
+                builders.size() - 1,
+                JsonPropertyName.with(
+                    this.scanner.string()
+                )
+            );
+        }
+
+        this.skipWhitespace();
+        this.consume(
+            ':',
+            "':'"
+        );
+        this.skipWhitespace();
+    }
+
+    private void literal(final String literal) {
+        if (false == this.text.startsWith(literal, this.position)) {
+            throw this.invalidCharacter(literal);
+        }
+        this.position += literal.length();
+    }
+
+    /**
+     * Skips over a string including the surrounding double quotes, checking but not decoding escape sequences.
+     */
+    private void skipString() {
+        this.string(false);
+    }
+
+    /**
+     * Consumes a string including the surrounding double quotes, which is available from the {@link #scanner} when
+     * decoded.
+     */
+    private void string(final boolean decode) {
+        this.scanner.beginString(
+            decode,
+            Integer.MAX_VALUE
+        );
+        this.token();
+    }
+
+    /**
+     * Gives the {@link JsonNodeScanner} the characters of the number or string at the current position, failing if
+     * the token is incomplete.
+     */
+    private void token() {
+        final JsonNodeScanner scanner = this.scanner;
+
+        final int position = scanner.accept(
+            this.text,
+            this.position,
+            this.length
+        );
+        this.position = position;
+
+        if (false == scanner.isComplete()) {
+            throw position >= this.length ?
+                this.endOfText(scanner.expected()) :
+                this.invalidCharacter(scanner.expected());
+        }
+    }
+
+    private final JsonNodeScanner scanner = JsonNodeScanner.empty();
+
+    private void skipWhitespace() {
+        this.position = JsonNodeScanner.skipWhitespace(
+            this.text,
+            this.position,
+            this.length
+        );
+    }
+
+    private boolean tryConsume(final char c) {
+        final boolean consumed = this.position < this.length &&
+            c == this.text.charAt(this.position);
+        if (consumed) {
+            this.position++;
+        }
+        return consumed;
+    }
+
+    private void consume(final char c,
+                         final String expected) {
+        if (false == this.tryConsume(c)) {
+            throw this.position >= this.length ?
+                this.endOfText(expected) :
+                this.invalidCharacter(expected);
+        }
+    }
+
+    // errors...........................................................................................................
+
+    private JsonNodeParserException endOfText(final String expected) {
+        return new JsonNodeParserException("End of text at " + this.location() + " expected " + expected);
+    }
+
+    private JsonNodeParserException invalidCharacter(final String expected) {
+        return new JsonNodeParserException(
+            "Invalid character " +
+                CharSequences.quoteIfChars(
+                    this.text.charAt(this.position)
+                ) +
+                " at " +
+                this.location() +
+                " expected " +
+                expected
+        );
+    }
+
+    /**
+     * Computes the line and column of the current position, only done when reporting an error.
+     */
+    private String location() {
+        final String text = this.text;
+        final int position = Math.min(
+            this.position,
+            this.length
+        );
+
+        int line = 1;
+        int column = 1;
+        for (int i = 0; i < position; i++) {
+            if ('\n' == text.charAt(i)) {
+                line++;
+                column = 1;
+            } else {
+                column++;
+            }
+        }
+
+        return "(" + column + "," + line + ")";
+    }
+
+    private final String text;
+
+    private final int length;
+
+    private int position;
+
+    /**
+     * The value matched by each pointer, pointers without a match are absent.
+     */
+    private final Map<JsonPointer, JsonNode> matches = Maps.ordered();
+
+    /**
+     * A {@link JsonPointer} and its reference tokens.
+     */
+    private static final class Target {
+
+        Target(final JsonPointer pointer) {
+            this.pointer = pointer;
+            this.tokens = pointer.referenceTokens();
+        }
+
+        final JsonPointer pointer;
+
+        final String[] tokens;
+
+        @Override
+        public String toString() {
+            return this.pointer.toString();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.text;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonArrayBuilderTest implements ClassTesting2<JsonArrayBuilder>,
+    ToStringTesting<JsonArrayBuilder> {
+
+    @Test
+    public void testAppendChildNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonNode.arrayBuilder()
+                .appendChild(null)
+        );
+    }
+
+    @Test
+    public void testBuildEmpty() {
+        assertSame(
+            JsonNode.array(),
+            JsonNode.arrayBuilder()
+                .build()
+        );
+    }
+
+    @Test
+    public void testBuild() {
+        final JsonArray array = JsonNode.arrayBuilder()
+            .append(true)
+            .append(2)
+            .append("three")
+            .appendNull()
+            .appendChild(JsonNode.object())
+            .build();
+
+        this.checkEquals(
+            JsonNode.array()
+                .append(true)
+                .append(2)
+                .append("three")
+                .appendNull()
+                .appendChild(JsonNode.object()),
+            array
+        );
+
+        int i = 0;
+        for (final JsonNode element : array.children()) {
+            this.checkEquals(
+                i,
+                element.index(),
+                "index"
+            );
+            this.checkEquals(
+                JsonPropertyName.index(i),
+                element.name(),
+                "name"
+            );
+            assertSame(
+                array,
+                element.parentOrFail(),
+                "parent"
+            );
+            i++;
+        }
+    }
+
+    @Test
+    public void testBuildMany() {
+        final JsonArrayBuilder builder = JsonNode.arrayBuilder();
+        JsonArray expected = JsonNode.array();
+
+        for (int i = 0; i < 100; i++) {
+            builder.append(i);
+            expected = expected.append(i);
+        }
+
+        this.checkEquals(
+            100,
+            builder.size(),
+            "size"
+        );
+        this.checkEquals(
+            expected,
+            builder.build()
+        );
+    }
+
+    @Test
+    public void testBuildAppendBuild() {
+        final JsonArrayBuilder builder = JsonNode.arrayBuilder()
+            .append("first");
+        final JsonArray first = builder.build();
+
+        final JsonArray second = builder.append("second")
+            .build();
+
+        this.checkEquals(
+            JsonNode.array()
+                .append("first"),
+            first
+        );
+        this.checkEquals(
+            JsonNode.array()
+                .append("first")
+                .append("second"),
+            second
+        );
+    }
+
+    @Test
+    public void testAppendChildWithParent() {
+        final JsonArray other = JsonNode.array()
+            .append("other");
+
+        final JsonArray array = JsonNode.arrayBuilder()
+            .append(1)
+            .appendChild(other.get(0))
+            .build();
+
+        assertSame(
+            array,
+            array.get(1)
+                .parentOrFail()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            JsonNode.arrayBuilder()
+                .append(1)
+                .append("two"),
+            JsonNode.array()
+                .append(1)
+                .append("two")
+                .toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonArrayBuilder> type() {
+        return JsonArrayBuilder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
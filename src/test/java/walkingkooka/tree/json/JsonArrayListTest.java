@@ -0,0 +1,249 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.ImmutableListTesting;
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class JsonArrayListTest implements ImmutableListTesting<JsonArrayList, JsonNode>,
+    ToStringTesting<JsonArrayList> {
+
+    @Test
+    public void testWithEmpty() {
+        assertSame(
+            JsonArrayList.EMPTY,
+            JsonArrayList.with(Lists.empty())
+        );
+    }
+
+    @Test
+    public void testWithDetachesElements() {
+        final JsonArray array = JsonNode.array()
+            .appendChild(JsonNode.string("first"));
+        final JsonNode element = array.get(0);
+
+        final JsonArrayList list = JsonArrayList.with(
+            Lists.of(
+                JsonNode.booleanNode(true),
+                element
+            )
+        );
+
+        final JsonNode value = list.values[1];
+        this.checkEquals(
+            true,
+            value.isRoot(),
+            "detached"
+        );
+        this.checkEquals(
+            JsonPropertyName.index(1),
+            value.name(),
+            "name"
+        );
+        this.checkEquals(
+            1,
+            value.index(),
+            "index"
+        );
+    }
+
+    @Test
+    public void testGetAdoptsOnce() {
+        final JsonArray array = JsonNode.array()
+            .appendChild(JsonNode.string("first"));
+
+        final JsonNode element = array.children.get(0);
+        assertSame(
+            array,
+            element.parentOrFail()
+        );
+        assertSame(
+            element,
+            array.children.get(0)
+        );
+    }
+
+    @Test
+    public void testGetWithoutParent() {
+        final JsonArrayList list = JsonArrayList.with(
+            Lists.of(
+                JsonNode.string("first")
+            )
+        );
+
+        final JsonNode element = list.get(0);
+        assertSame(
+            list.values[0],
+            element
+        );
+        this.checkEquals(
+            true,
+            element.isRoot(),
+            "root"
+        );
+    }
+
+    @Test
+    public void testJsonArray() {
+        final JsonNode value1 = JsonNode.booleanNode(true);
+        final JsonNode value2 = JsonNode.number(22);
+
+        this.checkEquals(
+            JsonArrayList.with(
+                Lists.of(
+                    value1,
+                    value2
+                )
+            ),
+            JsonNode.array()
+                .appendChild(value1)
+                .appendChild(value2)
+                .children
+        );
+    }
+
+    // packed...........................................................................................................
+
+    @Test
+    public void testWithNumbersPacked() {
+        final JsonArrayList list = JsonArrayList.with(
+            this.numbers(JsonArrayList.PACKED_MIN)
+        );
+
+        this.checkNotEquals(
+            null,
+            list.numbers,
+            "numbers"
+        );
+        this.checkEquals(
+            null,
+            list.values,
+            "values"
+        );
+    }
+
+    @Test
+    public void testWithFewNumbersNotPacked() {
+        this.checkEquals(
+            null,
+            JsonArrayList.with(
+                this.numbers(JsonArrayList.PACKED_MIN - 1)
+            ).numbers
+        );
+    }
+
+    @Test
+    public void testWithNumbersAndStringNotPacked() {
+        final List<JsonNode> elements = this.numbers(JsonArrayList.PACKED_MIN);
+        elements.add(
+            JsonNode.string("not a number")
+        );
+
+        this.checkEquals(
+            null,
+            JsonArrayList.with(elements)
+                .numbers
+        );
+    }
+
+    @Test
+    public void testPackedGet() {
+        final JsonArray array = JsonNode.array()
+            .setChildren(
+                this.numbers(JsonArrayList.PACKED_MIN)
+            );
+        final JsonNode element = array.get(2);
+
+        this.checkEquals(
+            JsonNode.number(2),
+            element.removeParent()
+        );
+        this.checkEquals(
+            2,
+            element.index(),
+            "index"
+        );
+        assertSame(
+            array,
+            element.parentOrFail()
+        );
+        assertSame(
+            element,
+            array.get(2)
+        );
+    }
+
+    @Test
+    public void testPackedEqualsUnpacked() {
+        final List<JsonNode> elements = this.numbers(JsonArrayList.PACKED_MIN);
+
+        final JsonArrayList list = JsonArrayList.with(elements);
+        this.checkEquals(
+            elements.size(),
+            list.size()
+        );
+        this.checkEquals(
+            elements,
+            list
+        );
+    }
+
+    private List<JsonNode> numbers(final int count) {
+        final List<JsonNode> numbers = Lists.array();
+        for (int i = 0; i < count; i++) {
+            numbers.add(
+                JsonNode.number(i)
+                    .setName(
+                        JsonPropertyName.index(i)
+                    )
+            );
+        }
+        return numbers;
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createList(),
+            "[true, false]"
+        );
+    }
+
+    @Override
+    public JsonArrayList createList() {
+        return JsonArrayList.with(
+            Lists.of(
+                JsonNode.booleanNode(true),
+                JsonNode.booleanNode(false)
+            )
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonArrayList> type() {
+        return JsonArrayList.class;
+    }
+}
@@ -19,15 +19,19 @@ package walkingkooka.tree.json;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.TextPrinting;
 import walkingkooka.visit.Visiting;
 
+import java.io.IOException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-public final class JsonArrayTest extends JsonParentNodeTestCase<JsonArray, List<JsonNode>> {
+public final class JsonArrayTest extends JsonParentNodeTestCase<JsonArray, JsonArrayList> {
 
     // insertChild......................................................................................................
 
@@ -821,6 +825,149 @@ public final class JsonArrayTest extends JsonParentNodeTestCase<JsonArray, List<
         );
     }
 
+    @Test
+    public void testPackedNumbersSetString() {
+        JsonArray array = JsonNode.array();
+        for (int i = 0; i < JsonArrayList.PACKED_MIN; i++) {
+            array = array.append(i);
+        }
+        this.checkNotEquals(
+            null,
+            array.children.numbers,
+            "packed"
+        );
+
+        final JsonArray updated = array.set(
+            1,
+            "string"
+        );
+        this.checkEquals(
+            null,
+            updated.children.numbers,
+            "packed"
+        );
+        this.checkEquals(
+            JsonNode.string("string"),
+            updated.get(1)
+                .removeParent()
+        );
+        this.checkEquals(
+            JsonNode.number(2),
+            updated.get(2)
+                .removeParent()
+        );
+    }
+
+    @Test
+    public void testPackedNumbersToString() {
+        JsonArray array = JsonNode.array();
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < JsonArrayList.PACKED_MIN; i++) {
+            array = array.append(i + 0.5);
+            b.append(i > 0 ? "," : "")
+                .append(i)
+                .append(".5");
+        }
+
+        this.checkEquals(
+            "[" + b + "]",
+            JsonNode.parse(array.toString())
+                .toString()
+                .replaceAll("\\s", "")
+        );
+        this.checkEquals(
+            array,
+            JsonNode.parse(array.toString())
+        );
+    }
+
+    @Test
+    public void testHashCodeAfterSetAndAppend() {
+        final JsonArray array = JsonNode.array()
+            .append(1)
+            .append("2")
+            .append(true);
+        array.hashCode();
+
+        this.checkEquals(
+            JsonNode.array()
+                .append(1)
+                .append("99")
+                .append(true)
+                .hashCode(),
+            array.set(1, "99")
+                .hashCode(),
+            "set"
+        );
+        this.checkEquals(
+            Lists.of(
+                JsonNode.number(1)
+                    .setName(JsonPropertyName.index(0)),
+                JsonNode.string("2")
+                    .setName(JsonPropertyName.index(1)),
+                JsonNode.booleanNode(true)
+                    .setName(JsonPropertyName.index(2)),
+                JsonNode.nullNode()
+                    .setName(JsonPropertyName.index(3))
+            ).hashCode(),
+            array.appendNull()
+                .hashCode(),
+            "append"
+        );
+    }
+
+    @Test
+    public void testHashCodeAfterSetPacked() {
+        JsonArray array = JsonNode.array();
+        JsonArray expected = JsonNode.array();
+        for (int i = 0; i < JsonArrayList.PACKED_MIN; i++) {
+            array = array.append(i);
+            expected = expected.append(0 == i ? 99 : i);
+        }
+        array.hashCode();
+
+        this.checkEquals(
+            expected.hashCode(),
+            array.set(0, 99.0)
+                .hashCode()
+        );
+    }
+
+    @Test
+    public void testSetSharesUntouchedSiblings() {
+        final JsonArray root = JsonNode.array()
+            .appendChild(
+                JsonNode.array()
+                    .appendChild(JsonNode.string("C1"))
+            ).appendChild(
+                JsonNode.array()
+                    .appendChild(JsonNode.string("C2"))
+            );
+
+        final JsonArray updatedRoot = root.get(1)
+            .arrayOrFail()
+            .set(0, JsonNode.string("C2-new"))
+            .parentOrFail()
+            .arrayOrFail();
+
+        assertSame(
+            root.children.values[0],
+            updatedRoot.children.values[0],
+            "untouched sibling should be shared"
+        );
+        assertSame(
+            updatedRoot,
+            updatedRoot.get(1)
+                .parentOrFail()
+        );
+        this.checkEquals(
+            JsonNode.string("C2-new"),
+            updatedRoot.get(1)
+                .arrayOrFail()
+                .get(0)
+        );
+    }
+
     @Test
     public void testReplaceChild2() {
         final JsonNode child1 = JsonNode.string("C1");
@@ -1150,6 +1297,121 @@ public final class JsonArrayTest extends JsonParentNodeTestCase<JsonArray, List<
             "visited");
     }
 
+    @Test
+    public void testAcceptNestedArrays() {
+        final StringBuilder b = new StringBuilder();
+
+        new FakeJsonNodeVisitor() {
+            @Override
+            protected Visiting startVisit(final JsonNode n) {
+                b.append("1");
+                return Visiting.CONTINUE;
+            }
+
+            @Override
+            protected void endVisit(final JsonNode n) {
+                b.append("2");
+            }
+
+            @Override
+            protected Visiting startVisit(final JsonArray t) {
+                b.append("5");
+                return Visiting.CONTINUE;
+            }
+
+            @Override
+            protected void endVisit(final JsonArray t) {
+                b.append("6");
+            }
+
+            @Override
+            protected void visit(final JsonString t) {
+                b.append("7");
+            }
+        }.accept(
+            JsonNode.array()
+                .appendChild(
+                    JsonNode.array()
+                        .appendChild(this.value1())
+                ).appendChild(this.value2())
+        );
+        this.checkEquals("15151726217262", b.toString());
+    }
+
+    @Test
+    public void testAcceptNestedArraysSkip() {
+        final StringBuilder b = new StringBuilder();
+
+        new FakeJsonNodeVisitor() {
+            @Override
+            protected Visiting startVisit(final JsonNode n) {
+                b.append("1");
+                return Visiting.CONTINUE;
+            }
+
+            @Override
+            protected void endVisit(final JsonNode n) {
+                b.append("2");
+            }
+
+            @Override
+            protected Visiting startVisit(final JsonArray t) {
+                b.append("5");
+                return t.children().isEmpty() || t.get(0).isArray() ?
+                    Visiting.CONTINUE :
+                    Visiting.SKIP;
+            }
+
+            @Override
+            protected void endVisit(final JsonArray t) {
+                b.append("6");
+            }
+
+            @Override
+            protected void visit(final JsonString t) {
+                b.append("7");
+            }
+        }.accept(
+            JsonNode.array()
+                .appendChild(
+                    JsonNode.array()
+                        .appendChild(this.value1())
+                ).appendChild(this.value2())
+        );
+        this.checkEquals("15156217262", b.toString());
+    }
+
+    @Test
+    public void testAcceptDeep() {
+        final int[] counts = new int[2];
+
+        new FakeJsonNodeVisitor() {
+            @Override
+            protected Visiting startVisit(final JsonArray t) {
+                counts[0]++;
+                return Visiting.CONTINUE;
+            }
+
+            @Override
+            protected void endVisit(final JsonArray t) {
+                counts[1]++;
+            }
+        }.accept(
+            deep(JsonNode.number(1))
+        );
+
+        this.checkEquals(
+            DEEP,
+            counts[0],
+            "startVisit"
+        );
+        this.checkEquals(
+            DEEP,
+            counts[1],
+            "endVisit"
+        );
+    }
+
     // selector.........................................................................................................
 
     @Test
@@ -1257,6 +1519,29 @@ public final class JsonArrayTest extends JsonParentNodeTestCase<JsonArray, List<
         );
     }
 
+    @Test
+    public void testRemoveFalseLikeDeep() {
+        this.checkEquals(
+            deep(
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("b"),
+                        1
+                    )
+            ),
+            deep(
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("a"),
+                        false
+                    ).set(
+                        JsonPropertyName.with("b"),
+                        1
+                    )
+            ).removeFalseLike()
+        );
+    }
+
     // HashCodeAnddEqualityDefined......................................................................................
 
     @Test
@@ -1452,4 +1737,70 @@ public final class JsonArrayTest extends JsonParentNodeTestCase<JsonArray, List<
                 "]\n"
         );
     }
+
+    // deep.............................................................................................................
+
+    /**
+     * Deep enough to overflow the thread stack if any of the tested methods recursed.
+     */
+    private final static int DEEP = 100_000;
+
+    @Test
+    public void testHashCodeDeep() {
+        this.checkEquals(
+            deep(JsonNode.number(1)).hashCode(),
+            deep(JsonNode.number(1)).hashCode()
+        );
+    }
+
+    @Test
+    public void testEqualsDeep() {
+        this.checkEquals(
+            deep(JsonNode.number(1)),
+            deep(JsonNode.number(1))
+        );
+    }
+
+    @Test
+    public void testEqualsDeepDifferent() {
+        this.checkNotEquals(
+            deep(JsonNode.number(1)),
+            deep(JsonNode.number(2))
+        );
+    }
+
+    @Test
+    public void testToJsonTextDeep() {
+        this.checkEquals(
+            "[".repeat(DEEP) + "1" + "]".repeat(DEEP),
+            deep(JsonNode.number(1))
+                .toJsonText(
+                    TextPrinting.with(
+                        Indentation.EMPTY,
+                        LineEnding.NONE
+                    )
+                )
+        );
+    }
+
+    @Test
+    public void testAppendCompactJsonDeep() throws IOException {
+        final StringBuilder b = new StringBuilder();
+        deep(JsonNode.number(1))
+            .appendCompactJson(b);
+
+        this.checkEquals(
+            "[".repeat(DEEP) + "1" + "]".repeat(DEEP),
+            b.toString()
+        );
+    }
+
+    private static JsonNode deep(final JsonNode value) {
+        JsonNode node = value;
+        for (int i = 0; i < DEEP; i++) {
+            node = JsonNode.array()
+                .appendChild(node);
+        }
+        return node;
+    }
 }
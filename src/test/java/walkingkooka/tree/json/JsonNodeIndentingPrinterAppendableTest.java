@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.TextPrinting;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.Printers;
+
+public final class JsonNodeIndentingPrinterAppendableTest implements ClassTesting2<JsonNodeIndentingPrinterAppendable> {
+
+    @Test
+    public void testAppend() {
+        final StringBuilder b = new StringBuilder();
+        final IndentingPrinter printer = Printers.stringBuilder(
+            b,
+            LineEnding.NL
+        ).indenting(Indentation.SPACES2);
+
+        JsonNodeIndentingPrinterAppendable.with(printer)
+            .append("abc")
+            .append('d')
+            .append("-efg-", 1, 4);
+        printer.flush();
+
+        this.checkEquals(
+            "abcdefg",
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testPrintJsonSameAsToJsonText() {
+        final JsonNode node = JsonNode.object()
+            .set(
+                JsonPropertyName.with("a\"1"),
+                JsonNode.array()
+                    .append("b\nc")
+                    .append(1.5)
+                    .append(JsonNode.object())
+                    .append(JsonNode.array())
+            ).set(
+                JsonPropertyName.with("d"),
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("e"),
+                        JsonNode.booleanNode(true)
+                    )
+            ).set(
+                JsonPropertyName.with("f"),
+                JsonNode.nullNode()
+            );
+
+        final StringBuilder b = new StringBuilder();
+        try (final IndentingPrinter printer = Printers.stringBuilder(b, LineEnding.NL).indenting(Indentation.SPACES2)) {
+            node.printJson(printer);
+        }
+
+        this.checkEquals(
+            node.toJsonText(
+                TextPrinting.with(
+                    Indentation.SPACES2,
+                    LineEnding.NL
+                )
+            ),
+            b.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeIndentingPrinterAppendable> type() {
+        return JsonNodeIndentingPrinterAppendable.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
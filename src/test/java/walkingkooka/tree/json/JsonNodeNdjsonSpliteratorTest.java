@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+public final class JsonNodeNdjsonSpliteratorTest implements ClassTesting2<JsonNodeNdjsonSpliterator> {
+
+    @Test
+    public void testEmpty() {
+        this.recordsAndCheck(
+            ""
+        );
+    }
+
+    @Test
+    public void testBlankLines() {
+        this.recordsAndCheck(
+            "\n \n\t\r\n"
+        );
+    }
+
+    @Test
+    public void testOneRecordWithoutNewLine() {
+        this.recordsAndCheck(
+            "1",
+            "1"
+        );
+    }
+
+    @Test
+    public void testManyRecords() {
+        this.recordsAndCheck(
+            "1\n\"a\"\n[]\n",
+            "1",
+            "\"a\"",
+            "[]"
+        );
+    }
+
+    @Test
+    public void testCarriageReturnNewLine() {
+        this.recordsAndCheck(
+            "1\r\n2\r\n",
+            "1",
+            "2"
+        );
+    }
+
+    @Test
+    public void testMultiByte() {
+        this.recordsAndCheck(
+            "\"é\"\n\"中😀\"",
+            "\"é\"",
+            "\"中😀\""
+        );
+    }
+
+    @Test
+    public void testRecordsLongerThanBuffer() {
+        final StringBuilder b = new StringBuilder();
+        while (b.length() < JsonNodeNdjsonSpliterator.BUFFER_SIZE * 2) {
+            b.append("é中😀");
+        }
+        final String record = "\"" + b + "\"";
+
+        this.recordsAndCheck(
+            record + "\n1\n" + record,
+            record,
+            "1",
+            record
+        );
+    }
+
+    private void recordsAndCheck(final String ndjson,
+                                 final String... records) {
+        final List<String> read = StreamSupport.stream(
+            JsonNodeNdjsonSpliterator.with(
+                new ByteArrayInputStream(
+                    ndjson.getBytes(StandardCharsets.UTF_8)
+                )
+            ),
+            false
+        ).map(r -> new String(r, StandardCharsets.UTF_8))
+            .collect(Collectors.toList());
+
+        this.checkEquals(
+            Lists.of(records),
+            read,
+            () -> ndjson
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeNdjsonSpliterator> type() {
+        return JsonNodeNdjsonSpliterator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public final class JsonNodeOutputStreamAppendableTest implements ClassTesting2<JsonNodeOutputStreamAppendable> {
+
+    @Test
+    public void testUtf8Ascii() throws IOException {
+        this.appendAndCheck(
+            "abc123",
+            StandardCharsets.UTF_8
+        );
+    }
+
+    @Test
+    public void testUtf8MultiByte() throws IOException {
+        this.appendAndCheck(
+            "aé中😀z",
+            StandardCharsets.UTF_8
+        );
+    }
+
+    @Test
+    public void testUtf8UnpairedSurrogates() throws IOException {
+        this.appendAndCheck(
+            "a\ud83dz\ude00",
+            StandardCharsets.UTF_8
+        );
+    }
+
+    @Test
+    public void testUtf8UnpairedHighSurrogateLast() throws IOException {
+        this.appendAndCheck(
+            "a\ud83d",
+            StandardCharsets.UTF_8
+        );
+    }
+
+    @Test
+    public void testUtf8LargerThanBuffer() throws IOException {
+        final StringBuilder b = new StringBuilder();
+        while (b.length() < JsonNodeOutputStreamAppendable.BUFFER_SIZE * 3) {
+            b.append("abcé中😀");
+        }
+
+        this.appendAndCheck(
+            b.toString(),
+            StandardCharsets.UTF_8
+        );
+    }
+
+    @Test
+    public void testUtf16LargerThanBuffer() throws IOException {
+        final StringBuilder b = new StringBuilder();
+        while (b.length() < JsonNodeOutputStreamAppendable.BUFFER_SIZE * 3) {
+            b.append("abcé中😀");
+        }
+
+        this.appendAndCheck(
+            b.toString(),
+            StandardCharsets.UTF_16
+        );
+    }
+
+    @Test
+    public void testIso88591() throws IOException {
+        this.appendAndCheck(
+            "abcé中",
+            StandardCharsets.ISO_8859_1
+        );
+    }
+
+    private void appendAndCheck(final String text,
+                                final Charset charset) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        final JsonNodeOutputStreamAppendable appendable = JsonNodeOutputStreamAppendable.with(
+            bytes,
+            charset
+        );
+        appendable.append(text);
+        appendable.flush();
+
+        this.checkEquals(
+            new String(text.getBytes(charset), charset),
+            new String(bytes.toByteArray(), charset),
+            () -> "append " + charset
+        );
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        final JsonNode node = JsonNode.object()
+            .set(
+                JsonPropertyName.with("aé"),
+                JsonNode.array()
+                    .append("中😀")
+                    .append(1.5)
+            );
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        node.writeTo(
+            bytes,
+            StandardCharsets.UTF_8
+        );
+
+        this.checkEquals(
+            node.toString(),
+            new String(bytes.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void testWriteCompactTo() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonNode.array()
+            .append("é")
+            .append(true)
+            .writeCompactTo(
+                bytes,
+                StandardCharsets.UTF_8
+            );
+
+        this.checkEquals(
+            "[\"é\",true]",
+            new String(bytes.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeOutputStreamAppendable> type() {
+        return JsonNodeOutputStreamAppendable.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class JsonNodeStackTest implements ClassTesting2<JsonNodeStack>,
+    ToStringTesting<JsonNodeStack> {
+
+    @Test
+    public void testEmpty() {
+        this.checkEquals(
+            true,
+            JsonNodeStack.empty()
+                .isEmpty()
+        );
+    }
+
+    @Test
+    public void testPushAndPop() {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+        stack.push("a1", "a2");
+        stack.push("b1", "b2");
+
+        this.checkEquals("b1", stack.first(), "first");
+        this.checkEquals("b2", stack.second(), "second");
+
+        stack.pop();
+
+        this.checkEquals("a1", stack.first(), "first");
+        this.checkEquals("a2", stack.second(), "second");
+
+        stack.pop();
+
+        this.checkEquals(
+            true,
+            stack.isEmpty()
+        );
+    }
+
+    @Test
+    public void testSetSecond() {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+        stack.push("a1", "a2");
+        stack.push("b1", "b2");
+
+        stack.setSecond("b3");
+
+        this.checkEquals("b1", stack.first(), "first");
+        this.checkEquals("b3", stack.second(), "second");
+
+        stack.pop();
+
+        this.checkEquals("a2", stack.second(), "second");
+    }
+
+    @Test
+    public void testNextIndex() {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+        stack.push("a1", "a2");
+
+        this.checkEquals(0, stack.nextIndex());
+        this.checkEquals(1, stack.nextIndex());
+
+        stack.push("b1", "b2");
+
+        this.checkEquals(0, stack.index());
+        this.checkEquals(0, stack.nextIndex());
+
+        stack.pop();
+
+        this.checkEquals(2, stack.index());
+    }
+
+    @Test
+    public void testPushMany() {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+
+        final int count = 1000;
+        for (int i = 0; i < count; i++) {
+            stack.push(i, -i);
+            for (int j = 0; j < i; j++) {
+                stack.nextIndex();
+            }
+        }
+
+        for (int i = count - 1; i >= 0; i--) {
+            this.checkEquals(i, stack.<Integer>first(), "first");
+            this.checkEquals(-i, stack.<Integer>second(), "second");
+            this.checkEquals(i, stack.index(), "index");
+            stack.pop();
+        }
+
+        this.checkEquals(
+            true,
+            stack.isEmpty()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final JsonNodeStack stack = JsonNodeStack.empty();
+        stack.push("a1", "a2");
+        stack.push("b1", "b2");
+
+        this.toStringAndCheck(
+            stack,
+            "2 entries"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeStack> type() {
+        return JsonNodeStack.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -18,12 +18,22 @@
 package walkingkooka.tree.json;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.test.ParseStringTesting;
 import walkingkooka.text.Indentation;
 import walkingkooka.text.LineEnding;
 import walkingkooka.tree.HasTextOffsetTesting;
+import walkingkooka.tree.json.parser.JsonNodeParserException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -188,6 +198,24 @@ public final class JsonNodeTest implements ClassTesting2<JsonNode>,
         );
     }
 
+    @Test
+    public void testParseNumberExponentToString() {
+        this.checkEquals(
+            "100",
+            JsonNode.parse("1e2")
+                .toString()
+        );
+    }
+
+    @Test
+    public void testParseNumberManyDigitsToString() {
+        this.checkEquals(
+            "12345678901234567890",
+            JsonNode.parse("12345678901234567890")
+                .toString()
+        );
+    }
+
     @Test
     public void testParseNumberNaN() {
         this.parseStringAndCheck(
@@ -383,6 +411,183 @@ public final class JsonNodeTest implements ClassTesting2<JsonNode>,
         );
     }
 
+    // parseUtf8........................................................................................................
+
+    @Test
+    public void testParseUtf8NullBytesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonNode.parseUtf8(null)
+        );
+    }
+
+    @Test
+    public void testParseUtf8InvalidOffsetFails() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> JsonNode.parseUtf8(
+                new byte[2],
+                1,
+                2
+            )
+        );
+    }
+
+    @Test
+    public void testParseUtf8() {
+        final JsonNode node = JsonNode.object()
+            .set(
+                JsonPropertyName.with("a\u00e9"),
+                JsonNode.array()
+                    .append("\u4e2d")
+                    .append(1.5)
+            );
+
+        this.checkEquals(
+            node,
+            JsonNode.parseUtf8(
+                node.toString()
+                    .getBytes(StandardCharsets.UTF_8)
+            )
+        );
+    }
+
+    // ndjson...........................................................................................................
+
+    @Test
+    public void testParseNdjsonNullInputStreamFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonNode.parseNdjson(null)
+        );
+    }
+
+    @Test
+    public void testParseNdjson() {
+        this.checkEquals(
+            Lists.of(
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("a"),
+                        1
+                    ),
+                JsonNode.array()
+                    .append("b"),
+                JsonNode.string("c")
+            ),
+            JsonNode.parseNdjson(
+                new ByteArrayInputStream(
+                    "{\"a\": 1}\n[\"b\"]\r\n\n\"c\"".getBytes(StandardCharsets.UTF_8)
+                )
+            ).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testParseNdjsonInvalidRecordFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonNode.parseNdjson(
+                new ByteArrayInputStream(
+                    "1\n[2\n".getBytes(StandardCharsets.UTF_8)
+                )
+            ).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testParseNdjsonInvalidUtf8RecordFails() {
+        final byte[] record = {
+            '"',
+            'a',
+            (byte) 0xC0,
+            (byte) 0xAF,
+            '"'
+        };
+
+        final byte[] ndjson = new byte[2 + record.length];
+        ndjson[0] = '1';
+        ndjson[1] = '\n';
+        System.arraycopy(
+            record,
+            0,
+            ndjson,
+            2,
+            record.length
+        );
+
+        final JsonNodeParserException expected = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNode.parseUtf8(record)
+        );
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNode.parseNdjson(
+                new ByteArrayInputStream(ndjson)
+            ).collect(Collectors.toList())
+        );
+
+        this.checkEquals(
+            expected.getMessage(),
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testAppendNdjson() throws IOException {
+        final StringBuilder b = new StringBuilder();
+        JsonNode.appendNdjson(
+            Stream.of(
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("a"),
+                        JsonNode.array()
+                            .append(1)
+                            .append("\n")
+                    ),
+                JsonNode.nullNode()
+            ),
+            b
+        );
+
+        this.checkEquals(
+            "{\"a\":[1,\"\\n\"]}\nnull\n",
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testWriteNdjsonParseNdjsonRoundtrip() throws IOException {
+        final List<JsonNode> records = Lists.array();
+        for (int i = 0; i < 1000; i++) {
+            records.add(
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("id"),
+                        i
+                    ).set(
+                        JsonPropertyName.with("name"),
+                        "r\u00e9cord " + i
+                    )
+            );
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonNode.writeNdjson(
+            records.stream(),
+            bytes
+        );
+
+        this.checkEquals(
+            records,
+            JsonNode.parseNdjson(
+                new ByteArrayInputStream(bytes.toByteArray())
+            ).parallel()
+                .collect(Collectors.toList())
+        );
+    }
+
     // ClassTesting.....................................................................................................
 
     @Override
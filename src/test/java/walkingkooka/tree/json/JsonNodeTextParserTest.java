@@ -0,0 +1,854 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.tree.json.parser.JsonNodeParserContext;
+import walkingkooka.tree.json.parser.JsonNodeParserContexts;
+import walkingkooka.tree.json.parser.JsonNodeParserException;
+import walkingkooka.tree.json.parser.JsonNodeParserToken;
+import walkingkooka.tree.json.parser.JsonNodeParsers;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonNodeTextParserTest implements ClassTesting2<JsonNodeTextParser> {
+
+    // fails............................................................................................................
+
+    @Test
+    public void testEmptyFails() {
+        this.parseFails(
+            "",
+            "End of text at (1,1) expected value"
+        );
+    }
+
+    @Test
+    public void testInvalidCharacterFails() {
+        this.parseFails(
+            "!",
+            "Invalid character '!' at (1,1) expected value"
+        );
+    }
+
+    @Test
+    public void testTrailingTextFails() {
+        this.parseFails(
+            "true false",
+            "Invalid character 'f' at (6,1) expected end of text"
+        );
+    }
+
+    @Test
+    public void testInvalidLiteralFails() {
+        this.parseFails(
+            "[tru]",
+            "Invalid character 't' at (2,1) expected true"
+        );
+    }
+
+    @Test
+    public void testStringMissingClosingQuoteFails() {
+        this.parseFails(
+            "\"abc",
+            "End of text at (5,1) expected closing '\"'"
+        );
+    }
+
+    @Test
+    public void testStringInvalidUnicodeEscapeFails() {
+        this.parseFails(
+            "\"\\u12x4\"",
+            "Invalid character 'x' at (6,1) expected hex digit"
+        );
+    }
+
+    @Test
+    public void testStringInvalidEscapeFails() {
+        this.parseFails(
+            "\"a\\xb\"",
+            "Invalid character 'x' at (4,1) expected escape sequence"
+        );
+    }
+
+    @Test
+    public void testNonJsonWhitespaceFails() {
+        // form feed and line separator are whitespace to Character#isWhitespace but not json
+        for (final String text : new String[]{"[1,\f2]", "\u2028[1]"}) {
+            assertThrows(
+                JsonNodeParserException.class,
+                () -> JsonNodeTextParser.parse(text)
+            );
+            assertThrows(
+                JsonNodeParserException.class,
+                () -> JsonNodeTextParser.parseLazy(text)
+            );
+        }
+    }
+
+    @Test
+    public void testArrayMissingSeparatorFails() {
+        this.parseFails(
+            "[1 2]",
+            "Invalid character '2' at (4,1) expected ',' or ']'"
+        );
+    }
+
+    @Test
+    public void testArrayIncompleteFails() {
+        this.parseFails(
+            "[1,",
+            "End of text at (4,1) expected value"
+        );
+    }
+
+    @Test
+    public void testObjectPropertyNameNotStringFails() {
+        this.parseFails(
+            "{1: 2}",
+            "Invalid character '1' at (2,1) expected property name"
+        );
+    }
+
+    @Test
+    public void testObjectMissingAssignmentFails() {
+        this.parseFails(
+            "{\"a\" 2}",
+            "Invalid character '2' at (6,1) expected ':'"
+        );
+    }
+
+    @Test
+    public void testObjectMissingCloseFails() {
+        this.parseFails(
+            "{\"a\": 2",
+            "End of text at (8,1) expected ',' or '}'"
+        );
+    }
+
+    @Test
+    public void testNumberMissingFractionDigitsFails() {
+        this.parseFails(
+            "1.",
+            "End of text at (3,1) expected digit"
+        );
+    }
+
+    @Test
+    public void testLineAndColumnFails() {
+        this.parseFails(
+            "[\n  1,\n  !]",
+            "Invalid character '!' at (3,3) expected value"
+        );
+    }
+
+    private void parseFails(final String text,
+                            final String message) {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNodeTextParser.parse(text)
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage(),
+            () -> "parse " + text
+        );
+
+        final JsonNodeParserException lazyThrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNodeTextParser.parseLazy(text)
+        );
+        this.checkEquals(
+            message,
+            lazyThrown.getMessage(),
+            () -> "parseLazy " + text
+        );
+    }
+
+    // limits...........................................................................................................
+
+    @Test
+    public void testMaxDepthExceededFails() {
+        this.parseLimitFails(
+            "[[{\"a\": [1]}]]",
+            JsonNodeParserContexts.basic(
+                3, // maxDepth
+                100, // maxDocumentLength
+                100, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            ),
+            "Maximum depth 3 exceeded at (9,1)"
+        );
+    }
+
+    @Test
+    public void testMaxDocumentLengthExceededFails() {
+        this.parseLimitFails(
+            "[1, 2, 3]",
+            JsonNodeParserContexts.basic(
+                100, // maxDepth
+                5, // maxDocumentLength
+                100, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            ),
+            "Maximum document length 5 exceeded at (6,1)"
+        );
+    }
+
+    @Test
+    public void testMaxStringLengthExceededFails() {
+        this.parseLimitFails(
+            "[\"abc\", \"abcd\"]",
+            JsonNodeParserContexts.basic(
+                100, // maxDepth
+                100, // maxDocumentLength
+                3, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            ),
+            "Maximum string length 3 exceeded at (13,1)"
+        );
+    }
+
+    @Test
+    public void testMaxStringLengthEscapedExceededFails() {
+        this.parseLimitFails(
+            "\"a\\nb\\u0041c\"",
+            JsonNodeParserContexts.basic(
+                100, // maxDepth
+                100, // maxDocumentLength
+                3, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            ),
+            "Maximum string length 3 exceeded at (11,1)"
+        );
+    }
+
+    @Test
+    public void testMaxStringLengthPropertyNameExceededFails() {
+        this.parseLimitFails(
+            "{\n\"abcd\": 1}",
+            JsonNodeParserContexts.basic(
+                100, // maxDepth
+                100, // maxDocumentLength
+                3, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            ),
+            "Maximum string length 3 exceeded at (5,2)"
+        );
+    }
+
+    @Test
+    public void testMaxObjectMembersExceededFails() {
+        this.parseLimitFails(
+            "{\"a\": [1, 2, 3], \"b\": {}, \"c\": null}",
+            JsonNodeParserContexts.basic(
+                100, // maxDepth
+                100, // maxDocumentLength
+                100, // maxStringLength
+                2, // maxObjectMembers
+                100 // maxArrayElements
+            ),
+            "Maximum object members 2 exceeded at (27,1)"
+        );
+    }
+
+    @Test
+    public void testMaxArrayElementsExceededFails() {
+        this.parseLimitFails(
+            "{\"a\": [[1, 2], {\"b\": 3}, 4]}",
+            JsonNodeParserContexts.basic(
+                100, // maxDepth
+                100, // maxDocumentLength
+                100, // maxStringLength
+                100, // maxObjectMembers
+                2 // maxArrayElements
+            ),
+            "Maximum array elements 2 exceeded at (26,1)"
+        );
+    }
+
+    @Test
+    public void testWithinLimits() {
+        final String text = "{\"ab\": [1, \"cd\"], \"e\": {}}";
+        final JsonNodeParserContext context = JsonNodeParserContexts.basic(
+            2, // maxDepth
+            text.length(), // maxDocumentLength
+            2, // maxStringLength
+            2, // maxObjectMembers
+            2 // maxArrayElements
+        );
+
+        this.checkEquals(
+            JsonNodeTextParser.parse(text),
+            JsonNodeTextParser.parse(
+                text,
+                context
+            )
+        );
+        this.checkEquals(
+            JsonNodeParsers.value()
+                .parseText(
+                    text,
+                    JsonNodeParserContexts.basic()
+                ),
+            JsonNodeParsers.value()
+                .parseText(
+                    text,
+                    context
+                )
+        );
+    }
+
+    /**
+     * Both the text parser and the {@link JsonNodeParsers#value()} fail with the same message.
+     */
+    private void parseLimitFails(final String text,
+                                 final JsonNodeParserContext context,
+                                 final String message) {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNodeTextParser.parse(
+                text,
+                context
+            )
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage(),
+            () -> "parse " + text
+        );
+
+        final JsonNodeParserException parsersThrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNodeParsers.value()
+                .parse(
+                    TextCursors.charSequence(text),
+                    context
+                )
+        );
+        this.checkEquals(
+            message,
+            parsersThrown.getMessage(),
+            () -> "JsonNodeParsers.value " + text
+        );
+    }
+
+    // parse............................................................................................................
+
+    @Test
+    public void testTrue() {
+        this.parseAndCheck(
+            "true",
+            JsonNode.booleanNode(true)
+        );
+    }
+
+    @Test
+    public void testFalse() {
+        this.parseAndCheck(
+            "false",
+            JsonNode.booleanNode(false)
+        );
+    }
+
+    @Test
+    public void testNull() {
+        this.parseAndCheck(
+            "null",
+            JsonNode.nullNode()
+        );
+    }
+
+    @Test
+    public void testNumberInteger() {
+        this.parseAndCheck(
+            "123",
+            JsonNode.number(123)
+        );
+    }
+
+    @Test
+    public void testNumberNegativeDecimal() {
+        this.parseAndCheck(
+            "-123.5",
+            JsonNode.number(-123.5)
+        );
+    }
+
+    @Test
+    public void testNumberNegativeZero() {
+        this.parseAndCheck(
+            "-0",
+            JsonNode.number(-0.0)
+        );
+    }
+
+    @Test
+    public void testNumberDecimalsSameAsParseDouble() {
+        for (final String text : new String[]{
+            "0.1",
+            "0.3",
+            "-2.675",
+            "123456.789012",
+            "99999999999999",
+            "0.000000000001",
+            "+1.25"
+        }) {
+            this.parseAndCheck(
+                text,
+                JsonNode.number(
+                    Double.parseDouble(text)
+                )
+            );
+        }
+    }
+
+    @Test
+    public void testNumberExponent() {
+        this.parseAndCheck(
+            "1.5e3",
+            JsonNode.number(new BigDecimal("1.5e3"))
+        );
+    }
+
+    @Test
+    public void testNumberManyDigits() {
+        this.parseAndCheck(
+            "12345678901234567890",
+            JsonNode.number(new BigDecimal("12345678901234567890"))
+        );
+    }
+
+    @Test
+    public void testNumberNaN() {
+        this.parseAndCheck(
+            "NaN",
+            JsonNode.number(Double.NaN)
+        );
+    }
+
+    @Test
+    public void testNumberNegativeInfinity() {
+        this.parseAndCheck(
+            "-Infinity",
+            JsonNode.number(Double.NEGATIVE_INFINITY)
+        );
+    }
+
+    @Test
+    public void testString() {
+        this.parseAndCheck(
+            "\"abc\"",
+            JsonNode.string("abc")
+        );
+    }
+
+    @Test
+    public void testStringEscaped() {
+        this.parseAndCheck(
+            "\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u0041\"",
+            JsonNode.string("a\"b\\c/d\b\f\n\r\tA")
+        );
+    }
+
+    @Test
+    public void testWhitespaceBeforeAndAfter() {
+        this.parseAndCheck(
+            " \n\t[1]\r\n ",
+            JsonNode.array()
+                .append(1)
+        );
+    }
+
+    @Test
+    public void testArray() {
+        this.parseAndCheck(
+            "[ 1 , \"two\" ,true,null , [] , {} ]",
+            JsonNode.array()
+                .append(1)
+                .append("two")
+                .append(true)
+                .appendNull()
+                .appendChild(JsonNode.array())
+                .appendChild(JsonNode.object())
+        );
+    }
+
+    @Test
+    public void testObject() {
+        this.parseAndCheck(
+            "{ \"a\" : 1 , \"b\":[true], \"c\": {\"d\": null} }",
+            JsonNode.object()
+                .set(
+                    JsonPropertyName.with("a"),
+                    1
+                ).set(
+                    JsonPropertyName.with("b"),
+                    JsonNode.array()
+                        .append(true)
+                ).set(
+                    JsonPropertyName.with("c"),
+                    JsonNode.object()
+                        .setNull(JsonPropertyName.with("d"))
+                )
+        );
+    }
+
+    @Test
+    public void testObjectDuplicateProperty() {
+        this.parseAndCheck(
+            "{\"a\": 1, \"a\": 2}",
+            JsonNode.object()
+                .set(
+                    JsonPropertyName.with("a"),
+                    2
+                )
+        );
+    }
+
+    @Test
+    public void testObjectPropertyOrder() {
+        final JsonNode node = JsonNodeTextParser.parse("{\"z\": 1, \"a\": 2, \"m\": 3}");
+
+        this.checkEquals(
+            "z,a,m",
+            node.children()
+                .stream()
+                .map(c -> c.name().value())
+                .collect(Collectors.joining(","))
+        );
+    }
+
+    @Test
+    public void testSameAsTokenParser() {
+        final JsonNode node = JsonNode.object()
+            .set(
+                JsonPropertyName.with("string"),
+                "a\"b\\c\n\u0001\u00e9"
+            ).set(
+                JsonPropertyName.with("numbers"),
+                JsonNode.array()
+                    .append(0)
+                    .append(-1.25)
+                    .append(1e300)
+            ).set(
+                JsonPropertyName.with("nested"),
+                JsonNode.array()
+                    .appendChild(
+                        JsonNode.object()
+                            .set(
+                                JsonPropertyName.with("true"),
+                                true
+                            ).setNull(JsonPropertyName.with("null"))
+                    )
+            );
+        final String text = node.toString();
+
+        this.checkEquals(
+            JsonNodeParsers.value()
+                .parseText(
+                    text,
+                    JsonNodeParserContexts.basic()
+                ).cast(JsonNodeParserToken.class)
+                .toJsonNode()
+                .get(),
+            JsonNodeTextParser.parse(text)
+        );
+    }
+
+    private void parseAndCheck(final String text,
+                               final JsonNode expected) {
+        this.checkEquals(
+            expected,
+            JsonNodeTextParser.parse(text),
+            () -> "parse " + text
+        );
+        this.checkEquals(
+            expected,
+            JsonNodeTextParser.parseLazy(text),
+            () -> "parseLazy " + text
+        );
+    }
+
+    // deep.............................................................................................................
+
+    /**
+     * Deep enough to overflow the thread stack if parsing recursed.
+     */
+    private final static int DEEP = 100_000;
+
+    @Test
+    public void testParseDeepArrays() {
+        this.parseAndCheck(
+            "[".repeat(DEEP) + "1" + "]".repeat(DEEP),
+            deep(
+                JsonNode.number(1),
+                false
+            )
+        );
+    }
+
+    @Test
+    public void testParseDeepObjects() {
+        this.parseAndCheck(
+            "{\"a\": ".repeat(DEEP) + "true" + "}".repeat(DEEP),
+            deep(
+                JsonNode.booleanNode(true),
+                true
+            )
+        );
+    }
+
+    @Test
+    public void testParseDeepObjectsAndArrays() {
+        final StringBuilder text = new StringBuilder();
+        JsonNode expected = JsonNode.string("x");
+
+        for (int i = DEEP - 1; i >= 0; i--) {
+            text.append(
+                0 == i % 2 ?
+                    "[1, " :
+                    "{\"a\": [], \"b\": "
+            );
+        }
+        text.append("\"x\"");
+
+        for (int i = 0; i < DEEP; i++) {
+            if (0 == i % 2) {
+                text.append(", {}]");
+                expected = JsonNode.array()
+                    .append(1)
+                    .appendChild(expected)
+                    .appendChild(JsonNode.object());
+            } else {
+                text.append('}');
+                expected = JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("a"),
+                        JsonNode.array()
+                    ).set(
+                        JsonPropertyName.with("b"),
+                        expected
+                    );
+            }
+        }
+
+        this.parseAndCheck(
+            text.toString(),
+            expected
+        );
+    }
+
+    @Test
+    public void testParseDeepMaxDepthExceededFails() {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNodeTextParser.parse(
+                "[".repeat(DEEP) + "]".repeat(DEEP),
+                JsonNodeParserContexts.basic(
+                    DEEP - 1, // maxDepth
+                    Integer.MAX_VALUE, // maxDocumentLength
+                    Integer.MAX_VALUE, // maxStringLength
+                    Integer.MAX_VALUE, // maxObjectMembers
+                    Integer.MAX_VALUE // maxArrayElements
+                )
+            )
+        );
+        this.checkEquals(
+            "Maximum depth " + (DEEP - 1) + " exceeded at (" + DEEP + ",1)",
+            thrown.getMessage()
+        );
+    }
+
+    private static JsonNode deep(final JsonNode value,
+                                 final boolean object) {
+        JsonNode node = value;
+        for (int i = 0; i < DEEP; i++) {
+            node = object ?
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("a"),
+                        node
+                    ) :
+                JsonNode.array()
+                    .appendChild(node);
+        }
+        return node;
+    }
+
+    // parseLazy........................................................................................................
+
+    @Test
+    public void testParseLazyArrayElementsParsedWhenFetched() {
+        final JsonArray array = JsonNodeTextParser.parseLazy("[1, {\"a\": [2]}, \"x\"]")
+            .arrayOrFail();
+        final JsonNode[] values = array.children.values;
+
+        this.checkEquals(
+            3,
+            values.length,
+            "values"
+        );
+        this.checkEquals(
+            Arrays.asList(null, null, null),
+            Arrays.asList(values),
+            "nothing fetched"
+        );
+
+        final JsonNode element = array.get(1);
+        this.checkEquals(
+            JsonNode.object()
+                .set(
+                    JsonPropertyName.with("a"),
+                    JsonNode.array()
+                        .append(2)
+                ),
+            element
+        );
+        this.checkEquals(
+            Arrays.asList(null, element, null),
+            Arrays.asList(values),
+            "only fetched element parsed"
+        );
+    }
+
+    @Test
+    public void testParseLazyObjectPropertiesParsedWhenFetched() {
+        final JsonObject object = JsonNodeTextParser.parseLazy("{\"a\": [1, 2], \"b\": true, \"c\": {\"d\": null}}")
+            .objectOrFail();
+
+        this.checkEquals(
+            JsonNode.booleanNode(true),
+            object.getOrFail(JsonPropertyName.with("b"))
+        );
+
+        final JsonNode[] values = object.children.values;
+        this.checkEquals(
+            null,
+            values[0],
+            "a"
+        );
+        this.checkEquals(
+            null,
+            values[2],
+            "c"
+        );
+    }
+
+    @Test
+    public void testParseLazyObjectManyPropertiesDuplicate() {
+        final StringBuilder json = new StringBuilder();
+        final JsonObjectBuilder builder = JsonNode.objectBuilder();
+
+        json.append('{');
+        for (int i = 0; i < 20; i++) {
+            json.append("\"p")
+                .append(i % 15)
+                .append("\": ")
+                .append(i)
+                .append(',');
+            builder.set(
+                JsonPropertyName.with("p" + (i % 15)),
+                i
+            );
+        }
+        json.append("\"last\": \"\\u0041\"}");
+        builder.set(
+            JsonPropertyName.with("last"),
+            "A"
+        );
+
+        this.parseAndCheck(
+            json.toString(),
+            builder.build()
+        );
+    }
+
+    @Test
+    public void testParseLazySetAndRemove() {
+        final String text = "{\"a\": 1, \"b\": [true, false], \"c\": \"x\"}";
+        final JsonObject lazy = JsonNodeTextParser.parseLazy(text)
+            .objectOrFail();
+        final JsonObject eager = JsonNodeTextParser.parse(text)
+            .objectOrFail();
+
+        final JsonPropertyName a = JsonPropertyName.with("a");
+        final JsonPropertyName b = JsonPropertyName.with("b");
+        final JsonPropertyName d = JsonPropertyName.with("d");
+
+        this.checkEquals(
+            eager.set(a, 2),
+            lazy.set(a, 2),
+            "set"
+        );
+        this.checkEquals(
+            eager.set(d, 3),
+            lazy.set(d, 3),
+            "set new"
+        );
+        this.checkEquals(
+            eager.remove(b),
+            lazy.remove(b),
+            "remove"
+        );
+        this.checkEquals(
+            eager.toString(),
+            lazy.toString(),
+            "toString"
+        );
+        this.checkEquals(
+            eager.hashCode(),
+            lazy.hashCode(),
+            "hashCode"
+        );
+    }
+
+    @Test
+    public void testParseLazyNestedSameAsParse() {
+        final String text = "{\"x\": [[], {}, [1.5, -2e3, \"a\\\"b\"]], \"y\": {\"z\": [null, {\"w\": false}]}}";
+
+        this.checkEquals(
+            JsonNodeTextParser.parse(text),
+            JsonNodeTextParser.parseLazy(text)
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeTextParser> type() {
+        return JsonNodeTextParser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.parser.JsonNodeParserException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonNodeUtf8ParserTest implements ClassTesting2<JsonNodeUtf8Parser> {
+
+    // fails............................................................................................................
+
+    @Test
+    public void testEmptyFails() {
+        this.parseFails(
+            "",
+            "End of text at (1,1) expected value"
+        );
+    }
+
+    @Test
+    public void testTrailingTextFails() {
+        this.parseFails(
+            "true false",
+            "Invalid character 'f' at (6,1) expected end of text"
+        );
+    }
+
+    @Test
+    public void testNonAsciiOutsideStringFails() {
+        this.parseFails(
+            "[é]",
+            "Invalid character 0xc3 at (2,1) expected value"
+        );
+    }
+
+    @Test
+    public void testArrayMissingSeparatorFails() {
+        this.parseFails(
+            "[1 2]",
+            "Invalid character '2' at (4,1) expected ',' or ']'"
+        );
+    }
+
+    @Test
+    public void testObjectMissingAssignmentFails() {
+        this.parseFails(
+            "{\"a\" 2}",
+            "Invalid character '2' at (6,1) expected ':'"
+        );
+    }
+
+    @Test
+    public void testStringMissingClosingQuoteFails() {
+        this.parseFails(
+            "\"abé",
+            "End of text at (6,1) expected closing '\"'"
+        );
+    }
+
+    @Test
+    public void testLineAndColumnFails() {
+        this.parseFails(
+            "[\n  1,\n  !]",
+            "Invalid character '!' at (3,3) expected value"
+        );
+    }
+
+    private void parseFails(final String text,
+                            final String message) {
+        this.parseFails(
+            text.getBytes(StandardCharsets.UTF_8),
+            message
+        );
+    }
+
+    @Test
+    public void testStringInvalidUtf8Fails() {
+        this.parseFails(
+            new byte[]{'"', 'a', (byte) 0xFF, '"'},
+            "Invalid UTF-8 byte 0xff at (3,1)"
+        );
+    }
+
+    @Test
+    public void testStringTruncatedUtf8Fails() {
+        this.parseFails(
+            new byte[]{'"', (byte) 0xE4, (byte) 0xB8, '"'},
+            "Invalid UTF-8 byte 0xe4 at (2,1)"
+        );
+    }
+
+    @Test
+    public void testStringOverlongUtf8Fails() {
+        this.parseFails(
+            new byte[]{'"', (byte) 0xE0, (byte) 0x80, (byte) 0xAF, '"'},
+            "Invalid UTF-8 byte 0xe0 at (2,1)"
+        );
+    }
+
+    @Test
+    public void testStringEncodedSurrogateFails() {
+        this.parseFails(
+            new byte[]{'"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"'},
+            "Invalid UTF-8 byte 0xed at (2,1)"
+        );
+    }
+
+    private void parseFails(final byte[] bytes,
+                            final String message) {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNodeUtf8Parser.parse(
+                bytes,
+                0,
+                bytes.length
+            )
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage()
+        );
+    }
+
+    // parse............................................................................................................
+
+    @Test
+    public void testLiterals() {
+        this.parseAndCheck(
+            "[true, false, null]",
+            JsonNode.array()
+                .append(true)
+                .append(false)
+                .appendNull()
+        );
+    }
+
+    @Test
+    public void testNumbers() {
+        this.parseAndCheck(
+            "[0, -0, 123, -456, 1.5, -2.25, 1e3, 123456789012345, 12345678901234567890, NaN, +Infinity, -Infinity]",
+            JsonNode.array()
+                .append(0)
+                .append(-0.0)
+                .append(123)
+                .append(-456)
+                .append(1.5)
+                .append(-2.25)
+                .appendChild(JsonNode.number(new BigDecimal("1e3")))
+                .append(123456789012345.0)
+                .appendChild(JsonNode.number(new BigDecimal("12345678901234567890")))
+                .append(Double.NaN)
+                .append(Double.POSITIVE_INFINITY)
+                .append(Double.NEGATIVE_INFINITY)
+        );
+    }
+
+    @Test
+    public void testAsciiString() {
+        this.parseAndCheck(
+            "\"abc 123\"",
+            JsonNode.string("abc 123")
+        );
+    }
+
+    @Test
+    public void testEscapedString() {
+        this.parseAndCheck(
+            "\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u0041\\u00e9\"",
+            JsonNode.string("a\"b\\c/d\b\f\n\r\tAé")
+        );
+    }
+
+    @Test
+    public void testNonAsciiString() {
+        this.parseAndCheck(
+            "\"aé中😀\\n\"",
+            JsonNode.string("aé中😀\n")
+        );
+    }
+
+    @Test
+    public void testLongNonAsciiString() {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            b.append("é中😀");
+        }
+
+        this.parseAndCheck(
+            "\"" + b + "\"",
+            JsonNode.string(b.toString())
+        );
+    }
+
+    @Test
+    public void testObject() {
+        this.parseAndCheck(
+            " { \"a\" : [1, {}], \"é\": {\"c\": \"d\"} } ",
+            JsonNode.object()
+                .set(
+                    JsonPropertyName.with("a"),
+                    JsonNode.array()
+                        .append(1)
+                        .appendChild(JsonNode.object())
+                ).set(
+                    JsonPropertyName.with("é"),
+                    JsonNode.object()
+                        .set(
+                            JsonPropertyName.with("c"),
+                            "d"
+                        )
+                )
+        );
+    }
+
+    @Test
+    public void testOffsetAndLength() {
+        final byte[] bytes = "xx[1,2]yy".getBytes(StandardCharsets.UTF_8);
+
+        this.checkEquals(
+            JsonNode.array()
+                .append(1)
+                .append(2),
+            JsonNodeUtf8Parser.parse(
+                bytes,
+                2,
+                5
+            )
+        );
+    }
+
+    @Test
+    public void testSameAsTextParser() {
+        final JsonNode node = JsonNode.object()
+            .set(
+                JsonPropertyName.with("string"),
+                "a\"b\\c\n\u0001é中😀"
+            ).set(
+                JsonPropertyName.with("numbers"),
+                JsonNode.array()
+                    .append(0)
+                    .append(-1.25)
+                    .append(1e300)
+            ).set(
+                JsonPropertyName.with("nested"),
+                JsonNode.array()
+                    .appendChild(
+                        JsonNode.object()
+                            .set(
+                                JsonPropertyName.with("true"),
+                                true
+                            ).setNull(JsonPropertyName.with("null"))
+                    )
+            );
+        final String text = node.toString();
+
+        this.checkEquals(
+            JsonNodeTextParser.parse(text),
+            this.parse(text)
+        );
+    }
+
+    @Test
+    public void testDeep() {
+        final int deep = 100_000;
+
+        JsonNode expected = JsonNode.string("\u00e9");
+        for (int i = 0; i < deep; i++) {
+            expected = 0 == i % 2 ?
+                JsonNode.array()
+                    .appendChild(expected) :
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("a"),
+                        expected
+                    );
+        }
+
+        this.parseAndCheck(
+            "{\"a\": [".repeat(deep / 2) + "\"\u00e9\"" + "]}".repeat(deep / 2),
+            expected
+        );
+    }
+
+    private void parseAndCheck(final String text,
+                               final JsonNode expected) {
+        this.checkEquals(
+            expected,
+            this.parse(text),
+            () -> "parse " + text
+        );
+    }
+
+    private JsonNode parse(final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return JsonNodeUtf8Parser.parse(
+            bytes,
+            0,
+            bytes.length
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeUtf8Parser> type() {
+        return JsonNodeUtf8Parser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.TextContext;
+import walkingkooka.text.TextPrinting;
+
+import java.io.IOException;
+
+public final class JsonNodeWriterTest implements ClassTesting2<JsonNodeWriter> {
+
+    @Test
+    public void testPrettyString() throws IOException {
+        this.prettyAndCheck(
+            JsonNode.string("a\"b\\c\n")
+        );
+    }
+
+    @Test
+    public void testPrettyEmptyArray() throws IOException {
+        this.prettyAndCheck(
+            JsonNode.array()
+        );
+    }
+
+    @Test
+    public void testPrettyEmptyObject() throws IOException {
+        this.prettyAndCheck(
+            JsonNode.object()
+        );
+    }
+
+    @Test
+    public void testPrettyNested() throws IOException {
+        this.prettyAndCheck(
+            this.nested()
+        );
+    }
+
+    @Test
+    public void testPrettyPackedArray() throws IOException {
+        JsonArray array = JsonNode.array();
+        for (int i = 0; i < JsonArrayList.PACKED_MIN; i++) {
+            array = array.append(i * 1.5);
+        }
+
+        this.prettyAndCheck(array);
+    }
+
+    @Test
+    public void testPrettyWithoutIndentationAndNoneLineEnding() throws IOException {
+        final JsonNode node = this.nested();
+
+        final TextContext context = TextPrinting.with(
+            Indentation.EMPTY,
+            LineEnding.NONE
+        );
+
+        final StringBuilder appendable = new StringBuilder();
+        node.appendJson(
+            appendable,
+            context
+        );
+
+        this.checkEquals(
+            node.toJsonText(context),
+            appendable.toString()
+        );
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        final StringBuilder b = new StringBuilder();
+        this.nested()
+            .appendCompactJson(b);
+
+        this.checkEquals(
+            "{\"a\":true,\"b\":[1,\"two\",null,{}],\"c\":{\"d\":[]}}",
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testCompactParse() throws IOException {
+        final JsonNode node = this.nested();
+
+        final StringBuilder b = new StringBuilder();
+        node.appendCompactJson(b);
+
+        this.checkEquals(
+            node,
+            JsonNode.parse(b.toString())
+        );
+    }
+
+    private JsonNode nested() {
+        return JsonNode.object()
+            .set(
+                JsonPropertyName.with("a"),
+                true
+            ).set(
+                JsonPropertyName.with("b"),
+                JsonNode.array()
+                    .append(1)
+                    .append("two")
+                    .appendNull()
+                    .appendChild(JsonNode.object())
+            ).set(
+                JsonPropertyName.with("c"),
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("d"),
+                        JsonNode.array()
+                    )
+            );
+    }
+
+    private void prettyAndCheck(final JsonNode node) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        node.appendJson(b);
+
+        this.checkEquals(
+            node.toString(),
+            b.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeWriter> type() {
+        return JsonNodeWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
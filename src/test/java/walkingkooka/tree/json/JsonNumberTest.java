@@ -21,8 +21,10 @@ import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.visit.Visiting;
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
 public final class JsonNumberTest extends JsonLeafNonNullNodeTestCase<JsonNumber, Double> {
@@ -49,6 +51,249 @@ public final class JsonNumberTest extends JsonLeafNonNullNodeTestCase<JsonNumber
         this.checkEquals("123.5", JsonNumber.with(123.5).text());
     }
 
+    @Test
+    public void testWithCached() {
+        assertSame(
+            JsonNode.number(1.0),
+            JsonNode.number(1.0)
+        );
+    }
+
+    @Test
+    public void testWithCachedMinusOne() {
+        assertSame(
+            JsonNode.number(-1.0),
+            JsonNode.number(JsonNumber.CACHE_MIN)
+        );
+    }
+
+    @Test
+    public void testWithMinusZeroNotCached() {
+        this.checkNotEquals(
+            JsonNode.number(0.0),
+            JsonNode.number(-0.0)
+        );
+    }
+
+    @Test
+    public void testWithOutsideCache() {
+        final double value = JsonNumber.CACHE_MAX + 1;
+
+        assertNotSame(
+            JsonNode.number(value),
+            JsonNode.number(value)
+        );
+    }
+
+    @Test
+    public void testNumberLong() {
+        this.checkEquals(
+            JsonNode.number(123.0),
+            JsonNode.number(123L)
+        );
+    }
+
+    @Test
+    public void testNumberLongMax() {
+        this.checkEquals(
+            Long.MAX_VALUE,
+            JsonNode.number(Long.MAX_VALUE)
+                .longValue()
+        );
+    }
+
+    @Test
+    public void testNumberLongMaxText() {
+        this.checkEquals(
+            String.valueOf(Long.MAX_VALUE),
+            JsonNode.number(Long.MAX_VALUE)
+                .text()
+        );
+    }
+
+    @Test
+    public void testNumberLongExactDouble() {
+        this.checkEquals(
+            false,
+            JsonNode.number((1L << 53) + 2)
+                .isLossless()
+        );
+    }
+
+    @Test
+    public void testNumberLongInexactDouble() {
+        this.checkEquals(
+            true,
+            JsonNode.number((1L << 53) + 1)
+                .isLossless()
+        );
+    }
+
+    @Test
+    public void testLosslessNumberKeepsBigDecimal() {
+        final BigDecimal value = new BigDecimal("1.250");
+
+        this.checkEquals(
+            value,
+            JsonNode.losslessNumber(value)
+                .bigDecimalValue()
+        );
+    }
+
+    @Test
+    public void testLosslessNumberEqualsNumber() {
+        this.checkEquals(
+            JsonNode.number(1.25),
+            JsonNode.losslessNumber(
+                new BigDecimal("1.250")
+            )
+        );
+    }
+
+    @Test
+    public void testValue() {
+        this.checkEquals(
+            Double.valueOf(123.5),
+            JsonNode.number(123.5)
+                .value()
+        );
+    }
+
+    @Test
+    public void testTextBigDecimal() {
+        this.checkEquals(
+            "12345678901234567890.125",
+            JsonNode.number(
+                new BigDecimal("12345678901234567890.125")
+            ).text()
+        );
+    }
+
+    @Test
+    public void testTextBigDecimalExponent() {
+        this.checkEquals(
+            "100",
+            JsonNode.number(
+                new BigDecimal("1e2")
+            ).text()
+        );
+    }
+
+    @Test
+    public void testTextBigDecimalNegativeExponent() {
+        this.checkEquals(
+            "1.0E-7",
+            JsonNode.number(
+                new BigDecimal("1e-7")
+            ).text()
+        );
+    }
+
+    @Test
+    public void testTextBigDecimalSameAsDouble() {
+        this.checkEquals(
+            JsonNode.number(1.25)
+                .text(),
+            JsonNode.number(
+                new BigDecimal("1.250")
+            ).text()
+        );
+    }
+
+    @Test
+    public void testTextBigDecimalOverflow() {
+        this.checkEquals(
+            "1E+400",
+            JsonNode.number(
+                new BigDecimal("1e400")
+            ).text()
+        );
+    }
+
+    @Test
+    public void testBigDecimalValueLossless() {
+        final BigDecimal value = new BigDecimal("0.10000000000000000000001");
+
+        this.checkEquals(
+            value,
+            JsonNode.number(value)
+                .bigDecimalValue()
+        );
+    }
+
+    @Test
+    public void testBigDecimalValueDouble() {
+        this.checkEquals(
+            new BigDecimal("0.1"),
+            JsonNode.number(0.1)
+                .bigDecimalValue()
+        );
+    }
+
+    @Test
+    public void testLongValueLossless() {
+        this.checkEquals(
+            9007199254740993L,
+            JsonNode.number(
+                new BigDecimal("9007199254740993")
+            ).longValue()
+        );
+    }
+
+    @Test
+    public void testLongValueDouble() {
+        this.checkEquals(
+            123L,
+            JsonNode.number(123.5)
+                .longValue()
+        );
+    }
+
+    @Test
+    public void testSetNameKeepsBigDecimal() {
+        final BigDecimal value = new BigDecimal("12345678901234567890.125");
+
+        this.checkEquals(
+            value,
+            JsonNode.number(value)
+                .setName(
+                    JsonPropertyName.with("abc")
+                ).bigDecimalValue()
+        );
+    }
+
+    @Test
+    public void testSetValueDropsBigDecimal() {
+        final JsonNumber number = JsonNode.number(
+            new BigDecimal("0.10000000000000000000001")
+        ).setValue(0.1);
+
+        this.checkEquals(
+            new BigDecimal("0.1"),
+            number.bigDecimalValue()
+        );
+    }
+
+    @Test
+    public void testEqualsBigDecimalAndDouble() {
+        this.checkEqualsAndHashCode(
+            JsonNode.number(
+                new BigDecimal("1.50")
+            ),
+            JsonNode.number(1.5)
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentBigDecimalSameDouble() {
+        this.checkNotEquals(
+            JsonNode.number(
+                new BigDecimal("0.10000000000000000000001")
+            ),
+            JsonNode.number(0.1)
+        );
+    }
+
     @Test
     public void testAccept() {
         final StringBuilder b = new StringBuilder();
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonObjectBuilderTest implements ClassTesting2<JsonObjectBuilder>,
+    ToStringTesting<JsonObjectBuilder> {
+
+    private final static JsonPropertyName KEY1 = JsonPropertyName.with("key1");
+    private final static JsonPropertyName KEY2 = JsonPropertyName.with("key2");
+    private final static JsonPropertyName KEY3 = JsonPropertyName.with("key3");
+
+    @Test
+    public void testSetNullNameFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonNode.objectBuilder()
+                .set(null, JsonNode.nullNode())
+        );
+    }
+
+    @Test
+    public void testSetNullValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonNode.objectBuilder()
+                .set(KEY1, (JsonNode) null)
+        );
+    }
+
+    @Test
+    public void testBuildEmpty() {
+        assertSame(
+            JsonNode.object(),
+            JsonNode.objectBuilder()
+                .build()
+        );
+    }
+
+    @Test
+    public void testBuild() {
+        final JsonObject object = JsonNode.objectBuilder()
+            .set(KEY1, true)
+            .set(KEY2, 2)
+            .set(KEY3, "three")
+            .build();
+
+        this.checkEquals(
+            JsonNode.object()
+                .set(KEY1, true)
+                .set(KEY2, 2)
+                .set(KEY3, "three"),
+            object
+        );
+
+        int i = 0;
+        for (final JsonNode property : object.children()) {
+            this.checkEquals(
+                i,
+                property.index(),
+                "index"
+            );
+            assertSame(
+                object,
+                property.parentOrFail(),
+                "parent"
+            );
+            i++;
+        }
+    }
+
+    @Test
+    public void testSetReplacesKeepsPosition() {
+        final JsonObject object = JsonNode.objectBuilder()
+            .set(KEY1, "first")
+            .set(KEY2, "second")
+            .set(KEY1, "replaced")
+            .build();
+
+        this.checkEquals(
+            JsonNode.object()
+                .set(KEY1, "first")
+                .set(KEY2, "second")
+                .set(KEY1, "replaced"),
+            object
+        );
+        this.checkEquals(
+            KEY1,
+            object.children()
+                .get(0)
+                .name(),
+            "first property name"
+        );
+        this.checkEquals(
+            2,
+            object.children()
+                .size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testSetStringNull() {
+        this.checkEquals(
+            JsonNode.object()
+                .setNull(KEY1),
+            JsonNode.objectBuilder()
+                .set(KEY1, (String) null)
+                .build()
+        );
+    }
+
+    @Test
+    public void testBuildMany() {
+        final JsonObjectBuilder builder = JsonNode.objectBuilder();
+        JsonObject expected = JsonNode.object();
+
+        for (int i = 0; i < 100; i++) {
+            final JsonPropertyName name = JsonPropertyName.with("key" + i);
+            builder.set(name, i);
+            expected = expected.set(name, i);
+        }
+
+        this.checkEquals(
+            100,
+            builder.size(),
+            "size"
+        );
+        this.checkEquals(
+            expected,
+            builder.build()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            JsonNode.objectBuilder()
+                .set(KEY1, 1)
+                .set(KEY2, "two"),
+            JsonNode.object()
+                .set(KEY1, 1)
+                .set(KEY2, "two")
+                .toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonObjectBuilder> type() {
+        return JsonObjectBuilder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
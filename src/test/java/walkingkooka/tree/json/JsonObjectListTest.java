@@ -20,7 +20,9 @@ package walkingkooka.tree.json;
 import org.junit.jupiter.api.Test;
 import walkingkooka.ToStringTesting;
 import walkingkooka.collect.list.ImmutableListTesting;
-import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.list.Lists;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public final class JsonObjectListTest implements ImmutableListTesting<JsonObjectList, JsonNode>,
     ToStringTesting<JsonObjectList> {
@@ -45,10 +47,8 @@ public final class JsonObjectListTest implements ImmutableListTesting<JsonObject
 
         this.checkEquals(
             JsonObjectList.with(
-                Maps.of(
-                    first,
+                Lists.of(
                     value1.setName(first),
-                    second,
                     value2.setName(second)
                 )
             ),
@@ -67,17 +67,110 @@ public final class JsonObjectListTest implements ImmutableListTesting<JsonObject
         final JsonPropertyName second = JsonPropertyName.with("second");
 
         return JsonObjectList.with(
-            Maps.of(
-                first,
+            Lists.of(
                 JsonNode.booleanNode(true)
                     .setName(first),
-                second,
                 JsonNode.booleanNode(false)
                     .setName(second)
             )
         );
     }
 
+    // index............................................................................................................
+
+    @Test
+    public void testIndexOfWithTable() {
+        final JsonObjectList list = this.createLargeList();
+
+        for (int i = 0; i < LARGE; i++) {
+            final int index = i;
+            this.checkEquals(
+                index,
+                list.indexOf(
+                    JsonPropertyName.with("p" + i)
+                ),
+                () -> "indexOf p" + index
+            );
+        }
+    }
+
+    @Test
+    public void testIndexOfWithTableAbsent() {
+        this.checkEquals(
+            -1,
+            this.createLargeList()
+                .indexOf(
+                    JsonPropertyName.with("absent")
+                )
+        );
+    }
+
+    @Test
+    public void testRemoveWithTable() {
+        final JsonObjectList list = this.createLargeList()
+            .remove(0);
+
+        this.checkEquals(
+            -1,
+            list.indexOf(
+                JsonPropertyName.with("p0")
+            )
+        );
+
+        for (int i = 1; i < LARGE; i++) {
+            final int index = i - 1;
+            this.checkEquals(
+                index,
+                list.indexOf(
+                    JsonPropertyName.with("p" + i)
+                ),
+                () -> "indexOf p" + index
+            );
+            this.checkEquals(
+                index,
+                list.get(index)
+                    .index(),
+                () -> "index of " + index
+            );
+        }
+    }
+
+    @Test
+    public void testReplaceSharesNames() {
+        final JsonObjectList list = this.createLargeList();
+        final JsonObjectList replaced = list.replace(
+            1,
+            JsonNode.string("replaced")
+        );
+
+        assertSame(
+            list.names,
+            replaced.names
+        );
+        this.checkEquals(
+            JsonNode.string("replaced")
+                .setName(
+                    JsonPropertyName.with("p1")
+                ),
+            replaced.get(1)
+        );
+    }
+
+    private final static int LARGE = JsonObjectList.LINEAR_SCAN_MAX * 4;
+
+    private JsonObjectList createLargeList() {
+        final JsonObjectBuilder builder = JsonObjectBuilder.empty();
+
+        for (int i = 0; i < LARGE; i++) {
+            builder.set(
+                JsonPropertyName.with("p" + i),
+                i
+            );
+        }
+
+        return builder.children();
+    }
+
     // firstOrEmpty.....................................................................................................
 
     @Test
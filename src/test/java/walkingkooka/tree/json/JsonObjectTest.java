@@ -27,6 +27,7 @@ import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.Printers;
 import walkingkooka.visit.Visiting;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -590,6 +591,145 @@ public final class JsonObjectTest extends JsonParentNodeTestCase<JsonObject, Jso
         this.getAndCheck(updatedRoot, key2, VALUE2);
     }
 
+    @Test
+    public void testHashCodeIgnoresPropertyOrder() {
+        final JsonPropertyName a = JsonPropertyName.with("a");
+        final JsonPropertyName b = JsonPropertyName.with("b");
+
+        this.checkEqualsAndHashCode(
+            JsonNode.object()
+                .set(a, 1)
+                .set(b, "2"),
+            JsonNode.object()
+                .set(b, "2")
+                .set(a, 1)
+        );
+    }
+
+    @Test
+    public void testHashCodeAfterSetRemove() {
+        final JsonPropertyName a = JsonPropertyName.with("a");
+        final JsonPropertyName b = JsonPropertyName.with("b");
+        final JsonPropertyName c = JsonPropertyName.with("c");
+
+        final JsonObject object = JsonNode.object()
+            .set(a, 1)
+            .set(b, "2");
+        object.hashCode();
+
+        this.checkEquals(
+            JsonNode.object()
+                .set(a, 99)
+                .set(b, "2")
+                .hashCode(),
+            object.set(a, 99)
+                .hashCode(),
+            "replaced"
+        );
+        this.checkEquals(
+            JsonNode.object()
+                .set(a, 1)
+                .set(b, "2")
+                .set(c, true)
+                .hashCode(),
+            object.set(c, true)
+                .hashCode(),
+            "added"
+        );
+        this.checkEquals(
+            JsonNode.object()
+                .set(b, "2")
+                .hashCode(),
+            object.remove(a)
+                .hashCode(),
+            "removed"
+        );
+    }
+
+    @Test
+    public void testHashCodeAfterDeepSet() {
+        final JsonPropertyName a = JsonPropertyName.with("a");
+        final JsonPropertyName b = JsonPropertyName.with("b");
+
+        final JsonObject root = JsonNode.object()
+            .set(
+                a,
+                JsonNode.object()
+                    .set(b, 1)
+            );
+        root.hashCode();
+
+        final JsonNode updated = root.getOrFail(a)
+            .objectOrFail()
+            .set(b, 2)
+            .root();
+
+        this.checkEqualsAndHashCode(
+            JsonNode.object()
+                .set(
+                    a,
+                    JsonNode.object()
+                        .set(b, 2)
+                ),
+            updated
+        );
+    }
+
+    @Test
+    public void testSetSharesUntouchedSiblings() {
+        final JsonPropertyName key1 = this.key1();
+        final JsonPropertyName key2 = this.key2();
+        final JsonPropertyName key3 = this.key3();
+
+        final JsonObject root = JsonNode.object()
+            .set(
+                key2,
+                JsonNode.object()
+                    .set(key1, this.value1())
+            ).set(
+                key3,
+                JsonNode.object()
+                    .set(key1, this.value1())
+            );
+
+        final JsonObject updatedRoot = root.getOrFail(key3)
+            .objectOrFail()
+            .set(key1, this.value3())
+            .root()
+            .objectOrFail();
+
+        assertSame(
+            root.children.values[0],
+            updatedRoot.children.values[0],
+            "untouched sibling should be shared"
+        );
+        this.getAndCheck(
+            updatedRoot.getOrFail(key3)
+                .objectOrFail(),
+            key1,
+            VALUE3
+        );
+    }
+
+    @Test
+    public void testGetParent() {
+        final JsonPropertyName key1 = this.key1();
+
+        final JsonObject object = JsonNode.object()
+            .set(key1, this.value1());
+
+        final JsonNode child = object.getOrFail(key1);
+        assertSame(
+            object,
+            child.parentOrFail()
+        );
+        assertSame(
+            child,
+            object.children()
+                .get(child.index())
+        );
+    }
+
     @Test
     @Override
     public void testReplaceChild() {
@@ -840,6 +980,71 @@ public final class JsonObjectTest extends JsonParentNodeTestCase<JsonObject, Jso
         this.getAndCheckAbsent(object.asMap(), JsonPropertyName.with("absent-property"));
     }
 
+    @Test
+    public void testMapGetNotPropertyName() {
+        final JsonObject object = JsonNode.object()
+            .set(this.key1(), this.value1());
+        this.checkEquals(
+            null,
+            object.asMap()
+                .get(this.key1().value())
+        );
+    }
+
+    @Test
+    public void testMapGetManyProperties() {
+        final JsonObjectBuilder builder = JsonNode.objectBuilder();
+        for (int i = 0; i < JsonObjectList.LINEAR_SCAN_MAX * 2; i++) {
+            builder.set(
+                JsonPropertyName.with("property-" + i),
+                JsonNode.number(i)
+            );
+        }
+        final JsonObject object = builder.build();
+        final JsonPropertyName key = JsonPropertyName.with("property-11");
+
+        this.getAndCheck(
+            object.asMap(),
+            key,
+            object.getOrFail(key)
+        );
+    }
+
+    @Test
+    public void testMapEntrySetInOrder() {
+        final JsonPropertyName key1 = this.key1();
+        final JsonPropertyName key2 = this.key2();
+
+        final JsonObject object = JsonNode.object()
+            .set(key2, this.value2())
+            .set(key1, this.value1());
+
+        this.checkEquals(
+            Lists.of(
+                key2,
+                key1
+            ),
+            new ArrayList<>(
+                object.asMap()
+                    .keySet()
+            )
+        );
+    }
+
+    @Test
+    public void testMapEntryParent() {
+        final JsonPropertyName key1 = this.key1();
+        final JsonObject object = JsonNode.object()
+            .set(key1, this.value1());
+
+        this.checkEquals(
+            Optional.of(object),
+            object.asMap()
+                .get(key1)
+                .parent()
+        );
+    }
+
     // isFalseLike......................................................................................................
 
     @Test
@@ -27,12 +27,11 @@ import walkingkooka.tree.ParentNodeTesting;
 import walkingkooka.tree.Traversable;
 
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-public abstract class JsonParentNodeTestCase<N extends JsonParentNode<C>, C extends List<JsonNode>>
+public abstract class JsonParentNodeTestCase<N extends JsonParentNode<C>, C extends JsonParentNodeList>
     extends JsonNodeTestCase<N>
     implements ParentNodeTesting<JsonNode, JsonPropertyName, Name, Object> {
 
@@ -160,18 +159,17 @@ public abstract class JsonParentNodeTestCase<N extends JsonParentNode<C>, C exte
     final void childrenObjectCheck(final JsonObject node) {
         final Optional<JsonNode> nodeAsParent = Optional.of(node);
 
-        int i = 0;
-        for (Entry<JsonPropertyName, JsonNode> keyAndValue : node.children.nameToValues.entrySet()) {
-            final Node<?, ?, ?, ?> child = keyAndValue.getValue();
+        final int count = node.children.size();
+        for (int i = 0; i < count; i++) {
+            final Node<?, ?, ?, ?> child = node.children.get(i);
 
             this.checkEquals(i, child.index(), () -> "Incorrect index of " + child);
-            this.checkEquals(keyAndValue.getKey(), child.name(), () -> "child name" + child);
+            this.checkEquals(node.children.names[i], child.name(), () -> "child name" + child);
 
             final int j = i;
             this.checkEquals(nodeAsParent, child.parent(), () -> "Incorrect parent of child " + j + "=" + child);
 
             this.childrenCheck(child);
-            i++;
         }
     }
 
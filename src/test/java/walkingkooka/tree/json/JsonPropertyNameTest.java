@@ -23,6 +23,8 @@ import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.text.CaseSensitivity;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class JsonPropertyNameTest implements ClassTesting2<JsonPropertyName>,
@@ -33,6 +35,47 @@ public final class JsonPropertyNameTest implements ClassTesting2<JsonPropertyNam
         assertThrows(IllegalArgumentException.class, () -> JsonPropertyName.index(-1));
     }
 
+    @Test
+    public void testWithInterned() {
+        assertSame(
+            JsonPropertyName.with("interned"),
+            JsonPropertyName.with(new String("interned"))
+        );
+    }
+
+    @Test
+    public void testWithInternedAfterManyUniqueNames() {
+        for (int i = 0; i < JsonPropertyName.INTERN_SIZE * 4; i++) {
+            JsonPropertyName.with("unique-" + i);
+        }
+
+        assertSame(
+            JsonPropertyName.with("interned-after-many"),
+            JsonPropertyName.with(new String("interned-after-many"))
+        );
+    }
+
+    @Test
+    public void testWithLongNameNotInterned() {
+        final String name = "a".repeat(JsonPropertyName.INTERN_LENGTH_MAX + 1);
+
+        final JsonPropertyName propertyName = JsonPropertyName.with(name);
+        final JsonPropertyName propertyName2 = JsonPropertyName.with(name);
+
+        assertNotSame(
+            propertyName,
+            propertyName2
+        );
+        this.checkEquals(
+            propertyName,
+            propertyName2
+        );
+        this.checkEquals(
+            propertyName.hashCode(),
+            propertyName2.hashCode()
+        );
+    }
+
     @Test
     public void testUnmarshallClassArray() {
         this.fromClassAndCheck(JsonArray.class, "Array");
@@ -22,6 +22,7 @@ import walkingkooka.collect.list.Lists;
 import walkingkooka.text.CharSequences;
 import walkingkooka.visit.Visiting;
 
+import java.io.IOException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -237,6 +238,30 @@ public final class JsonStringTest extends JsonLeafNonNullNodeTestCase<JsonString
         );
     }
 
+    @Test
+    public void testToStringBackslash() {
+        this.toStringAndCheck2(
+            "abc\\xyz",
+            "\"abc\\\\xyz\""
+        );
+    }
+
+    @Test
+    public void testToStringOnlyEscaped() {
+        this.toStringAndCheck2(
+            "\"\n\t",
+            "\"\\\"\\n\\t\""
+        );
+    }
+
+    @Test
+    public void testToStringNonAscii() {
+        this.toStringAndCheck2(
+            "abc\u00e9\u2028xyz",
+            "\"abc\u00e9\u2028xyz\""
+        );
+    }
+
     private void toStringAndCheck2(final String value, final String json) {
         this.toStringAndCheck(
             this.createJsonNode(value),
@@ -244,6 +269,59 @@ public final class JsonStringTest extends JsonLeafNonNullNodeTestCase<JsonString
         );
     }
 
+    // appendAsciiJson..................................................................................................
+
+    @Test
+    public void testAppendAsciiJson() throws IOException {
+        this.appendAsciiJsonAndCheck(
+            "abc123",
+            "\"abc123\""
+        );
+    }
+
+    @Test
+    public void testAppendAsciiJsonEscaped() throws IOException {
+        this.appendAsciiJsonAndCheck(
+            "a\"b\\c\n" + ((char) 20),
+            "\"a\\\"b\\\\c\\n\\u0014\""
+        );
+    }
+
+    @Test
+    public void testAppendAsciiJsonNonAscii() throws IOException {
+        this.appendAsciiJsonAndCheck(
+            "a\u00e9b\u4e2d\ud83d\ude00",
+            "\"a\\u00e9b\\u4e2d\\ud83d\\ude00\""
+        );
+    }
+
+    @Test
+    public void testAppendAsciiJsonLineAndParagraphSeparator() throws IOException {
+        this.appendAsciiJsonAndCheck(
+            "a\u2028b\u2029c",
+            "\"a\\u2028b\\u2029c\""
+        );
+    }
+
+    private void appendAsciiJsonAndCheck(final String value,
+                                         final String json) throws IOException {
+        final JsonString string = this.createJsonNode(value);
+
+        final StringBuilder b = new StringBuilder();
+        string.appendAsciiJson(b);
+
+        this.checkEquals(
+            json,
+            b.toString(),
+            () -> string + " appendAsciiJson"
+        );
+        this.checkEquals(
+            string,
+            JsonNode.parse(json),
+            () -> "parse " + json
+        );
+    }
+
     @Test
     public void testParseToStringRountrip() {
         for (int i = Character.MIN_VALUE; i < Character.MAX_VALUE; i++) {
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonWriterTest implements ClassTesting2<JsonWriter>,
+    ToStringTesting<JsonWriter> {
+
+    private final static JsonPropertyName NAME1 = JsonPropertyName.with("name1");
+
+    private final static JsonPropertyName NAME2 = JsonPropertyName.with("name2");
+
+    @Test
+    public void testCompactWithNullAppendableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonWriter.compact(null)
+        );
+    }
+
+    @Test
+    public void testNameWithNullFails() throws IOException {
+        final JsonWriter writer = this.writer()
+            .beginObject();
+
+        assertThrows(
+            NullPointerException.class,
+            () -> writer.name(null)
+        );
+    }
+
+    @Test
+    public void testValueWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.writer()
+                .value(null)
+        );
+    }
+
+    @Test
+    public void testValue() throws IOException {
+        this.checkJson(
+            this.writer()
+                .value(JsonNode.string("abc")),
+            "\"abc\""
+        );
+    }
+
+    @Test
+    public void testValueObject() throws IOException {
+        final JsonObject object = JsonNode.object()
+            .set(NAME1, JsonNode.number(1))
+            .set(NAME2, JsonNode.array().appendChild(JsonNode.booleanNode(true)));
+
+        this.checkJson(
+            this.writer()
+                .value(object),
+            "{\"name1\":1,\"name2\":[true]}"
+        );
+    }
+
+    @Test
+    public void testValueTwiceFails() throws IOException {
+        final JsonWriter writer = this.writer()
+            .value(JsonNode.nullNode());
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> writer.value(JsonNode.nullNode())
+        );
+    }
+
+    @Test
+    public void testEmptyArray() throws IOException {
+        this.checkJson(
+            this.writer()
+                .beginArray()
+                .endArray(),
+            "[]"
+        );
+    }
+
+    @Test
+    public void testArray() throws IOException {
+        this.checkJson(
+            this.writer()
+                .beginArray()
+                .value(JsonNode.number(1))
+                .value(JsonNode.string("two"))
+                .value(JsonNode.nullNode())
+                .endArray(),
+            "[1,\"two\",null]"
+        );
+    }
+
+    @Test
+    public void testArrayIgnoresValueName() throws IOException {
+        this.checkJson(
+            this.writer()
+                .beginArray()
+                .value(JsonNode.number(1).setName(NAME1))
+                .endArray(),
+            "[1]"
+        );
+    }
+
+    @Test
+    public void testNestedArrays() throws IOException {
+        this.checkJson(
+            this.writer()
+                .beginArray()
+                .beginArray()
+                .endArray()
+                .beginArray()
+                .value(JsonNode.number(1))
+                .beginArray()
+                .value(JsonNode.number(2))
+                .endArray()
+                .endArray()
+                .value(JsonNode.number(3))
+                .endArray(),
+            "[[],[1,[2]],3]"
+        );
+    }
+
+    @Test
+    public void testEmptyObject() throws IOException {
+        this.checkJson(
+            this.writer()
+                .beginObject()
+                .endObject(),
+            "{}"
+        );
+    }
+
+    @Test
+    public void testObject() throws IOException {
+        this.checkJson(
+            this.writer()
+                .beginObject()
+                .name(NAME1)
+                .value(JsonNode.number(1))
+                .name(NAME2)
+                .beginArray()
+                .value(JsonNode.string("two"))
+                .endArray()
+                .endObject(),
+            "{\"name1\":1,\"name2\":[\"two\"]}"
+        );
+    }
+
+    @Test
+    public void testNestedObjects() throws IOException {
+        this.checkJson(
+            this.writer()
+                .beginArray()
+                .beginObject()
+                .name(NAME1)
+                .beginObject()
+                .name(NAME2)
+                .value(JsonNode.booleanNode(false))
+                .endObject()
+                .endObject()
+                .beginObject()
+                .endObject()
+                .endArray(),
+            "[{\"name1\":{\"name2\":false}},{}]"
+        );
+    }
+
+    @Test
+    public void testDeep() throws IOException {
+        final int depth = 100;
+        final JsonWriter writer = this.writer();
+        for (int i = 0; i < depth; i++) {
+            writer.beginArray();
+        }
+        for (int i = 0; i < depth; i++) {
+            writer.endArray();
+        }
+
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            expected.append('[');
+        }
+        for (int i = 0; i < depth; i++) {
+            expected.append(']');
+        }
+
+        this.checkJson(
+            writer,
+            expected.toString()
+        );
+    }
+
+    @Test
+    public void testValueInObjectWithoutNameFails() throws IOException {
+        final JsonWriter writer = this.writer()
+            .beginObject();
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> writer.value(JsonNode.number(1))
+        );
+    }
+
+    @Test
+    public void testNameInArrayFails() throws IOException {
+        final JsonWriter writer = this.writer()
+            .beginArray();
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> writer.name(NAME1)
+        );
+    }
+
+    @Test
+    public void testNameTwiceFails() throws IOException {
+        final JsonWriter writer = this.writer()
+            .beginObject()
+            .name(NAME1);
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> writer.name(NAME2)
+        );
+    }
+
+    @Test
+    public void testEndObjectAfterNameFails() throws IOException {
+        final JsonWriter writer = this.writer()
+            .beginObject()
+            .name(NAME1);
+
+        assertThrows(
+            IllegalStateException.class,
+            writer::endObject
+        );
+    }
+
+    @Test
+    public void testEndArrayInObjectFails() throws IOException {
+        final JsonWriter writer = this.writer()
+            .beginObject();
+
+        assertThrows(
+            IllegalStateException.class,
+            writer::endArray
+        );
+    }
+
+    @Test
+    public void testEndObjectInArrayFails() throws IOException {
+        final JsonWriter writer = this.writer()
+            .beginArray();
+
+        assertThrows(
+            IllegalStateException.class,
+            writer::endObject
+        );
+    }
+
+    @Test
+    public void testEndArrayWithoutBeginFails() {
+        assertThrows(
+            IllegalStateException.class,
+            () -> this.writer()
+                .endArray()
+        );
+    }
+
+    @Test
+    public void testIsComplete() throws IOException {
+        final JsonWriter writer = this.writer()
+            .beginArray();
+        this.checkEquals(
+            false,
+            writer.isComplete()
+        );
+
+        writer.endArray();
+        this.checkEquals(
+            true,
+            writer.isComplete()
+        );
+    }
+
+    private JsonWriter writer() {
+        return JsonWriter.compact(new StringBuilder());
+    }
+
+    private void checkJson(final JsonWriter writer,
+                           final String json) {
+        this.checkEquals(
+            true,
+            writer.isComplete(),
+            () -> "complete " + writer
+        );
+        this.toStringAndCheck(
+            writer,
+            json
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonWriter> type() {
+        return JsonWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
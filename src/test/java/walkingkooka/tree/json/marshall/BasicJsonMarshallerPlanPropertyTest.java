@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.marshall;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BasicJsonMarshallerPlanPropertyTest implements ClassTesting2<BasicJsonMarshallerPlanProperty<Object>>,
+    ToStringTesting<BasicJsonMarshallerPlanProperty<Object>> {
+
+    private final static JsonPropertyName NAME = JsonPropertyName.with("name");
+
+    private final static Function<Object, ?> GETTER = Function.identity();
+
+    @Test
+    public void testWithNullNameFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicJsonMarshallerPlanProperty.with(
+                null,
+                GETTER
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullGetterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicJsonMarshallerPlanProperty.with(
+                NAME,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testGet() {
+        this.checkEquals(
+            "abc",
+            this.createProperty()
+                .get("abc")
+        );
+    }
+
+    @Test
+    public void testIsResolvedBeforeResolve() {
+        this.checkEquals(
+            false,
+            this.createProperty()
+                .isResolved("abc")
+        );
+    }
+
+    @Test
+    public void testResolve() {
+        final BasicJsonMarshallerPlanProperty<Object> property = this.createProperty()
+            .resolve("abc");
+
+        this.checkEquals(
+            true,
+            property.isResolved("def"),
+            "isResolved same class"
+        );
+        this.checkEquals(
+            false,
+            property.isResolved(true),
+            "isResolved different class"
+        );
+        this.checkEquals(
+            BasicJsonMarshaller.marshaller("abc"),
+            property.marshaller,
+            "marshaller"
+        );
+        this.checkEquals(
+            NAME,
+            property.name,
+            "name"
+        );
+    }
+
+    private BasicJsonMarshallerPlanProperty<Object> createProperty() {
+        return BasicJsonMarshallerPlanProperty.with(
+            NAME,
+            GETTER
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createProperty(),
+            "name"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<BasicJsonMarshallerPlanProperty<Object>> type() {
+        return Cast.to(BasicJsonMarshallerPlanProperty.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.marshall;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonObject;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public final class BasicJsonMarshallerPlanTest implements ClassTesting2<BasicJsonMarshallerPlan<List<Object>>>,
+    ToStringTesting<BasicJsonMarshallerPlan<List<Object>>> {
+
+    @BeforeAll
+    public static void beforeAll() {
+        TestJsonNodeValue.register();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        TestJsonNodeValue.unregister();
+    }
+
+    private final static JsonPropertyName FIRST = JsonPropertyName.with("first");
+
+    private final static JsonPropertyName SECOND = JsonPropertyName.with("second");
+
+    @Test
+    public void testMarshall() {
+        this.marshallAndCheck(
+            BasicJsonNodeMarshallContext.INSTANCE,
+            "abc",
+            BigDecimal.valueOf(1.25)
+        );
+    }
+
+    @Test
+    public void testMarshallNull() {
+        this.marshallAndCheck(
+            BasicJsonNodeMarshallContext.INSTANCE,
+            null,
+            true
+        );
+    }
+
+    @Test
+    public void testMarshallPropertyClassChanges() {
+        final BasicJsonMarshallerPlan<List<Object>> plan = this.createPlan();
+        final JsonNodeMarshallContext context = BasicJsonNodeMarshallContext.INSTANCE;
+
+        this.marshallAndCheck(
+            plan,
+            context,
+            "abc",
+            1.5
+        );
+        this.marshallAndCheck(
+            plan,
+            context,
+            true,
+            "def"
+        );
+        this.marshallAndCheck(
+            plan,
+            context,
+            null,
+            Lists.of("ghi")
+        );
+        this.marshallAndCheck(
+            plan,
+            context,
+            "jkl",
+            1.5
+        );
+    }
+
+    @Test
+    public void testMarshallWithObjectPostProcessor() {
+        this.marshallAndCheck(
+            BasicJsonNodeMarshallContext.INSTANCE.setObjectPostProcessor(
+                (value, object) -> object.set(
+                    JsonPropertyName.with("post"),
+                    true
+                )
+            ),
+            TestJsonNodeValue.with("abc"),
+            "def"
+        );
+    }
+
+    @Test
+    public void testMarshallOtherContext() {
+        this.marshallAndCheck(
+            new FakeJsonNodeMarshallContext() {
+                @Override
+                public JsonNode marshall(final Object value) {
+                    return JsonNode.string("*" + value);
+                }
+            },
+            "abc",
+            null
+        );
+    }
+
+    private void marshallAndCheck(final JsonNodeMarshallContext context,
+                                  final Object first,
+                                  final Object second) {
+        this.marshallAndCheck(
+            this.createPlan(),
+            context,
+            first,
+            second
+        );
+    }
+
+    private void marshallAndCheck(final BasicJsonMarshallerPlan<List<Object>> plan,
+                                  final JsonNodeMarshallContext context,
+                                  final Object first,
+                                  final Object second) {
+        final JsonObject expected = JsonNode.object()
+            .set(FIRST, context.marshall(first))
+            .set(SECOND, context.marshall(second));
+
+        this.checkEquals(
+            expected,
+            plan.marshall(
+                Lists.of(
+                    first,
+                    second
+                ),
+                context
+            ),
+            () -> first + " " + second
+        );
+    }
+
+    private BasicJsonMarshallerPlan<List<Object>> createPlan() {
+        return BasicJsonMarshallerPlan.with(
+            Lists.of(
+                BasicJsonMarshallerPlanProperty.with(FIRST, (List<Object> list) -> list.get(0)),
+                BasicJsonMarshallerPlanProperty.with(SECOND, (List<Object> list) -> list.get(1))
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createPlan(),
+            "2 properties"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<BasicJsonMarshallerPlan<List<Object>>> type() {
+        return Cast.to(BasicJsonMarshallerPlan.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -34,10 +34,12 @@ import java.math.MathContext;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class BasicJsonMarshallerTest extends BasicJsonMarshallerTestCase<BasicJsonMarshaller<Void>> {
@@ -167,6 +169,85 @@ public final class BasicJsonMarshallerTest extends BasicJsonMarshallerTestCase<B
         assertThrows(UnsupportedTypeJsonNodeException.class, () -> BasicJsonMarshaller.marshaller(this.getClass()));
     }
 
+    @Test
+    public void testMarshallerValue() {
+        TestJsonNodeValue.register();
+
+        final BasicJsonMarshaller<TestJsonNodeValue> marshaller = BasicJsonMarshaller.marshaller(TestJsonNodeValue.class);
+
+        assertSame(
+            marshaller,
+            BasicJsonMarshaller.marshaller(TestJsonNodeValue.with("value1"))
+        );
+        assertSame(
+            marshaller,
+            BasicJsonMarshaller.marshaller(TestJsonNodeValue.with("value2"))
+        );
+    }
+
+    @Test
+    public void testMarshallerValueSubClass() {
+        final Runnable remover = BasicJsonMarshaller.register(
+            "test-JsonNodeValueAbstract",
+            (n, c) -> TestJsonNodeValue.with(n.stringOrFail()),
+            (v, c) -> JsonNode.string(v.toString()),
+            TestJsonNodeValueAbstract.class
+        );
+
+        try {
+            final BasicJsonMarshaller<TestJsonNodeValueAbstract> marshaller = BasicJsonMarshaller.marshaller(TestJsonNodeValueAbstract.class);
+
+            assertSame(
+                marshaller,
+                BasicJsonMarshaller.marshaller(TestJsonNodeValue.with("value1"))
+            );
+
+            assertThrows(
+                UnsupportedTypeJsonNodeException.class,
+                () -> BasicJsonMarshaller.marshaller(TestJsonNodeValue.class)
+            );
+
+            TestJsonNodeValue.register();
+
+            assertSame(
+                BasicJsonMarshaller.marshaller(TestJsonNodeValue.class),
+                BasicJsonMarshaller.marshaller(TestJsonNodeValue.with("value2"))
+            );
+        } finally {
+            remover.run();
+        }
+    }
+
+    @Test
+    public void testMarshallerValueUnregisteredFails() {
+        TestJsonNodeValue.register();
+        final TestJsonNodeValue value = TestJsonNodeValue.with("value1");
+        BasicJsonMarshaller.marshaller(value);
+
+        TestJsonNodeValue.unregister();
+
+        assertThrows(
+            UnsupportedTypeJsonNodeException.class,
+            () -> BasicJsonMarshaller.marshaller(value)
+        );
+    }
+
+    @Test
+    public void testMarshallerValueList() {
+        assertSame(
+            BasicJsonMarshaller.TYPENAME_TO_MARSHALLER.get("list"),
+            BasicJsonMarshaller.marshaller(new ArrayList<>())
+        );
+    }
+
+    @Test
+    public void testMarshallerValueUnknownTypeFails() {
+        assertThrows(
+            UnsupportedTypeJsonNodeException.class,
+            () -> BasicJsonMarshaller.marshaller(this)
+        );
+    }
+
     // Expression.......................................................................................................
 
     @Test
@@ -17,12 +17,23 @@
 
 package walkingkooka.tree.json.marshall;
 
+import org.junit.jupiter.api.Test;
 import walkingkooka.tree.json.JsonNode;
 
 import java.math.BigDecimal;
 
 public final class BasicJsonMarshallerTypedBigDecimalTest extends BasicJsonMarshallerTypedTestCase2<BasicJsonMarshallerTypedBigDecimal, BigDecimal> {
 
+    @Test
+    public void testUnmarshallNumber() {
+        final BigDecimal value = new BigDecimal("12345678901234567890.125");
+
+        this.unmarshallAndCheck(
+            JsonNode.number(value),
+            value
+        );
+    }
+
     @Override
     BasicJsonMarshallerTypedBigDecimal marshaller() {
         return BasicJsonMarshallerTypedBigDecimal.instance();
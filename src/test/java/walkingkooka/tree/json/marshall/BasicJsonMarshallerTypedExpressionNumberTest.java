@@ -38,6 +38,14 @@ public final class BasicJsonMarshallerTypedExpressionNumberTest extends BasicJso
         this.unmarshallFailed(JsonNode.string(""), NumberFormatException.class);
     }
 
+    @Test
+    public void testUnmarshallNumber() {
+        this.unmarshallAndCheck(
+            JsonNode.number(1.5),
+            EXPRESSION_NUMBER_KIND.create(1.5)
+        );
+    }
+
     @Test
     public void testRoundtripBigDecimalZero() {
         this.roundtripAndCheck(EXPRESSION_NUMBER_KIND.create(BigDecimal.ZERO));
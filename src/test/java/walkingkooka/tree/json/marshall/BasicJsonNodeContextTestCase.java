@@ -27,6 +27,13 @@ public abstract class BasicJsonNodeContextTestCase<C extends JsonNodeContext> ex
     implements ContextTesting<C>,
     ToStringTesting<C> {
 
+    /**
+     * A small threshold so the parallel tests split their few elements across several threads.
+     */
+    final static int PARALLEL_THRESHOLD = 2;
+
+    final static int PARALLEL_COUNT = 1000;
+
     BasicJsonNodeContextTestCase() {
         super();
     }
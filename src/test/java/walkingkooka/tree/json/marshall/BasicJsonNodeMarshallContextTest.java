@@ -24,17 +24,22 @@ import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.json.JsonArray;
+import walkingkooka.tree.json.JsonArrayBuilder;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonObject;
 import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.JsonWriter;
 import walkingkooka.tree.json.UnsupportedTypeJsonNodeException;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class BasicJsonNodeMarshallContextTest extends BasicJsonNodeContextTestCase<BasicJsonNodeMarshallContext>
@@ -188,6 +193,82 @@ public final class BasicJsonNodeMarshallContextTest extends BasicJsonNodeContext
         );
     }
 
+    @Test
+    public void testMarshallCollectionMixedTypes() {
+        this.marshallCollectionAndCheck(
+            Lists.of(
+                "abc",
+                "def",
+                true,
+                null,
+                1.25,
+                "xyz"
+            ),
+            JsonNode.array()
+                .appendChild(JsonNode.string("abc"))
+                .appendChild(JsonNode.string("def"))
+                .appendChild(JsonNode.booleanNode(true))
+                .appendChild(JsonNode.nullNode())
+                .appendChild(JsonNode.number(1.25))
+                .appendChild(JsonNode.string("xyz"))
+        );
+    }
+
+    @Test
+    public void testMarshallCollectionParallel() {
+        final List<Object> list = Lists.array();
+        final JsonArrayBuilder expected = JsonNode.arrayBuilder();
+
+        for (int i = 0; i < PARALLEL_COUNT; i++) {
+            switch (i % 3) {
+                case 0:
+                    list.add("element-" + i);
+                    expected.append("element-" + i);
+                    break;
+                case 1:
+                    list.add((double) i);
+                    expected.append(i);
+                    break;
+                default:
+                    list.add(null);
+                    expected.appendNull();
+                    break;
+            }
+        }
+
+        this.marshallCollectionAndCheck(
+            BasicJsonNodeMarshallContext.with(PARALLEL_THRESHOLD),
+            list,
+            expected.build()
+        );
+    }
+
+    @Test
+    public void testMarshallCollectionParallelWithObjectPostProcessor() {
+        final List<Object> list = Lists.array();
+        final JsonArrayBuilder expected = JsonNode.arrayBuilder();
+
+        for (int i = 0; i < PARALLEL_COUNT; i++) {
+            final TestJsonNodeValue value = TestJsonNodeValue.with("value-" + i);
+            list.add(value);
+            expected.appendChild(
+                value.marshall(
+                    JsonNodeMarshallContexts.fake()
+                ).set(
+                    POST,
+                    POST_VALUE
+                )
+            );
+        }
+
+        this.marshallCollectionAndCheck(
+            BasicJsonNodeMarshallContext.with(PARALLEL_THRESHOLD)
+                .setObjectPostProcessor(this::objectPostProcessor),
+            list,
+            expected.build()
+        );
+    }
+
     private JsonArray list(final JsonNode element) {
         return JsonNode.array().appendChild(element);
     }
@@ -607,6 +688,193 @@ public final class BasicJsonNodeMarshallContextTest extends BasicJsonNodeContext
         );
     }
 
+    // marshall JsonWriter.............................................................................................
+
+    @Test
+    public void testMarshallJsonWriterWithNullWriterFails() {
+        assertThrows(
+            java.lang.NullPointerException.class,
+            () -> this.createContext()
+                .marshall(
+                    "abc",
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testMarshallJsonWriterNull() throws IOException {
+        this.marshallJsonWriterAndCheck(null);
+    }
+
+    @Test
+    public void testMarshallJsonWriterString() throws IOException {
+        this.marshallJsonWriterAndCheck("abc123");
+    }
+
+    @Test
+    public void testMarshallJsonWriterBigDecimal() throws IOException {
+        this.marshallJsonWriterAndCheck(BigDecimal.valueOf(1.25));
+    }
+
+    @Test
+    public void testMarshallJsonWriterEmptyList() throws IOException {
+        this.marshallJsonWriterAndCheck(Lists.empty());
+    }
+
+    @Test
+    public void testMarshallJsonWriterList() throws IOException {
+        this.marshallJsonWriterAndCheck(
+            Lists.of(
+                "abc",
+                true,
+                null,
+                1.25,
+                BigDecimal.valueOf(2.5),
+                Lists.of("nested")
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallJsonWriterSet() throws IOException {
+        this.marshallJsonWriterAndCheck(
+            Sets.of("abc")
+        );
+    }
+
+    @Test
+    public void testMarshallJsonWriterMap() throws IOException {
+        this.marshallJsonWriterAndCheck(
+            Maps.of("key1", Lists.of(true))
+        );
+    }
+
+    @Test
+    public void testMarshallJsonWriterMapNonStringKeys() throws IOException {
+        this.marshallJsonWriterAndCheck(
+            Maps.of(
+                BigDecimal.ONE, "one",
+                BigDecimal.TEN, Lists.of(null, true)
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallJsonWriterMapWithObjectPostProcessor() throws IOException {
+        this.marshallJsonWriterAndCheck(
+            this.contextWithProcessor(),
+            Maps.of(
+                "key1", TestJsonNodeValue.with("abc123"),
+                "key2", null
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallJsonWriterWithObjectPostProcessor() throws IOException {
+        this.marshallJsonWriterAndCheck(
+            this.contextWithProcessor(),
+            Lists.of(
+                TestJsonNodeValue.with("abc123"),
+                Lists.of(
+                    TestJsonNodeValue.with("def456")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallWithTypeJsonWriterWithNullWriterFails() {
+        assertThrows(
+            java.lang.NullPointerException.class,
+            () -> this.createContext()
+                .marshallWithType(
+                    "abc",
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testMarshallWithTypeJsonWriterBigDecimal() throws IOException {
+        this.marshallWithTypeJsonWriterAndCheck(
+            this.createContext(),
+            BigDecimal.valueOf(1.25)
+        );
+    }
+
+    @Test
+    public void testMarshallWithTypeJsonWriterList() throws IOException {
+        this.marshallWithTypeJsonWriterAndCheck(
+            this.contextWithProcessor(),
+            Lists.of(
+                "abc",
+                null,
+                TestJsonNodeValue.with("abc123"),
+                Lists.of(
+                    BigDecimal.ONE
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallWithTypeJsonWriterMap() throws IOException {
+        this.marshallWithTypeJsonWriterAndCheck(
+            this.contextWithProcessor(),
+            Maps.of(
+                "key1", TestJsonNodeValue.with("abc123"),
+                BigDecimal.ONE, Lists.of("nested")
+            )
+        );
+    }
+
+    private void marshallJsonWriterAndCheck(final Object value) throws IOException {
+        this.marshallJsonWriterAndCheck(
+            this.createContext(),
+            value
+        );
+    }
+
+    private void marshallJsonWriterAndCheck(final JsonNodeMarshallContext context,
+                                            final Object value) throws IOException {
+        final StringBuilder written = new StringBuilder();
+        context.marshall(
+            value,
+            JsonWriter.compact(written)
+        );
+
+        final StringBuilder expected = new StringBuilder();
+        context.marshall(value)
+            .appendCompactJson(expected);
+
+        this.checkEquals(
+            expected.toString(),
+            written.toString(),
+            () -> "marshall " + value
+        );
+    }
+
+    private void marshallWithTypeJsonWriterAndCheck(final JsonNodeMarshallContext context,
+                                                    final Object value) throws IOException {
+        final StringBuilder written = new StringBuilder();
+        context.marshallWithType(
+            value,
+            JsonWriter.compact(written)
+        );
+
+        final StringBuilder expected = new StringBuilder();
+        context.marshallWithType(value)
+            .appendCompactJson(expected);
+
+        this.checkEquals(
+            expected.toString(),
+            written.toString(),
+            () -> "marshallWithType " + value
+        );
+    }
+
     // marshallCollectionWithType.......................................................................................
 
     @Test
@@ -779,6 +1047,33 @@ public final class BasicJsonNodeMarshallContextTest extends BasicJsonNodeContext
         );
     }
 
+    @Test
+    public void testMarshallCollectionWithTypeParallel() {
+        final List<Object> list = Lists.array();
+        final JsonArrayBuilder expected = JsonNode.arrayBuilder();
+
+        for (int i = 0; i < PARALLEL_COUNT; i++) {
+            if (0 == i % 2) {
+                list.add("element-" + i);
+                expected.append("element-" + i);
+            } else {
+                list.add(BigDecimal.valueOf(i));
+                expected.appendChild(
+                    typeAndValue(
+                        "big-decimal",
+                        JsonNode.string(String.valueOf(i))
+                    )
+                );
+            }
+        }
+
+        this.marshallCollectionWithTypeAndCheck(
+            BasicJsonNodeMarshallContext.with(PARALLEL_THRESHOLD),
+            list,
+            expected.build()
+        );
+    }
+
     // marshallMapWithType..............................................................................................
 
     @Test
@@ -871,6 +1166,24 @@ public final class BasicJsonNodeMarshallContextTest extends BasicJsonNodeContext
         );
     }
 
+    // with...........................................................................................................
+
+    @Test
+    public void testWithZeroParallelThresholdFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> BasicJsonNodeMarshallContext.with(0)
+        );
+    }
+
+    @Test
+    public void testWithDefaultParallelThreshold() {
+        assertSame(
+            BasicJsonNodeMarshallContext.INSTANCE,
+            BasicJsonNodeMarshallContext.with(BasicJsonNodeContext.DEFAULT_PARALLEL_THRESHOLD)
+        );
+    }
+
     // JsonNodeMarshallContext..........................................................................................
 
     @Override
@@ -896,6 +1209,13 @@ public final class BasicJsonNodeMarshallContextTest extends BasicJsonNodeContext
 
     // hashCode/equals..................................................................................................
 
+    @Test
+    public void testEqualsDifferentParallelThreshold() {
+        this.checkNotEquals(
+            BasicJsonNodeMarshallContext.with(PARALLEL_THRESHOLD)
+        );
+    }
+
     @Test
     public void testEqualsDifferentProcessor() {
         this.checkNotEquals(
@@ -28,17 +28,27 @@ import walkingkooka.currency.FakeCurrencyLocaleContext;
 import walkingkooka.locale.LocaleLanguageTag;
 import walkingkooka.tree.expression.ExpressionNumberKind;
 import walkingkooka.tree.json.JsonArray;
+import walkingkooka.tree.json.JsonArrayBuilder;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonObject;
 import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.tree.json.UnsupportedTypeJsonNodeException;
+import walkingkooka.tree.json.parser.JsonReader;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.util.Currency;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -102,6 +112,19 @@ public final class BasicJsonNodeUnmarshallContextTest extends BasicJsonNodeConte
         );
     }
 
+    @Test
+    public void testWithZeroParallelThresholdFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> BasicJsonNodeUnmarshallContext.with(
+                EXPRESSION_NUMBER_KIND,
+                CURRENCY_CODE_LANGUAGE_TAG_CONTEXT,
+                MATH_CONTEXT,
+                0
+            )
+        );
+    }
+
     // unmarshall.....................................................................................................
 
     @Test
@@ -186,6 +209,139 @@ public final class BasicJsonNodeUnmarshallContextTest extends BasicJsonNodeConte
         );
     }
 
+    // unmarshallNdjson.................................................................................................
+
+    @Test
+    public void testUnmarshallNdjson() {
+        this.checkEquals(
+            Lists.of(
+                "a1",
+                "b2",
+                "c3"
+            ),
+            this.createContext()
+                .unmarshallNdjson(
+                    new ByteArrayInputStream(
+                        "\"a1\"\n\"b2\"\n\n\"c3\"\n".getBytes(StandardCharsets.UTF_8)
+                    ),
+                    String.class
+                ).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testUnmarshallNdjsonParallel() {
+        final StringBuilder ndjson = new StringBuilder();
+        final List<String> expected = Lists.array();
+        for (int i = 0; i < 1000; i++) {
+            ndjson.append("\"record-")
+                .append(i)
+                .append("\"\n");
+            expected.add("record-" + i);
+        }
+
+        this.checkEquals(
+            expected,
+            this.createContext()
+                .unmarshallNdjson(
+                    new ByteArrayInputStream(
+                        ndjson.toString()
+                            .getBytes(StandardCharsets.UTF_8)
+                    ),
+                    String.class
+                ).parallel()
+                .collect(Collectors.toList())
+        );
+    }
+
+    // unmarshallListStream.............................................................................................
+
+    @Test
+    public void testUnmarshallListStreamWithNullReaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext()
+                .unmarshallListStream(
+                    null,
+                    String.class
+                )
+        );
+    }
+
+    @Test
+    public void testUnmarshallListStream() throws IOException {
+        this.checkEquals(
+            Lists.of(
+                "a1",
+                "b2",
+                "c3"
+            ),
+            this.createContext()
+                .unmarshallListStream(
+                    JsonReader.with(
+                        new StringReader("[\"a1\", \"b2\", \"c3\"]")
+                    ),
+                    String.class
+                ).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testUnmarshallListStreamNull() throws IOException {
+        this.checkEquals(
+            Lists.empty(),
+            this.createContext()
+                .unmarshallListStream(
+                    JsonReader.with(
+                        new StringReader("null")
+                    ),
+                    String.class
+                ).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testUnmarshallListStreamObject() throws IOException {
+        this.checkEquals(
+            Lists.of(
+                this.value()
+            ),
+            this.createContext()
+                .unmarshallListStream(
+                    JsonReader.with(
+                        new StringReader(
+                            JsonNode.array()
+                                .appendChild(this.jsonNode())
+                                .toString()
+                        )
+                    ),
+                    TestJsonNodeValue.class
+                ).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testUnmarshallListStreamWithTypeRoundtrip() throws IOException {
+        final List<Object> list = Lists.of(
+            "a1",
+            BigDecimal.valueOf(1.5),
+            true
+        );
+
+        this.checkEquals(
+            list,
+            this.createContext()
+                .unmarshallListStreamWithType(
+                    JsonReader.with(
+                        new StringReader(
+                            BasicJsonNodeMarshallContext.INSTANCE.marshallCollectionWithType(list)
+                                .toString()
+                        )
+                    )
+                ).collect(Collectors.toList())
+        );
+    }
+
     // unmarshallEnumSet................................................................................................
 
     @Test
@@ -424,6 +580,43 @@ public final class BasicJsonNodeUnmarshallContextTest extends BasicJsonNodeConte
         );
     }
 
+    @Test
+    public void testUnmarshallListParallel() {
+        final JsonArrayBuilder array = JsonNode.arrayBuilder();
+        final List<String> expected = Lists.array();
+
+        for (int i = 0; i < PARALLEL_COUNT; i++) {
+            array.append("element-" + i);
+            expected.add("element-" + i);
+        }
+
+        this.unmarshallListAndCheck(
+            this.createParallelContext(),
+            array.build(),
+            String.class,
+            expected
+        );
+    }
+
+    @Test
+    public void testUnmarshallListParallelWithObjectPreProcessor() {
+        final JsonArrayBuilder array = JsonNode.arrayBuilder();
+        final List<TestJsonNodeValue> expected = Lists.array();
+
+        for (int i = 0; i < PARALLEL_COUNT; i++) {
+            array.appendChild(this.jsonNode2());
+            expected.add(this.value());
+        }
+
+        this.unmarshallListAndCheck(
+            this.createParallelContext()
+                .setPreProcessor(this::preProcessor),
+            array.build(),
+            TestJsonNodeValue.class,
+            expected
+        );
+    }
+
     private static JsonArray list(final JsonNode element) {
         return JsonNode.array()
             .appendChild(element);
@@ -516,6 +709,24 @@ public final class BasicJsonNodeUnmarshallContextTest extends BasicJsonNodeConte
         );
     }
 
+    @Test
+    public void testUnmarshallSetParallel() {
+        final JsonArrayBuilder array = JsonNode.arrayBuilder();
+        final Set<String> expected = Sets.ordered();
+
+        for (int i = 0; i < PARALLEL_COUNT; i++) {
+            array.append("element-" + i);
+            expected.add("element-" + i);
+        }
+
+        this.unmarshallSetAndCheck(
+            this.createParallelContext(),
+            array.build(),
+            String.class,
+            expected
+        );
+    }
+
     private static JsonArray set(final JsonNode element) {
         return JsonNode.array()
             .appendChild(element);
@@ -1042,6 +1253,33 @@ public final class BasicJsonNodeUnmarshallContextTest extends BasicJsonNodeConte
         );
     }
 
+    @Test
+    public void testUnmarshallListWithTypeParallel() {
+        final JsonArrayBuilder array = JsonNode.arrayBuilder();
+        final List<Object> expected = Lists.array();
+
+        for (int i = 0; i < PARALLEL_COUNT; i++) {
+            if (0 == i % 2) {
+                array.append("element-" + i);
+                expected.add("element-" + i);
+            } else {
+                array.appendChild(
+                    typeAndValue(
+                        "big-decimal",
+                        JsonNode.string(String.valueOf(i))
+                    )
+                );
+                expected.add(BigDecimal.valueOf(i));
+            }
+        }
+
+        this.unmarshallListWithTypeAndCheck(
+            this.createParallelContext(),
+            array.build(),
+            expected
+        );
+    }
+
     private JsonNode listWithType(final String typeName,
                                   final JsonNode node) {
         return JsonNode.array()
@@ -1320,6 +1558,15 @@ public final class BasicJsonNodeUnmarshallContextTest extends BasicJsonNodeConte
         );
     }
 
+    private BasicJsonNodeUnmarshallContext createParallelContext() {
+        return BasicJsonNodeUnmarshallContext.with(
+            EXPRESSION_NUMBER_KIND,
+            CURRENCY_CODE_LANGUAGE_TAG_CONTEXT,
+            MATH_CONTEXT,
+            PARALLEL_THRESHOLD
+        );
+    }
+
     private JsonNodeUnmarshallContext contextWithPreProcessor() {
         return this.createContext()
             .setPreProcessor(this::preProcessor);
@@ -1389,6 +1636,13 @@ public final class BasicJsonNodeUnmarshallContextTest extends BasicJsonNodeConte
         );
     }
 
+    @Test
+    public void testEqualsDifferentParallelThreshold() {
+        this.checkNotEquals(
+            this.createParallelContext()
+        );
+    }
+
     @Override
     public BasicJsonNodeUnmarshallContext createObject() {
         return this.createContext();
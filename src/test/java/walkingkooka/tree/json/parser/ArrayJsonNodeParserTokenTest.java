@@ -147,6 +147,55 @@ public final class ArrayJsonNodeParserTokenTest extends ParentJsonNodeParserToke
         );
     }
 
+    @Test
+    public void testMarshallNestedArray() {
+        this.checkEquals(
+            Optional.of(
+                JsonNode.array()
+                    .appendChild(
+                        JsonNode.array()
+                            .append(1)
+                            .append(2)
+                    ).append(3)
+            ),
+            array(
+                arrayBegin(),
+                array(
+                    arrayBegin(),
+                    number(1),
+                    separator(),
+                    number(2),
+                    arrayEnd()
+                ),
+                separator(),
+                number(3),
+                arrayEnd()
+            ).toJsonNode()
+        );
+    }
+
+    @Test
+    public void testMarshallDeep() {
+        final int depth = 100_000;
+
+        JsonNodeParserToken token = number(1);
+        JsonNode node = JsonNode.number(1);
+
+        for (int i = 0; i < depth; i++) {
+            token = JsonNodeParserToken.array(
+                Lists.of(token),
+                "[]"
+            );
+            node = JsonNode.array()
+                .appendChild(node);
+        }
+
+        this.checkEquals(
+            Optional.of(node),
+            token.toJsonNode()
+        );
+    }
+
     @Override
     protected ArrayJsonNodeParserToken createToken(final String text, final List<ParserToken> tokens) {
         return ArrayJsonNodeParserToken.with(tokens, text);
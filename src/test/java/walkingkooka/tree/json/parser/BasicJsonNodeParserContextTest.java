@@ -26,10 +26,74 @@ import walkingkooka.reflect.JavaVisibility;
 
 import java.math.MathContext;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public final class BasicJsonNodeParserContextTest implements ClassTesting2<BasicJsonNodeParserContext>,
     JsonNodeParserContextTesting<BasicJsonNodeParserContext>,
     DecimalNumberContextDelegator {
 
+    @Test
+    public void testWithInvalidMaxDepthFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> BasicJsonNodeParserContext.with(
+                0, // maxDepth
+                1, // maxDocumentLength
+                1, // maxStringLength
+                1, // maxObjectMembers
+                1 // maxArrayElements
+            )
+        );
+        this.checkEquals(
+            "Invalid maxDepth 0 must be greater than 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxArrayElementsFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> BasicJsonNodeParserContext.with(
+                1, // maxDepth
+                1, // maxDocumentLength
+                1, // maxStringLength
+                1, // maxObjectMembers
+                -1 // maxArrayElements
+            )
+        );
+        this.checkEquals(
+            "Invalid maxArrayElements -1 must be greater than 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final BasicJsonNodeParserContext context = BasicJsonNodeParserContext.with(
+            1, // maxDepth
+            2, // maxDocumentLength
+            3, // maxStringLength
+            4, // maxObjectMembers
+            5 // maxArrayElements
+        );
+        this.checkEquals(1, context.maxDepth(), "maxDepth");
+        this.checkEquals(2, context.maxDocumentLength(), "maxDocumentLength");
+        this.checkEquals(3, context.maxStringLength(), "maxStringLength");
+        this.checkEquals(4, context.maxObjectMembers(), "maxObjectMembers");
+        this.checkEquals(5, context.maxArrayElements(), "maxArrayElements");
+    }
+
+    @Test
+    public void testInstanceUnlimited() {
+        final BasicJsonNodeParserContext context = this.createContext();
+        this.checkEquals(Integer.MAX_VALUE, context.maxDepth(), "maxDepth");
+        this.checkEquals(Integer.MAX_VALUE, context.maxDocumentLength(), "maxDocumentLength");
+        this.checkEquals(Integer.MAX_VALUE, context.maxStringLength(), "maxStringLength");
+        this.checkEquals(Integer.MAX_VALUE, context.maxObjectMembers(), "maxObjectMembers");
+        this.checkEquals(Integer.MAX_VALUE, context.maxArrayElements(), "maxArrayElements");
+    }
+
     @Test
     public void testToString() {
         this.toStringAndCheck(this.createContext(),
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonNodeParsersLimitsParserTest implements ClassTesting2<JsonNodeParsersLimitsParser> {
+
+    @Test
+    public void testLimitExceededFails() {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonNodeParsers.value()
+                .parse(
+                    TextCursors.charSequence("[1, [2, [3]]]"),
+                    JsonNodeParserContexts.basic(
+                        2, // maxDepth
+                        100, // maxDocumentLength
+                        100, // maxStringLength
+                        100, // maxObjectMembers
+                        100 // maxArrayElements
+                    )
+                )
+        );
+        this.checkEquals(
+            "Maximum depth 2 exceeded at (9,1)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithinLimitsCursorRestored() {
+        final String text = "[1, [2, [3]]]";
+        final TextCursor cursor = TextCursors.charSequence(text + " ");
+
+        this.checkEquals(
+            JsonNodeParsers.value()
+                .parseText(
+                    text,
+                    JsonNodeParserContexts.basic()
+                ),
+            JsonNodeParsers.value()
+                .parse(
+                    cursor,
+                    JsonNodeParserContexts.basic(
+                        3, // maxDepth
+                        text.length(), // maxDocumentLength
+                        100, // maxStringLength
+                        100, // maxObjectMembers
+                        3 // maxArrayElements
+                    )
+                ).get()
+        );
+        this.checkEquals(
+            ' ',
+            cursor.at(),
+            "cursor after value"
+        );
+    }
+
+    @Test
+    public void testScalarWithinLimits() {
+        this.checkEquals(
+            JsonNodeParserToken.number(
+                123,
+                "123"
+            ),
+            JsonNodeParsers.value()
+                .parseText(
+                    "123",
+                    JsonNodeParserContexts.basic(
+                        1, // maxDepth
+                        3, // maxDocumentLength
+                        1, // maxStringLength
+                        1, // maxObjectMembers
+                        1 // maxArrayElements
+                    )
+                )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            "STRING",
+            JsonNodeParsersLimitsParser.with(
+                JsonNodeParsers.string()
+            ).toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeParsersLimitsParser> type() {
+        return JsonNodeParsersLimitsParser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
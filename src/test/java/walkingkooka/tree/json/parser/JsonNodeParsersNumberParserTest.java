@@ -0,0 +1,310 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.TypeNameTesting;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserContexts;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+
+public final class JsonNodeParsersNumberParserTest implements ParserTesting2<JsonNodeParsersNumberParser, ParserContext>,
+    ToStringTesting<JsonNodeParsersNumberParser>,
+    TypeNameTesting<JsonNodeParsersNumberParser> {
+
+    @Test
+    public void testParseLettersFails() {
+        this.parseFailAndCheck("abc");
+    }
+
+    @Test
+    public void testParseSignOnlyFails() {
+        this.parseFailAndCheck("-");
+    }
+
+    @Test
+    public void testParseSignLettersFails() {
+        this.parseFailAndCheck("+abc");
+    }
+
+    @Test
+    public void testParseDecimalPointOnlyFails() {
+        this.parseFailAndCheck(".5");
+    }
+
+    @Test
+    public void testParseIncompleteNanFails() {
+        this.parseFailAndCheck("Nax");
+    }
+
+    @Test
+    public void testParseIncompleteInfinityFails() {
+        this.parseFailAndCheck("Inf");
+    }
+
+    @Test
+    public void testParseZero() {
+        this.parseAndCheck2("0");
+    }
+
+    @Test
+    public void testParseNegativeZero() {
+        this.parseAndCheck2("-0");
+    }
+
+    @Test
+    public void testParseInteger() {
+        this.parseAndCheck2("123");
+    }
+
+    @Test
+    public void testParsePlusInteger() {
+        this.parseAndCheck2("+123");
+    }
+
+    @Test
+    public void testParseNegativeInteger() {
+        this.parseAndCheck2("-123");
+    }
+
+    @Test
+    public void testParseLeadingZeros() {
+        this.parseAndCheck2("000123");
+    }
+
+    @Test
+    public void testParseEpochMillis() {
+        this.parseAndCheck2("1700000000123");
+    }
+
+    @Test
+    public void testParseLongMaxValue() {
+        this.parseAndCheck2("9223372036854775807");
+    }
+
+    @Test
+    public void testParseInexactInteger() {
+        this.parseAndCheck2("9007199254740993");
+    }
+
+    @Test
+    public void testParseManyDigits() {
+        this.parseAndCheck2("123456789012345678901234567890");
+    }
+
+    @Test
+    public void testParseDecimal() {
+        this.parseAndCheck2("1.5");
+    }
+
+    @Test
+    public void testParseDecimal2() {
+        this.parseAndCheck2("0.1");
+    }
+
+    @Test
+    public void testParseDecimal3() {
+        this.parseAndCheck2("-0.3");
+    }
+
+    @Test
+    public void testParseDecimalLeadingZeros() {
+        this.parseAndCheck2("0.000001");
+    }
+
+    @Test
+    public void testParseDecimal15Digits() {
+        this.parseAndCheck2("3.14159265358979");
+    }
+
+    @Test
+    public void testParseDecimalManyDigits() {
+        this.parseAndCheck2("3.141592653589793238462643383279");
+    }
+
+    @Test
+    public void testParseExponent() {
+        this.parseAndCheck2("1e22");
+    }
+
+    @Test
+    public void testParseExponentNotExact() {
+        this.parseAndCheck2("1e23");
+    }
+
+    @Test
+    public void testParseExponentUpperCasePlus() {
+        this.parseAndCheck2("1.25E+5");
+    }
+
+    @Test
+    public void testParseExponentNegative() {
+        this.parseAndCheck2("1e-22");
+    }
+
+    @Test
+    public void testParseExponentNegative2() {
+        this.parseAndCheck2("2.2250738585072014e-308");
+    }
+
+    @Test
+    public void testParseExponentSubnormal() {
+        this.parseAndCheck2("4.9e-324");
+    }
+
+    @Test
+    public void testParseExponentMaxValue() {
+        this.parseAndCheck2("1.7976931348623157e308");
+    }
+
+    @Test
+    public void testParseExponentOverflow() {
+        this.parseAndCheck2("1e400");
+    }
+
+    @Test
+    public void testParseExponentHuge() {
+        this.parseAndCheck2("1e12345678901");
+    }
+
+    @Test
+    public void testParseNan() {
+        this.parseAndCheck2("NaN");
+    }
+
+    @Test
+    public void testParseInfinity() {
+        this.parseAndCheck2("Infinity");
+    }
+
+    @Test
+    public void testParsePlusInfinity() {
+        this.parseAndCheck2("+Infinity");
+    }
+
+    @Test
+    public void testParseNegativeInfinity() {
+        this.parseAndCheck2("-Infinity");
+    }
+
+    @Test
+    public void testParseDecimalPointWithoutDigits() {
+        this.parseAndCheck3(
+            "1",
+            "."
+        );
+    }
+
+    @Test
+    public void testParseExponentWithoutDigits() {
+        this.parseAndCheck3(
+            "1.5",
+            "e"
+        );
+    }
+
+    @Test
+    public void testParseExponentSignWithoutDigits() {
+        this.parseAndCheck3(
+            "1",
+            "E-"
+        );
+    }
+
+    @Test
+    public void testParseFollowedBySeparator() {
+        this.parseAndCheck3(
+            "12.5e3",
+            ",2"
+        );
+    }
+
+    private void parseAndCheck2(final String text) {
+        this.parseAndCheck3(
+            text,
+            ""
+        );
+        this.parseAndCheck3(
+            text,
+            "]"
+        );
+    }
+
+    private void parseAndCheck3(final String text,
+                                final String after) {
+        this.parseAndCheck(
+            text + after,
+            JsonNodeParserToken.number(
+                Double.parseDouble(text),
+                text
+            ),
+            text,
+            after
+        );
+    }
+
+    @Test
+    public void testMinCount() {
+        this.minCountAndCheck(
+            1
+        );
+    }
+
+    @Test
+    public void testMaxCount() {
+        this.maxCountAndCheck(
+            1
+        );
+    }
+
+    @Override
+    public JsonNodeParsersNumberParser createParser() {
+        return JsonNodeParsersNumberParser.INSTANCE;
+    }
+
+    @Override
+    public ParserContext createContext() {
+        return ParserContexts.fake();
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createParser(), "NUMBER");
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeParsersNumberParser> type() {
+        return JsonNodeParsersNumberParser.class;
+    }
+
+    @Override
+    public String typeNamePrefix() {
+        return JsonNodeParsers.class.getSimpleName();
+    }
+
+    @Override
+    public String typeNameSuffix() {
+        return "Number" + Parser.class.getSimpleName();
+    }
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+
+import java.math.BigDecimal;
+
+public final class JsonNodeScannerTest implements ClassTesting2<JsonNodeScanner> {
+
+    // whitespace.......................................................................................................
+
+    @Test
+    public void testIsWhitespace() {
+        for (final char c : " \t\n\r".toCharArray()) {
+            this.checkEquals(
+                true,
+                JsonNodeScanner.isWhitespace(c),
+                () -> "isWhitespace " + (int) c
+            );
+        }
+    }
+
+    @Test
+    public void testIsWhitespaceNotJson() {
+        for (final char c : "\f\u000b\u00a0\u2028a".toCharArray()) {
+            this.checkEquals(
+                false,
+                JsonNodeScanner.isWhitespace(c),
+                () -> "isWhitespace " + (int) c
+            );
+        }
+    }
+
+    @Test
+    public void testSkipWhitespace() {
+        this.checkEquals(
+            5,
+            JsonNodeScanner.skipWhitespace(
+                "a \t\r\n1",
+                1,
+                6
+            )
+        );
+    }
+
+    // number...........................................................................................................
+
+    @Test
+    public void testNumberInteger() {
+        this.numberAndCheck(
+            "123",
+            JsonNode.number(123)
+        );
+    }
+
+    @Test
+    public void testNumberNegativeZero() {
+        this.numberAndCheck(
+            "-0",
+            JsonNode.number(-0.0)
+        );
+    }
+
+    @Test
+    public void testNumberDecimal() {
+        this.numberAndCheck(
+            "-0.3",
+            JsonNode.number(-0.3)
+        );
+    }
+
+    @Test
+    public void testNumberExponent() {
+        this.numberAndCheck(
+            "1.5e3",
+            JsonNode.number(new BigDecimal("1.5e3"))
+        );
+    }
+
+    @Test
+    public void testNumberManyDigits() {
+        this.numberAndCheck(
+            "12345678901234567890",
+            JsonNode.number(new BigDecimal("12345678901234567890"))
+        );
+    }
+
+    @Test
+    public void testNumberSeventeenDigits() {
+        this.numberAndCheck(
+            "1.2345678901234567",
+            JsonNode.number(1.2345678901234567)
+        );
+    }
+
+    @Test
+    public void testNumberEighteenDigits() {
+        this.numberAndCheck(
+            "1.23456789012345678",
+            JsonNode.losslessNumber(new BigDecimal("1.23456789012345678"))
+        );
+    }
+
+    @Test
+    public void testNumberTrailingZerosNotSignificant() {
+        this.numberAndCheck(
+            "1.50000000000000000000",
+            JsonNode.number(1.5)
+        );
+    }
+
+    @Test
+    public void testNumberLong() {
+        this.numberAndCheck(
+            "-9007199254740993",
+            JsonNode.number(-9007199254740993L)
+        );
+    }
+
+    @Test
+    public void testNumberExponentWithinDouble() {
+        this.numberAndCheck(
+            "1.5e300",
+            JsonNode.number(1.5e300)
+        );
+    }
+
+    @Test
+    public void testNumberExponentBeyondDouble() {
+        this.numberAndCheck(
+            "1.5e400",
+            JsonNode.losslessNumber(new BigDecimal("1.5e400"))
+        );
+    }
+
+    @Test
+    public void testNumberNaN() {
+        this.numberAndCheck(
+            "NaN",
+            JsonNode.number(Double.NaN)
+        );
+    }
+
+    @Test
+    public void testNumberNegativeInfinity() {
+        this.numberAndCheck(
+            "-Infinity",
+            JsonNode.number(Double.NEGATIVE_INFINITY)
+        );
+    }
+
+    @Test
+    public void testNumberEndsAtSeparator() {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginNumber();
+
+        this.checkEquals(
+            3,
+            scanner.accept(
+                "1.5,2",
+                0,
+                5
+            )
+        );
+        this.checkEquals(
+            true,
+            scanner.isComplete()
+        );
+        this.checkEquals(
+            JsonNode.number(1.5),
+            scanner.number()
+        );
+    }
+
+    @Test
+    public void testNumberValueSameAsParseDouble() {
+        for (final String text : new String[]{
+            "0.1",
+            "123456.789012",
+            "9007199254740993",
+            "2.2250738585072014e-308",
+            "1e23",
+            "123e30",
+            "-12345e25",
+            "9e36",
+            "-1e400",
+            "4.9e-324"
+        }) {
+            final JsonNodeScanner scanner = JsonNodeScanner.empty();
+            scanner.beginNumber();
+            scanner.accept(
+                text,
+                0,
+                text.length()
+            );
+
+            this.checkEquals(
+                Double.parseDouble(text),
+                scanner.numberValue(),
+                () -> text
+            );
+        }
+    }
+
+    @Test
+    public void testNumberFractionWithoutDigits() {
+        this.numberIncompleteAndCheck(
+            "1.",
+            1
+        );
+    }
+
+    @Test
+    public void testNumberExponentSignWithoutDigits() {
+        this.numberIncompleteAndCheck(
+            "1.5e-",
+            3
+        );
+    }
+
+    @Test
+    public void testNumberSignOnly() {
+        this.numberIncompleteAndCheck(
+            "-",
+            0
+        );
+    }
+
+    private void numberIncompleteAndCheck(final String text,
+                                          final int numberLength) {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginNumber();
+
+        this.checkEquals(
+            text.length(),
+            scanner.accept(
+                text,
+                0,
+                text.length()
+            ),
+            () -> text
+        );
+        this.checkEquals(
+            false,
+            scanner.isComplete(),
+            () -> "isComplete " + text
+        );
+        this.checkEquals(
+            "digit",
+            scanner.expected(),
+            () -> "expected " + text
+        );
+        this.checkEquals(
+            numberLength,
+            scanner.numberLength(),
+            () -> "numberLength " + text
+        );
+    }
+
+    @Test
+    public void testNumberIncompleteNaN() {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginNumber();
+
+        this.checkEquals(
+            2,
+            scanner.accept(
+                "Nax",
+                0,
+                3
+            )
+        );
+        this.checkEquals(
+            "NaN",
+            scanner.expected()
+        );
+    }
+
+    private void numberAndCheck(final String text,
+                                final JsonNode expected) {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginNumber();
+
+        for (final char c : text.toCharArray()) {
+            this.checkEquals(
+                true,
+                scanner.accept(c),
+                () -> "accept " + c + " in " + text
+            );
+        }
+
+        this.checkEquals(
+            true,
+            scanner.isComplete(),
+            () -> "isComplete " + text
+        );
+        this.checkEquals(
+            expected,
+            scanner.number(),
+            () -> text
+        );
+        this.checkEquals(
+            expected,
+            JsonNodeScanner.number(
+                text
+            ),
+            () -> "number(String) " + text
+        );
+    }
+
+    // string...........................................................................................................
+
+    @Test
+    public void testString() {
+        this.stringAndCheck(
+            "\"abc\"",
+            "abc"
+        );
+    }
+
+    @Test
+    public void testStringEmpty() {
+        this.stringAndCheck(
+            "\"\"",
+            ""
+        );
+    }
+
+    @Test
+    public void testStringEscaped() {
+        this.stringAndCheck(
+            "\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u0041\\u00e9\"",
+            "a\"b\\c/d\b\f\n\r\tA\u00e9"
+        );
+    }
+
+    @Test
+    public void testStringEndsAfterClosingQuote() {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginString(
+            true,
+            Integer.MAX_VALUE
+        );
+
+        this.checkEquals(
+            5,
+            scanner.accept(
+                "\"abc\"]",
+                0,
+                6
+            )
+        );
+        this.checkEquals(
+            true,
+            scanner.isEnded()
+        );
+        this.checkEquals(
+            false,
+            scanner.accept(']')
+        );
+    }
+
+    @Test
+    public void testStringSplitBetweenCalls() {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginString(
+            true,
+            Integer.MAX_VALUE
+        );
+
+        final String text = "\"ab\\u00";
+        this.checkEquals(
+            text.length(),
+            scanner.accept(
+                text,
+                0,
+                text.length()
+            )
+        );
+        this.checkEquals(
+            "hex digit",
+            scanner.expected()
+        );
+
+        this.checkEquals(
+            3,
+            scanner.accept(
+                "41\"",
+                0,
+                3
+            )
+        );
+        this.checkEquals(
+            "abA",
+            scanner.string()
+        );
+    }
+
+    @Test
+    public void testStringInvalidEscape() {
+        this.stringFailsAndCheck(
+            "\"a\\xb\"",
+            3,
+            "escape sequence"
+        );
+    }
+
+    @Test
+    public void testStringInvalidUnicodeEscape() {
+        this.stringFailsAndCheck(
+            "\"\\u12x4\"",
+            5,
+            "hex digit"
+        );
+    }
+
+    @Test
+    public void testStringNonAsciiUnicodeEscapeDigit() {
+        this.stringFailsAndCheck(
+            "\"\\u\uff10000\"",
+            3,
+            "hex digit"
+        );
+    }
+
+    @Test
+    public void testStringMissingClosingQuote() {
+        this.stringFailsAndCheck(
+            "\"abc",
+            4,
+            "closing '\"'"
+        );
+    }
+
+    @Test
+    public void testStringMaxLengthExceeded() {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginString(
+            true,
+            3
+        );
+
+        this.checkEquals(
+            4,
+            scanner.accept(
+                "\"abcd\"",
+                0,
+                6
+            )
+        );
+        this.checkEquals(
+            true,
+            scanner.isLengthExceeded()
+        );
+    }
+
+    @Test
+    public void testStringNotDecoded() {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginString(
+            false,
+            Integer.MAX_VALUE
+        );
+
+        this.checkEquals(
+            9,
+            scanner.accept(
+                "\"a\\nbc\\\"\"",
+                0,
+                9
+            )
+        );
+        this.checkEquals(
+            true,
+            scanner.isComplete()
+        );
+    }
+
+    private void stringAndCheck(final String text,
+                                final String expected) {
+        // once in bulk
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginString(
+            true,
+            Integer.MAX_VALUE
+        );
+
+        this.checkEquals(
+            text.length(),
+            scanner.accept(
+                text,
+                0,
+                text.length()
+            ),
+            () -> text
+        );
+        this.checkEquals(
+            true,
+            scanner.isComplete(),
+            () -> "isComplete " + text
+        );
+        this.checkEquals(
+            expected,
+            scanner.string(),
+            () -> text
+        );
+
+        // again a character at a time
+        scanner.beginString(
+            true,
+            Integer.MAX_VALUE
+        );
+        for (final char c : text.toCharArray()) {
+            this.checkEquals(
+                true,
+                scanner.accept(c),
+                () -> "accept " + c + " in " + text
+            );
+        }
+        this.checkEquals(
+            expected,
+            scanner.string(),
+            () -> text
+        );
+    }
+
+    private void stringFailsAndCheck(final String text,
+                                     final int position,
+                                     final String expected) {
+        final JsonNodeScanner scanner = JsonNodeScanner.empty();
+        scanner.beginString(
+            true,
+            Integer.MAX_VALUE
+        );
+
+        this.checkEquals(
+            position,
+            scanner.accept(
+                text,
+                0,
+                text.length()
+            ),
+            () -> text
+        );
+        this.checkEquals(
+            false,
+            scanner.isComplete(),
+            () -> "isComplete " + text
+        );
+        this.checkEquals(
+            expected,
+            scanner.expected(),
+            () -> "expected " + text
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeScanner> type() {
+        return JsonNodeScanner.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
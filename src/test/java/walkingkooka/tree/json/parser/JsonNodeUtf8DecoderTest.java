@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.charset.StandardCharsets;
+
+public final class JsonNodeUtf8DecoderTest implements ClassTesting2<JsonNodeUtf8Decoder> {
+
+    @Test
+    public void testAscii() {
+        this.acceptAndCheck(
+            'A',
+            0x41
+        );
+    }
+
+    @Test
+    public void testTwoBytes() {
+        this.acceptAndCheck(
+            0xE9,
+            0xC3, 0xA9
+        );
+    }
+
+    @Test
+    public void testThreeBytes() {
+        this.acceptAndCheck(
+            0x20AC,
+            0xE2, 0x82, 0xAC
+        );
+    }
+
+    @Test
+    public void testFourBytes() {
+        this.acceptAndCheck(
+            0x1F600,
+            0xF0, 0x9F, 0x98, 0x80
+        );
+    }
+
+    @Test
+    public void testSignedBytes() {
+        final byte[] bytes = "é".getBytes(StandardCharsets.UTF_8);
+
+        this.acceptAndCheck(
+            0xE9,
+            bytes[0], bytes[1]
+        );
+    }
+
+    @Test
+    public void testContinuationLeadInvalid() {
+        this.acceptAndCheck(
+            JsonNodeUtf8Decoder.INVALID,
+            0x80
+        );
+    }
+
+    @Test
+    public void testOverlongLeadInvalid() {
+        this.acceptAndCheck(
+            JsonNodeUtf8Decoder.INVALID,
+            0xC0
+        );
+    }
+
+    @Test
+    public void testBeyondF4LeadInvalid() {
+        this.acceptAndCheck(
+            JsonNodeUtf8Decoder.INVALID,
+            0xF5
+        );
+    }
+
+    @Test
+    public void testOverlongThreeBytesInvalid() {
+        this.acceptAndCheck(
+            JsonNodeUtf8Decoder.INVALID,
+            0xE0, 0x80, 0xAF
+        );
+    }
+
+    @Test
+    public void testOverlongFourBytesInvalid() {
+        this.acceptAndCheck(
+            JsonNodeUtf8Decoder.INVALID,
+            0xF0, 0x80, 0x80, 0xAF
+        );
+    }
+
+    @Test
+    public void testSurrogateInvalid() {
+        this.acceptAndCheck(
+            JsonNodeUtf8Decoder.INVALID,
+            0xED, 0xA0, 0x80
+        );
+    }
+
+    @Test
+    public void testBeyond10FFFFInvalid() {
+        this.acceptAndCheck(
+            JsonNodeUtf8Decoder.INVALID,
+            0xF4, 0x90, 0x80, 0x80
+        );
+    }
+
+    @Test
+    public void testMissingContinuationInvalid() {
+        this.acceptAndCheck(
+            JsonNodeUtf8Decoder.INVALID,
+            0xC3, 0x41
+        );
+    }
+
+    @Test
+    public void testIncomplete() {
+        final JsonNodeUtf8Decoder decoder = JsonNodeUtf8Decoder.empty();
+
+        this.checkEquals(
+            JsonNodeUtf8Decoder.INCOMPLETE,
+            decoder.accept(0xE2)
+        );
+        this.checkEquals(
+            true,
+            decoder.isIncomplete()
+        );
+        this.checkEquals(
+            0xE2,
+            decoder.lead()
+        );
+    }
+
+    @Test
+    public void testReset() {
+        final JsonNodeUtf8Decoder decoder = JsonNodeUtf8Decoder.empty();
+        decoder.accept(0xE2);
+        decoder.reset();
+
+        this.checkEquals(
+            false,
+            decoder.isIncomplete()
+        );
+        this.checkEquals(
+            0x41,
+            decoder.accept(0x41)
+        );
+    }
+
+    @Test
+    public void testAfterInvalid() {
+        final JsonNodeUtf8Decoder decoder = JsonNodeUtf8Decoder.empty();
+
+        this.checkEquals(
+            JsonNodeUtf8Decoder.INVALID,
+            decoder.accept(0xFF)
+        );
+        this.checkEquals(
+            JsonNodeUtf8Decoder.INCOMPLETE,
+            decoder.accept(0xC3)
+        );
+        this.checkEquals(
+            0xE9,
+            decoder.accept(0xA9)
+        );
+    }
+
+    @Test
+    public void testSameAsStringDecoding() {
+        final String text = "aé€😀z";
+        final JsonNodeUtf8Decoder decoder = JsonNodeUtf8Decoder.empty();
+        final StringBuilder decoded = new StringBuilder();
+
+        for (final byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            final int codePoint = decoder.accept(b);
+            if (codePoint >= 0) {
+                decoded.appendCodePoint(codePoint);
+            }
+        }
+
+        this.checkEquals(
+            text,
+            decoded.toString()
+        );
+    }
+
+    private void acceptAndCheck(final int expected,
+                                final int... bytes) {
+        final JsonNodeUtf8Decoder decoder = JsonNodeUtf8Decoder.empty();
+
+        int result = JsonNodeUtf8Decoder.INCOMPLETE;
+        for (final int b : bytes) {
+            result = decoder.accept(b);
+        }
+
+        this.checkEquals(
+            expected,
+            result
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonNodeUtf8Decoder> type() {
+        return JsonNodeUtf8Decoder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,577 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonPushParserTest implements ClassTesting2<JsonPushParser>,
+    ToStringTesting<JsonPushParser> {
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonPushParser.with(null)
+        );
+    }
+
+    @Test
+    public void testFeedNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createParser()
+                .feed(null)
+        );
+    }
+
+    @Test
+    public void testFeedUtf8InvalidLengthFails() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> this.createParser()
+                .feedUtf8(new byte[2], 1, 2)
+        );
+    }
+
+    @Test
+    public void testFeedEmpty() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(parser, "");
+        this.endAndCheck(parser);
+    }
+
+    @Test
+    public void testFeedWhitespace() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(parser, " \n\t ");
+        this.endAndCheck(parser);
+    }
+
+    @Test
+    public void testFeedObjectAcrossChunks() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(parser, "{\"a\":");
+        this.feedAndCheck(parser, " [1, ");
+        this.feedAndCheck(
+            parser,
+            "2]}",
+            JsonNode.object()
+                .set(
+                    JsonPropertyName.with("a"),
+                    JsonNode.array()
+                        .append(1)
+                        .append(2)
+                )
+        );
+        this.endAndCheck(parser);
+    }
+
+    @Test
+    public void testFeedManyValues() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(
+            parser,
+            "1 true \"x\"[] {}null",
+            JsonNode.number(1),
+            JsonNode.booleanNode(true),
+            JsonNode.string("x"),
+            JsonNode.array(),
+            JsonNode.object()
+        );
+        this.endAndCheck(
+            parser,
+            JsonNode.nullNode()
+        );
+    }
+
+    @Test
+    public void testFeedStringWithBracketsAndEscapedQuote() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(parser, "[\"]}\\");
+        this.feedAndCheck(
+            parser,
+            "\"{[\"]",
+            JsonNode.array()
+                .append("]}\"{[")
+        );
+    }
+
+    @Test
+    public void testFeedNumberCompletedByWhitespace() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(parser, "12");
+        this.feedAndCheck(
+            parser,
+            "3\n",
+            JsonNode.number(123)
+        );
+        this.endAndCheck(parser);
+    }
+
+    @Test
+    public void testFeedNumberCompletedByEnd() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(parser, "12");
+        this.feedAndCheck(parser, "3");
+        this.endAndCheck(
+            parser,
+            JsonNode.number(123)
+        );
+    }
+
+    @Test
+    public void testFeedEscapeAcrossChunks() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(parser, "[\"a\\u00");
+        this.feedAndCheck(parser, "4");
+        this.feedAndCheck(
+            parser,
+            "1\"]",
+            JsonNode.array()
+                .append("aA")
+        );
+    }
+
+    @Test
+    public void testFeedLiteralAcrossChunks() {
+        final JsonPushParser parser = this.createParser();
+
+        this.feedAndCheck(parser, "{\"a\": tr");
+        this.feedAndCheck(
+            parser,
+            "ue}",
+            JsonNode.object()
+                .set(
+                    JsonPropertyName.with("a"),
+                    true
+                )
+        );
+    }
+
+    @Test
+    public void testFeedDeep() {
+        final int deep = 100_000;
+        final JsonPushParser parser = this.createParser();
+
+        for (int i = 0; i < deep; i++) {
+            this.feedAndCheck(parser, "[");
+        }
+        for (int i = 1; i < deep; i++) {
+            this.feedAndCheck(parser, "]");
+        }
+
+        this.checkEquals(
+            Lists.of(
+                JsonNode.parse("[".repeat(deep) + "]".repeat(deep))
+            ),
+            parser.feed("]")
+        );
+    }
+
+    @Test
+    public void testFeedEachCharacter() {
+        final String text = "{\"a\": [true, null, \"b\\\"c\"], \"d\": {\"e\": 1.5}} [] 99";
+
+        final JsonPushParser parser = this.createParser();
+        final List<JsonNode> values = Lists.array();
+
+        for (final char c : text.toCharArray()) {
+            values.addAll(
+                parser.feed(String.valueOf(c))
+            );
+        }
+        values.addAll(parser.end());
+
+        this.checkEquals(
+            Lists.of(
+                JsonNode.parse("{\"a\": [true, null, \"b\\\"c\"], \"d\": {\"e\": 1.5}}"),
+                JsonNode.array(),
+                JsonNode.number(99)
+            ),
+            values
+        );
+    }
+
+    @Test
+    public void testFeedInvalidFails() {
+        this.feedFails(
+            "[1,]",
+            "Invalid character ']' at (4,1) expected value"
+        );
+    }
+
+    @Test
+    public void testFeedUnexpectedCloseFails() {
+        this.feedFails(
+            "1]",
+            "Invalid character ']' at (2,1) expected value"
+        );
+    }
+
+    @Test
+    public void testFeedMissingAssignmentFails() {
+        this.feedFails(
+            "{\"a\" 1}",
+            "Invalid character '1' at (6,1) expected ':'"
+        );
+    }
+
+    @Test
+    public void testFeedInvalidEscapeFails() {
+        this.feedFails(
+            "[\"a\\x\"]",
+            "Invalid character 'x' at (5,1) expected escape sequence"
+        );
+    }
+
+    @Test
+    public void testFeedInvalidLiteralFails() {
+        this.feedFails(
+            "[tru]",
+            "Invalid character ']' at (5,1) expected true"
+        );
+    }
+
+    private void feedFails(final String chars,
+                           final String message) {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> this.createParser()
+                .feed(chars)
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage(),
+            () -> "feed " + chars
+        );
+    }
+
+    @Test
+    public void testEndIncompleteFails() {
+        final JsonPushParser parser = this.createParser();
+        this.feedAndCheck(parser, "[1,");
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            parser::end
+        );
+        this.checkEquals(
+            "End of text at (4,1) expected value",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEndIncompleteNumberFails() {
+        final JsonPushParser parser = this.createParser();
+        this.feedAndCheck(parser, "1.");
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            parser::end
+        );
+        this.checkEquals(
+            "End of text at (3,1) expected digit",
+            thrown.getMessage()
+        );
+    }
+
+    // utf8.............................................................................................................
+
+    @Test
+    public void testFeedUtf8EachByte() {
+        final String string = "a\u00e9\u20ac\ud83d\ude00";
+        final byte[] bytes = ("[\"" + string + "\"] ").getBytes(StandardCharsets.UTF_8);
+
+        final JsonPushParser parser = this.createParser();
+        final List<JsonNode> values = Lists.array();
+
+        for (int i = 0; i < bytes.length; i++) {
+            values.addAll(
+                parser.feedUtf8(bytes, i, 1)
+            );
+        }
+
+        this.checkEquals(
+            Lists.of(
+                JsonNode.array()
+                    .append(string)
+            ),
+            values
+        );
+    }
+
+    @Test
+    public void testFeedUtf8MalformedFails() {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> this.createParser()
+                .feedUtf8(
+                    new byte[]{'"', (byte) 0xC3, 'a', '"'},
+                    0,
+                    4
+                )
+        );
+        this.checkEquals(
+            "Invalid UTF-8 byte 0xc3 at (2,1)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testFeedUtf8InvalidByteFails() {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> this.createParser()
+                .feedUtf8(
+                    new byte[]{'[', '"', (byte) 0xFF, '"', ']'},
+                    0,
+                    5
+                )
+        );
+        this.checkEquals(
+            "Invalid UTF-8 byte 0xff at (3,1)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEndIncompleteUtf8Fails() {
+        final JsonPushParser parser = this.createParser();
+        parser.feedUtf8(
+            new byte[]{'"', (byte) 0xE2, (byte) 0x82},
+            0,
+            3
+        );
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            parser::end
+        );
+        this.checkEquals(
+            "Invalid UTF-8 byte 0xe2 at (2,1)",
+            thrown.getMessage()
+        );
+    }
+
+    // limits...........................................................................................................
+
+    @Test
+    public void testMaxDepthFails() {
+        final JsonPushParser parser = JsonPushParser.with(
+            JsonNodeParserContexts.basic(
+                2, // maxDepth
+                100, // maxDocumentLength
+                100, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            )
+        );
+        this.feedAndCheck(parser, "[[");
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> parser.feed("[")
+        );
+        this.checkEquals(
+            "Maximum depth 2 exceeded at (3,1)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMaxStringLengthFails() {
+        final JsonPushParser parser = JsonPushParser.with(
+            JsonNodeParserContexts.basic(
+                10, // maxDepth
+                100, // maxDocumentLength
+                3, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            )
+        );
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> parser.feed("[\"abcd\"]")
+        );
+        this.checkEquals(
+            "Maximum string length 3 exceeded at (6,1)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMaxObjectMembersFails() {
+        final JsonPushParser parser = JsonPushParser.with(
+            JsonNodeParserContexts.basic(
+                10, // maxDepth
+                100, // maxDocumentLength
+                100, // maxStringLength
+                1, // maxObjectMembers
+                100 // maxArrayElements
+            )
+        );
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> parser.feed("{\"a\": 1, \"b\": 2}")
+        );
+        this.checkEquals(
+            "Maximum object members 1 exceeded at (10,1)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMaxArrayElementsFails() {
+        final JsonPushParser parser = JsonPushParser.with(
+            JsonNodeParserContexts.basic(
+                10, // maxDepth
+                100, // maxDocumentLength
+                100, // maxStringLength
+                100, // maxObjectMembers
+                2 // maxArrayElements
+            )
+        );
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> parser.feed("[1, 2, 3]")
+        );
+        this.checkEquals(
+            "Maximum array elements 2 exceeded at (8,1)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMaxDocumentLengthFails() {
+        final JsonPushParser parser = JsonPushParser.with(
+            JsonNodeParserContexts.basic(
+                10, // maxDepth
+                5, // maxDocumentLength
+                100, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            )
+        );
+
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> parser.feed(" [1,2,3]")
+        );
+        this.checkEquals(
+            "Maximum document length 5 exceeded at (7,1)",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMaxDocumentLengthEachValue() {
+        final JsonPushParser parser = JsonPushParser.with(
+            JsonNodeParserContexts.basic(
+                10, // maxDepth
+                5, // maxDocumentLength
+                100, // maxStringLength
+                100, // maxObjectMembers
+                100 // maxArrayElements
+            )
+        );
+
+        this.feedAndCheck(
+            parser,
+            "[1,2] [3,4]",
+            JsonNode.array()
+                .append(1)
+                .append(2),
+            JsonNode.array()
+                .append(3)
+                .append(4)
+        );
+    }
+
+    private JsonPushParser createParser() {
+        return JsonPushParser.with(
+            JsonNodeParserContexts.basic()
+        );
+    }
+
+    private void feedAndCheck(final JsonPushParser parser,
+                              final String chars,
+                              final JsonNode... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            parser.feed(chars),
+            () -> "feed " + chars
+        );
+    }
+
+    private void endAndCheck(final JsonPushParser parser,
+                             final JsonNode... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            parser.end(),
+            "end"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final JsonPushParser parser = this.createParser();
+        parser.feed("[1, 2");
+
+        this.toStringAndCheck(
+            parser,
+            "depth 1 at (6,1)"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonPushParser> type() {
+        return JsonPushParser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.function.Consumer;
+
+public final class JsonReaderArraySpliteratorTest implements ClassTesting2<JsonReaderArraySpliterator> {
+
+    @Test
+    public void testTryAdvance() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("[1, [2]]"));
+        reader.next();
+
+        final JsonReaderArraySpliterator spliterator = JsonReaderArraySpliterator.with(reader);
+
+        this.tryAdvanceAndCheck(
+            spliterator,
+            JsonNode.number(1)
+        );
+        this.tryAdvanceAndCheck(
+            spliterator,
+            JsonNode.array()
+                .appendChild(JsonNode.number(2))
+        );
+        this.tryAdvanceAndCheck(spliterator);
+        this.tryAdvanceAndCheck(spliterator);
+
+        this.checkEquals(
+            JsonReaderEvent.END_DOCUMENT,
+            reader.next()
+        );
+    }
+
+    private void tryAdvanceAndCheck(final JsonReaderArraySpliterator spliterator,
+                                    final JsonNode... expected) {
+        final JsonNode[] element = new JsonNode[1];
+        final Consumer<JsonNode> action = (e) -> element[0] = e;
+
+        this.checkEquals(
+            expected.length > 0,
+            spliterator.tryAdvance(action)
+        );
+        this.checkEquals(
+            expected.length > 0 ? expected[0] : null,
+            element[0]
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonReaderArraySpliterator> type() {
+        return JsonReaderArraySpliterator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,694 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.JsonPropertyName;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JsonReaderTest implements ClassTesting2<JsonReader> {
+
+    @Test
+    public void testWithNullReaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonReader.with(null)
+        );
+    }
+
+    @Test
+    public void testWithUtf8NullInputStreamFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonReader.withUtf8(null)
+        );
+    }
+
+    // events...........................................................................................................
+
+    @Test
+    public void testEmpty() throws IOException {
+        this.eventsAndCheck(
+            "",
+            JsonReaderEvent.END_DOCUMENT
+        );
+    }
+
+    @Test
+    public void testWhitespaceOnly() throws IOException {
+        this.eventsAndCheck(
+            " \n ",
+            JsonReaderEvent.END_DOCUMENT
+        );
+    }
+
+    @Test
+    public void testValue() throws IOException {
+        this.eventsAndCheck(
+            "true",
+            JsonReaderEvent.VALUE,
+            JsonReaderEvent.END_DOCUMENT
+        );
+    }
+
+    @Test
+    public void testEmptyArray() throws IOException {
+        this.eventsAndCheck(
+            "[ ]",
+            JsonReaderEvent.BEGIN_ARRAY,
+            JsonReaderEvent.END_ARRAY,
+            JsonReaderEvent.END_DOCUMENT
+        );
+    }
+
+    @Test
+    public void testEmptyObject() throws IOException {
+        this.eventsAndCheck(
+            "{ }",
+            JsonReaderEvent.BEGIN_OBJECT,
+            JsonReaderEvent.END_OBJECT,
+            JsonReaderEvent.END_DOCUMENT
+        );
+    }
+
+    @Test
+    public void testNested() throws IOException {
+        this.eventsAndCheck(
+            "{\"a\": [1, {\"b\": null}], \"c\": \"d\"}",
+            JsonReaderEvent.BEGIN_OBJECT,
+            JsonReaderEvent.NAME,
+            JsonReaderEvent.BEGIN_ARRAY,
+            JsonReaderEvent.VALUE,
+            JsonReaderEvent.BEGIN_OBJECT,
+            JsonReaderEvent.NAME,
+            JsonReaderEvent.VALUE,
+            JsonReaderEvent.END_OBJECT,
+            JsonReaderEvent.END_ARRAY,
+            JsonReaderEvent.NAME,
+            JsonReaderEvent.VALUE,
+            JsonReaderEvent.END_OBJECT,
+            JsonReaderEvent.END_DOCUMENT
+        );
+    }
+
+    @Test
+    public void testManyValues() throws IOException {
+        this.eventsAndCheck(
+            "1\n[]\n{}\n\"a\"",
+            JsonReaderEvent.VALUE,
+            JsonReaderEvent.BEGIN_ARRAY,
+            JsonReaderEvent.END_ARRAY,
+            JsonReaderEvent.BEGIN_OBJECT,
+            JsonReaderEvent.END_OBJECT,
+            JsonReaderEvent.VALUE,
+            JsonReaderEvent.END_DOCUMENT
+        );
+    }
+
+    @Test
+    public void testEndDocumentRepeated() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("1"));
+        reader.next();
+
+        this.checkEquals(
+            JsonReaderEvent.END_DOCUMENT,
+            reader.next()
+        );
+        this.checkEquals(
+            JsonReaderEvent.END_DOCUMENT,
+            reader.next()
+        );
+    }
+
+    private void eventsAndCheck(final String json,
+                                final JsonReaderEvent... expected) throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader(json));
+
+        final List<JsonReaderEvent> events = Lists.array();
+        JsonReaderEvent event;
+        do {
+            event = reader.next();
+            events.add(event);
+        } while (JsonReaderEvent.END_DOCUMENT != event);
+
+        this.checkEquals(
+            Lists.of(expected),
+            events,
+            () -> json
+        );
+    }
+
+    // name & value.....................................................................................................
+
+    @Test
+    public void testNameAndValue() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("{\"a\\tb\": \"c\\u0041\", \"n\": -1.5, \"b\": true, \"z\": null}"));
+
+        this.checkEquals(JsonReaderEvent.BEGIN_OBJECT, reader.next());
+
+        this.checkEquals(JsonReaderEvent.NAME, reader.next());
+        this.checkEquals("a\tb", reader.name());
+        this.checkEquals(JsonReaderEvent.VALUE, reader.next());
+        this.checkEquals(JsonNode.string("cA"), reader.value());
+
+        this.checkEquals(JsonReaderEvent.NAME, reader.next());
+        this.checkEquals("n", reader.name());
+        this.checkEquals(JsonReaderEvent.VALUE, reader.next());
+        this.checkEquals(JsonNode.number(-1.5), reader.value());
+
+        this.checkEquals(JsonReaderEvent.NAME, reader.next());
+        this.checkEquals(JsonReaderEvent.VALUE, reader.next());
+        this.checkEquals(JsonNode.booleanNode(true), reader.value());
+
+        this.checkEquals(JsonReaderEvent.NAME, reader.next());
+        this.checkEquals(JsonReaderEvent.VALUE, reader.next());
+        this.checkEquals(JsonNode.nullNode(), reader.value());
+
+        this.checkEquals(JsonReaderEvent.END_OBJECT, reader.next());
+    }
+
+    @Test
+    public void testNameWhenValueFails() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("1"));
+        reader.next();
+
+        assertThrows(
+            IllegalStateException.class,
+            reader::name
+        );
+    }
+
+    @Test
+    public void testValueWhenBeginArrayFails() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("[]"));
+        reader.next();
+
+        assertThrows(
+            IllegalStateException.class,
+            reader::value
+        );
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        this.readValueAndCheck(
+            "[0, -12, 1.25, 1e3, 12345678901234567890, NaN, -Infinity]",
+            JsonNode.array()
+                .append(0)
+                .append(-12)
+                .append(1.25)
+                .appendChild(JsonNode.number(new BigDecimal("1e3")))
+                .appendChild(JsonNode.number(new BigDecimal("12345678901234567890")))
+                .append(Double.NaN)
+                .append(Double.NEGATIVE_INFINITY)
+        );
+    }
+
+    // readValue........................................................................................................
+
+    @Test
+    public void testReadValueSameAsParse() throws IOException {
+        final String json = "{\"a\": [1, \"two\", {\"b\": null, \"c\": [true, false]}], \"d\\\"\": \"e\\n\"}";
+
+        this.readValueAndCheck(
+            json,
+            JsonNode.parse(json)
+        );
+    }
+
+    @Test
+    public void testReadValueOneCharacterReads() throws IOException {
+        final String json = "{\"abc\": [1.5, \"d\\\"e\\u0041f\", {\"g\": null}], \"h\": -Infinity}";
+
+        final JsonReader reader = JsonReader.with(
+            oneCharacterReader(json)
+        );
+        reader.next();
+
+        this.checkEquals(
+            JsonNode.parse(json),
+            reader.readValue()
+        );
+    }
+
+    @Test
+    public void testReadValueLongStringSpansBuffers() throws IOException {
+        final StringBuilder b = new StringBuilder();
+        while (b.length() < JsonReader.BUFFER_SIZE * 3) {
+            b.append("abc\\n");
+        }
+        final String json = "[\"" + b + "\"]";
+
+        this.readValueAndCheck(
+            json,
+            JsonNode.parse(json)
+        );
+    }
+
+    @Test
+    public void testReadValueSubValue() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("{\"a\": 1, \"b\": {\"c\": [2]}, \"d\": 3}"));
+        reader.next(); // {
+        reader.next(); // a
+        reader.next(); // 1
+        reader.next(); // b
+        reader.next(); // {
+
+        this.checkEquals(
+            JsonNode.object()
+                .set(
+                    JsonPropertyName.with("c"),
+                    JsonNode.array()
+                        .append(2)
+                ),
+            reader.readValue()
+        );
+        this.checkEquals(JsonReaderEvent.END_OBJECT, reader.event());
+
+        this.checkEquals(JsonReaderEvent.NAME, reader.next());
+        this.checkEquals("d", reader.name());
+    }
+
+    @Test
+    public void testReadValueDeep() throws IOException {
+        final int deep = 100_000;
+        final String json = "[{\"a\": ".repeat(deep) + "1" + "}]".repeat(deep);
+
+        this.readValueAndCheck(
+            json,
+            JsonNode.parse(json)
+        );
+    }
+
+    @Test
+    public void testReadValueWhenNameFails() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("{\"a\": 1}"));
+        reader.next();
+        reader.next();
+
+        assertThrows(
+            IllegalStateException.class,
+            reader::readValue
+        );
+    }
+
+    private void readValueAndCheck(final String json,
+                                   final JsonNode expected) throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader(json));
+        reader.next();
+
+        this.checkEquals(
+            expected,
+            reader.readValue(),
+            () -> json
+        );
+        this.checkEquals(
+            JsonReaderEvent.END_DOCUMENT,
+            reader.next(),
+            () -> json
+        );
+    }
+
+    // readArray........................................................................................................
+
+    @Test
+    public void testReadArrayNotArrayFails() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("{}"));
+
+        assertThrows(
+            JsonNodeParserException.class,
+            reader::readArray
+        );
+    }
+
+    @Test
+    public void testReadArrayStringFails() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("\"abc\""));
+
+        assertThrows(
+            JsonNodeParserException.class,
+            reader::readArray
+        );
+    }
+
+    @Test
+    public void testReadArrayNull() throws IOException {
+        this.readArrayAndCheck(
+            "null"
+        );
+    }
+
+    @Test
+    public void testReadArrayEmpty() throws IOException {
+        this.readArrayAndCheck(
+            "[]"
+        );
+    }
+
+    @Test
+    public void testReadArray() throws IOException {
+        this.readArrayAndCheck(
+            "[1, \"two\", null, [true, [false]], {\"a\": {\"b\": [3]}}]",
+            JsonNode.number(1),
+            JsonNode.string("two"),
+            JsonNode.nullNode(),
+            JsonNode.parse("[true, [false]]"),
+            JsonNode.parse("{\"a\": {\"b\": [3]}}")
+        );
+    }
+
+    @Test
+    public void testReadArrayAfterBeginArray() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("[1, 2]"));
+        reader.next();
+
+        this.checkEquals(
+            Lists.of(
+                JsonNode.number(1),
+                JsonNode.number(2)
+            ),
+            reader.readArray()
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testReadArrayProperty() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("{\"items\": [1, 2], \"after\": true}"));
+        reader.next();
+        reader.next();
+
+        this.checkEquals(
+            Lists.of(
+                JsonNode.number(1),
+                JsonNode.number(2)
+            ),
+            reader.readArray()
+                .collect(Collectors.toList())
+        );
+        this.checkEquals(
+            JsonReaderEvent.END_ARRAY,
+            reader.event()
+        );
+        this.checkEquals(
+            JsonReaderEvent.NAME,
+            reader.next()
+        );
+        this.checkEquals(
+            "after",
+            reader.name()
+        );
+    }
+
+    @Test
+    public void testReadArrayReadsLazily() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("[1, 2, 3"));
+
+        this.checkEquals(
+            Lists.of(
+                JsonNode.number(1),
+                JsonNode.number(2)
+            ),
+            reader.readArray()
+                .limit(2)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testReadArrayManyElements() throws IOException {
+        final StringBuilder json = new StringBuilder();
+        final List<JsonNode> expected = Lists.array();
+
+        json.append('[');
+        for (int i = 0; i < JsonReader.BUFFER_SIZE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"i\":")
+                .append(i)
+                .append('}');
+            expected.add(
+                JsonNode.object()
+                    .set(
+                        JsonPropertyName.with("i"),
+                        JsonNode.number(i)
+                    )
+            );
+        }
+        json.append(']');
+
+        final JsonReader reader = JsonReader.withUtf8(
+            new ByteArrayInputStream(
+                json.toString()
+                    .getBytes(StandardCharsets.UTF_8)
+            )
+        );
+
+        this.checkEquals(
+            expected,
+            reader.readArray()
+                .collect(Collectors.toList())
+        );
+    }
+
+    private void readArrayAndCheck(final String json,
+                                   final JsonNode... expected) throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader(json));
+
+        this.checkEquals(
+            Lists.of(expected),
+            reader.readArray()
+                .collect(Collectors.toList()),
+            () -> json
+        );
+        this.checkEquals(
+            JsonReaderEvent.END_DOCUMENT,
+            reader.next(),
+            () -> json
+        );
+    }
+
+    // skip.............................................................................................................
+
+    @Test
+    public void testSkipArray() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("[[1, \"a\\\"]\", {\"b\": [2]}], 3]"));
+        reader.next(); // [
+        reader.next(); // [
+
+        reader.skip();
+        this.checkEquals(JsonReaderEvent.END_ARRAY, reader.event());
+
+        this.checkEquals(JsonReaderEvent.VALUE, reader.next());
+        this.checkEquals(JsonNode.number(3), reader.value());
+        this.checkEquals(JsonReaderEvent.END_ARRAY, reader.next());
+        this.checkEquals(JsonReaderEvent.END_DOCUMENT, reader.next());
+    }
+
+    @Test
+    public void testSkipPropertyValue() throws IOException {
+        final JsonReader reader = JsonReader.with(new StringReader("{\"a\": {\"b\": [1, 2]}, \"c\": \"skipped\", \"d\": true}"));
+        reader.next(); // {
+        reader.next(); // a
+
+        reader.skip();
+        this.checkEquals(JsonReaderEvent.END_OBJECT, reader.event());
+
+        this.checkEquals(JsonReaderEvent.NAME, reader.next());
+        this.checkEquals("c", reader.name());
+
+        reader.skip();
+        this.checkEquals(JsonReaderEvent.VALUE, reader.event());
+
+        this.checkEquals(JsonReaderEvent.NAME, reader.next());
+        this.checkEquals("d", reader.name());
+        this.checkEquals(JsonReaderEvent.VALUE, reader.next());
+        this.checkEquals(JsonNode.booleanNode(true), reader.value());
+    }
+
+    // utf8.............................................................................................................
+
+    @Test
+    public void testWithUtf8() throws IOException {
+        final String json = "{\"é\": [\"中\", \"😀\"]}";
+
+        final JsonReader reader = JsonReader.withUtf8(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))
+        );
+        reader.next();
+
+        this.checkEquals(
+            JsonNode.parse(json),
+            reader.readValue()
+        );
+    }
+
+    // fails............................................................................................................
+
+    @Test
+    public void testInvalidCharacterFails() {
+        this.readFails(
+            "!",
+            "Invalid character '!' at 0 expected value"
+        );
+    }
+
+    @Test
+    public void testArrayMissingSeparatorFails() {
+        this.readFails(
+            "[1 2]",
+            "Invalid character '2' at 3 expected ',' or ']'"
+        );
+    }
+
+    @Test
+    public void testArrayTrailingSeparatorFails() {
+        this.readFails(
+            "[1,]",
+            "Invalid character ']' at 3 expected value"
+        );
+    }
+
+    @Test
+    public void testObjectMissingAssignmentFails() {
+        this.readFails(
+            "{\"a\" 1}",
+            "Invalid character '1' at 5 expected ':'"
+        );
+    }
+
+    @Test
+    public void testObjectPropertyNameNotStringFails() {
+        this.readFails(
+            "{1: 2}",
+            "Invalid character '1' at 1 expected property name"
+        );
+    }
+
+    @Test
+    public void testStringMissingClosingQuoteFails() {
+        this.readFails(
+            "\"abc",
+            "End of text at 4 expected closing '\"'"
+        );
+    }
+
+    @Test
+    public void testInvalidNumberFails() {
+        this.readFails(
+            "[1.e5]",
+            "Invalid character 'e' at 3 expected digit"
+        );
+    }
+
+    @Test
+    public void testInvalidEscapeFails() {
+        this.readFails(
+            "[\"a\\xb\"]",
+            "Invalid character 'x' at 4 expected escape sequence"
+        );
+    }
+
+    @Test
+    public void testInvalidLiteralFails() {
+        this.readFails(
+            "tru",
+            "End of text at 3 expected true"
+        );
+    }
+
+    @Test
+    public void testIncompleteFails() {
+        this.readFails(
+            "{\"a\": [1,",
+            "End of text at 9 expected value"
+        );
+    }
+
+    private void readFails(final String json,
+                           final String message) {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> {
+                final JsonReader reader = JsonReader.with(new StringReader(json));
+                while (JsonReaderEvent.END_DOCUMENT != reader.next()) {
+                }
+            }
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage(),
+            () -> json
+        );
+    }
+
+    /**
+     * A {@link Reader} that returns a single character for each read.
+     */
+    private static Reader oneCharacterReader(final String text) {
+        return new Reader() {
+            @Override
+            public int read(final char[] buffer,
+                            final int offset,
+                            final int length) {
+                final int read;
+                if (this.position < text.length()) {
+                    buffer[offset] = text.charAt(this.position);
+                    this.position++;
+                    read = 1;
+                } else {
+                    read = -1;
+                }
+                return read;
+            }
+
+            private int position;
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonReader> type() {
+        return JsonReader.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.json.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public final class JsonReaderUtf8ReaderTest implements ClassTesting2<JsonReaderUtf8Reader> {
+
+    @Test
+    public void testAscii() throws IOException {
+        this.readAndCheck("abc123");
+    }
+
+    @Test
+    public void testMultiByte() throws IOException {
+        this.readAndCheck("aé中😀z");
+    }
+
+    @Test
+    public void testLargerThanBuffer() throws IOException {
+        final StringBuilder b = new StringBuilder();
+        while (b.length() < JsonReaderUtf8Reader.BUFFER_SIZE * 3) {
+            b.append("abcé中😀");
+        }
+
+        this.readAndCheck(b.toString());
+    }
+
+    @Test
+    public void testSurrogatePairSplitAcrossReads() throws IOException {
+        final String text = "😀😀😀";
+
+        final JsonReaderUtf8Reader reader = JsonReaderUtf8Reader.with(
+            new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))
+        );
+
+        final StringBuilder b = new StringBuilder();
+        final char[] chars = new char[1];
+        while (-1 != reader.read(chars, 0, 1)) {
+            b.append(chars[0]);
+        }
+
+        this.checkEquals(
+            text,
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testMalformed() throws IOException {
+        this.readBytesAndCheck(
+            new byte[]{'a', (byte) 0xC3, 'b', (byte) 0xFF, (byte) 0xC0, (byte) 0x80, 'c'},
+            "a\uFFFDb\uFFFD\uFFFD\uFFFDc"
+        );
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        this.readBytesAndCheck(
+            new byte[]{'a', (byte) 0xE4, (byte) 0xB8},
+            "a\uFFFD"
+        );
+    }
+
+    private void readAndCheck(final String text) throws IOException {
+        this.readBytesAndCheck(
+            text.getBytes(StandardCharsets.UTF_8),
+            text
+        );
+    }
+
+    private void readBytesAndCheck(final byte[] bytes,
+                                   final String expected) throws IOException {
+        final JsonReaderUtf8Reader reader = JsonReaderUtf8Reader.with(
+            new ByteArrayInputStream(bytes)
+        );
+
+        final StringBuilder b = new StringBuilder();
+        final char[] chars = new char[100];
+        for (; ; ) {
+            final int read = reader.read(chars);
+            if (-1 == read) {
+                break;
+            }
+            b.append(chars, 0, read);
+        }
+
+        this.checkEquals(
+            expected,
+            b.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<JsonReaderUtf8Reader> type() {
+        return JsonReaderUtf8Reader.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -67,6 +67,34 @@ public final class NumberJsonNodeParserTokenTest extends ValueJsonNodeParserToke
         this.checkEquals("13542", b.toString());
     }
 
+    @Test
+    public void testToJsonNodeManyDigits() {
+        final String text = "12345678901234567890.125";
+
+        this.checkEquals(
+            text,
+            NumberJsonNodeParserToken.with(
+                    Double.parseDouble(text),
+                    text
+                ).toJsonNode()
+                .get()
+                .text()
+        );
+    }
+
+    @Test
+    public void testToJsonNodeExponent() {
+        this.checkEquals(
+            "1E+400",
+            NumberJsonNodeParserToken.with(
+                    Double.POSITIVE_INFINITY,
+                    "1e400"
+                ).toJsonNode()
+                .get()
+                .text()
+        );
+    }
+
     @Override
     public String text() {
         return String.valueOf(this.value());
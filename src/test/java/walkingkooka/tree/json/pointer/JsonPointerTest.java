@@ -20,12 +20,17 @@ package walkingkooka.tree.json.pointer;
 import org.junit.jupiter.api.Test;
 import walkingkooka.HashCodeEqualsDefinedTesting2;
 import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.text.printer.TreePrintableTesting;
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.parser.JsonNodeParserException;
 import walkingkooka.util.FunctionTesting;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -64,6 +69,244 @@ public final class JsonPointerTest implements FunctionTesting<JsonPointer, JsonN
         return JsonPointer.parse("/hello");
     }
 
+    // project..........................................................................................................
+
+    private final static String JSON = "{\n" +
+        "  \"a\": \"skipped\",\n" +
+        "  \"b\": {\"c\": [true, {\"d\": 1}], \"e\\u0066\": null},\n" +
+        "  \"g\": [\"zero\", [1, 2], {\"h\": \"]}\"}],\n" +
+        "  \"i/j\": 2\n" +
+        "}";
+
+    @Test
+    public void testProjectNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonPointer.project(
+                null,
+                Lists.empty()
+            )
+        );
+    }
+
+    @Test
+    public void testProjectNullPointersFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> JsonPointer.project(
+                JSON,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testProjectNone() {
+        this.projectAndCheck(
+            JSON,
+            Lists.empty()
+        );
+    }
+
+    @Test
+    public void testProjectProperty() {
+        this.projectAndCheck(
+            JSON,
+            Lists.of("/a")
+        );
+    }
+
+    @Test
+    public void testProjectMany() {
+        this.projectAndCheck(
+            JSON,
+            Lists.of(
+                "/b/c/1/d",
+                "/b/ef",
+                "/g/1",
+                "/g/2/h"
+            )
+        );
+    }
+
+    @Test
+    public void testProjectNested() {
+        this.projectAndCheck(
+            JSON,
+            Lists.of(
+                "/b",
+                "/b/c/0"
+            )
+        );
+    }
+
+    @Test
+    public void testProjectEscapedSlash() {
+        final JsonPointer pointer = JsonPointer.parse("/i~1j");
+
+        this.checkEquals(
+            Optional.of(
+                JsonNode.number(2)
+            ),
+            pointer.project(JSON)
+        );
+    }
+
+    @Test
+    public void testProjectMissing() {
+        this.checkEquals(
+            Maps.empty(),
+            JsonPointer.project(
+                JSON,
+                Lists.of(
+                    JsonPointer.parse("/missing"),
+                    JsonPointer.parse("/a/missing"),
+                    JsonPointer.parse("/g/3"),
+                    JsonPointer.parse("/g/01")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testProjectSkippedInvalidFails() {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonPointer.parse("/b")
+                .project("{\"a\":[tru,,1x], \"b\": 1}")
+        );
+        this.checkEquals(
+            "Invalid character 't' at (7,1) expected true",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testProjectSkippedInvalidNumberFails() {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonPointer.parse("/b")
+                .project("{\"a\": [1x], \"b\": 1}")
+        );
+        this.checkEquals(
+            "Invalid character 'x' at (9,1) expected ',' or ']'",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testProjectSkippedDeep() {
+        final int deep = 100_000;
+
+        this.checkEquals(
+            Optional.of(
+                JsonNode.number(1)
+            ),
+            JsonPointer.parse("/b")
+                .project("{\"a\": " + "[{\"c\": ".repeat(deep) + "2" + "}]".repeat(deep) + ", \"b\": 1}")
+        );
+    }
+
+    @Test
+    public void testProjectMatchedDeep() {
+        final int deep = 100_000;
+        final String value = "[{\"c\": ".repeat(deep) + "2" + "}]".repeat(deep);
+
+        this.checkEquals(
+            Optional.of(
+                JsonNode.parse(value)
+            ),
+            JsonPointer.parse("/a")
+                .project("{\"a\": " + value + "}")
+        );
+    }
+
+    @Test
+    public void testProjectWide() {
+        final int wide = 100_000;
+
+        final StringBuilder json = new StringBuilder();
+        json.append('{');
+        for (int i = 0; i < wide; i++) {
+            json.append("\"key")
+                .append(i)
+                .append("\": ")
+                .append(i)
+                .append(", ");
+        }
+        json.append("\"last\\u0021\": true}");
+
+        this.checkEquals(
+            Maps.of(
+                JsonPointer.parse("/key99999"),
+                JsonNode.number(99999),
+                JsonPointer.parse("/last!"),
+                JsonNode.booleanNode(true)
+            ),
+            JsonPointer.project(
+                json.toString(),
+                Lists.of(
+                    JsonPointer.parse("/key99999"),
+                    JsonPointer.parse("/last!")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testProjectInvalidFails() {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonPointer.parse("/b")
+                .project("{\"a\" 1}")
+        );
+        this.checkEquals(
+            "Invalid character '1' at (6,1) expected ':'",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testProjectIncompleteFails() {
+        final JsonNodeParserException thrown = assertThrows(
+            JsonNodeParserException.class,
+            () -> JsonPointer.parse("/b")
+                .project("{\"a\": [1, 2")
+        );
+        this.checkEquals(
+            "End of text at (12,1) expected ',' or ']'",
+            thrown.getMessage()
+        );
+    }
+
+    private void projectAndCheck(final String json,
+                                 final List<String> pointers) {
+        final JsonNode node = JsonNode.parse(json);
+
+        final Map<JsonPointer, JsonNode> expected = Maps.ordered();
+        for (final String pointer : pointers) {
+            final JsonPointer jsonPointer = JsonPointer.parse(pointer);
+            jsonPointer.apply(node)
+                .ifPresent(v -> expected.put(jsonPointer, v));
+        }
+
+        final List<JsonPointer> jsonPointers = Lists.array();
+        for (final String pointer : pointers) {
+            jsonPointers.add(
+                JsonPointer.parse(pointer)
+            );
+        }
+
+        this.checkEquals(
+            expected,
+            JsonPointer.project(
+                json,
+                jsonPointers
+            ),
+            () -> "project " + pointers
+        );
+    }
+
     // hashCode/equals..................................................................................................
 
     @Test